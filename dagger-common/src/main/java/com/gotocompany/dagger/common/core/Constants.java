@@ -29,5 +29,8 @@ public class Constants {
     public static final String INPUT_STREAMS = "STREAMS";
 
     public static final String INTERNAL_VALIDATION_FIELD_KEY = "__internal_validation_field__";
+    public static final String RAW_MESSAGE_FIELD_KEY = "__raw_message__";
+    public static final String RAW_MESSAGE_TYPE_FIELD_KEY = "message_type";
+    public static final String RAW_MESSAGE_BYTES_FIELD_KEY = "message_bytes";
     public static final String ROWTIME = "rowtime";
 }
@@ -23,7 +23,7 @@ import static com.gotocompany.dagger.common.core.Constants.*;
  * The Stencil client orchestrator for dagger.
  */
 public class StencilClientOrchestrator implements Serializable {
-    private static StencilClient stencilClient;
+    private static volatile StencilClient stencilClient;
     private static final Logger LOGGER = LoggerFactory.getLogger(StencilClientOrchestrator.class);
     private Configuration configuration;
     private HashSet<String> stencilUrls;
@@ -68,6 +68,8 @@ public class StencilClientOrchestrator implements Serializable {
 
     /**
      * Gets stencil client.
+     * The client is shared by every orchestrator of the JVM, also by copies used concurrently on worker threads,
+     * so it is created only once.
      *
      * @return the stencil client
      */
@@ -77,8 +79,12 @@ public class StencilClientOrchestrator implements Serializable {
             return stencilClient;
         }
 
-        stencilClient = initStencilClient(new ArrayList<>(stencilUrls));
-        return stencilClient;
+        synchronized (StencilClientOrchestrator.class) {
+            if (stencilClient == null) {
+                stencilClient = initStencilClient(new ArrayList<>(stencilUrls));
+            }
+            return stencilClient;
+        }
     }
 
     /**
@@ -93,8 +99,10 @@ public class StencilClientOrchestrator implements Serializable {
         }
 
         stencilUrls.addAll(additionalStencilUrls);
-        stencilClient = initStencilClient(new ArrayList<>(stencilUrls));
-        return stencilClient;
+        synchronized (StencilClientOrchestrator.class) {
+            stencilClient = initStencilClient(new ArrayList<>(stencilUrls));
+            return stencilClient;
+        }
     }
 
     private StencilClient initStencilClient(List<String> urls) {
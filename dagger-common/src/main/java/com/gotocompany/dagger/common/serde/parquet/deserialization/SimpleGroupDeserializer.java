@@ -14,21 +14,29 @@ import org.apache.parquet.example.data.simple.SimpleGroup;
 
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
 
 public class SimpleGroupDeserializer implements DaggerDeserializer<Row> {
     private final String protoClassName;
     private final int timestampFieldIndex;
     private final StencilClientOrchestrator stencilClientOrchestrator;
     private final TypeInformation<Row> typeInformation;
+    private final Set<String> projectedFields;
 
     public SimpleGroupDeserializer(String protoClassName, int timestampFieldIndex, String rowtimeAttributeName, StencilClientOrchestrator stencilClientOrchestrator) {
+        this(protoClassName, timestampFieldIndex, rowtimeAttributeName, stencilClientOrchestrator, null);
+    }
+
+    public SimpleGroupDeserializer(String protoClassName, int timestampFieldIndex, String rowtimeAttributeName, StencilClientOrchestrator stencilClientOrchestrator, Set<String> projectedFields) {
         this.protoClassName = protoClassName;
         this.timestampFieldIndex = timestampFieldIndex;
         this.stencilClientOrchestrator = stencilClientOrchestrator;
         this.typeInformation = new ProtoType(protoClassName, rowtimeAttributeName, stencilClientOrchestrator).getRowType();
+        this.projectedFields = projectedFields == null ? null : new HashSet<>(projectedFields);
     }
 
-    private Descriptors.Descriptor getProtoParser() {
+    Descriptors.Descriptor getProtoParser() {
         Descriptors.Descriptor dsc = stencilClientOrchestrator.getStencilClient().get(protoClassName);
         if (dsc == null) {
             throw new DescriptorNotFoundException();
@@ -39,7 +47,7 @@ public class SimpleGroupDeserializer implements DaggerDeserializer<Row> {
     public Row deserialize(SimpleGroup simpleGroup) {
         Descriptors.Descriptor descriptor = getProtoParser();
         try {
-            Row row = RowFactory.createRow(descriptor, simpleGroup, 2);
+            Row row = RowFactory.createRow(descriptor, simpleGroup, 2, projectedFields);
             return addTimestampFieldToRow(row, simpleGroup, descriptor);
         } catch (RuntimeException e) {
             throw new DaggerDeserializationException(e);
@@ -50,6 +58,10 @@ public class SimpleGroupDeserializer implements DaggerDeserializer<Row> {
         Descriptors.FieldDescriptor fieldDescriptor = descriptor.findFieldByNumber(timestampFieldIndex);
         TimestampHandler timestampHandler = new TimestampHandler(fieldDescriptor);
         Row timestampRow = (Row) timestampHandler.transformFromParquet(simpleGroup);
+        return addTimestampFieldToRow(row, timestampRow);
+    }
+
+    static Row addTimestampFieldToRow(Row row, Row timestampRow) {
         long seconds = timestampRow.getFieldAs(0);
         int nanos = timestampRow.getFieldAs(1);
 
@@ -58,6 +70,19 @@ public class SimpleGroupDeserializer implements DaggerDeserializer<Row> {
         return row;
     }
 
+    int getTimestampFieldIndex() {
+        return timestampFieldIndex;
+    }
+
+    public Set<String> getProjectedFields() {
+        return projectedFields;
+    }
+
+    public String getTimestampFieldName() {
+        Descriptors.FieldDescriptor fieldDescriptor = getProtoParser().findFieldByNumber(timestampFieldIndex);
+        return fieldDescriptor == null ? null : fieldDescriptor.getName();
+    }
+
     @Override
     public TypeInformation<Row> getProducedType() {
         return this.typeInformation;
@@ -8,6 +8,7 @@ import com.gotocompany.dagger.common.core.StencilClientOrchestrator;
 import com.gotocompany.dagger.common.exceptions.DescriptorNotFoundException;
 import com.gotocompany.dagger.common.exceptions.serde.DaggerDeserializationException;
 import com.gotocompany.dagger.common.serde.DaggerDeserializer;
+import com.gotocompany.dagger.common.serde.typehandler.ProtoRowPlan;
 import com.gotocompany.dagger.common.serde.typehandler.RowFactory;
 import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.streaming.connectors.kafka.KafkaDeserializationSchema;
@@ -18,7 +19,9 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Deserializer for protobuf messages.
@@ -26,12 +29,21 @@ import java.util.List;
 public class ProtoDeserializer implements KafkaDeserializationSchema<Row>, DaggerDeserializer<Row> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ProtoDeserializer.class);
+    private static final int INTERNAL_COLUMNS = 2;
     private final String protoClassName;
     private final int timestampFieldIndex;
     private final StencilClientOrchestrator stencilClientOrchestrator;
     private final TypeInformation<Row> typeInformation;
     private final FieldDescriptorCache fieldDescriptorCache;
     private final boolean stencilAutoRefreshEnable;
+    private final Set<String> projectedFields;
+    private final boolean rawMessageEnabled;
+    private final int extraColumns;
+    private transient ProtoRowPlan projectedRowPlan;
+    private transient Descriptors.Descriptor timestampFieldsDescriptor;
+    private transient Descriptors.FieldDescriptor timestampFieldDescriptor;
+    private transient Descriptors.FieldDescriptor timestampSecondsFieldDescriptor;
+    private transient Descriptors.FieldDescriptor timestampNanosFieldDescriptor;
 
     /**
      * Instantiates a new Proto deserializer.
@@ -42,12 +54,44 @@ public class ProtoDeserializer implements KafkaDeserializationSchema<Row>, Dagge
      * @param stencilClientOrchestrator the stencil client orchestrator
      */
     public ProtoDeserializer(String protoClassName, int timestampFieldIndex, String rowtimeAttributeName, StencilClientOrchestrator stencilClientOrchestrator) {
+        this(protoClassName, timestampFieldIndex, rowtimeAttributeName, stencilClientOrchestrator, null);
+    }
+
+    /**
+     * Instantiates a new Proto deserializer which only materializes the projected fields.
+     * The produced row type keeps every field, columns which are not projected are left null.
+     *
+     * @param protoClassName            the proto class name
+     * @param timestampFieldIndex       the timestamp field index
+     * @param rowtimeAttributeName      the rowtime attribute name
+     * @param stencilClientOrchestrator the stencil client orchestrator
+     * @param projectedFields           the names of the top level fields to materialize, null for all fields
+     */
+    public ProtoDeserializer(String protoClassName, int timestampFieldIndex, String rowtimeAttributeName, StencilClientOrchestrator stencilClientOrchestrator, Set<String> projectedFields) {
+        this(protoClassName, timestampFieldIndex, rowtimeAttributeName, stencilClientOrchestrator, projectedFields, false);
+    }
+
+    /**
+     * Instantiates a new Proto deserializer which optionally keeps the serialized message in the raw message column,
+     * so sinks writing the same proto can pass the fields through without encoding them again.
+     *
+     * @param protoClassName            the proto class name
+     * @param timestampFieldIndex       the timestamp field index
+     * @param rowtimeAttributeName      the rowtime attribute name
+     * @param stencilClientOrchestrator the stencil client orchestrator
+     * @param projectedFields           the names of the top level fields to materialize, null for all fields
+     * @param rawMessageEnabled         the flag to keep the serialized message
+     */
+    public ProtoDeserializer(String protoClassName, int timestampFieldIndex, String rowtimeAttributeName, StencilClientOrchestrator stencilClientOrchestrator, Set<String> projectedFields, boolean rawMessageEnabled) {
         this.protoClassName = protoClassName;
         this.timestampFieldIndex = timestampFieldIndex;
         this.stencilClientOrchestrator = stencilClientOrchestrator;
-        this.typeInformation = new ProtoType(protoClassName, rowtimeAttributeName, stencilClientOrchestrator).getRowType();
+        this.typeInformation = new ProtoType(protoClassName, rowtimeAttributeName, stencilClientOrchestrator, rawMessageEnabled).getRowType();
         this.fieldDescriptorCache = new FieldDescriptorCache(getProtoParser());
         this.stencilAutoRefreshEnable = stencilClientOrchestrator.createStencilConfig().getCacheAutoRefresh();
+        this.projectedFields = projectedFields == null ? null : new HashSet<>(projectedFields);
+        this.rawMessageEnabled = rawMessageEnabled;
+        this.extraColumns = rawMessageEnabled ? INTERNAL_COLUMNS + 1 : INTERNAL_COLUMNS;
     }
 
     @Override
@@ -60,7 +104,11 @@ public class ProtoDeserializer implements KafkaDeserializationSchema<Row>, Dagge
         Descriptors.Descriptor descriptor = getProtoParser();
         try {
             DynamicMessage proto = DynamicMessage.parseFrom(descriptor, consumerRecord.value());
-            return addTimestampFieldToRow(proto);
+            Row row = addTimestampFieldToRow(proto);
+            if (rawMessageEnabled) {
+                row.setField(row.getArity() - extraColumns, Row.of(descriptor.getFullName(), consumerRecord.value()));
+            }
+            return row;
         } catch (DescriptorNotFoundException e) {
             throw new DescriptorNotFoundException(e);
         } catch (InvalidProtocolBufferException e) {
@@ -85,36 +133,50 @@ public class ProtoDeserializer implements KafkaDeserializationSchema<Row>, Dagge
     }
 
     private Row createDefaultInvalidRow(DynamicMessage defaultInstance) {
-        Row row;
-        if (stencilAutoRefreshEnable) {
-            row = RowFactory.createRow(defaultInstance, 2, fieldDescriptorCache);
-        } else {
-            row = RowFactory.createRow(defaultInstance, 2);
-        }
+        Row row = createRow(defaultInstance);
         row.setField(row.getArity() - 2, false);
         row.setField(row.getArity() - 1, new Timestamp(0));
         return row;
     }
 
     private Row addTimestampFieldToRow(DynamicMessage proto) {
-        Row finalRecord;
-        if (stencilAutoRefreshEnable) {
-            finalRecord = RowFactory.createRow(proto, 2, fieldDescriptorCache);
-        } else {
-            finalRecord = RowFactory.createRow(proto, 2);
-        }
+        Row finalRecord = createRow(proto);
 
-        Descriptors.FieldDescriptor fieldDescriptor = proto.getDescriptorForType().findFieldByNumber(timestampFieldIndex);
-        DynamicMessage timestampProto = (DynamicMessage) proto.getField(fieldDescriptor);
-        List<Descriptors.FieldDescriptor> timestampFields = timestampProto.getDescriptorForType().getFields();
+        resolveTimestampFields(proto.getDescriptorForType());
+        DynamicMessage timestampProto = (DynamicMessage) proto.getField(timestampFieldDescriptor);
 
-        long timestampSeconds = (long) timestampProto.getField(timestampFields.get(0));
-        long timestampNanos = (int) timestampProto.getField(timestampFields.get(1));
+        long timestampSeconds = (long) timestampProto.getField(timestampSecondsFieldDescriptor);
+        long timestampNanos = (int) timestampProto.getField(timestampNanosFieldDescriptor);
 
         finalRecord.setField(finalRecord.getArity() - 2, true);
         finalRecord.setField(finalRecord.getArity() - 1, Timestamp.from(Instant.ofEpochSecond(timestampSeconds, timestampNanos)));
         return finalRecord;
     }
 
+    private Row createRow(DynamicMessage proto) {
+        if (stencilAutoRefreshEnable) {
+            return RowFactory.createRow(proto, extraColumns, fieldDescriptorCache, projectedFields);
+        }
+        if (projectedFields == null) {
+            return RowFactory.createRow(proto, extraColumns);
+        }
+        Descriptors.Descriptor descriptor = proto.getDescriptorForType();
+        if (projectedRowPlan == null || projectedRowPlan.getDescriptor() != descriptor) {
+            projectedRowPlan = ProtoRowPlan.createProjectedPlan(descriptor, projectedFields);
+        }
+        return projectedRowPlan.createRow(proto, extraColumns);
+    }
+
+    private void resolveTimestampFields(Descriptors.Descriptor descriptor) {
+        if (descriptor == timestampFieldsDescriptor) {
+            return;
+        }
+        timestampFieldDescriptor = descriptor.findFieldByNumber(timestampFieldIndex);
+        List<Descriptors.FieldDescriptor> timestampFields = timestampFieldDescriptor.getMessageType().getFields();
+        timestampSecondsFieldDescriptor = timestampFields.get(0);
+        timestampNanosFieldDescriptor = timestampFields.get(1);
+        timestampFieldsDescriptor = descriptor;
+    }
+
 
 }
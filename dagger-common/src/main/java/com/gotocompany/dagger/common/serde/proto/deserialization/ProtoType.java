@@ -1,8 +1,11 @@
 package com.gotocompany.dagger.common.serde.proto.deserialization;
 
+import com.gotocompany.dagger.common.core.Constants;
 import com.gotocompany.dagger.common.exceptions.DescriptorNotFoundException;
 import com.gotocompany.dagger.common.serde.typehandler.TypeInformationFactory;
 import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.common.typeinfo.Types;
+import org.apache.flink.api.java.typeutils.RowTypeInfo;
 import org.apache.flink.types.Row;
 
 import com.google.protobuf.Descriptors;
@@ -11,6 +14,8 @@ import com.gotocompany.dagger.common.core.StencilClientOrchestrator;
 import com.gotocompany.dagger.common.serde.DaggerInternalTypeInformation;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * Getting TypeInformation required for Flink from the proto.
@@ -21,6 +26,7 @@ public class ProtoType implements Serializable, DaggerInternalTypeInformation {
     private String protoClassName;
     private String rowtimeAttributeName;
     private StencilClientOrchestrator stencilClientOrchestrator;
+    private boolean rawMessageEnabled;
 
     /**
      * Instantiates a new Proto type.
@@ -30,9 +36,22 @@ public class ProtoType implements Serializable, DaggerInternalTypeInformation {
      * @param stencilClientOrchestrator the stencil client orchestrator
      */
     public ProtoType(String protoClassName, String rowtimeAttributeName, StencilClientOrchestrator stencilClientOrchestrator) {
+        this(protoClassName, rowtimeAttributeName, stencilClientOrchestrator, false);
+    }
+
+    /**
+     * Instantiates a new Proto type which optionally carries the serialized message and its type in a row column.
+     *
+     * @param protoClassName            the proto class name
+     * @param rowtimeAttributeName      the rowtime attribute name
+     * @param stencilClientOrchestrator the stencil client orchestrator
+     * @param rawMessageEnabled         the flag to add the raw message column
+     */
+    public ProtoType(String protoClassName, String rowtimeAttributeName, StencilClientOrchestrator stencilClientOrchestrator, boolean rawMessageEnabled) {
         this.stencilClientOrchestrator = stencilClientOrchestrator;
         this.protoClassName = protoClassName;
         this.rowtimeAttributeName = rowtimeAttributeName;
+        this.rawMessageEnabled = rawMessageEnabled;
     }
 
     /**
@@ -42,9 +61,22 @@ public class ProtoType implements Serializable, DaggerInternalTypeInformation {
      */
     public TypeInformation<Row> getRowType() {
         TypeInformation<Row> rowNamed = TypeInformationFactory.getRowType(getProtoFieldDescriptor());
+        if (rawMessageEnabled) {
+            rowNamed = addRawMessageField(rowNamed);
+        }
         return addInternalFields(rowNamed, rowtimeAttributeName);
     }
 
+    private TypeInformation<Row> addRawMessageField(TypeInformation<Row> initialTypeInfo) {
+        RowTypeInfo rowTypeInfo = (RowTypeInfo) initialTypeInfo;
+        ArrayList<String> fieldNames = new ArrayList<>(Arrays.asList(rowTypeInfo.getFieldNames()));
+        ArrayList<TypeInformation> fieldTypes = new ArrayList<>(Arrays.asList(rowTypeInfo.getFieldTypes()));
+        fieldNames.add(Constants.RAW_MESSAGE_FIELD_KEY);
+        fieldTypes.add(Types.ROW_NAMED(new String[]{Constants.RAW_MESSAGE_TYPE_FIELD_KEY, Constants.RAW_MESSAGE_BYTES_FIELD_KEY},
+                Types.STRING, Types.PRIMITIVE_ARRAY(Types.BYTE)));
+        return Types.ROW_NAMED(fieldNames.toArray(new String[0]), fieldTypes.toArray(new TypeInformation[0]));
+    }
+
     private Descriptor getProtoFieldDescriptor() {
         if (protoFieldDescriptor == null) {
             protoFieldDescriptor = createFieldDescriptor();
@@ -0,0 +1,245 @@
+package com.gotocompany.dagger.common.serde.proto.serialization;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.WireFormat;
+import com.gotocompany.dagger.common.core.Constants;
+import com.gotocompany.dagger.common.exceptions.serde.DaggerSerializationException;
+import com.gotocompany.dagger.common.exceptions.serde.InvalidColumnMappingException;
+import com.gotocompany.dagger.common.serde.typehandler.TypeHandler;
+import com.gotocompany.dagger.common.serde.typehandler.TypeHandlerFactory;
+import org.apache.flink.types.Row;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The compiled plan to convert rows of a column list to protobuf messages of a descriptor.
+ * Resolves the field descriptors, nesting paths and type handlers of the columns once, so every
+ * nested message is built a single time per row instead of being rebuilt for each of its columns.
+ * Column lists which set a message field both as a whole and through nested columns are not planned.
+ * If the columns carry the raw message of a source of the same proto, the fields set by the other columns
+ * are patched into its bytes and every other field is passed through without being decoded or encoded again.
+ */
+public class ProtoSerializationPlan {
+    private final Descriptors.Descriptor descriptor;
+    private final int arity;
+    private final MessageNode root;
+    private final boolean supported;
+    private final Set<Integer> columnFieldNumbers = new HashSet<>();
+    private int rawMessageIndex = -1;
+
+    /**
+     * Instantiates a new Proto serialization plan.
+     *
+     * @param descriptor  the descriptor
+     * @param columnNames the column names
+     * @param arity       the arity of the rows
+     */
+    public ProtoSerializationPlan(Descriptors.Descriptor descriptor, String[] columnNames, int arity) {
+        this.descriptor = descriptor;
+        this.arity = arity;
+        this.root = new MessageNode(descriptor, null);
+        boolean isSupported = true;
+        for (int index = 0; index < arity; index++) {
+            isSupported &= addColumn(columnNames[index], index);
+        }
+        this.supported = isSupported && !root.hasOverlappingColumns();
+    }
+
+    private boolean addColumn(String columnName, int index) {
+        if (Constants.RAW_MESSAGE_FIELD_KEY.equals(columnName)) {
+            rawMessageIndex = index;
+            return true;
+        }
+        String[] nestedColumnNames = columnName.split("\\.");
+        Descriptors.FieldDescriptor firstField = descriptor.findFieldByName(nestedColumnNames[0]);
+        if (firstField == null) {
+            return true;
+        }
+        columnFieldNumbers.add(firstField.getNumber());
+        MessageNode node = root;
+        for (int depth = 0; depth < nestedColumnNames.length - 1; depth++) {
+            Descriptors.FieldDescriptor childField = findField(node.descriptor, nestedColumnNames[depth]);
+            if (childField.getJavaType() != Descriptors.FieldDescriptor.JavaType.MESSAGE || childField.isRepeated()) {
+                return false;
+            }
+            node = node.children.computeIfAbsent(childField, field -> new MessageNode(field.getMessageType(), field));
+        }
+        Descriptors.FieldDescriptor leafField = findField(node.descriptor, nestedColumnNames[nestedColumnNames.length - 1]);
+        node.columns.add(new Column(index, leafField, TypeHandlerFactory.getTypeHandler(leafField)));
+        return true;
+    }
+
+    private Descriptors.FieldDescriptor findField(Descriptors.Descriptor parentDescriptor, String columnName) {
+        Descriptors.FieldDescriptor fieldDescriptor = parentDescriptor.findFieldByName(columnName);
+        if (fieldDescriptor == null) {
+            throw new InvalidColumnMappingException(String.format("column %s doesn't exists in the proto of %s", columnName, parentDescriptor.getFullName()));
+        }
+        return fieldDescriptor;
+    }
+
+    /**
+     * Check if the plan was compiled for the descriptor and row arity.
+     *
+     * @param messageDescriptor the message descriptor
+     * @param rowArity          the row arity
+     * @return the boolean
+     */
+    public boolean isCompiledFor(Descriptors.Descriptor messageDescriptor, int rowArity) {
+        return descriptor == messageDescriptor && arity == rowArity;
+    }
+
+    /**
+     * Check if the column list could be planned.
+     *
+     * @return the boolean
+     */
+    public boolean isSupported() {
+        return supported;
+    }
+
+    /**
+     * Convert the row to a protobuf message.
+     *
+     * @param row the row
+     * @return the dynamic message
+     */
+    public DynamicMessage toMessage(Row row) {
+        return root.build(row);
+    }
+
+    /**
+     * Patch the serialized message of the columns into the raw message of the row.
+     * The top level fields set by the columns are dropped from the raw message and the serialized
+     * message is appended, which protobuf parsers merge as if the fields had been set on the raw message.
+     *
+     * @param row          the row
+     * @param messageBytes the serialized message of the columns
+     * @return the patched message bytes, or the message bytes if the row has no raw message of the proto
+     */
+    public byte[] patchRawMessage(Row row, byte[] messageBytes) {
+        byte[] rawMessage = getRawMessage(row);
+        if (rawMessage == null) {
+            return messageBytes;
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream(rawMessage.length + messageBytes.length);
+        CodedInputStream input = CodedInputStream.newInstance(rawMessage);
+        int copiedUntil = 0;
+        try {
+            while (true) {
+                int fieldStart = input.getTotalBytesRead();
+                int tag = input.readTag();
+                if (tag == 0) {
+                    break;
+                }
+                input.skipField(tag);
+                if (columnFieldNumbers.contains(WireFormat.getTagFieldNumber(tag))) {
+                    output.write(rawMessage, copiedUntil, fieldStart - copiedUntil);
+                    copiedUntil = input.getTotalBytesRead();
+                }
+            }
+        } catch (IOException e) {
+            throw new DaggerSerializationException(String.format("invalid raw message for %s: %s", descriptor.getFullName(), e.getMessage()));
+        }
+        output.write(rawMessage, copiedUntil, rawMessage.length - copiedUntil);
+        output.write(messageBytes, 0, messageBytes.length);
+        return output.toByteArray();
+    }
+
+    /**
+     * The raw message is only patched if it was read as the proto of the plan, since the field numbers
+     * of any other proto mean different fields.
+     */
+    private byte[] getRawMessage(Row row) {
+        if (rawMessageIndex < 0 || !(row.getField(rawMessageIndex) instanceof Row)) {
+            return null;
+        }
+        Row rawMessage = (Row) row.getField(rawMessageIndex);
+        if (!descriptor.getFullName().equals(rawMessage.getField(0)) || !(rawMessage.getField(1) instanceof byte[])) {
+            return null;
+        }
+        return (byte[]) rawMessage.getField(1);
+    }
+
+    /**
+     * Set the data of a column on the builder.
+     *
+     * @param builder         the builder
+     * @param fieldDescriptor the field descriptor
+     * @param typeHandler     the type handler
+     * @param data            the data
+     * @return the builder
+     */
+    static DynamicMessage.Builder populateBuilder(DynamicMessage.Builder builder, Descriptors.FieldDescriptor fieldDescriptor, TypeHandler typeHandler, Object data) {
+        if (data == null) {
+            return builder;
+        }
+        try {
+            return typeHandler.transformToProtoBuilder(builder, data);
+        } catch (RuntimeException e) {
+            String protoType = fieldDescriptor.getType().toString();
+            if (fieldDescriptor.isRepeated()) {
+                protoType = String.format("REPEATED %s", fieldDescriptor.getType());
+            }
+            String errMessage = String.format("column invalid: type mismatch of column %s, expecting %s type. Actual type %s", fieldDescriptor.getName(), protoType, data.getClass());
+            throw new InvalidColumnMappingException(errMessage, e);
+        }
+    }
+
+    private static class Column {
+        private final int index;
+        private final Descriptors.FieldDescriptor fieldDescriptor;
+        private final TypeHandler typeHandler;
+
+        Column(int index, Descriptors.FieldDescriptor fieldDescriptor, TypeHandler typeHandler) {
+            this.index = index;
+            this.fieldDescriptor = fieldDescriptor;
+            this.typeHandler = typeHandler;
+        }
+    }
+
+    private static class MessageNode {
+        private final Descriptors.Descriptor descriptor;
+        private final Descriptors.FieldDescriptor fieldDescriptor;
+        private final List<Column> columns = new ArrayList<>();
+        private final Map<Descriptors.FieldDescriptor, MessageNode> children = new LinkedHashMap<>();
+
+        MessageNode(Descriptors.Descriptor descriptor, Descriptors.FieldDescriptor fieldDescriptor) {
+            this.descriptor = descriptor;
+            this.fieldDescriptor = fieldDescriptor;
+        }
+
+        private boolean hasOverlappingColumns() {
+            for (Column column : columns) {
+                if (children.containsKey(column.fieldDescriptor)) {
+                    return true;
+                }
+            }
+            for (MessageNode child : children.values()) {
+                if (child.hasOverlappingColumns()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private DynamicMessage build(Row row) {
+            DynamicMessage.Builder builder = DynamicMessage.newBuilder(descriptor);
+            for (Column column : columns) {
+                builder = populateBuilder(builder, column.fieldDescriptor, column.typeHandler, row.getField(column.index));
+            }
+            for (MessageNode child : children.values()) {
+                builder.setField(child.fieldDescriptor, child.build(row));
+            }
+            return builder.build();
+        }
+    }
+}
@@ -20,6 +20,8 @@ public class ProtoSerializer implements Serializable {
     private final String[] columnNames;
     private final StencilClientOrchestrator stencilClientOrchestrator;
     private final String messageProtoClassName;
+    private transient ProtoSerializationPlan keyPlan;
+    private transient ProtoSerializationPlan messagePlan;
 
     public ProtoSerializer(String keyProtoClassName, String messageProtoClassName, String[] columnNames, StencilClientOrchestrator stencilClientOrchestrator) {
         this.keyProtoClassName = keyProtoClassName;
@@ -42,12 +44,26 @@ public class ProtoSerializer implements Serializable {
      * @return the byte [ ]
      */
     public byte[] serializeKey(Row row) {
-        return (Objects.isNull(keyProtoClassName) || keyProtoClassName.isEmpty()) ? null
-                : parse(row, getDescriptor(keyProtoClassName)).toByteArray();
+        if (Objects.isNull(keyProtoClassName) || keyProtoClassName.isEmpty()) {
+            return null;
+        }
+        Descriptors.Descriptor descriptor = getDescriptor(keyProtoClassName);
+        if (keyPlan == null || !keyPlan.isCompiledFor(descriptor, row.getArity())) {
+            keyPlan = new ProtoSerializationPlan(descriptor, columnNames, row.getArity());
+        }
+        return toMessage(keyPlan, row, descriptor).toByteArray();
     }
 
     public byte[] serializeValue(Row row) {
-        return parse(row, getDescriptor(messageProtoClassName)).toByteArray();
+        Descriptors.Descriptor descriptor = getDescriptor(messageProtoClassName);
+        if (messagePlan == null || !messagePlan.isCompiledFor(descriptor, row.getArity())) {
+            messagePlan = new ProtoSerializationPlan(descriptor, columnNames, row.getArity());
+        }
+        return messagePlan.patchRawMessage(row, toMessage(messagePlan, row, descriptor).toByteArray());
+    }
+
+    private DynamicMessage toMessage(ProtoSerializationPlan plan, Row row, Descriptors.Descriptor descriptor) {
+        return plan.isSupported() ? plan.toMessage(row) : parse(row, descriptor);
     }
 
     private DynamicMessage parse(Row element, Descriptors.Descriptor descriptor) {
@@ -100,19 +116,6 @@ public class ProtoSerializer implements Serializable {
             return builder;
         }
         TypeHandler typeHandler = TypeHandlerFactory.getTypeHandler(fieldDescriptor);
-        if (data != null) {
-            try {
-                builder = typeHandler.transformToProtoBuilder(builder, data);
-            } catch (RuntimeException e) {
-                String protoType = fieldDescriptor.getType().toString();
-                if (fieldDescriptor.isRepeated()) {
-                    protoType = String.format("REPEATED %s", fieldDescriptor.getType());
-                }
-                String errMessage = String.format("column invalid: type mismatch of column %s, expecting %s type. Actual type %s", fieldDescriptor.getName(), protoType, data.getClass());
-                throw new InvalidColumnMappingException(errMessage, e);
-            }
-        }
-
-        return builder;
+        return ProtoSerializationPlan.populateBuilder(builder, fieldDescriptor, typeHandler, data);
     }
 }
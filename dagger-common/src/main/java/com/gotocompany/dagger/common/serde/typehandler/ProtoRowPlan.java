@@ -0,0 +1,97 @@
+package com.gotocompany.dagger.common.serde.typehandler;
+
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.DynamicMessage;
+import org.apache.flink.types.Row;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The compiled plan to convert protobuf messages of a descriptor to rows.
+ * Resolves the type handler of every field once instead of on every message.
+ * Plans are kept per message type and rebuilt when Stencil refreshes the descriptor.
+ * A projected plan only converts the selected top level fields and leaves the other columns null.
+ */
+public class ProtoRowPlan {
+    private static Map<String, ProtoRowPlan> plans = new ConcurrentHashMap<>();
+
+    private final Descriptors.Descriptor descriptor;
+    private final FieldDescriptor[] fieldDescriptors;
+    private final TypeHandler[] typeHandlers;
+
+    private ProtoRowPlan(Descriptors.Descriptor descriptor, Set<String> projectedFields) {
+        this.descriptor = descriptor;
+        List<FieldDescriptor> descriptorFields = descriptor.getFields();
+        this.fieldDescriptors = descriptorFields.toArray(new FieldDescriptor[0]);
+        this.typeHandlers = new TypeHandler[fieldDescriptors.length];
+        for (int index = 0; index < fieldDescriptors.length; index++) {
+            if (projectedFields == null || projectedFields.contains(fieldDescriptors[index].getName())) {
+                typeHandlers[index] = TypeHandlerFactory.getTypeHandler(fieldDescriptors[index]);
+            }
+        }
+    }
+
+    /**
+     * Gets the plan of the descriptor.
+     *
+     * @param descriptor the descriptor
+     * @return the proto row plan
+     */
+    public static ProtoRowPlan getPlan(Descriptors.Descriptor descriptor) {
+        ProtoRowPlan plan = plans.get(descriptor.getFullName());
+        if (plan == null || plan.descriptor != descriptor) {
+            plan = new ProtoRowPlan(descriptor, null);
+            plans.put(descriptor.getFullName(), plan);
+        }
+        return plan;
+    }
+
+    /**
+     * Create a plan of the descriptor which only converts the projected fields.
+     * Projected plans are not shared, the caller keeps them and rebuilds them on descriptor refresh.
+     *
+     * @param descriptor      the descriptor
+     * @param projectedFields the names of the top level fields to convert, null for all fields
+     * @return the proto row plan
+     */
+    public static ProtoRowPlan createProjectedPlan(Descriptors.Descriptor descriptor, Set<String> projectedFields) {
+        return new ProtoRowPlan(descriptor, projectedFields);
+    }
+
+    /**
+     * Create row from specified proto and extra columns.
+     *
+     * @param proto        the proto
+     * @param extraColumns the extra columns
+     * @return the row
+     */
+    public Row createRow(DynamicMessage proto, int extraColumns) {
+        Row row = new Row(fieldDescriptors.length + extraColumns);
+        for (int index = 0; index < fieldDescriptors.length; index++) {
+            if (typeHandlers[index] != null) {
+                row.setField(index, typeHandlers[index].transformFromProto(proto.getField(fieldDescriptors[index])));
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Gets descriptor.
+     *
+     * @return the descriptor
+     */
+    public Descriptors.Descriptor getDescriptor() {
+        return descriptor;
+    }
+
+    /**
+     * Clear plans.
+     */
+    protected static void clearPlans() {
+        plans.clear();
+    }
+}
@@ -9,6 +9,7 @@ import org.apache.parquet.example.data.simple.SimpleGroup;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * The Factory class for Row.
@@ -46,13 +47,7 @@ public class RowFactory {
      * @return the row
      */
     public static Row createRow(DynamicMessage proto, int extraColumns) {
-        List<FieldDescriptor> descriptorFields = proto.getDescriptorForType().getFields();
-        Row row = new Row(descriptorFields.size() + extraColumns);
-        for (FieldDescriptor fieldDescriptor : descriptorFields) {
-            TypeHandler typeHandler = TypeHandlerFactory.getTypeHandler(fieldDescriptor);
-            row.setField(fieldDescriptor.getIndex(), typeHandler.transformFromProto(proto.getField(fieldDescriptor)));
-        }
-        return row;
+        return ProtoRowPlan.getPlan(proto.getDescriptorForType()).createRow(proto, extraColumns);
     }
 
 
@@ -64,6 +59,19 @@ public class RowFactory {
      * @return the row
      */
     public static Row createRow(DynamicMessage proto, int extraColumns, FieldDescriptorCache cache) {
+        return createRow(proto, extraColumns, cache, null);
+    }
+
+    /**
+     * Create row from specified proto and extra columns, only converting the projected top level fields.
+     *
+     * @param proto           the proto
+     * @param extraColumns    the extra columns
+     * @param cache           the field descriptor cache
+     * @param projectedFields the names of the top level fields to convert, null for all fields
+     * @return the row
+     */
+    public static Row createRow(DynamicMessage proto, int extraColumns, FieldDescriptorCache cache, Set<String> projectedFields) {
         List<FieldDescriptor> descriptorFields = proto.getDescriptorForType().getFields();
         int fieldCount = cache.getOriginalFieldCount(proto.getDescriptorForType());
 
@@ -73,6 +81,9 @@ public class RowFactory {
             if (!cache.containsField(fieldDescriptor.getFullName())) {
                 continue;
             }
+            if (projectedFields != null && !projectedFields.contains(fieldDescriptor.getName())) {
+                continue;
+            }
 
             TypeHandler typeHandler = TypeHandlerFactory.getTypeHandler(fieldDescriptor);
             row.setField(cache.getOriginalFieldIndex(fieldDescriptor), typeHandler.transformFromProtoUsingCache(proto.getField(fieldDescriptor), cache));
@@ -82,9 +93,25 @@ public class RowFactory {
 
 
     public static Row createRow(Descriptors.Descriptor descriptor, SimpleGroup simpleGroup, int extraColumns) {
+        return createRow(descriptor, simpleGroup, extraColumns, null);
+    }
+
+    /**
+     * Create row from specified simple group and extra columns, only converting the projected top level fields.
+     *
+     * @param descriptor      the descriptor
+     * @param simpleGroup     the simple group
+     * @param extraColumns    the extra columns
+     * @param projectedFields the names of the top level fields to convert, null for all fields
+     * @return the row
+     */
+    public static Row createRow(Descriptors.Descriptor descriptor, SimpleGroup simpleGroup, int extraColumns, Set<String> projectedFields) {
         List<FieldDescriptor> descriptorFields = descriptor.getFields();
         Row row = new Row(descriptorFields.size() + extraColumns);
         for (FieldDescriptor fieldDescriptor : descriptorFields) {
+            if (projectedFields != null && !projectedFields.contains(fieldDescriptor.getName())) {
+                continue;
+            }
             TypeHandler typeHandler = TypeHandlerFactory.getTypeHandler(fieldDescriptor);
             row.setField(fieldDescriptor.getIndex(), typeHandler.transformFromParquet(simpleGroup));
         }
@@ -14,8 +14,11 @@ import java.util.List;
 
 /**
  * The type Byte string primitive type handler.
+ * Bytes fields are serialized with Kryo unless the {@link ByteStringSerializer} is enabled, because state written
+ * by Kryo can not be restored with it.
  */
 public class ByteStringHandler implements PrimitiveHandler {
+    private static volatile boolean byteStringSerializerEnabled = false;
     private Descriptors.FieldDescriptor fieldDescriptor;
 
     /**
@@ -27,6 +30,15 @@ public class ByteStringHandler implements PrimitiveHandler {
         this.fieldDescriptor = fieldDescriptor;
     }
 
+    /**
+     * Enable or disable the {@link ByteStringSerializer} for the bytes fields of the rows typed afterwards.
+     *
+     * @param enabled whether bytes fields are serialized with the byte string serializer instead of Kryo
+     */
+    public static void setByteStringSerializerEnabled(boolean enabled) {
+        byteStringSerializerEnabled = enabled;
+    }
+
     @Override
     public boolean canHandle() {
         return fieldDescriptor.getJavaType() == JavaType.BYTE_STRING;
@@ -75,11 +87,11 @@ public class ByteStringHandler implements PrimitiveHandler {
 
     @Override
     public TypeInformation getTypeInformation() {
-        return TypeInformation.of(ByteString.class);
+        return byteStringSerializerEnabled ? ByteStringTypeInformation.INSTANCE : TypeInformation.of(ByteString.class);
     }
 
     @Override
     public TypeInformation getArrayType() {
-        return Types.OBJECT_ARRAY(TypeInformation.of(ByteString.class));
+        return Types.OBJECT_ARRAY(getTypeInformation());
     }
 }
@@ -0,0 +1,70 @@
+package com.gotocompany.dagger.common.serde.typehandler.primitive;
+
+import com.google.protobuf.ByteString;
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+
+/**
+ * The type information of protobuf bytes fields, serialized with the {@link ByteStringSerializer}.
+ */
+public class ByteStringTypeInformation extends TypeInformation<ByteString> {
+    public static final ByteStringTypeInformation INSTANCE = new ByteStringTypeInformation();
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public boolean isBasicType() {
+        return false;
+    }
+
+    @Override
+    public boolean isTupleType() {
+        return false;
+    }
+
+    @Override
+    public int getArity() {
+        return 1;
+    }
+
+    @Override
+    public int getTotalFields() {
+        return 1;
+    }
+
+    @Override
+    public Class<ByteString> getTypeClass() {
+        return ByteString.class;
+    }
+
+    @Override
+    public boolean isKeyType() {
+        return false;
+    }
+
+    @Override
+    public TypeSerializer<ByteString> createSerializer(ExecutionConfig config) {
+        return ByteStringSerializer.INSTANCE;
+    }
+
+    @Override
+    public String toString() {
+        return ByteString.class.getSimpleName();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof ByteStringTypeInformation;
+    }
+
+    @Override
+    public int hashCode() {
+        return ByteString.class.hashCode();
+    }
+
+    @Override
+    public boolean canEqual(Object obj) {
+        return obj instanceof ByteStringTypeInformation;
+    }
+}
@@ -13,6 +13,11 @@ import org.mockito.Mock;
 
 import java.lang.reflect.Field;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static com.gotocompany.dagger.common.core.Constants.*;
 import static org.junit.Assert.*;
@@ -70,6 +75,34 @@ public class StencilClientOrchestratorTest {
         stencilClientField.set(null, null);
     }
 
+    @Test
+    public void shouldShareOneStencilClientAcrossOrchestratorsUsedConcurrently() throws Exception {
+        Configuration config = getConfig(new HashMap<>());
+        int threads = 8;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<StencilClient>> stencilClients = new ArrayList<>();
+        for (int index = 0; index < threads; index++) {
+            StencilClientOrchestrator stencilClientOrchestrator = new StencilClientOrchestrator(config);
+            stencilClients.add(executorService.submit(() -> {
+                startLatch.await();
+                return stencilClientOrchestrator.getStencilClient();
+            }));
+        }
+
+        startLatch.countDown();
+        Set<StencilClient> distinctStencilClients = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Future<StencilClient> client : stencilClients) {
+            distinctStencilClients.add(client.get(10, TimeUnit.SECONDS));
+        }
+        executorService.shutdownNow();
+
+        assertEquals(1, distinctStencilClients.size());
+        Field stencilClientField = StencilClientOrchestrator.class.getDeclaredField("stencilClient");
+        stencilClientField.setAccessible(true);
+        stencilClientField.set(null, null);
+    }
+
     @Test
     public void shouldEnrichStencilClient() throws NoSuchFieldException, IllegalAccessException {
         when(configuration.getBoolean(SCHEMA_REGISTRY_STENCIL_ENABLE_KEY, SCHEMA_REGISTRY_STENCIL_ENABLE_DEFAULT)).thenReturn(true);
@@ -0,0 +1,203 @@
+package com.gotocompany.dagger.common.serde.parquet.deserialization;
+
+import com.gotocompany.dagger.common.configuration.Configuration;
+import com.gotocompany.dagger.common.core.StencilClientOrchestrator;
+import com.gotocompany.dagger.common.exceptions.serde.DaggerDeserializationException;
+import com.gotocompany.dagger.consumer.TestBookingLogMessage;
+import com.gotocompany.dagger.consumer.TestPrimitiveMessage;
+import org.apache.flink.types.Row;
+import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.column.impl.ColumnWriteStoreV1;
+import org.apache.parquet.column.page.mem.MemPageStore;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.GroupWriter;
+import org.apache.parquet.example.data.simple.SimpleGroup;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.gotocompany.dagger.common.core.Constants.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class ColumnarRowGroupDeserializerTest {
+
+    private static final String CREATED_BY = "parquet-mr version 1.12.2";
+
+    private StencilClientOrchestrator stencilClientOrchestrator;
+
+    @Mock
+    private Configuration configuration;
+
+    @Before
+    public void setUp() {
+        initMocks(this);
+        when(configuration.getBoolean(SCHEMA_REGISTRY_STENCIL_ENABLE_KEY, SCHEMA_REGISTRY_STENCIL_ENABLE_DEFAULT)).thenReturn(SCHEMA_REGISTRY_STENCIL_ENABLE_DEFAULT);
+        when(configuration.getString(SCHEMA_REGISTRY_STENCIL_URLS_KEY, SCHEMA_REGISTRY_STENCIL_URLS_DEFAULT)).thenReturn(SCHEMA_REGISTRY_STENCIL_URLS_DEFAULT);
+        when(configuration.getBoolean(SCHEMA_REGISTRY_STENCIL_CACHE_AUTO_REFRESH_KEY, SCHEMA_REGISTRY_STENCIL_CACHE_AUTO_REFRESH_DEFAULT)).thenReturn(SCHEMA_REGISTRY_STENCIL_CACHE_AUTO_REFRESH_DEFAULT);
+        when(configuration.getLong(SCHEMA_REGISTRY_STENCIL_CACHE_TTL_MS_KEY, SCHEMA_REGISTRY_STENCIL_CACHE_TTL_MS_DEFAULT)).thenReturn(SCHEMA_REGISTRY_STENCIL_CACHE_TTL_MS_DEFAULT);
+        when(configuration.getString(SCHEMA_REGISTRY_STENCIL_REFRESH_STRATEGY_KEY, SCHEMA_REGISTRY_STENCIL_REFRESH_STRATEGY_DEFAULT)).thenReturn(SCHEMA_REGISTRY_STENCIL_REFRESH_STRATEGY_DEFAULT);
+        stencilClientOrchestrator = new StencilClientOrchestrator(configuration);
+    }
+
+    @Test
+    public void shouldDeserializeFlatColumnsLikeSimpleGroupDeserializer() {
+        SimpleGroupDeserializer simpleGroupDeserializer = new SimpleGroupDeserializer(TestPrimitiveMessage.class.getTypeName(), 9, "rowtime", stencilClientOrchestrator);
+        MessageType parquetSchema = org.apache.parquet.schema.Types.buildMessage()
+                .optional(PrimitiveType.PrimitiveTypeName.BOOLEAN).named("is_valid")
+                .optional(PrimitiveType.PrimitiveTypeName.BINARY).named("order_number")
+                .optional(PrimitiveType.PrimitiveTypeName.BINARY).named("order_hash")
+                .optional(PrimitiveType.PrimitiveTypeName.DOUBLE).named("latitude")
+                .optional(PrimitiveType.PrimitiveTypeName.FLOAT).named("price")
+                .optional(PrimitiveType.PrimitiveTypeName.INT32).named("packet_count")
+                .optional(PrimitiveType.PrimitiveTypeName.INT64).named("phone")
+                .optional(PrimitiveType.PrimitiveTypeName.INT64).named("event_timestamp")
+                .optional(PrimitiveType.PrimitiveTypeName.BINARY).named("service_type")
+                .named("TestGroupType");
+        SimpleGroup completeGroup = new SimpleGroup(parquetSchema);
+        completeGroup.add("is_valid", true);
+        completeGroup.add("order_number", "ORDER_1322432");
+        completeGroup.add("order_hash", Binary.fromConstantByteArray("g362vxv3ydg73g2ss".getBytes()));
+        completeGroup.add("latitude", Double.MAX_VALUE);
+        completeGroup.add("price", Float.MAX_VALUE);
+        completeGroup.add("packet_count", Integer.MAX_VALUE);
+        completeGroup.add("phone", Long.MAX_VALUE);
+        completeGroup.add("event_timestamp", 1668157830123L);
+        completeGroup.add("service_type", "GO_RIDE");
+        SimpleGroup partialGroup = new SimpleGroup(parquetSchema);
+        partialGroup.add("order_number", "ORDER_2");
+        partialGroup.add("service_type", "UNKNOWN_SERVICE");
+        List<Group> groups = Arrays.asList(completeGroup, partialGroup);
+
+        List<Row> rows = readAll(simpleGroupDeserializer, parquetSchema, groups);
+
+        assertEquals(2, rows.size());
+        assertEquals(simpleGroupDeserializer.deserialize(completeGroup), rows.get(0));
+        assertEquals(simpleGroupDeserializer.deserialize(partialGroup), rows.get(1));
+        assertEquals(new Timestamp(1668157830123L), rows.get(0).getField(rows.get(0).getArity() - 1));
+    }
+
+    @Test
+    public void shouldDeserializeNestedColumnsThroughSimpleGroups() {
+        SimpleGroupDeserializer simpleGroupDeserializer = new SimpleGroupDeserializer(TestBookingLogMessage.class.getTypeName(), 5, "rowtime", stencilClientOrchestrator);
+        MessageType parquetSchema = org.apache.parquet.schema.Types.buildMessage()
+                .optional(PrimitiveType.PrimitiveTypeName.BINARY).named("order_number")
+                .optional(PrimitiveType.PrimitiveTypeName.BINARY).named("status")
+                .optionalGroup()
+                .optional(PrimitiveType.PrimitiveTypeName.INT64).named("seconds")
+                .optional(PrimitiveType.PrimitiveTypeName.INT32).named("nanos")
+                .named("event_timestamp")
+                .optionalGroup()
+                .optional(PrimitiveType.PrimitiveTypeName.BINARY).named("name")
+                .optional(PrimitiveType.PrimitiveTypeName.DOUBLE).named("latitude")
+                .named("driver_pickup_location")
+                .optional(PrimitiveType.PrimitiveTypeName.FLOAT).named("amount_paid_by_cash")
+                .named("TestGroupType");
+        SimpleGroup simpleGroup = new SimpleGroup(parquetSchema);
+        simpleGroup.add("order_number", "ORDER_1");
+        simpleGroup.add("status", "DRIVER_FOUND");
+        simpleGroup.addGroup("event_timestamp").append("seconds", 1668157830L).append("nanos", 123000000);
+        simpleGroup.addGroup("driver_pickup_location").append("name", "station").append("latitude", -6.2);
+        simpleGroup.add("amount_paid_by_cash", 32.5F);
+
+        List<Row> rows = readAll(simpleGroupDeserializer, parquetSchema, Collections.singletonList(simpleGroup));
+
+        assertEquals(1, rows.size());
+        assertEquals(simpleGroupDeserializer.deserialize(simpleGroup), rows.get(0));
+        Row location = (Row) rows.get(0).getField(getBookingLogIndex("driver_pickup_location"));
+        assertEquals("station", location.getField(0));
+    }
+
+    @Test
+    public void shouldOnlyMaterializeProjectedFields() {
+        SimpleGroupDeserializer simpleGroupDeserializer = new SimpleGroupDeserializer(TestPrimitiveMessage.class.getTypeName(), 9, "rowtime", stencilClientOrchestrator,
+                Collections.singleton("order_number"));
+        MessageType parquetSchema = org.apache.parquet.schema.Types.buildMessage()
+                .required(PrimitiveType.PrimitiveTypeName.BINARY).named("order_number")
+                .required(PrimitiveType.PrimitiveTypeName.FLOAT).named("price")
+                .required(PrimitiveType.PrimitiveTypeName.INT64).named("event_timestamp")
+                .named("TestGroupType");
+        SimpleGroup simpleGroup = new SimpleGroup(parquetSchema);
+        simpleGroup.add("order_number", "ORDER_1322432");
+        simpleGroup.add("price", Float.MAX_VALUE);
+        simpleGroup.add("event_timestamp", 1668157830123L);
+
+        Row row = readAll(simpleGroupDeserializer, parquetSchema, Collections.singletonList(simpleGroup)).get(0);
+
+        assertEquals("ORDER_1322432", row.getField(getPrimitiveMessageIndex("order_number")));
+        assertNull(row.getField(getPrimitiveMessageIndex("price")));
+        assertNull(row.getField(getPrimitiveMessageIndex("event_timestamp")));
+        assertEquals(new Timestamp(1668157830123L), row.getField(row.getArity() - 1));
+    }
+
+    @Test
+    public void shouldReadRowGroupsLargerThanOneBatch() {
+        SimpleGroupDeserializer simpleGroupDeserializer = new SimpleGroupDeserializer(TestPrimitiveMessage.class.getTypeName(), 9, "rowtime", stencilClientOrchestrator);
+        MessageType parquetSchema = org.apache.parquet.schema.Types.buildMessage()
+                .required(PrimitiveType.PrimitiveTypeName.INT64).named("phone")
+                .required(PrimitiveType.PrimitiveTypeName.INT64).named("event_timestamp")
+                .named("TestGroupType");
+        List<Group> groups = new ArrayList<>();
+        for (long index = 0; index < 10000; index++) {
+            SimpleGroup simpleGroup = new SimpleGroup(parquetSchema);
+            simpleGroup.add("phone", index);
+            simpleGroup.add("event_timestamp", index * 1000);
+            groups.add(simpleGroup);
+        }
+
+        List<Row> rows = readAll(simpleGroupDeserializer, parquetSchema, groups);
+
+        assertEquals(10000, rows.size());
+        for (int index = 0; index < rows.size(); index++) {
+            assertEquals((long) index, rows.get(index).getField(getPrimitiveMessageIndex("phone")));
+        }
+    }
+
+    @Test
+    public void shouldThrowDaggerDeserializationExceptionWhenTimestampFieldIsInvalid() {
+        SimpleGroupDeserializer simpleGroupDeserializer = new SimpleGroupDeserializer(TestPrimitiveMessage.class.getTypeName(), 100, "rowtime", stencilClientOrchestrator);
+        MessageType parquetSchema = org.apache.parquet.schema.Types.buildMessage()
+                .required(PrimitiveType.PrimitiveTypeName.BINARY).named("order_number")
+                .named("TestGroupType");
+        SimpleGroup simpleGroup = new SimpleGroup(parquetSchema);
+        simpleGroup.add("order_number", "ORDER_1");
+
+        assertThrows(DaggerDeserializationException.class,
+                () -> readAll(simpleGroupDeserializer, parquetSchema, Collections.singletonList(simpleGroup)));
+    }
+
+    private List<Row> readAll(SimpleGroupDeserializer simpleGroupDeserializer, MessageType parquetSchema, List<Group> groups) {
+        MemPageStore pageStore = new MemPageStore(groups.size());
+        ColumnWriteStoreV1 columnWriteStore = new ColumnWriteStoreV1(parquetSchema, pageStore, ParquetProperties.builder().build());
+        GroupWriter groupWriter = new GroupWriter(new ColumnIOFactory().getColumnIO(parquetSchema).getRecordWriter(columnWriteStore), parquetSchema);
+        groups.forEach(groupWriter::write);
+        columnWriteStore.flush();
+
+        ColumnarRowGroupDeserializer columnarRowGroupDeserializer = new ColumnarRowGroupDeserializer(simpleGroupDeserializer, parquetSchema, CREATED_BY);
+        columnarRowGroupDeserializer.readRowGroup(pageStore);
+        List<Row> rows = new ArrayList<>();
+        while (columnarRowGroupDeserializer.hasNext()) {
+            rows.add(columnarRowGroupDeserializer.next());
+        }
+        return rows;
+    }
+
+    private int getPrimitiveMessageIndex(String propertyName) {
+        return TestPrimitiveMessage.getDescriptor().findFieldByName(propertyName).getIndex();
+    }
+
+    private int getBookingLogIndex(String propertyName) {
+        return TestBookingLogMessage.getDescriptor().findFieldByName(propertyName).getIndex();
+    }
+}
@@ -20,6 +20,7 @@ import org.mockito.Mock;
 
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.Collections;
 
 import static com.gotocompany.dagger.common.core.Constants.*;
 import static com.gotocompany.dagger.common.core.Constants.SCHEMA_REGISTRY_STENCIL_URLS_DEFAULT;
@@ -101,6 +102,28 @@ public class SimpleGroupDeserializerTest {
         assertEquals(nanos, actualTimestampRow.getField(1));
     }
 
+    @Test
+    public void shouldOnlyMaterializeProjectedFields() {
+        SimpleGroupDeserializer simpleGroupDeserializer = new SimpleGroupDeserializer(TestPrimitiveMessage.class.getTypeName(), 9, "rowtime", stencilClientOrchestrator,
+                Collections.singleton("order_number"));
+        GroupType parquetSchema = org.apache.parquet.schema.Types.requiredGroup()
+                .required(PrimitiveType.PrimitiveTypeName.BINARY).named("order_number")
+                .required(PrimitiveType.PrimitiveTypeName.FLOAT).named("price")
+                .required(PrimitiveType.PrimitiveTypeName.INT64).named("event_timestamp")
+                .named("TestGroupType");
+        SimpleGroup simpleGroup = new SimpleGroup(parquetSchema);
+        simpleGroup.add("order_number", "ORDER_1322432");
+        simpleGroup.add("price", Float.MAX_VALUE);
+        long currentTimeInMillis = Instant.now().toEpochMilli();
+        simpleGroup.add("event_timestamp", currentTimeInMillis);
+
+        Row row = simpleGroupDeserializer.deserialize(simpleGroup);
+
+        assertEquals("ORDER_1322432", row.getField(getProtoIndex("order_number")));
+        assertNull(row.getField(getProtoIndex("price")));
+        assertEquals(currentTimeInMillis, ((Timestamp) row.getField(row.getArity() - 1)).getTime());
+    }
+
     @Test
     public void shouldAddExtraFieldsToRow() {
         SimpleGroupDeserializer simpleGroupDeserializer = new SimpleGroupDeserializer(TestPrimitiveMessage.class.getTypeName(), 9, "rowtime", stencilClientOrchestrator);
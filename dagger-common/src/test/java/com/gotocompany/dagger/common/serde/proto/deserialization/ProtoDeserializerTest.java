@@ -17,7 +17,9 @@ import org.junit.Test;
 import org.mockito.Mock;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 
 import static com.gotocompany.dagger.common.core.Constants.*;
@@ -94,6 +96,47 @@ public class ProtoDeserializerTest {
         assertEquals(1595548800000L, ((java.sql.Timestamp) row.getField(size - 1)).getTime());
     }
 
+    @Test
+    public void shouldOnlyMaterializeProjectedFields() {
+        byte[] protoBytes = TestBookingLogMessage
+                .newBuilder()
+                .setOrderNumber("111")
+                .setCustomerId("customer_1")
+                .setEventTimestamp(Timestamp.newBuilder().setSeconds(1595548800L).setNanos(0).build())
+                .build()
+                .toByteArray();
+        ProtoDeserializer protoDeserializer = new ProtoDeserializer(TestBookingLogMessage.class.getTypeName(), 5, "rowtime", stencilClientOrchestrator,
+                new HashSet<>(Arrays.asList("order_number", "event_timestamp")));
+
+        Row row = protoDeserializer.deserialize(new ConsumerRecord<>("test-topic", 0, 0, null, protoBytes));
+
+        assertEquals(51, row.getArity());
+        assertEquals("111", row.getField(bookingLogFieldIndex("order_number")));
+        assertNotNull(row.getField(bookingLogFieldIndex("event_timestamp")));
+        assertNull(row.getField(bookingLogFieldIndex("customer_id")));
+        assertEquals(1595548800000L, ((java.sql.Timestamp) row.getField(row.getArity() - 1)).getTime());
+    }
+
+    @Test
+    public void shouldKeepRawMessageIfEnabled() {
+        byte[] protoBytes = TestBookingLogMessage
+                .newBuilder()
+                .setOrderNumber("111")
+                .setEventTimestamp(Timestamp.newBuilder().setSeconds(1595548800L).setNanos(0).build())
+                .build()
+                .toByteArray();
+        ProtoDeserializer protoDeserializer = new ProtoDeserializer(TestBookingLogMessage.class.getTypeName(), 5, "rowtime", stencilClientOrchestrator, null, true);
+
+        Row row = protoDeserializer.deserialize(new ConsumerRecord<>("test-topic", 0, 0, null, protoBytes));
+
+        assertEquals(52, row.getArity());
+        Row rawMessage = (Row) row.getField(row.getArity() - 3);
+        assertEquals("com.gotocompany.dagger.consumer.TestBookingLogMessage", rawMessage.getField(0));
+        assertArrayEquals(protoBytes, (byte[]) rawMessage.getField(1));
+        assertEquals(RAW_MESSAGE_FIELD_KEY, ((RowTypeInfo) protoDeserializer.getProducedType()).getFieldNames()[row.getArity() - 3]);
+        assertTrue((Boolean) row.getField(row.getArity() - 2));
+    }
+
     @Test
     public void shouldDeserializeEnumAsString() {
 
@@ -0,0 +1,129 @@
+package com.gotocompany.dagger.common.serde.proto.serialization;
+
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.gotocompany.dagger.common.exceptions.serde.InvalidColumnMappingException;
+import com.gotocompany.dagger.consumer.TestBookingLogMessage;
+import com.gotocompany.dagger.consumer.TestCustomerLogMessage;
+import com.gotocompany.dagger.consumer.TestEnrichedBookingLogMessage;
+import com.gotocompany.dagger.consumer.TestRoute;
+import org.apache.flink.types.Row;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ProtoSerializationPlanTest {
+
+    @Test
+    public void shouldBuildNestedMessagesOfAllColumns() throws InvalidProtocolBufferException {
+        String[] columnNames = {"customer_profile.name", "event_timestamp", "customer_profile.email", "driver_profile.driver_id"};
+        ProtoSerializationPlan plan = new ProtoSerializationPlan(TestEnrichedBookingLogMessage.getDescriptor(), columnNames, 4);
+        Row row = Row.of("test-name", null, "test_email@go-jek.com", "driver_1");
+
+        DynamicMessage message = plan.toMessage(row);
+
+        TestEnrichedBookingLogMessage actualValue = TestEnrichedBookingLogMessage.parseFrom(message.toByteArray());
+        assertTrue(plan.isSupported());
+        assertEquals("test-name", actualValue.getCustomerProfile().getName());
+        assertEquals("test_email@go-jek.com", actualValue.getCustomerProfile().getEmail());
+        assertEquals("driver_1", actualValue.getDriverProfile().getDriverId());
+        assertFalse(actualValue.hasEventTimestamp());
+    }
+
+    @Test
+    public void shouldReusePlanForSameDescriptorAndArity() {
+        String[] columnNames = {"order_number", "customer_id"};
+        ProtoSerializationPlan plan = new ProtoSerializationPlan(TestBookingLogMessage.getDescriptor(), columnNames, 2);
+
+        assertTrue(plan.isCompiledFor(TestBookingLogMessage.getDescriptor(), 2));
+        assertFalse(plan.isCompiledFor(TestBookingLogMessage.getDescriptor(), 1));
+        assertFalse(plan.isCompiledFor(TestEnrichedBookingLogMessage.getDescriptor(), 2));
+    }
+
+    @Test
+    public void shouldNotPlanColumnsSettingAMessageAsWholeAndThroughNestedColumns() {
+        String[] columnNames = {"customer_profile", "customer_profile.name"};
+
+        ProtoSerializationPlan plan = new ProtoSerializationPlan(TestEnrichedBookingLogMessage.getDescriptor(), columnNames, 2);
+
+        assertFalse(plan.isSupported());
+    }
+
+    @Test
+    public void shouldNotPlanNestedColumnsOfNonMessageFields() {
+        String[] columnNames = {"order_number.invalid"};
+
+        ProtoSerializationPlan plan = new ProtoSerializationPlan(TestBookingLogMessage.getDescriptor(), columnNames, 1);
+
+        assertFalse(plan.isSupported());
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenNestedColumnDoesNotExist() {
+        String[] columnNames = {"driver_pickup_location.invalid"};
+
+        InvalidColumnMappingException exception = assertThrows(InvalidColumnMappingException.class,
+                () -> new ProtoSerializationPlan(TestBookingLogMessage.getDescriptor(), columnNames, 1));
+        assertEquals("column invalid doesn't exists in the proto of com.gotocompany.dagger.consumer.TestLocation",
+                exception.getMessage());
+    }
+
+    @Test
+    public void shouldPatchColumnsIntoRawMessage() throws InvalidProtocolBufferException {
+        byte[] rawMessage = TestEnrichedBookingLogMessage.newBuilder()
+                .setCustomerProfile(TestCustomerLogMessage.newBuilder().setName("raw-name").setEmail("raw_email@go-jek.com"))
+                .setBookingLog(TestBookingLogMessage.newBuilder().setOrderNumber("order_1").addRoutes(TestRoute.newBuilder().setDistanceInKms(1.0f)))
+                .build()
+                .toByteArray();
+        String[] columnNames = {"__raw_message__", "customer_profile.name"};
+        ProtoSerializationPlan plan = new ProtoSerializationPlan(TestEnrichedBookingLogMessage.getDescriptor(), columnNames, 2);
+        Row row = Row.of(Row.of(TestEnrichedBookingLogMessage.getDescriptor().getFullName(), rawMessage), "new-name");
+
+        byte[] patchedMessage = plan.patchRawMessage(row, plan.toMessage(row).toByteArray());
+
+        TestEnrichedBookingLogMessage actualValue = TestEnrichedBookingLogMessage.parseFrom(patchedMessage);
+        assertEquals("new-name", actualValue.getCustomerProfile().getName());
+        assertEquals("", actualValue.getCustomerProfile().getEmail());
+        assertEquals("order_1", actualValue.getBookingLog().getOrderNumber());
+        assertEquals(1, actualValue.getBookingLog().getRoutesCount());
+    }
+
+    @Test
+    public void shouldDropRawFieldsOfNullColumns() throws InvalidProtocolBufferException {
+        byte[] rawMessage = TestBookingLogMessage.newBuilder().setOrderNumber("order_1").setCustomerId("customer_1").build().toByteArray();
+        String[] columnNames = {"customer_id", "__raw_message__"};
+        ProtoSerializationPlan plan = new ProtoSerializationPlan(TestBookingLogMessage.getDescriptor(), columnNames, 2);
+        Row row = Row.of(null, Row.of(TestBookingLogMessage.getDescriptor().getFullName(), rawMessage));
+
+        byte[] patchedMessage = plan.patchRawMessage(row, plan.toMessage(row).toByteArray());
+
+        TestBookingLogMessage actualValue = TestBookingLogMessage.parseFrom(patchedMessage);
+        assertEquals("order_1", actualValue.getOrderNumber());
+        assertEquals("", actualValue.getCustomerId());
+    }
+
+    @Test
+    public void shouldReturnMessageBytesWithoutRawMessage() {
+        String[] columnNames = {"order_number", "__raw_message__"};
+        ProtoSerializationPlan plan = new ProtoSerializationPlan(TestBookingLogMessage.getDescriptor(), columnNames, 2);
+        byte[] messageBytes = new byte[]{1, 2};
+
+        assertSame(messageBytes, plan.patchRawMessage(Row.of("order_1", null), messageBytes));
+    }
+
+    @Test
+    public void shouldNotPatchRawMessageOfAnotherProto() throws InvalidProtocolBufferException {
+        byte[] rawMessage = TestCustomerLogMessage.newBuilder().setName("raw-name").setEmail("raw_email@go-jek.com").build().toByteArray();
+        String[] columnNames = {"order_number", "__raw_message__"};
+        ProtoSerializationPlan plan = new ProtoSerializationPlan(TestBookingLogMessage.getDescriptor(), columnNames, 2);
+        Row row = Row.of("order_1", Row.of(TestCustomerLogMessage.getDescriptor().getFullName(), rawMessage));
+        byte[] messageBytes = plan.toMessage(row).toByteArray();
+
+        byte[] serializedMessage = plan.patchRawMessage(row, messageBytes);
+
+        assertSame(messageBytes, serializedMessage);
+        TestBookingLogMessage actualValue = TestBookingLogMessage.parseFrom(serializedMessage);
+        assertEquals("order_1", actualValue.getOrderNumber());
+        assertEquals("", actualValue.getOrderUrl());
+    }
+}
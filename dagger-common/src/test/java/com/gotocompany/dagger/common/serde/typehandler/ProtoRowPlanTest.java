@@ -0,0 +1,61 @@
+package com.gotocompany.dagger.common.serde.typehandler;
+
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.gotocompany.dagger.consumer.TestBookingLogMessage;
+import com.gotocompany.dagger.consumer.TestLocation;
+import org.apache.flink.types.Row;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ProtoRowPlanTest {
+
+    @Before
+    public void setUp() {
+        ProtoRowPlan.clearPlans();
+    }
+
+    @Test
+    public void shouldReusePlanForSameDescriptor() {
+        ProtoRowPlan plan = ProtoRowPlan.getPlan(TestBookingLogMessage.getDescriptor());
+
+        assertSame(plan, ProtoRowPlan.getPlan(TestBookingLogMessage.getDescriptor()));
+    }
+
+    @Test
+    public void shouldRebuildPlanWhenDescriptorIsRefreshed() throws Descriptors.DescriptorValidationException {
+        ProtoRowPlan plan = ProtoRowPlan.getPlan(TestBookingLogMessage.getDescriptor());
+        Descriptors.FileDescriptor file = TestBookingLogMessage.getDescriptor().getFile();
+        Descriptors.FileDescriptor refreshedFile = Descriptors.FileDescriptor.buildFrom(file.toProto(), file.getDependencies().toArray(new Descriptors.FileDescriptor[0]));
+        Descriptors.Descriptor refreshedDescriptor = refreshedFile.findMessageTypeByName(TestBookingLogMessage.getDescriptor().getName());
+
+        ProtoRowPlan refreshedPlan = ProtoRowPlan.getPlan(refreshedDescriptor);
+
+        assertNotSame(plan, refreshedPlan);
+        assertSame(refreshedDescriptor, refreshedPlan.getDescriptor());
+    }
+
+    @Test
+    public void shouldCreateRowWithExtraColumns() throws InvalidProtocolBufferException {
+        TestBookingLogMessage bookingLogMessage = TestBookingLogMessage.newBuilder()
+                .setOrderNumber("order_1")
+                .setCustomerId("144614")
+                .setDriverPickupLocation(TestLocation.newBuilder().setName("pickup").setLatitude(1.5).build())
+                .build();
+        DynamicMessage dynamicMessage = DynamicMessage.parseFrom(TestBookingLogMessage.getDescriptor(), bookingLogMessage.toByteArray());
+
+        Row row = ProtoRowPlan.getPlan(TestBookingLogMessage.getDescriptor()).createRow(dynamicMessage, 2);
+
+        assertEquals(51, row.getArity());
+        assertEquals("order_1", row.getField(1));
+        assertEquals("144614", row.getField(5));
+        Row pickupLocation = (Row) row.getField(TestBookingLogMessage.getDescriptor().findFieldByName("driver_pickup_location").getIndex());
+        assertEquals("pickup", pickupLocation.getField(0));
+        assertEquals(1.5, pickupLocation.getField(2));
+        assertNull(row.getField(49));
+        assertNull(row.getField(50));
+    }
+}
@@ -1,8 +1,14 @@
 package com.gotocompany.dagger.common.serde.typehandler.primitive;
 
 import com.gotocompany.dagger.consumer.TestRepeatedPrimitiveMessage;
+import org.apache.flink.api.common.ExecutionConfig;
 import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.api.common.typeinfo.Types;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.TypeSerializerSchemaCompatibility;
+import org.apache.flink.api.common.typeutils.TypeSerializerSnapshot;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
 
 import com.google.protobuf.ByteString;
 import com.google.protobuf.Descriptors;
@@ -10,8 +16,10 @@ import com.gotocompany.dagger.consumer.TestMessageEnvelope;
 import org.apache.parquet.example.data.simple.SimpleGroup;
 import org.apache.parquet.io.api.Binary;
 import org.apache.parquet.schema.GroupType;
+import org.junit.After;
 import org.junit.Test;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 
@@ -21,6 +29,11 @@ import static org.apache.parquet.schema.Types.buildMessage;
 import static org.junit.Assert.*;
 
 public class ByteStringHandlerTest {
+    @After
+    public void tearDown() {
+        ByteStringHandler.setByteStringSerializerEnabled(false);
+    }
+
     @Test
     public void shouldHandleByteStringTypes() {
         Descriptors.FieldDescriptor fieldDescriptor = TestMessageEnvelope.getDescriptor().findFieldByName("log_key");
@@ -60,6 +73,31 @@ public class ByteStringHandlerTest {
         assertEquals(Types.OBJECT_ARRAY(TypeInformation.of(ByteString.class)), byteStringHandler.getArrayType());
     }
 
+    @Test
+    public void shouldReturnByteStringTypeInformationWhenByteStringSerializerIsEnabled() {
+        ByteStringHandler.setByteStringSerializerEnabled(true);
+        Descriptors.FieldDescriptor fieldDescriptor = TestMessageEnvelope.getDescriptor().findFieldByName("log_key");
+        ByteStringHandler byteStringHandler = new ByteStringHandler(fieldDescriptor);
+        assertEquals(ByteStringTypeInformation.INSTANCE, byteStringHandler.getTypeInformation());
+        assertEquals(Types.OBJECT_ARRAY(ByteStringTypeInformation.INSTANCE), byteStringHandler.getArrayType());
+    }
+
+    @Test
+    public void shouldRestoreStateWrittenByKryoWhenByteStringSerializerIsDisabled() throws IOException {
+        ExecutionConfig executionConfig = new ExecutionConfig();
+        TypeSerializer<ByteString> kryoSerializer = TypeInformation.of(ByteString.class).createSerializer(executionConfig);
+        TypeSerializerSnapshot<ByteString> kryoSnapshot = kryoSerializer.snapshotConfiguration();
+        DataOutputSerializer output = new DataOutputSerializer(32);
+        kryoSerializer.serialize(ByteString.copyFromUtf8("test"), output);
+        Descriptors.FieldDescriptor fieldDescriptor = TestMessageEnvelope.getDescriptor().findFieldByName("log_key");
+        TypeSerializer<ByteString> serializer = new ByteStringHandler(fieldDescriptor).getTypeInformation().createSerializer(executionConfig);
+
+        TypeSerializerSchemaCompatibility<ByteString> compatibility = kryoSnapshot.resolveSchemaCompatibility(serializer);
+
+        assertTrue(compatibility.isCompatibleAsIs());
+        assertEquals(ByteString.copyFromUtf8("test"), serializer.deserialize(new DataInputDeserializer(output.getCopyOfBuffer())));
+    }
+
     @Test
     public void shouldReturnArrayValues() {
         Descriptors.FieldDescriptor fieldDescriptor = TestMessageEnvelope.getDescriptor().findFieldByName("log_key");
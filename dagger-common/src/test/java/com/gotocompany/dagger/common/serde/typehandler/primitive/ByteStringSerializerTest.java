@@ -0,0 +1,61 @@
+package com.gotocompany.dagger.common.serde.typehandler.primitive;
+
+import com.google.protobuf.ByteString;
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.TypeSerializerSchemaCompatibility;
+import org.apache.flink.api.common.typeutils.TypeSerializerSnapshot;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class ByteStringSerializerTest {
+
+    @Test
+    public void shouldSerializeAndDeserializeBytes() throws IOException {
+        ByteString value = ByteString.copyFromUtf8("test-value");
+        DataOutputSerializer output = new DataOutputSerializer(32);
+
+        ByteStringSerializer.INSTANCE.serialize(value, output);
+        ByteString actualValue = ByteStringSerializer.INSTANCE.deserialize(new DataInputDeserializer(output.getCopyOfBuffer()));
+
+        assertEquals(value, actualValue);
+        assertEquals(4 + value.size(), output.length());
+    }
+
+    @Test
+    public void shouldCopySerializedBytes() throws IOException {
+        DataOutputSerializer output = new DataOutputSerializer(32);
+        ByteStringSerializer.INSTANCE.serialize(ByteString.copyFromUtf8("first"), output);
+        ByteStringSerializer.INSTANCE.serialize(ByteString.EMPTY, output);
+        DataInputDeserializer input = new DataInputDeserializer(output.getCopyOfBuffer());
+        DataOutputSerializer copy = new DataOutputSerializer(32);
+
+        ByteStringSerializer.INSTANCE.copy(input, copy);
+        ByteStringSerializer.INSTANCE.copy(input, copy);
+
+        assertArrayEquals(output.getCopyOfBuffer(), copy.getCopyOfBuffer());
+    }
+
+    @Test
+    public void shouldBeCompatibleWithItsSnapshot() {
+        TypeSerializerSnapshot<ByteString> snapshot = ByteStringSerializer.INSTANCE.snapshotConfiguration();
+
+        TypeSerializerSchemaCompatibility<ByteString> compatibility = snapshot.resolveSchemaCompatibility(ByteStringSerializer.INSTANCE);
+
+        assertTrue(compatibility.isCompatibleAsIs());
+        assertSame(ByteStringSerializer.INSTANCE, snapshot.restoreSerializer());
+    }
+
+    @Test
+    public void shouldBeCreatedByTypeInformation() {
+        TypeSerializer<ByteString> serializer = ByteStringTypeInformation.INSTANCE.createSerializer(new ExecutionConfig());
+
+        assertSame(ByteStringSerializer.INSTANCE, serializer);
+        assertEquals(ByteString.class, ByteStringTypeInformation.INSTANCE.getTypeClass());
+    }
+}
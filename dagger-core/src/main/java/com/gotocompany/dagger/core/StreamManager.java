@@ -4,6 +4,7 @@ import com.gotocompany.dagger.common.configuration.Configuration;
 import com.gotocompany.dagger.common.core.DaggerContext;
 import com.gotocompany.dagger.common.core.StencilClientOrchestrator;
 import com.gotocompany.dagger.common.core.StreamInfo;
+import com.gotocompany.dagger.common.serde.typehandler.primitive.ByteStringHandler;
 import com.gotocompany.dagger.common.udfs.UdfFactory;
 import com.gotocompany.dagger.common.watermark.LastColumnWatermark;
 import com.gotocompany.dagger.common.watermark.NoWatermark;
@@ -86,6 +87,7 @@ public class StreamManager {
         executionEnvironment.getCheckpointConfig().setMinPauseBetweenCheckpoints(configuration.getLong(Constants.FLINK_CHECKPOINT_MIN_PAUSE_MS_KEY, Constants.FLINK_CHECKPOINT_MIN_PAUSE_MS_DEFAULT));
         executionEnvironment.getCheckpointConfig().setMaxConcurrentCheckpoints(configuration.getInteger(Constants.FLINK_CHECKPOINT_MAX_CONCURRENT_KEY, Constants.FLINK_CHECKPOINT_MAX_CONCURRENT_DEFAULT));
         executionEnvironment.getConfig().setGlobalJobParameters(configuration.getParam());
+        ByteStringHandler.setByteStringSerializerEnabled(configuration.getBoolean(Constants.FLINK_BYTES_SERIALIZER_ENABLE_KEY, Constants.FLINK_BYTES_SERIALIZER_ENABLE_DEFAULT));
 
         tableEnvironment.getConfig().setIdleStateRetention(Duration.ofMinutes(configuration.getInteger(Constants.FLINK_RETENTION_IDLE_STATE_MINUTE_KEY, Constants.FLINK_RETENTION_IDLE_STATE_MINUTE_DEFAULT)));
         return this;
@@ -13,6 +13,7 @@ import org.apache.flink.types.Row;
 
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Set;
 
 import static com.gotocompany.dagger.common.serde.DataTypes.PROTO;
 
@@ -34,7 +35,9 @@ public class ProtoDeserializerProvider implements DaggerDeserializerProvider<Row
         int timestampFieldIndex = Integer.parseInt(streamConfig.getEventTimestampFieldIndex());
         String protoClassName = streamConfig.getProtoClass();
         String rowTimeAttributeName = configuration.getString(Constants.FLINK_ROWTIME_ATTRIBUTE_NAME_KEY, Constants.FLINK_ROWTIME_ATTRIBUTE_NAME_DEFAULT);
-        return new ProtoDeserializer(protoClassName, timestampFieldIndex, rowTimeAttributeName, stencilClientOrchestrator);
+        Set<String> projectedFields = QueryProjection.getProjectedFields(configuration, stencilClientOrchestrator, protoClassName, timestampFieldIndex);
+        boolean rawMessageEnabled = configuration.getBoolean(Constants.SOURCE_KAFKA_RAW_MESSAGE_ENABLE_KEY, Constants.SOURCE_KAFKA_RAW_MESSAGE_ENABLE_DEFAULT);
+        return new ProtoDeserializer(protoClassName, timestampFieldIndex, rowTimeAttributeName, stencilClientOrchestrator, projectedFields, rawMessageEnabled);
     }
 
     @Override
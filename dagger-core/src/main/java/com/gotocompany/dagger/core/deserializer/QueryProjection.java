@@ -0,0 +1,70 @@
+package com.gotocompany.dagger.core.deserializer;
+
+import com.google.protobuf.Descriptors;
+import com.gotocompany.dagger.common.configuration.Configuration;
+import com.gotocompany.dagger.common.core.StencilClientOrchestrator;
+import com.gotocompany.dagger.core.utils.Constants;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the top level fields of a stream which are referenced by the sql query and the preprocessors.
+ * The resolution is conservative: a field is kept whenever its name appears as an identifier in the configs,
+ * and nothing is projected when the query may select all columns.
+ */
+public class QueryProjection {
+    private static final Pattern IDENTIFIER_PATTERN = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+    private static final Pattern COUNT_ALL_PATTERN = Pattern.compile("(?i)count\\s*\\(\\s*\\*\\s*\\)");
+
+    /**
+     * Gets the names of the fields to materialize for a stream.
+     *
+     * @param configuration             the configuration
+     * @param stencilClientOrchestrator the stencil client orchestrator
+     * @param protoClassName            the proto class name of the stream
+     * @param timestampFieldIndex       the event timestamp field index
+     * @return the projected field names, or null if every field should be materialized
+     */
+    public static Set<String> getProjectedFields(Configuration configuration, StencilClientOrchestrator stencilClientOrchestrator, String protoClassName, int timestampFieldIndex) {
+        if (!configuration.getBoolean(Constants.FLINK_SQL_PROJECTION_PUSHDOWN_ENABLE_KEY, Constants.FLINK_SQL_PROJECTION_PUSHDOWN_ENABLE_DEFAULT)) {
+            return null;
+        }
+        String sqlQuery = configuration.getString(Constants.FLINK_SQL_QUERY_KEY, Constants.FLINK_SQL_QUERY_DEFAULT);
+        if (sqlQuery.trim().isEmpty() || COUNT_ALL_PATTERN.matcher(sqlQuery).replaceAll("").contains("*")) {
+            return null;
+        }
+        Descriptors.Descriptor descriptor = stencilClientOrchestrator.getStencilClient().get(protoClassName);
+        if (descriptor == null) {
+            return null;
+        }
+        Set<String> identifiers = getIdentifiers(sqlQuery);
+        if (configuration.getBoolean(Constants.PROCESSOR_PREPROCESSOR_ENABLE_KEY, Constants.PROCESSOR_PREPROCESSOR_ENABLE_DEFAULT)) {
+            identifiers.addAll(getIdentifiers(configuration.getString(Constants.PROCESSOR_PREPROCESSOR_CONFIG_KEY, "")));
+        }
+
+        Set<String> projectedFields = new HashSet<>();
+        for (Descriptors.FieldDescriptor fieldDescriptor : descriptor.getFields()) {
+            if (identifiers.contains(fieldDescriptor.getName().toLowerCase(Locale.ROOT))) {
+                projectedFields.add(fieldDescriptor.getName());
+            }
+        }
+        Descriptors.FieldDescriptor timestampFieldDescriptor = descriptor.findFieldByNumber(timestampFieldIndex);
+        if (timestampFieldDescriptor != null) {
+            projectedFields.add(timestampFieldDescriptor.getName());
+        }
+        return projectedFields;
+    }
+
+    private static Set<String> getIdentifiers(String text) {
+        Set<String> identifiers = new HashSet<>();
+        Matcher matcher = IDENTIFIER_PATTERN.matcher(text);
+        while (matcher.find()) {
+            identifiers.add(matcher.group().toLowerCase(Locale.ROOT));
+        }
+        return identifiers;
+    }
+}
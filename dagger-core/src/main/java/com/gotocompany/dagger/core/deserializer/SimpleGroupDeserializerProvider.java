@@ -11,6 +11,8 @@ import com.gotocompany.dagger.core.source.config.models.SourceName;
 import com.gotocompany.dagger.core.utils.Constants;
 import org.apache.flink.types.Row;
 
+import java.util.Set;
+
 import static com.gotocompany.dagger.common.serde.DataTypes.PROTO;
 
 public class SimpleGroupDeserializerProvider implements DaggerDeserializerProvider<Row> {
@@ -31,7 +33,8 @@ public class SimpleGroupDeserializerProvider implements DaggerDeserializerProvid
         int timestampFieldIndex = Integer.parseInt(streamConfig.getEventTimestampFieldIndex());
         String protoClassName = streamConfig.getProtoClass();
         String rowTimeAttributeName = configuration.getString(Constants.FLINK_ROWTIME_ATTRIBUTE_NAME_KEY, Constants.FLINK_ROWTIME_ATTRIBUTE_NAME_DEFAULT);
-        return new SimpleGroupDeserializer(protoClassName, timestampFieldIndex, rowTimeAttributeName, stencilClientOrchestrator);
+        Set<String> projectedFields = QueryProjection.getProjectedFields(configuration, stencilClientOrchestrator, protoClassName, timestampFieldIndex);
+        return new SimpleGroupDeserializer(protoClassName, timestampFieldIndex, rowTimeAttributeName, stencilClientOrchestrator, projectedFields);
     }
 
     @Override
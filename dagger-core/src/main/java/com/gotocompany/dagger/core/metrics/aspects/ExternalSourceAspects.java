@@ -25,7 +25,18 @@ public enum ExternalSourceAspects implements Aspects {
     FAILURE_CODE_5XX("failures_code5XX", AspectType.Metric),
     FAILURE_CODE_4XX("failures_code4XX", AspectType.Metric),
     FAILURE_CODE_404("failures_code404", AspectType.Metric),
-    GRPC_CHANNEL_NOT_AVAILABLE("grpc_channel_not_available", AspectType.Metric);
+    GRPC_CHANNEL_NOT_AVAILABLE("grpc_channel_not_available", AspectType.Metric),
+    TOTAL_BATCH_REQUESTS("total_batch_requests", AspectType.Metric),
+    BATCH_SIZE("batch_size", AspectType.Histogram),
+    CACHE_HIT("cache_hit", AspectType.Metric),
+    CACHE_MISS("cache_miss", AspectType.Metric),
+    CACHE_EVICTION("cache_eviction", AspectType.Metric),
+    IN_FLIGHT_REQUESTS("in_flight_requests", AspectType.Histogram),
+    CONCURRENCY_LIMIT("concurrency_limit", AspectType.Histogram),
+    QUEUEING_DELAY("queueing_delay", AspectType.Histogram),
+    SHED_REQUESTS("shed_requests", AspectType.Metric),
+    HEDGED_REQUESTS("hedged_requests", AspectType.Metric),
+    HEDGE_WINS("hedge_wins", AspectType.Metric);
 
     private String value;
     private AspectType aspectType;
@@ -14,7 +14,8 @@ public enum LongbowReaderAspects implements Aspects {
     DOCUMENTS_READ_PER_SCAN("documents_read_per_scan", AspectType.Histogram),
     FAILED_ON_READ_DOCUMENT("failed_on_read_document", AspectType.Metric),
     FAILED_ON_READ_DOCUMENT_RESPONSE_TIME("failed_on_read_document_response_time", AspectType.Histogram),
-    FAILED_TO_READ_LAST_RECORD("failed_to_read_last_record", AspectType.Metric);
+    FAILED_TO_READ_LAST_RECORD("failed_to_read_last_record", AspectType.Metric),
+    TRUNCATED_SCANS_ON_READ_DOCUMENT("truncated_scans_on_read_document", AspectType.Metric);
 
     private String value;
     private AspectType aspectType;
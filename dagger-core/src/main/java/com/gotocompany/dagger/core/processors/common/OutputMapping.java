@@ -1,6 +1,7 @@
 package com.gotocompany.dagger.core.processors.common;
 
 import com.gotocompany.dagger.core.processors.types.Validator;
+import com.jayway.jsonpath.JsonPath;
 
 import java.io.Serializable;
 import java.util.HashMap;
@@ -12,6 +13,7 @@ import java.util.Objects;
 public class OutputMapping implements Serializable, Validator {
 
     private String path;
+    private transient JsonPath jsonPath;
 
     /**
      * Instantiates a new Output mapping.
@@ -31,6 +33,18 @@ public class OutputMapping implements Serializable, Validator {
         return path;
     }
 
+    /**
+     * Gets the compiled json path. The path is compiled once and reused for every response.
+     *
+     * @return the compiled json path
+     */
+    public JsonPath getJsonPath() {
+        if (jsonPath == null) {
+            jsonPath = JsonPath.compile(path);
+        }
+        return jsonPath;
+    }
+
     public HashMap<String, Object> getMandatoryFields() {
         HashMap<String, Object> mandatoryFields = new HashMap<>();
         mandatoryFields.put("path", path);
@@ -0,0 +1,198 @@
+package com.gotocompany.dagger.core.processors.external;
+
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * The per subtask adaptive concurrency limiter of external source calls.
+ * Additively increases the limit while response latency stays within the tolerance of the baseline latency,
+ * and multiplicatively decreases it when latency rises above it or a call fails or times out.
+ * The limit is decreased at most once per round trip: calls sent before the last decrease do not decrease it again.
+ * The baseline is a slow moving average of the observed latency.
+ * Calls over the limit are never waited for on the task thread. They are deferred and dispatched in order
+ * as permits are released, or shed once they have been deferred for longer than the max queueing delay.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double BASELINE_SMOOTHING = 0.01;
+
+    private final ConcurrencyLimitConfig concurrencyLimitConfig;
+    private final Clock clock;
+    private final Deque<DeferredCall> deferredCalls = new ArrayDeque<>();
+    private double limit;
+    private double baselineLatencyMs = -1;
+    private long lastDecreaseTime = Long.MIN_VALUE;
+    private int inFlight;
+
+    /**
+     * A call admitted by the limiter.
+     */
+    public interface LimitedCall {
+        /**
+         * Send the call, holding a permit of the limiter.
+         *
+         * @param queueingDelayMs the time in ms the call was deferred for
+         */
+        void dispatch(long queueingDelayMs);
+
+        /**
+         * Drop the call, which was deferred for longer than the max queueing delay.
+         *
+         * @param queueingDelayMs the time in ms the call was deferred for
+         */
+        void shed(long queueingDelayMs);
+    }
+
+    /**
+     * Instantiates a new Adaptive concurrency limiter.
+     *
+     * @param concurrencyLimitConfig the concurrency limit config
+     */
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitConfig concurrencyLimitConfig) {
+        this(concurrencyLimitConfig, Clock.systemUTC());
+    }
+
+    /**
+     * Instantiates a new Adaptive concurrency limiter with specified clock.
+     *
+     * @param concurrencyLimitConfig the concurrency limit config
+     * @param clock                  the clock
+     */
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitConfig concurrencyLimitConfig, Clock clock) {
+        this.concurrencyLimitConfig = concurrencyLimitConfig;
+        this.clock = clock;
+        this.limit = concurrencyLimitConfig.getInitialLimit();
+    }
+
+    /**
+     * Dispatch the call right away if a permit is available, or defer it until one is released.
+     * Calls deferred earlier are dispatched first.
+     *
+     * @param call the call
+     */
+    public void submit(LimitedCall call) {
+        synchronized (this) {
+            deferredCalls.addLast(new DeferredCall(call, clock.millis()));
+        }
+        drain();
+    }
+
+    /**
+     * Remove a deferred call which was completed without being dispatched, e.g. on timeout.
+     *
+     * @param call the call
+     */
+    public synchronized void cancel(LimitedCall call) {
+        deferredCalls.removeIf(deferredCall -> deferredCall.call == call);
+    }
+
+    /**
+     * Release the permit of a completed call and adjust the limit to its latency.
+     *
+     * @param latencyMs the latency of the call in ms
+     */
+    public void release(long latencyMs) {
+        synchronized (this) {
+            if (baselineLatencyMs < 0) {
+                baselineLatencyMs = latencyMs;
+            }
+            if (latencyMs > baselineLatencyMs * concurrencyLimitConfig.getLatencyTolerance()) {
+                decreaseLimit(latencyMs);
+            } else {
+                limit = Math.min(concurrencyLimitConfig.getMaxLimit(), limit + 1 / limit);
+            }
+            baselineLatencyMs += BASELINE_SMOOTHING * (latencyMs - baselineLatencyMs);
+            inFlight--;
+        }
+        drain();
+    }
+
+    /**
+     * Release the permit of a failed or timed out call and decrease the limit.
+     *
+     * @param latencyMs the time in ms since the call was sent
+     */
+    public void releaseDropped(long latencyMs) {
+        synchronized (this) {
+            decreaseLimit(latencyMs);
+            inFlight--;
+        }
+        drain();
+    }
+
+    /**
+     * Release the permit of a call which did not reach the external source, e.g. served from the cache.
+     */
+    public void releaseIgnored() {
+        synchronized (this) {
+            inFlight--;
+        }
+        drain();
+    }
+
+    /**
+     * Gets current limit.
+     *
+     * @return the limit
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Gets the number of deferred calls.
+     *
+     * @return the deferred calls
+     */
+    public synchronized int getDeferredCalls() {
+        return deferredCalls.size();
+    }
+
+    private void decreaseLimit(long latencyMs) {
+        long now = clock.millis();
+        if (now - latencyMs < lastDecreaseTime) {
+            return;
+        }
+        limit = Math.max(concurrencyLimitConfig.getMinLimit(), limit * BACKOFF_RATIO);
+        lastDecreaseTime = now;
+    }
+
+    private void drain() {
+        List<DeferredCall> admittedCalls = new ArrayList<>();
+        List<DeferredCall> shedCalls = new ArrayList<>();
+        long now;
+        synchronized (this) {
+            now = clock.millis();
+            while (!deferredCalls.isEmpty()) {
+                DeferredCall deferredCall = deferredCalls.peekFirst();
+                if (now - deferredCall.deferredTime > concurrencyLimitConfig.getMaxQueueingDelayMs()) {
+                    shedCalls.add(deferredCalls.pollFirst());
+                } else if (inFlight < getLimit()) {
+                    inFlight++;
+                    admittedCalls.add(deferredCalls.pollFirst());
+                } else {
+                    break;
+                }
+            }
+        }
+        for (DeferredCall shedCall : shedCalls) {
+            shedCall.call.shed(now - shedCall.deferredTime);
+        }
+        for (DeferredCall admittedCall : admittedCalls) {
+            admittedCall.call.dispatch(now - admittedCall.deferredTime);
+        }
+    }
+
+    private static class DeferredCall {
+        private final LimitedCall call;
+        private final long deferredTime;
+
+        DeferredCall(LimitedCall call, long deferredTime) {
+            this.call = call;
+            this.deferredTime = deferredTime;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.gotocompany.dagger.core.metrics.telemetry.TelemetryTypes;
 import com.gotocompany.dagger.core.processors.ColumnNameManager;
 import com.gotocompany.dagger.core.processors.common.DescriptorManager;
 import com.gotocompany.dagger.core.processors.common.EndpointHandler;
+import com.gotocompany.dagger.core.processors.common.RowManager;
 import com.gotocompany.dagger.core.processors.common.SchemaConfig;
 import com.gotocompany.dagger.core.processors.types.SourceConfig;
 import org.apache.flink.configuration.Configuration;
@@ -22,12 +23,16 @@ import com.gotocompany.dagger.common.metrics.managers.MeterStatsManager;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.IllegalFormatException;
 import java.util.List;
 import java.util.Map;
 import java.util.UnknownFormatConversionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Collections.singleton;
 
@@ -45,6 +50,11 @@ public abstract class AsyncConnector extends RichAsyncFunction<Row, Row> impleme
     private Map<String, List<String>> metrics = new HashMap<>();
     private Descriptors.Descriptor outputDescriptor;
     private EndpointHandler endpointHandler;
+    private ExternalSourceCache externalSourceCache;
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+    private final Map<ResultFuture<Row>, InFlightResultFuture> inFlightResultFutures = new ConcurrentHashMap<>();
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private RequestHedger requestHedger;
 
     /**
      * Instantiates a new Async connector.
@@ -165,11 +175,88 @@ public abstract class AsyncConnector extends RichAsyncFunction<Row, Row> impleme
                     schemaConfig.getInputProtoClasses(), schemaConfig.getColumnNameManager(), descriptorManager);
         }
 
+        if (externalSourceCache == null && sourceConfig.getCacheConfig() != null) {
+            externalSourceCache = new ExternalSourceCache(sourceConfig.getCacheConfig(), getOutputIndices(), meterStatsManager);
+        }
+        if (concurrencyLimiter == null && sourceConfig.getConcurrencyLimitConfig() != null) {
+            concurrencyLimiter = new AdaptiveConcurrencyLimiter(sourceConfig.getConcurrencyLimitConfig());
+        }
+        if (sourceConfig.getHedgingConfig() != null && !isHedgingSupported()) {
+            meterStatsManager.markEvent(ExternalSourceAspects.INVALID_CONFIGURATION);
+            throw new InvalidConfigurationException(String.format("Hedging is not supported for this %s lookup, it must be idempotent and not batched", sourceType));
+        }
+        if (requestHedger == null && sourceConfig.getHedgingConfig() != null) {
+            requestHedger = new RequestHedger(sourceConfig.getHedgingConfig(), meterStatsManager);
+        }
+
         String groupKey = TelemetryTypes.SOURCE_METRIC_ID.getValue();
         String groupValue = sourceType + "." + externalMetricConfig.getMetricId();
         meterStatsManager.register(groupKey, groupValue, ExternalSourceAspects.values());
     }
 
+    /**
+     * Route the request through the request cache if one is configured.
+     *
+     * @param rowManager      the row manager
+     * @param resultFuture    the result future
+     * @param variablesValues the resolved variables values of the request
+     * @return the result future to use for the external call, or null if the row was served without an external call
+     */
+    protected ResultFuture<Row> lookupCache(RowManager rowManager, ResultFuture<Row> resultFuture, Object[]... variablesValues) {
+        if (externalSourceCache == null || RequestHedger.isHedge(resultFuture)) {
+            return resultFuture;
+        }
+        String requestKey = sourceConfig.getPattern() + Arrays.deepToString(variablesValues);
+        return externalSourceCache.lookup(requestKey, rowManager, resultFuture);
+    }
+
+    private int[] getOutputIndices() {
+        List<String> outputColumns = sourceConfig.getOutputColumns();
+        if (outputColumns == null) {
+            return new int[0];
+        }
+        return outputColumns.stream()
+                .mapToInt(outputColumn -> getColumnNameManager().getOutputIndex(outputColumn))
+                .filter(outputIndex -> outputIndex >= 0)
+                .toArray();
+    }
+
+    /**
+     * Sets external source cache.
+     *
+     * @param externalSourceCache the external source cache
+     */
+    public void setExternalSourceCache(ExternalSourceCache externalSourceCache) {
+        this.externalSourceCache = externalSourceCache;
+    }
+
+    /**
+     * Sets adaptive concurrency limiter.
+     *
+     * @param concurrencyLimiter the concurrency limiter
+     */
+    public void setConcurrencyLimiter(AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    /**
+     * Sets request hedger.
+     *
+     * @param requestHedger the request hedger
+     */
+    public void setRequestHedger(RequestHedger requestHedger) {
+        this.requestHedger = requestHedger;
+    }
+
+    /**
+     * Check if the lookups of the source are idempotent and can be sent a second time.
+     *
+     * @return the boolean
+     */
+    protected boolean isHedgingSupported() {
+        return false;
+    }
+
     /**
      * Create client.
      */
@@ -185,10 +272,25 @@ public abstract class AsyncConnector extends RichAsyncFunction<Row, Row> impleme
     protected abstract void process(Row input, ResultFuture<Row> resultFuture) throws Exception;
 
     @Override
-    public void asyncInvoke(Row input, ResultFuture<Row> resultFuture) throws Exception {
+    public void asyncInvoke(Row input, ResultFuture<Row> inputResultFuture) throws Exception {
+        InFlightResultFuture resultFuture = new InFlightResultFuture(input, inputResultFuture);
+        inFlightResultFutures.put(inputResultFuture, resultFuture);
+        meterStatsManager.updateHistogram(ExternalSourceAspects.IN_FLIGHT_REQUESTS, inFlightRequests.incrementAndGet());
+        if (concurrencyLimiter != null) {
+            concurrencyLimiter.submit(resultFuture);
+        } else {
+            invoke(input, resultFuture);
+        }
+    }
 
+    private void invoke(Row input, InFlightResultFuture resultFuture) throws Exception {
         try {
-            process(input, resultFuture);
+            if (requestHedger != null) {
+                resultFuture.setHedgedRequest(requestHedger.invoke(input, resultFuture, this::process));
+            } else {
+                process(input, resultFuture);
+            }
+            resultFuture.markInvoked();
             meterStatsManager.markEvent(ExternalSourceAspects.TOTAL_EXTERNAL_CALLS);
         } catch (UnknownFormatConversionException e) {
             meterStatsManager.markEvent(ExternalSourceAspects.INVALID_CONFIGURATION);
@@ -218,6 +320,10 @@ public abstract class AsyncConnector extends RichAsyncFunction<Row, Row> impleme
     @Override
     public void timeout(Row input, ResultFuture<Row> resultFuture) {
         meterStatsManager.markEvent(ExternalSourceAspects.TIMEOUTS);
+        InFlightResultFuture inFlightResultFuture = inFlightResultFutures.get(resultFuture);
+        if (inFlightResultFuture != null) {
+            inFlightResultFuture.markTimedOut();
+        }
         Exception timeoutException = new TimeoutException("Timeout in external source call!");
         if (sourceConfig.isFailOnErrors()) {
             reportAndThrowError(resultFuture, timeoutException);
@@ -229,10 +335,20 @@ public abstract class AsyncConnector extends RichAsyncFunction<Row, Row> impleme
 
     @Override
     public void close() throws Exception {
-
+        closeRequestHedger();
         super.close();
     }
 
+    /**
+     * Close request hedger, for connectors which do not call the super close.
+     */
+    protected void closeRequestHedger() {
+        if (requestHedger != null) {
+            requestHedger.close();
+            requestHedger = null;
+        }
+    }
+
     @Override
     public Map<String, List<String>> getTelemetry() {
         return metrics;
@@ -265,5 +381,133 @@ public abstract class AsyncConnector extends RichAsyncFunction<Row, Row> impleme
         return outputDescriptor;
     }
 
+    /**
+     * Gets the number of rows waiting for an external call to complete.
+     *
+     * @return the in flight requests
+     */
+    public int getInFlightRequests() {
+        return inFlightRequests.get();
+    }
+
+    private class InFlightResultFuture implements ResultFuture<Row>, AdaptiveConcurrencyLimiter.LimitedCall {
+        private final Row input;
+        private final ResultFuture<Row> resultFuture;
+        private long startTime = System.currentTimeMillis();
+        private boolean admitted = concurrencyLimiter == null;
+        private boolean invoked;
+        private boolean completed;
+        private RequestHedger.HedgedRequest hedgedRequest;
+
+        InFlightResultFuture(Row input, ResultFuture<Row> resultFuture) {
+            this.input = input;
+            this.resultFuture = resultFuture;
+        }
+
+        @Override
+        public void complete(Collection<Row> result) {
+            markCompleted(false);
+            resultFuture.complete(result);
+        }
+
+        @Override
+        public void completeExceptionally(Throwable error) {
+            markCompleted(true);
+            resultFuture.completeExceptionally(error);
+        }
 
+        @Override
+        public void dispatch(long queueingDelayMs) {
+            meterStatsManager.updateHistogram(ExternalSourceAspects.QUEUEING_DELAY, queueingDelayMs);
+            meterStatsManager.updateHistogram(ExternalSourceAspects.CONCURRENCY_LIMIT, concurrencyLimiter.getLimit());
+            if (!markAdmitted()) {
+                concurrencyLimiter.releaseIgnored();
+                return;
+            }
+            try {
+                invoke(input, this);
+            } catch (Exception e) {
+                completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public void shed(long queueingDelayMs) {
+            meterStatsManager.updateHistogram(ExternalSourceAspects.QUEUEING_DELAY, queueingDelayMs);
+            meterStatsManager.markEvent(ExternalSourceAspects.SHED_REQUESTS);
+            Exception shedException = new TimeoutException(String.format("External source call was shed after waiting %d ms for the concurrency limit", queueingDelayMs));
+            if (sourceConfig.isFailOnErrors()) {
+                reportAndThrowError(this, shedException);
+            } else {
+                errorReporter.reportNonFatalException(shedException);
+            }
+            complete(singleton(input));
+        }
+
+        private synchronized boolean markAdmitted() {
+            if (completed) {
+                return false;
+            }
+            admitted = true;
+            startTime = System.currentTimeMillis();
+            return true;
+        }
+
+        private synchronized void markInvoked() {
+            invoked = true;
+        }
+
+        private void setHedgedRequest(RequestHedger.HedgedRequest request) {
+            boolean isCompleted;
+            synchronized (this) {
+                hedgedRequest = request;
+                isCompleted = completed;
+            }
+            if (isCompleted && request != null) {
+                request.cancel();
+            }
+        }
+
+        private void markTimedOut() {
+            RequestHedger.HedgedRequest request;
+            synchronized (this) {
+                request = hedgedRequest;
+            }
+            if (request != null) {
+                request.cancel();
+            }
+            markCompleted(true);
+        }
+
+        private void markCompleted(boolean dropped) {
+            synchronized (this) {
+                if (completed) {
+                    return;
+                }
+                completed = true;
+            }
+            inFlightRequests.decrementAndGet();
+            inFlightResultFutures.remove(resultFuture, this);
+            if (concurrencyLimiter == null) {
+                return;
+            }
+            if (!isAdmitted()) {
+                concurrencyLimiter.cancel(this);
+            } else if (dropped) {
+                concurrencyLimiter.releaseDropped(System.currentTimeMillis() - startTime);
+            } else if (isInvoked()) {
+                concurrencyLimiter.release(System.currentTimeMillis() - startTime);
+            } else {
+                concurrencyLimiter.releaseIgnored();
+            }
+        }
+
+        private synchronized boolean isAdmitted() {
+            return admitted;
+        }
+
+        private synchronized boolean isInvoked() {
+            return invoked;
+        }
+    }
 }
@@ -0,0 +1,72 @@
+package com.gotocompany.dagger.core.processors.external;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A class that holds the request batching configuration of an external source.
+ */
+public class BatchConfig implements Serializable {
+    private static final int DEFAULT_SIZE = 1;
+    private static final long DEFAULT_LINGER_MS = 0L;
+
+    private String size;
+    private String lingerMs;
+
+    /**
+     * Instantiates a new Batch config.
+     *
+     * @param size     the max number of rows coalesced into one request
+     * @param lingerMs the max time in ms a row waits for its batch to fill up
+     */
+    public BatchConfig(String size, String lingerMs) {
+        this.size = size;
+        this.lingerMs = lingerMs;
+    }
+
+    /**
+     * Gets size. Defaults to one row per request.
+     *
+     * @return the size
+     */
+    public Integer getSize() {
+        return StringUtils.isEmpty(size) ? DEFAULT_SIZE : Integer.parseInt(size);
+    }
+
+    /**
+     * Gets linger in milliseconds.
+     *
+     * @return the linger ms
+     */
+    public Long getLingerMs() {
+        return StringUtils.isEmpty(lingerMs) ? DEFAULT_LINGER_MS : Long.parseLong(lingerMs);
+    }
+
+    /**
+     * Check if rows should be coalesced into bulk requests.
+     *
+     * @return the boolean
+     */
+    public boolean isEnabled() {
+        return getSize() > 1;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BatchConfig that = (BatchConfig) o;
+        return Objects.equals(size, that.size) && Objects.equals(lingerMs, that.lingerMs);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(size, lingerMs);
+    }
+}
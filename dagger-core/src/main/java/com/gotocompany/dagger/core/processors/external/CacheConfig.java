@@ -0,0 +1,75 @@
+package com.gotocompany.dagger.core.processors.external;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A class that holds the request cache configuration of an external source.
+ */
+public class CacheConfig implements Serializable {
+    private static final int DEFAULT_MAX_SIZE = 10000;
+    private static final long DEFAULT_TTL_MS = 60000L;
+
+    private String maxSize;
+    private String ttlMs;
+    private boolean cacheEmptyResults;
+
+    /**
+     * Instantiates a new Cache config.
+     *
+     * @param maxSize           the max number of cached requests
+     * @param ttlMs             the time to live of a cached response in ms
+     * @param cacheEmptyResults the flag to also cache lookups which did not populate any output field
+     */
+    public CacheConfig(String maxSize, String ttlMs, boolean cacheEmptyResults) {
+        this.maxSize = maxSize;
+        this.ttlMs = ttlMs;
+        this.cacheEmptyResults = cacheEmptyResults;
+    }
+
+    /**
+     * Gets max size.
+     *
+     * @return the max size
+     */
+    public Integer getMaxSize() {
+        return StringUtils.isEmpty(maxSize) ? DEFAULT_MAX_SIZE : Integer.parseInt(maxSize);
+    }
+
+    /**
+     * Gets ttl in milliseconds.
+     *
+     * @return the ttl ms
+     */
+    public Long getTtlMs() {
+        return StringUtils.isEmpty(ttlMs) ? DEFAULT_TTL_MS : Long.parseLong(ttlMs);
+    }
+
+    /**
+     * Check if empty results should be cached.
+     *
+     * @return the boolean
+     */
+    public boolean isCacheEmptyResults() {
+        return cacheEmptyResults;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        CacheConfig that = (CacheConfig) o;
+        return cacheEmptyResults == that.cacheEmptyResults && Objects.equals(maxSize, that.maxSize) && Objects.equals(ttlMs, that.ttlMs);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxSize, ttlMs, cacheEmptyResults);
+    }
+}
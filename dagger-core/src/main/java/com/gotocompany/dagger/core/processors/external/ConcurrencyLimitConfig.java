@@ -0,0 +1,117 @@
+package com.gotocompany.dagger.core.processors.external;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A class that holds the adaptive concurrency limit configuration of an external source.
+ */
+public class ConcurrencyLimitConfig implements Serializable {
+    private static final int DEFAULT_MIN_LIMIT = 1;
+    private static final int DEFAULT_MAX_LIMIT = 1000;
+    private static final int DEFAULT_INITIAL_LIMIT = 20;
+    private static final double DEFAULT_LATENCY_TOLERANCE = 2.0;
+    private static final long DEFAULT_MAX_QUEUEING_DELAY_MS = 1000L;
+
+    private String minLimit;
+    private String maxLimit;
+    private String initialLimit;
+    private String latencyTolerance;
+    private String maxQueueingDelayMs;
+
+    /**
+     * Instantiates a new Concurrency limit config.
+     *
+     * @param minLimit           the lower bound of the limit
+     * @param maxLimit           the upper bound of the limit
+     * @param latencyTolerance   the ratio over the baseline latency at which a response counts as congestion
+     * @param maxQueueingDelayMs the max time in ms a row waits for the limit before it is shed
+     */
+    public ConcurrencyLimitConfig(String minLimit, String maxLimit, String latencyTolerance, String maxQueueingDelayMs) {
+        this(minLimit, maxLimit, null, latencyTolerance, maxQueueingDelayMs);
+    }
+
+    /**
+     * Instantiates a new Concurrency limit config with specified initial limit.
+     *
+     * @param minLimit           the lower bound of the limit
+     * @param maxLimit           the upper bound of the limit
+     * @param initialLimit       the initial value of the limit
+     * @param latencyTolerance   the ratio over the baseline latency at which a response counts as congestion
+     * @param maxQueueingDelayMs the max time in ms a row waits for the limit before it is shed
+     */
+    public ConcurrencyLimitConfig(String minLimit, String maxLimit, String initialLimit, String latencyTolerance, String maxQueueingDelayMs) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.initialLimit = initialLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.maxQueueingDelayMs = maxQueueingDelayMs;
+    }
+
+    /**
+     * Gets min limit.
+     *
+     * @return the min limit
+     */
+    public Integer getMinLimit() {
+        return StringUtils.isEmpty(minLimit) ? DEFAULT_MIN_LIMIT : Integer.parseInt(minLimit);
+    }
+
+    /**
+     * Gets max limit.
+     *
+     * @return the max limit
+     */
+    public Integer getMaxLimit() {
+        return StringUtils.isEmpty(maxLimit) ? DEFAULT_MAX_LIMIT : Integer.parseInt(maxLimit);
+    }
+
+    /**
+     * Gets initial limit, within the min and max limit.
+     *
+     * @return the initial limit
+     */
+    public Integer getInitialLimit() {
+        int limit = StringUtils.isEmpty(initialLimit) ? DEFAULT_INITIAL_LIMIT : Integer.parseInt(initialLimit);
+        return Math.max(getMinLimit(), Math.min(getMaxLimit(), limit));
+    }
+
+    /**
+     * Gets latency tolerance.
+     *
+     * @return the latency tolerance
+     */
+    public Double getLatencyTolerance() {
+        return StringUtils.isEmpty(latencyTolerance) ? DEFAULT_LATENCY_TOLERANCE : Double.parseDouble(latencyTolerance);
+    }
+
+    /**
+     * Gets max queueing delay in milliseconds.
+     *
+     * @return the max queueing delay ms
+     */
+    public Long getMaxQueueingDelayMs() {
+        return StringUtils.isEmpty(maxQueueingDelayMs) ? DEFAULT_MAX_QUEUEING_DELAY_MS : Long.parseLong(maxQueueingDelayMs);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ConcurrencyLimitConfig that = (ConcurrencyLimitConfig) o;
+        return Objects.equals(minLimit, that.minLimit) && Objects.equals(maxLimit, that.maxLimit)
+                && Objects.equals(initialLimit, that.initialLimit)
+                && Objects.equals(latencyTolerance, that.latencyTolerance) && Objects.equals(maxQueueingDelayMs, that.maxQueueingDelayMs);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(minLimit, maxLimit, initialLimit, latencyTolerance, maxQueueingDelayMs);
+    }
+}
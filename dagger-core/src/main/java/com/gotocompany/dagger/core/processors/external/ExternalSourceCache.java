@@ -0,0 +1,250 @@
+package com.gotocompany.dagger.core.processors.external;
+
+import com.gotocompany.dagger.common.metrics.managers.MeterStatsManager;
+import com.gotocompany.dagger.core.metrics.aspects.ExternalSourceAspects;
+import com.gotocompany.dagger.core.processors.common.RowManager;
+import org.apache.flink.streaming.api.functions.async.ResultFuture;
+import org.apache.flink.types.Row;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.singleton;
+
+/**
+ * The per subtask cache of external source lookups.
+ * Caches the output fields populated by the source for a resolved request with size and ttl based eviction.
+ * Only the output columns of the source are captured and replayed, the other columns of the output row are written
+ * by the other stages of the chain for the current input row and never come from the cache.
+ * Lets concurrent identical misses wait for the single in flight request instead of calling the source again.
+ * An in flight request older than the ttl is considered lost and no longer joined.
+ * Lookups marked as failed by the response handlers are never cached, even when the row is not failed.
+ */
+public class ExternalSourceCache {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+    private final CacheConfig cacheConfig;
+    private final int[] outputIndices;
+    private final MeterStatsManager meterStatsManager;
+    private final Clock clock;
+    private final LinkedHashMap<String, CacheEntry> entries;
+    private final Map<String, PendingRequest> pendingRequests = new HashMap<>();
+
+    /**
+     * Instantiates a new External source cache.
+     *
+     * @param cacheConfig       the cache config
+     * @param outputIndices     the indices of the output columns of the source
+     * @param meterStatsManager the meter stats manager
+     */
+    public ExternalSourceCache(CacheConfig cacheConfig, int[] outputIndices, MeterStatsManager meterStatsManager) {
+        this(cacheConfig, outputIndices, meterStatsManager, Clock.systemUTC());
+    }
+
+    /**
+     * Instantiates a new External source cache with specified clock.
+     *
+     * @param cacheConfig       the cache config
+     * @param outputIndices     the indices of the output columns of the source
+     * @param meterStatsManager the meter stats manager
+     * @param clock             the clock
+     */
+    public ExternalSourceCache(CacheConfig cacheConfig, int[] outputIndices, MeterStatsManager meterStatsManager, Clock clock) {
+        this.cacheConfig = cacheConfig;
+        this.outputIndices = outputIndices;
+        this.meterStatsManager = meterStatsManager;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<String, CacheEntry>(INITIAL_CAPACITY, LOAD_FACTOR, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                boolean isFull = size() > cacheConfig.getMaxSize();
+                if (isFull) {
+                    meterStatsManager.markEvent(ExternalSourceAspects.CACHE_EVICTION);
+                }
+                return isFull;
+            }
+        };
+    }
+
+    /**
+     * Look up a request in the cache.
+     * On a hit the result future is completed with the cached output. On a miss for a request
+     * which is already in flight the row waits for that request. Otherwise the returned result
+     * future should be used for the external call so its result gets cached.
+     *
+     * @param requestKey   the resolved request key
+     * @param rowManager   the row manager
+     * @param resultFuture the result future
+     * @return the result future for the external call, or null if the row needs no external call
+     */
+    public ResultFuture<Row> lookup(String requestKey, RowManager rowManager, ResultFuture<Row> resultFuture) {
+        Object[] cachedOutput;
+        synchronized (this) {
+            CacheEntry cacheEntry = entries.get(requestKey);
+            if (cacheEntry != null && cacheEntry.expiryTime < clock.millis()) {
+                entries.remove(requestKey);
+                meterStatsManager.markEvent(ExternalSourceAspects.CACHE_EVICTION);
+                cacheEntry = null;
+            }
+            if (cacheEntry == null) {
+                meterStatsManager.markEvent(ExternalSourceAspects.CACHE_MISS);
+                PendingRequest pendingRequest = pendingRequests.get(requestKey);
+                if (pendingRequest != null && pendingRequest.startTime + cacheConfig.getTtlMs() >= clock.millis()) {
+                    pendingRequest.rowManagers.add(rowManager);
+                    pendingRequest.resultFutures.add(resultFuture);
+                    return null;
+                }
+                pendingRequest = new PendingRequest(clock.millis());
+                pendingRequests.put(requestKey, pendingRequest);
+                return new CachingResultFuture(requestKey, pendingRequest, resultFuture);
+            }
+            cachedOutput = cacheEntry.output;
+        }
+        meterStatsManager.markEvent(ExternalSourceAspects.CACHE_HIT);
+        setOutput(rowManager, cachedOutput);
+        resultFuture.complete(singleton(rowManager.getAll()));
+        return null;
+    }
+
+    /**
+     * Mark the lookup of the result future as failed, so its output is not cached when the row is completed without failing it.
+     *
+     * @param resultFuture the result future
+     */
+    public static void markFailed(ResultFuture<Row> resultFuture) {
+        if (resultFuture instanceof CachingResultFuture) {
+            ((CachingResultFuture) resultFuture).markFailed();
+        }
+    }
+
+    private void onComplete(String requestKey, PendingRequest pendingRequest, Collection<Row> result, boolean failed) {
+        Object[] output = getOutput(result);
+        synchronized (this) {
+            if (output != null && !failed && (cacheConfig.isCacheEmptyResults() || !isEmpty(output))) {
+                entries.put(requestKey, new CacheEntry(output, clock.millis() + cacheConfig.getTtlMs()));
+            }
+            pendingRequests.remove(requestKey, pendingRequest);
+        }
+        for (int index = 0; index < pendingRequest.resultFutures.size(); index++) {
+            RowManager rowManager = pendingRequest.rowManagers.get(index);
+            if (output != null) {
+                setOutput(rowManager, output);
+            }
+            pendingRequest.resultFutures.get(index).complete(singleton(rowManager.getAll()));
+        }
+    }
+
+    private void onFailure(String requestKey, PendingRequest pendingRequest, Throwable error) {
+        synchronized (this) {
+            pendingRequests.remove(requestKey, pendingRequest);
+        }
+        pendingRequest.resultFutures.forEach(resultFuture -> resultFuture.completeExceptionally(error));
+    }
+
+    private Object[] getOutput(Collection<Row> result) {
+        if (result == null || result.isEmpty()) {
+            return null;
+        }
+        Row row = result.iterator().next();
+        if (row == null || row.getArity() != 2) {
+            return null;
+        }
+        Row outputRow = (Row) row.getField(RowManager.OUTPUT_ROW_INDEX);
+        if (outputRow == null) {
+            return null;
+        }
+        Object[] output = new Object[outputIndices.length];
+        for (int index = 0; index < outputIndices.length; index++) {
+            output[index] = outputRow.getField(outputIndices[index]);
+        }
+        return output;
+    }
+
+    private void setOutput(RowManager rowManager, Object[] output) {
+        for (int index = 0; index < outputIndices.length; index++) {
+            if (output[index] != null) {
+                rowManager.setInOutput(outputIndices[index], output[index]);
+            }
+        }
+    }
+
+    private boolean isEmpty(Object[] output) {
+        for (Object field : output) {
+            if (field != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static class CacheEntry {
+        private final Object[] output;
+        private final long expiryTime;
+
+        CacheEntry(Object[] output, long expiryTime) {
+            this.output = output;
+            this.expiryTime = expiryTime;
+        }
+    }
+
+    private static class PendingRequest {
+        private final long startTime;
+        private final List<RowManager> rowManagers = new ArrayList<>();
+        private final List<ResultFuture<Row>> resultFutures = new ArrayList<>();
+
+        PendingRequest(long startTime) {
+            this.startTime = startTime;
+        }
+    }
+
+    private class CachingResultFuture implements ResultFuture<Row> {
+        private final String requestKey;
+        private final PendingRequest pendingRequest;
+        private final ResultFuture<Row> resultFuture;
+        private boolean completed;
+        private boolean failed;
+
+        CachingResultFuture(String requestKey, PendingRequest pendingRequest, ResultFuture<Row> resultFuture) {
+            this.requestKey = requestKey;
+            this.pendingRequest = pendingRequest;
+            this.resultFuture = resultFuture;
+        }
+
+        @Override
+        public void complete(Collection<Row> result) {
+            if (markCompleted()) {
+                onComplete(requestKey, pendingRequest, result, isFailed());
+            }
+            resultFuture.complete(result);
+        }
+
+        @Override
+        public void completeExceptionally(Throwable error) {
+            if (markCompleted()) {
+                onFailure(requestKey, pendingRequest, error);
+            }
+            resultFuture.completeExceptionally(error);
+        }
+
+        private synchronized void markFailed() {
+            failed = true;
+        }
+
+        private synchronized boolean isFailed() {
+            return failed;
+        }
+
+        private synchronized boolean markCompleted() {
+            if (completed) {
+                return false;
+            }
+            completed = true;
+            return true;
+        }
+    }
+}
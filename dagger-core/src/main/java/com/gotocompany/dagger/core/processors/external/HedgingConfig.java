@@ -0,0 +1,63 @@
+package com.gotocompany.dagger.core.processors.external;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A class that holds the request hedging configuration of an external source.
+ */
+public class HedgingConfig implements Serializable {
+    private static final double DEFAULT_PERCENTILE = 95.0;
+    private static final long DEFAULT_MIN_DELAY_MS = 0L;
+
+    private String percentile;
+    private String minDelayMs;
+
+    /**
+     * Instantiates a new Hedging config.
+     *
+     * @param percentile the percentile of recent latency after which a second attempt is sent
+     * @param minDelayMs the min time in ms before a second attempt is sent
+     */
+    public HedgingConfig(String percentile, String minDelayMs) {
+        this.percentile = percentile;
+        this.minDelayMs = minDelayMs;
+    }
+
+    /**
+     * Gets percentile.
+     *
+     * @return the percentile
+     */
+    public Double getPercentile() {
+        return StringUtils.isEmpty(percentile) ? DEFAULT_PERCENTILE : Double.parseDouble(percentile);
+    }
+
+    /**
+     * Gets min delay in milliseconds.
+     *
+     * @return the min delay ms
+     */
+    public Long getMinDelayMs() {
+        return StringUtils.isEmpty(minDelayMs) ? DEFAULT_MIN_DELAY_MS : Long.parseLong(minDelayMs);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        HedgingConfig that = (HedgingConfig) o;
+        return Objects.equals(percentile, that.percentile) && Objects.equals(minDelayMs, that.minDelayMs);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(percentile, minDelayMs);
+    }
+}
@@ -0,0 +1,281 @@
+package com.gotocompany.dagger.core.processors.external;
+
+import com.gotocompany.dagger.common.metrics.managers.MeterStatsManager;
+import com.gotocompany.dagger.core.metrics.aspects.ExternalSourceAspects;
+import com.gotocompany.dagger.core.processors.common.RowManager;
+import org.apache.flink.streaming.api.functions.async.ResultFuture;
+import org.apache.flink.types.Row;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per subtask request hedger of idempotent external source lookups.
+ * If a lookup has not completed after the configured percentile of recent lookup latency,
+ * a second attempt is sent and the row is completed with whichever attempt succeeds first.
+ * Until enough latency samples are observed no second attempts are sent.
+ */
+public class RequestHedger {
+    private static final int SAMPLE_WINDOW_SIZE = 1000;
+    private static final int RECOMPUTE_INTERVAL = 100;
+    private static final double PERCENT = 100.0;
+
+    private final HedgingConfig hedgingConfig;
+    private final MeterStatsManager meterStatsManager;
+    private final ScheduledExecutorService hedgeExecutor;
+    private final long[] latencySamples = new long[SAMPLE_WINDOW_SIZE];
+    private int sampleCount;
+    private volatile long hedgeDelayMs = -1;
+
+    /**
+     * The external call to hedge.
+     */
+    @FunctionalInterface
+    public interface Call {
+        /**
+         * Process a lookup for the input.
+         *
+         * @param input        the input
+         * @param resultFuture the result future
+         * @throws Exception the exception
+         */
+        void process(Row input, ResultFuture<Row> resultFuture) throws Exception;
+    }
+
+    /**
+     * Instantiates a new Request hedger.
+     *
+     * @param hedgingConfig     the hedging config
+     * @param meterStatsManager the meter stats manager
+     */
+    public RequestHedger(HedgingConfig hedgingConfig, MeterStatsManager meterStatsManager) {
+        this(hedgingConfig, meterStatsManager, Executors.newSingleThreadScheduledExecutor());
+    }
+
+    /**
+     * Instantiates a new Request hedger with specified hedge executor.
+     *
+     * @param hedgingConfig     the hedging config
+     * @param meterStatsManager the meter stats manager
+     * @param hedgeExecutor     the executor sending the second attempts
+     */
+    public RequestHedger(HedgingConfig hedgingConfig, MeterStatsManager meterStatsManager, ScheduledExecutorService hedgeExecutor) {
+        this.hedgingConfig = hedgingConfig;
+        this.meterStatsManager = meterStatsManager;
+        this.hedgeExecutor = hedgeExecutor;
+    }
+
+    /**
+     * Check if the result future belongs to a second attempt, which must reach the external source.
+     *
+     * @param resultFuture the result future
+     * @return the boolean
+     */
+    public static boolean isHedge(ResultFuture<Row> resultFuture) {
+        return resultFuture instanceof Attempt && ((Attempt) resultFuture).isHedge;
+    }
+
+    /**
+     * Process the lookup and schedule a second attempt if it does not complete in time.
+     *
+     * @param input        the input
+     * @param resultFuture the result future
+     * @param call         the call
+     * @return the hedged request, to cancel the second attempt once the row is no longer waited for
+     * @throws Exception the exception
+     */
+    public HedgedRequest invoke(Row input, ResultFuture<Row> resultFuture, Call call) throws Exception {
+        HedgedRequest hedgedRequest = new HedgedRequest(resultFuture);
+        Attempt attempt = new Attempt(hedgedRequest, false);
+        call.process(input, attempt);
+        attempt.markStarted();
+        long delayMs = hedgeDelayMs;
+        if (delayMs >= 0 && !hedgedRequest.isDone()) {
+            hedgedRequest.setScheduledHedge(hedgeExecutor.schedule(() -> sendHedge(input, hedgedRequest, call), delayMs, TimeUnit.MILLISECONDS));
+        }
+        return hedgedRequest;
+    }
+
+    /**
+     * Gets current delay after which a second attempt is sent.
+     *
+     * @return the hedge delay ms, or -1 if not enough latency is observed yet
+     */
+    public long getHedgeDelayMs() {
+        return hedgeDelayMs;
+    }
+
+    /**
+     * Close.
+     */
+    public void close() {
+        hedgeExecutor.shutdownNow();
+    }
+
+    private void sendHedge(Row input, HedgedRequest hedgedRequest, Call call) {
+        if (!hedgedRequest.addAttempt()) {
+            return;
+        }
+        meterStatsManager.markEvent(ExternalSourceAspects.HEDGED_REQUESTS);
+        Attempt attempt = new Attempt(hedgedRequest, true);
+        try {
+            call.process(copy(input), attempt);
+            attempt.markStarted();
+        } catch (Exception e) {
+            attempt.completeExceptionally(e);
+        }
+    }
+
+    private Row copy(Row input) {
+        if (input.getArity() != 2 || !(input.getField(RowManager.OUTPUT_ROW_INDEX) instanceof Row)) {
+            return Row.copy(input);
+        }
+        Row copy = Row.copy(input);
+        copy.setField(RowManager.OUTPUT_ROW_INDEX, Row.copy((Row) input.getField(RowManager.OUTPUT_ROW_INDEX)));
+        return copy;
+    }
+
+    private synchronized void recordLatency(long latencyMs) {
+        latencySamples[sampleCount % SAMPLE_WINDOW_SIZE] = latencyMs;
+        sampleCount++;
+        if (sampleCount % RECOMPUTE_INTERVAL == 0) {
+            long[] sortedSamples = Arrays.copyOf(latencySamples, Math.min(sampleCount, SAMPLE_WINDOW_SIZE));
+            Arrays.sort(sortedSamples);
+            int index = (int) Math.ceil(hedgingConfig.getPercentile() / PERCENT * sortedSamples.length) - 1;
+            long percentileLatency = sortedSamples[Math.max(0, Math.min(index, sortedSamples.length - 1))];
+            hedgeDelayMs = Math.max(hedgingConfig.getMinDelayMs(), percentileLatency);
+        }
+    }
+
+    /**
+     * The attempts of a hedged lookup.
+     */
+    public static class HedgedRequest {
+        private final ResultFuture<Row> resultFuture;
+        private int pendingAttempts = 1;
+        private boolean done;
+        private ScheduledFuture<?> scheduledHedge;
+
+        HedgedRequest(ResultFuture<Row> resultFuture) {
+            this.resultFuture = resultFuture;
+        }
+
+        synchronized boolean isDone() {
+            return done;
+        }
+
+        synchronized boolean addAttempt() {
+            if (done) {
+                return false;
+            }
+            pendingAttempts++;
+            return true;
+        }
+
+        synchronized void setScheduledHedge(ScheduledFuture<?> scheduledHedge) {
+            this.scheduledHedge = scheduledHedge;
+            if (done) {
+                scheduledHedge.cancel(false);
+            }
+        }
+
+        /**
+         * Cancel the second attempt if it is not sent yet, and ignore the results of the sent attempts.
+         */
+        public synchronized void cancel() {
+            done = true;
+            if (scheduledHedge != null) {
+                scheduledHedge.cancel(false);
+            }
+        }
+
+        synchronized boolean markSucceeded() {
+            if (done) {
+                return false;
+            }
+            done = true;
+            if (scheduledHedge != null) {
+                scheduledHedge.cancel(false);
+            }
+            return true;
+        }
+
+        synchronized boolean markFailed() {
+            if (done) {
+                return false;
+            }
+            pendingAttempts--;
+            if (pendingAttempts > 0) {
+                return false;
+            }
+            done = true;
+            if (scheduledHedge != null) {
+                scheduledHedge.cancel(false);
+            }
+            return true;
+        }
+    }
+
+    private class Attempt implements ResultFuture<Row> {
+        private final HedgedRequest hedgedRequest;
+        private final boolean isHedge;
+        private final long startTime = System.currentTimeMillis();
+        private boolean started;
+        private boolean signalled;
+
+        Attempt(HedgedRequest hedgedRequest, boolean isHedge) {
+            this.hedgedRequest = hedgedRequest;
+            this.isHedge = isHedge;
+        }
+
+        @Override
+        public void complete(Collection<Row> result) {
+            if (!markSignalled()) {
+                return;
+            }
+            if (isStarted()) {
+                recordLatency(System.currentTimeMillis() - startTime);
+            }
+            if (hedgedRequest.markSucceeded()) {
+                if (isHedge) {
+                    meterStatsManager.markEvent(ExternalSourceAspects.HEDGE_WINS);
+                }
+                hedgedRequest.resultFuture.complete(result);
+            }
+        }
+
+        @Override
+        public void completeExceptionally(Throwable error) {
+            if (!markSignalled()) {
+                return;
+            }
+            if (hedgedRequest.markFailed()) {
+                hedgedRequest.resultFuture.completeExceptionally(error);
+            }
+        }
+
+        private synchronized void markStarted() {
+            started = true;
+        }
+
+        /**
+         * Handlers failing on errors complete exceptionally and then complete with the input,
+         * so only the first signal of an attempt counts.
+         */
+        private synchronized boolean markSignalled() {
+            if (signalled) {
+                return false;
+            }
+            signalled = true;
+            return true;
+        }
+
+        private synchronized boolean isStarted() {
+            return started;
+        }
+    }
+}
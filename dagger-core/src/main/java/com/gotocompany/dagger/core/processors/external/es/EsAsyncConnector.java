@@ -8,6 +8,7 @@ import com.gotocompany.dagger.core.processors.common.SchemaConfig;
 import com.gotocompany.dagger.core.utils.Constants;
 import com.gotocompany.dagger.core.processors.external.ExternalMetricConfig;
 import com.gotocompany.dagger.core.processors.external.AsyncConnector;
+import org.apache.flink.configuration.Configuration;
 import org.apache.flink.streaming.api.functions.async.ResultFuture;
 import org.apache.flink.types.Row;
 import org.apache.http.HttpHost;
@@ -22,6 +23,7 @@ import org.elasticsearch.client.RestClient;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -31,6 +33,7 @@ public class EsAsyncConnector extends AsyncConnector {
 
     private final EsSourceConfig esSourceConfig;
     private RestClient esClient;
+    private EsRequestBatcher requestBatcher;
 
     /**
      * Instantiates a new ElasticSearch async connector with specified elasticsearch client.
@@ -74,6 +77,19 @@ public class EsAsyncConnector extends AsyncConnector {
         }
     }
 
+    @Override
+    public void open(Configuration configuration) throws Exception {
+        super.open(configuration);
+        if (esSourceConfig.isBatchingEnabled() && requestBatcher == null) {
+            requestBatcher = new EsRequestBatcher(esSourceConfig, esClient, getMeterStatsManager());
+        }
+    }
+
+    @Override
+    protected boolean isHedgingSupported() {
+        return !esSourceConfig.isBatchingEnabled();
+    }
+
     @Override
     protected void process(Row input, ResultFuture<Row> resultFuture) {
         RowManager rowManager = new RowManager(input);
@@ -83,13 +99,47 @@ public class EsAsyncConnector extends AsyncConnector {
             return;
         }
         String esEndpoint = String.format(esSourceConfig.getPattern(), endpointVariablesValues);
+        if (requestBatcher != null) {
+            Map<String, String> document = EsRequestBatcher.toDocument(esEndpoint);
+            ResultFuture<Row> requestResultFuture = lookupCache(rowManager, resultFuture, endpointVariablesValues);
+            if (requestResultFuture != null) {
+                requestBatcher.add(document, createResponseHandler(rowManager, requestResultFuture));
+            }
+            return;
+        }
+        ResultFuture<Row> requestResultFuture = lookupCache(rowManager, resultFuture, endpointVariablesValues);
+        if (requestResultFuture == null) {
+            return;
+        }
         Request esRequest = new Request("GET", esEndpoint);
-        EsResponseHandler esResponseHandler = new EsResponseHandler(esSourceConfig, getMeterStatsManager(), rowManager,
-                getColumnNameManager(), getOutputDescriptor(resultFuture), resultFuture, getErrorReporter(), new PostResponseTelemetry());
+        EsResponseHandler esResponseHandler = createResponseHandler(rowManager, requestResultFuture);
         esResponseHandler.startTimer();
         esClient.performRequestAsync(esRequest, esResponseHandler);
     }
 
+    @Override
+    public void close() throws Exception {
+        if (requestBatcher != null) {
+            requestBatcher.close();
+            requestBatcher = null;
+        }
+        super.close();
+    }
+
+    /**
+     * Sets request batcher.
+     *
+     * @param requestBatcher the request batcher
+     */
+    void setRequestBatcher(EsRequestBatcher requestBatcher) {
+        this.requestBatcher = requestBatcher;
+    }
+
+    private EsResponseHandler createResponseHandler(RowManager rowManager, ResultFuture<Row> resultFuture) {
+        return new EsResponseHandler(esSourceConfig, getMeterStatsManager(), rowManager,
+                getColumnNameManager(), getOutputDescriptor(resultFuture), resultFuture, getErrorReporter(), new PostResponseTelemetry());
+    }
+
     private HttpHost[] getHttpHosts() {
         List<String> hosts = Arrays.asList(esSourceConfig.getHost().split(","));
         ArrayList<HttpHost> httpHosts = new ArrayList<>();
@@ -0,0 +1,75 @@
+package com.gotocompany.dagger.core.processors.external.es;
+
+import com.gotocompany.dagger.core.exception.HttpFailureException;
+import com.jayway.jsonpath.JsonPath;
+import org.apache.http.util.EntityUtils;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.ResponseListener;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.http.HttpStatus.SC_OK;
+
+/**
+ * The ElasticSearch batch response handler.
+ * Fans the documents of a multi get response back out to the response handler of each row by index.
+ */
+public class EsBatchResponseHandler implements ResponseListener {
+    private List<EsResponseHandler> responseHandlers;
+
+    /**
+     * Instantiates a new ElasticSearch batch response handler.
+     *
+     * @param responseHandlers the response handlers of the rows in the batch, in request order
+     */
+    public EsBatchResponseHandler(List<EsResponseHandler> responseHandlers) {
+        this.responseHandlers = responseHandlers;
+    }
+
+    /**
+     * Start timer.
+     */
+    public void startTimer() {
+        responseHandlers.forEach(EsResponseHandler::startTimer);
+    }
+
+    @Override
+    public void onSuccess(Response response) {
+        if (response.getStatusLine().getStatusCode() != SC_OK) {
+            responseHandlers.forEach(responseHandler -> responseHandler.onSuccess(response));
+            return;
+        }
+        Object documents;
+        try {
+            documents = JsonPath.parse(EntityUtils.toString(response.getEntity())).read("$.docs");
+        } catch (IOException | RuntimeException e) {
+            onFailure(new HttpFailureException("Multi get response could not be read. " + e.getMessage()));
+            return;
+        }
+        if (!(documents instanceof List)) {
+            onFailure(new HttpFailureException("Multi get response has no docs array"));
+            return;
+        }
+        List<Object> documentList = (List<Object>) documents;
+        for (int index = 0; index < responseHandlers.size(); index++) {
+            EsResponseHandler responseHandler = responseHandlers.get(index);
+            if (index >= documentList.size()) {
+                responseHandler.onFailure(new HttpFailureException("Multi get response has no document at index : " + index));
+                continue;
+            }
+            Object document = documentList.get(index);
+            if (document instanceof Map && Boolean.TRUE.equals(((Map<?, ?>) document).get("found"))) {
+                responseHandler.onDocument(JsonPath.parse(document));
+            } else {
+                responseHandler.onDocumentNotFound("Document not found at index : " + index);
+            }
+        }
+    }
+
+    @Override
+    public void onFailure(Exception exception) {
+        responseHandlers.forEach(responseHandler -> responseHandler.onFailure(exception));
+    }
+}
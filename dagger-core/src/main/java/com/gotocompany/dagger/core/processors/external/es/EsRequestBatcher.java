@@ -0,0 +1,139 @@
+package com.gotocompany.dagger.core.processors.external.es;
+
+import com.gotocompany.dagger.common.metrics.managers.MeterStatsManager;
+import com.gotocompany.dagger.core.exception.InvalidConfigurationException;
+import com.gotocompany.dagger.core.metrics.aspects.ExternalSourceAspects;
+import com.google.gson.Gson;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.RestClient;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The ElasticSearch request batcher.
+ * Buffers the document lookups of individual rows and sends them as a single multi get request
+ * once the batch is full or the linger time of its first row has elapsed.
+ */
+public class EsRequestBatcher {
+    private static final String MULTI_GET_ENDPOINT = "/_mget";
+    private static final int DOCUMENT_PATH_SEGMENTS = 3;
+    private static final Gson GSON = new Gson();
+
+    private final EsSourceConfig esSourceConfig;
+    private final RestClient esClient;
+    private final MeterStatsManager meterStatsManager;
+    private final ScheduledExecutorService lingerExecutor;
+    private List<Map<String, String>> pendingDocuments = new ArrayList<>();
+    private List<EsResponseHandler> pendingResponseHandlers = new ArrayList<>();
+    private ScheduledFuture<?> lingerFlush;
+
+    /**
+     * Instantiates a new ElasticSearch request batcher.
+     *
+     * @param esSourceConfig    the es source config
+     * @param esClient          the es client
+     * @param meterStatsManager the meter stats manager
+     */
+    public EsRequestBatcher(EsSourceConfig esSourceConfig, RestClient esClient, MeterStatsManager meterStatsManager) {
+        this(esSourceConfig, esClient, meterStatsManager, Executors.newSingleThreadScheduledExecutor());
+    }
+
+    /**
+     * Instantiates a new ElasticSearch request batcher with specified linger executor.
+     *
+     * @param esSourceConfig    the es source config
+     * @param esClient          the es client
+     * @param meterStatsManager the meter stats manager
+     * @param lingerExecutor    the executor flushing lingering batches
+     */
+    public EsRequestBatcher(EsSourceConfig esSourceConfig, RestClient esClient, MeterStatsManager meterStatsManager, ScheduledExecutorService lingerExecutor) {
+        this.esSourceConfig = esSourceConfig;
+        this.esClient = esClient;
+        this.meterStatsManager = meterStatsManager;
+        this.lingerExecutor = lingerExecutor;
+    }
+
+    /**
+     * Convert a single document endpoint of the form /index/type/id into a multi get document.
+     *
+     * @param esEndpoint the document endpoint
+     * @return the multi get document
+     * @throws InvalidConfigurationException if the endpoint does not address a single document
+     */
+    public static Map<String, String> toDocument(String esEndpoint) {
+        String[] pathSegments = esEndpoint.replaceFirst("^/", "").split("/");
+        if (esEndpoint.contains("?") || pathSegments.length != DOCUMENT_PATH_SEGMENTS) {
+            throw new InvalidConfigurationException(String.format("Endpoint '%s' is not of the form /index/type/id required for batching", esEndpoint));
+        }
+        Map<String, String> document = new LinkedHashMap<>();
+        document.put("_index", pathSegments[0]);
+        document.put("_type", pathSegments[1]);
+        document.put("_id", pathSegments[2]);
+        return document;
+    }
+
+    /**
+     * Add the document lookup of a row to the current batch.
+     *
+     * @param document        the multi get document of the row
+     * @param responseHandler the response handler of the row
+     */
+    public void add(Map<String, String> document, EsResponseHandler responseHandler) {
+        boolean isBatchFull;
+        synchronized (this) {
+            pendingDocuments.add(document);
+            pendingResponseHandlers.add(responseHandler);
+            isBatchFull = pendingDocuments.size() >= esSourceConfig.getBatchConfig().getSize();
+            if (!isBatchFull && lingerFlush == null) {
+                lingerFlush = lingerExecutor.schedule(this::flush, esSourceConfig.getBatchConfig().getLingerMs(), TimeUnit.MILLISECONDS);
+            }
+        }
+        if (isBatchFull) {
+            flush();
+        }
+    }
+
+    /**
+     * Send the pending document lookups as a single multi get request.
+     */
+    public void flush() {
+        List<Map<String, String>> documents;
+        List<EsResponseHandler> responseHandlers;
+        synchronized (this) {
+            if (lingerFlush != null) {
+                lingerFlush.cancel(false);
+                lingerFlush = null;
+            }
+            if (pendingDocuments.isEmpty()) {
+                return;
+            }
+            documents = pendingDocuments;
+            responseHandlers = pendingResponseHandlers;
+            pendingDocuments = new ArrayList<>();
+            pendingResponseHandlers = new ArrayList<>();
+        }
+        Request esRequest = new Request("POST", MULTI_GET_ENDPOINT);
+        esRequest.setJsonEntity(GSON.toJson(Collections.singletonMap("docs", documents)));
+        EsBatchResponseHandler batchResponseHandler = new EsBatchResponseHandler(responseHandlers);
+        meterStatsManager.markEvent(ExternalSourceAspects.TOTAL_BATCH_REQUESTS);
+        meterStatsManager.updateHistogram(ExternalSourceAspects.BATCH_SIZE, documents.size());
+        batchResponseHandler.startTimer();
+        esClient.performRequestAsync(esRequest, batchResponseHandler);
+    }
+
+    /**
+     * Flush the pending document lookups and stop the linger executor.
+     */
+    public void close() {
+        flush();
+        lingerExecutor.shutdown();
+    }
+}
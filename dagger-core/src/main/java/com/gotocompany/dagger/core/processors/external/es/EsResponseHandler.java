@@ -6,11 +6,13 @@ import com.gotocompany.dagger.core.metrics.reporters.ErrorReporter;
 import com.gotocompany.dagger.core.processors.ColumnNameManager;
 import com.gotocompany.dagger.core.processors.common.PostResponseTelemetry;
 import com.gotocompany.dagger.core.processors.common.RowManager;
+import com.gotocompany.dagger.core.processors.external.ExternalSourceCache;
 import org.apache.flink.streaming.api.functions.async.ResultFuture;
 import org.apache.flink.types.Row;
 
 import com.google.protobuf.Descriptors;
 import com.google.protobuf.Descriptors.Descriptor;
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.PathNotFoundException;
 import com.gotocompany.dagger.common.serde.typehandler.TypeHandler;
@@ -31,6 +33,7 @@ import java.util.Map;
 
 import static com.gotocompany.dagger.common.serde.typehandler.RowFactory.createRow;
 import static java.util.Collections.singleton;
+import static org.apache.http.HttpStatus.SC_NOT_FOUND;
 import static org.apache.http.HttpStatus.SC_OK;
 
 /**
@@ -85,35 +88,24 @@ public class EsResponseHandler implements ResponseListener {
                 return;
             }
             String responseBody = EntityUtils.toString(response.getEntity());
-            List<String> esOutputColumnNames = esSourceConfig.getOutputColumns();
-            esOutputColumnNames.forEach(outputColumnName -> {
-                String outputColumnPath = esSourceConfig.getPath(outputColumnName);
-                Object outputValue;
-                try {
-                    outputValue = JsonPath.parse(responseBody).read(outputColumnPath, new Object().getClass());
-                } catch (PathNotFoundException exception) {
-                    postResponseTelemetry.failureReadingPath(meterStatsManager);
-                    LOGGER.error(exception.getMessage());
-                    reportAndThrowError(exception);
-                    return;
-                }
-                int outputColumnIndex = columnNameManager.getOutputIndex(outputColumnName);
-                setField(esSourceConfig, outputColumnIndex, outputValue, outputColumnName);
-            });
+            populateOutput(JsonPath.parse(responseBody));
         } catch (ParseException e) {
             meterStatsManager.markEvent(ExternalSourceAspects.ERROR_PARSING_RESPONSE);
             System.err.printf("ESResponseHandler : error parsing response, error msg : %s, response : %s\n", e.getMessage(), response.toString());
             errorReporter.reportNonFatalException(e);
+            ExternalSourceCache.markFailed(resultFuture);
             e.printStackTrace();
         } catch (IOException e) {
             meterStatsManager.markEvent(ExternalSourceAspects.ERROR_READING_RESPONSE);
             System.err.printf("ESResponseHandler : error reading response, error msg : %s, response : %s\n", e.getMessage(), response.toString());
             errorReporter.reportNonFatalException(e);
+            ExternalSourceCache.markFailed(resultFuture);
             e.printStackTrace();
         } catch (Exception e) {
             meterStatsManager.markEvent(ExternalSourceAspects.OTHER_ERRORS_PROCESSING_RESPONSE);
             System.err.printf("ESResponseHandler : other errors processing response, error msg : %s, response : %s\n", e.getMessage(), response.toString());
             errorReporter.reportNonFatalException(e);
+            ExternalSourceCache.markFailed(resultFuture);
             e.printStackTrace();
         } finally {
             postResponseTelemetry.sendSuccessTelemetry(meterStatsManager, startTime);
@@ -121,6 +113,60 @@ public class EsResponseHandler implements ResponseListener {
         }
     }
 
+    /**
+     * Handle a found document of a multi get response.
+     *
+     * @param documentContext the parsed document
+     */
+    public void onDocument(DocumentContext documentContext) {
+        try {
+            populateOutput(documentContext);
+        } catch (Exception e) {
+            meterStatsManager.markEvent(ExternalSourceAspects.OTHER_ERRORS_PROCESSING_RESPONSE);
+            System.err.printf("ESResponseHandler : other errors processing document, error msg : %s\n", e.getMessage());
+            errorReporter.reportNonFatalException(e);
+            ExternalSourceCache.markFailed(resultFuture);
+        } finally {
+            postResponseTelemetry.sendSuccessTelemetry(meterStatsManager, startTime);
+            resultFuture.complete(singleton(rowManager.getAll()));
+        }
+    }
+
+    /**
+     * Handle a document of a multi get response which was not found, same as a 404 on a single get.
+     *
+     * @param logMessage the log message
+     */
+    public void onDocumentNotFound(String logMessage) {
+        postResponseTelemetry.sendFailureTelemetry(meterStatsManager, startTime);
+        Exception httpFailureException = new HttpFailureException("EsResponseHandler : Failed with error. " + logMessage);
+        if (esSourceConfig.isFailOnErrors()) {
+            reportAndThrowError(httpFailureException);
+        } else {
+            errorReporter.reportNonFatalException(httpFailureException);
+        }
+        postResponseTelemetry.validateResponseCode(meterStatsManager, SC_NOT_FOUND);
+        resultFuture.complete(singleton(rowManager.getAll()));
+    }
+
+    private void populateOutput(DocumentContext responseContext) {
+        List<String> esOutputColumnNames = esSourceConfig.getOutputColumns();
+        esOutputColumnNames.forEach(outputColumnName -> {
+            JsonPath outputColumnPath = esSourceConfig.getJsonPath(outputColumnName);
+            Object outputValue;
+            try {
+                outputValue = responseContext.read(outputColumnPath, Object.class);
+            } catch (PathNotFoundException exception) {
+                postResponseTelemetry.failureReadingPath(meterStatsManager);
+                LOGGER.error(exception.getMessage());
+                reportAndThrowError(exception);
+                return;
+            }
+            int outputColumnIndex = columnNameManager.getOutputIndex(outputColumnName);
+            setField(esSourceConfig, outputColumnIndex, outputValue, outputColumnName);
+        });
+    }
+
     @Override
     public void onFailure(Exception e) {
         postResponseTelemetry.sendFailureTelemetry(meterStatsManager, startTime);
@@ -130,12 +176,17 @@ public class EsResponseHandler implements ResponseListener {
         } else {
             errorReporter.reportNonFatalException(e);
         }
+        int statusCode = 0;
         if (e instanceof ResponseException) {
-            postResponseTelemetry.validateResponseCode(meterStatsManager, ((ResponseException) e).getResponse().getStatusLine().getStatusCode());
+            statusCode = ((ResponseException) e).getResponse().getStatusLine().getStatusCode();
+            postResponseTelemetry.validateResponseCode(meterStatsManager, statusCode);
         } else {
             meterStatsManager.markEvent(ExternalSourceAspects.OTHER_ERRORS);
             System.err.printf("ESResponseHandler some other errors :  %s \n", e.getMessage());
         }
+        if (statusCode != SC_NOT_FOUND) {
+            ExternalSourceCache.markFailed(resultFuture);
+        }
         resultFuture.complete(singleton(rowManager.getAll()));
     }
 
@@ -1,8 +1,14 @@
 package com.gotocompany.dagger.core.processors.external.es;
 
 import com.gotocompany.dagger.core.processors.common.OutputMapping;
+import com.gotocompany.dagger.core.processors.external.BatchConfig;
+import com.gotocompany.dagger.core.processors.external.CacheConfig;
+import com.gotocompany.dagger.core.processors.external.ConcurrencyLimitConfig;
+import com.gotocompany.dagger.core.processors.external.HedgingConfig;
 import com.gotocompany.dagger.core.processors.types.SourceConfig;
+import com.gotocompany.dagger.core.utils.Constants;
 import com.google.gson.annotations.SerializedName;
+import com.jayway.jsonpath.JsonPath;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.Serializable;
@@ -33,7 +39,12 @@ public class EsSourceConfig implements Serializable, SourceConfig {
     private final Map<String, OutputMapping> outputMapping;
     @SerializedName(value = "metricId", alternate = {"MetricId", "METRICID"})
     private final String metricId;
+    private CacheConfig cache;
+    private String outputOrdering;
+    private ConcurrencyLimitConfig concurrencyLimit;
+    private HedgingConfig hedging;
     private final boolean retainResponseType;
+    private BatchConfig batch;
 
 
     /**
@@ -77,6 +88,34 @@ public class EsSourceConfig implements Serializable, SourceConfig {
         this.retainResponseType = retainResponseType;
     }
 
+    /**
+     * Instantiates a new ElasticSearch source config with multi get batching.
+     *
+     * @param host               the host
+     * @param port               the port
+     * @param user               the user
+     * @param password           the password
+     * @param endpointPattern    the endpoint pattern
+     * @param endpointVariables  the endpoint variables
+     * @param type               the type
+     * @param capacity           the capacity
+     * @param connectTimeout     the connect timeout
+     * @param retryTimeout       the retry timeout
+     * @param socketTimeout      the socket timeout
+     * @param streamTimeout      the stream timeout
+     * @param failOnErrors       the fail on errors
+     * @param outputMapping      the output mapping
+     * @param metricId           the metric id
+     * @param retainResponseType the retain response type
+     * @param batch              the batch config of the multi get requests
+     */
+    public EsSourceConfig(String host, String port, String user, String password, String endpointPattern, String endpointVariables,
+                          String type, String capacity, String connectTimeout, String retryTimeout, String socketTimeout, String streamTimeout,
+                          boolean failOnErrors, Map<String, OutputMapping> outputMapping, String metricId, boolean retainResponseType, BatchConfig batch) {
+        this(host, port, user, password, endpointPattern, endpointVariables, type, capacity, connectTimeout, retryTimeout, socketTimeout, streamTimeout, failOnErrors, outputMapping, metricId, retainResponseType);
+        this.batch = batch;
+    }
+
 
     /**
      * Gets host.
@@ -134,6 +173,26 @@ public class EsSourceConfig implements Serializable, SourceConfig {
         return metricId;
     }
 
+    @Override
+    public CacheConfig getCacheConfig() {
+        return cache;
+    }
+
+    @Override
+    public ConcurrencyLimitConfig getConcurrencyLimitConfig() {
+        return concurrencyLimit;
+    }
+
+    @Override
+    public HedgingConfig getHedgingConfig() {
+        return hedging;
+    }
+
+    @Override
+    public boolean isOutputOrdered() {
+        return !Constants.OUTPUT_ORDERING_UNORDERED.equalsIgnoreCase(outputOrdering);
+    }
+
     @Override
     public String getType() {
         return type;
@@ -203,6 +262,16 @@ public class EsSourceConfig implements Serializable, SourceConfig {
         return outputMapping.get(outputColumn).getPath();
     }
 
+    /**
+     * Gets compiled json path.
+     *
+     * @param outputColumn the output column
+     * @return the compiled json path
+     */
+    public JsonPath getJsonPath(String outputColumn) {
+        return outputMapping.get(outputColumn).getJsonPath();
+    }
+
     @Override
     public HashMap<String, Object> getMandatoryFields() {
         HashMap<String, Object> mandatoryFields = new HashMap<>();
@@ -234,6 +303,24 @@ public class EsSourceConfig implements Serializable, SourceConfig {
         return retainResponseType;
     }
 
+    /**
+     * Gets batch config of the multi get requests.
+     *
+     * @return the batch config
+     */
+    public BatchConfig getBatchConfig() {
+        return batch == null ? new BatchConfig(null, null) : batch;
+    }
+
+    /**
+     * Check if lookups are batched into multi get requests.
+     *
+     * @return the boolean
+     */
+    public boolean isBatchingEnabled() {
+        return getBatchConfig().isEnabled();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -243,11 +330,11 @@ public class EsSourceConfig implements Serializable, SourceConfig {
             return false;
         }
         EsSourceConfig that = (EsSourceConfig) o;
-        return failOnErrors == that.failOnErrors && retainResponseType == that.retainResponseType && Objects.equals(host, that.host) && Objects.equals(port, that.port) && Objects.equals(user, that.user) && Objects.equals(password, that.password) && Objects.equals(endpointPattern, that.endpointPattern) && Objects.equals(endpointVariables, that.endpointVariables) && Objects.equals(type, that.type) && Objects.equals(capacity, that.capacity) && Objects.equals(retryTimeout, that.retryTimeout) && Objects.equals(socketTimeout, that.socketTimeout) && Objects.equals(streamTimeout, that.streamTimeout) && Objects.equals(connectTimeout, that.connectTimeout) && Objects.equals(outputMapping, that.outputMapping) && Objects.equals(metricId, that.metricId);
+        return failOnErrors == that.failOnErrors && retainResponseType == that.retainResponseType && Objects.equals(host, that.host) && Objects.equals(port, that.port) && Objects.equals(user, that.user) && Objects.equals(password, that.password) && Objects.equals(endpointPattern, that.endpointPattern) && Objects.equals(endpointVariables, that.endpointVariables) && Objects.equals(type, that.type) && Objects.equals(capacity, that.capacity) && Objects.equals(retryTimeout, that.retryTimeout) && Objects.equals(socketTimeout, that.socketTimeout) && Objects.equals(streamTimeout, that.streamTimeout) && Objects.equals(connectTimeout, that.connectTimeout) && Objects.equals(outputMapping, that.outputMapping) && Objects.equals(metricId, that.metricId) && Objects.equals(cache, that.cache) && Objects.equals(outputOrdering, that.outputOrdering) && Objects.equals(concurrencyLimit, that.concurrencyLimit) && Objects.equals(hedging, that.hedging) && Objects.equals(batch, that.batch);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(host, port, user, password, endpointPattern, endpointVariables, type, capacity, retryTimeout, socketTimeout, streamTimeout, connectTimeout, failOnErrors, outputMapping, metricId, retainResponseType);
+        return Objects.hash(host, port, user, password, endpointPattern, endpointVariables, type, capacity, retryTimeout, socketTimeout, streamTimeout, connectTimeout, failOnErrors, outputMapping, metricId, retainResponseType, cache, outputOrdering, concurrencyLimit, batch);
     }
 }
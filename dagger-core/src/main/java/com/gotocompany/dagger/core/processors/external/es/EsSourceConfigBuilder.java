@@ -1,6 +1,7 @@
 package com.gotocompany.dagger.core.processors.external.es;
 
 import com.gotocompany.dagger.core.processors.common.OutputMapping;
+import com.gotocompany.dagger.core.processors.external.BatchConfig;
 
 import java.util.Map;
 
@@ -21,6 +22,7 @@ public class EsSourceConfigBuilder {
     private Map<String, OutputMapping> outputMapping;
     private String metricId;
     private boolean retainResponseType;
+    private BatchConfig batchConfig;
 
     public EsSourceConfigBuilder setHost(String host) {
         this.host = host;
@@ -102,7 +104,12 @@ public class EsSourceConfigBuilder {
         return this;
     }
 
+    public EsSourceConfigBuilder setBatchConfig(BatchConfig batchConfig) {
+        this.batchConfig = batchConfig;
+        return this;
+    }
+
     public EsSourceConfig createEsSourceConfig() {
-        return new EsSourceConfig(host, port, user, password, endpointPattern, endpointVariables, type, capacity, connectTimeout, retryTimeout, socketTimeout, streamTimeout, failOnErrors, outputMapping, metricId, retainResponseType);
+        return new EsSourceConfig(host, port, user, password, endpointPattern, endpointVariables, type, capacity, connectTimeout, retryTimeout, socketTimeout, streamTimeout, failOnErrors, outputMapping, metricId, retainResponseType, batchConfig);
     }
 }
@@ -41,6 +41,9 @@ public class EsStreamDecorator implements StreamDecorator {
     public DataStream<Row> decorate(DataStream<Row> inputStream) {
         EsAsyncConnector esAsyncConnector = new EsAsyncConnector(esSourceConfig, externalMetricConfig, schemaConfig);
         esAsyncConnector.notifySubscriber(externalMetricConfig.getTelemetrySubscriber());
+        if (!esSourceConfig.isOutputOrdered()) {
+            return AsyncDataStream.unorderedWait(inputStream, esAsyncConnector, esSourceConfig.getStreamTimeout(), TimeUnit.MILLISECONDS, esSourceConfig.getCapacity());
+        }
         return AsyncDataStream.orderedWait(inputStream, esAsyncConnector, esSourceConfig.getStreamTimeout(), TimeUnit.MILLISECONDS, esSourceConfig.getCapacity());
     }
 }
@@ -0,0 +1,86 @@
+package com.gotocompany.dagger.core.processors.external.grpc;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A class that holds the channel pool configuration of a Grpc source.
+ */
+public class ChannelPoolConfig implements Serializable {
+    private static final int DEFAULT_SIZE = 1;
+
+    private String size;
+    private String keepAliveTimeMs;
+    private String keepAliveTimeoutMs;
+    private String loadBalancingPolicy;
+
+    /**
+     * Instantiates a new Channel pool config.
+     *
+     * @param size                the number of channels requests are spread over
+     * @param keepAliveTimeMs     the keep alive ping interval in ms
+     * @param keepAliveTimeoutMs  the keep alive ping timeout in ms
+     * @param loadBalancingPolicy the client side load balancing policy
+     */
+    public ChannelPoolConfig(String size, String keepAliveTimeMs, String keepAliveTimeoutMs, String loadBalancingPolicy) {
+        this.size = size;
+        this.keepAliveTimeMs = keepAliveTimeMs;
+        this.keepAliveTimeoutMs = keepAliveTimeoutMs;
+        this.loadBalancingPolicy = loadBalancingPolicy;
+    }
+
+    /**
+     * Gets the number of channels requests are spread over. Defaults to a single channel.
+     *
+     * @return the size
+     */
+    public Integer getSize() {
+        return StringUtils.isEmpty(size) ? DEFAULT_SIZE : Integer.valueOf(size);
+    }
+
+    /**
+     * Gets keep alive ping interval in ms, zero disables keep alive.
+     *
+     * @return the keep alive time ms
+     */
+    public Long getKeepAliveTimeMs() {
+        return StringUtils.isEmpty(keepAliveTimeMs) ? 0L : Long.valueOf(keepAliveTimeMs);
+    }
+
+    /**
+     * Gets keep alive ping timeout in ms, zero keeps the grpc default.
+     *
+     * @return the keep alive timeout ms
+     */
+    public Long getKeepAliveTimeoutMs() {
+        return StringUtils.isEmpty(keepAliveTimeoutMs) ? 0L : Long.valueOf(keepAliveTimeoutMs);
+    }
+
+    /**
+     * Gets client side load balancing policy, e.g. round_robin or pick_first.
+     *
+     * @return the load balancing policy
+     */
+    public String getLoadBalancingPolicy() {
+        return loadBalancingPolicy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ChannelPoolConfig that = (ChannelPoolConfig) o;
+        return Objects.equals(size, that.size) && Objects.equals(keepAliveTimeMs, that.keepAliveTimeMs) && Objects.equals(keepAliveTimeoutMs, that.keepAliveTimeoutMs) && Objects.equals(loadBalancingPolicy, that.loadBalancingPolicy);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(size, keepAliveTimeMs, keepAliveTimeoutMs, loadBalancingPolicy);
+    }
+}
@@ -83,8 +83,13 @@ public class GrpcAsyncConnector extends AsyncConnector {
     }
 
     @Override
-    protected void process(Row input, ResultFuture<Row> resultFuture) throws Exception {
+    protected boolean isHedgingSupported() {
+        return grpcSourceConfig.isIdempotent();
+    }
 
+    @Override
+    protected void process(Row input, ResultFuture<Row> resultFuture) throws Exception {
+        ResultFuture<Row> requestResultFuture = resultFuture;
         try {
 
             RowManager rowManager = new RowManager(input);
@@ -98,18 +103,22 @@ public class GrpcAsyncConnector extends AsyncConnector {
             GrpcRequestHandler grpcRequestHandler = new GrpcRequestHandler(grpcSourceConfig, getDescriptorManager());
             DynamicMessage message = grpcRequestHandler.create(requestVariablesValues);
 
+            requestResultFuture = lookupCache(rowManager, resultFuture, requestVariablesValues);
+            if (requestResultFuture == null) {
+                return;
+            }
             GrpcResponseHandler grpcResponseHandler = new GrpcResponseHandler(grpcSourceConfig, getMeterStatsManager(),
-                    rowManager, getColumnNameManager(), getOutputDescriptor(resultFuture), resultFuture, getErrorReporter(), new PostResponseTelemetry());
+                    rowManager, getColumnNameManager(), getOutputDescriptor(requestResultFuture), requestResultFuture, getErrorReporter(), new PostResponseTelemetry());
 
             grpcResponseHandler.startTimer();
 
             this.grpcClient.asyncUnaryCall(message, grpcResponseHandler, getInputDescriptorForGrpcRequest(resultFuture), getOutputDescriptorForGrpcResponse(resultFuture));
         } catch (InvalidGrpcBodyException e) {
             getMeterStatsManager().markEvent(ExternalSourceAspects.INVALID_CONFIGURATION);
-            resultFuture.completeExceptionally(e);
+            requestResultFuture.completeExceptionally(e);
         } catch (ChannelNotAvailableException e) {
             getMeterStatsManager().markEvent(ExternalSourceAspects.GRPC_CHANNEL_NOT_AVAILABLE);
-            resultFuture.completeExceptionally(e);
+            requestResultFuture.completeExceptionally(e);
         }
     }
 
@@ -142,6 +151,7 @@ public class GrpcAsyncConnector extends AsyncConnector {
 
     @Override
     public void close() {
+        closeRequestHedger();
         grpcClient.close();
         grpcClient = null;
         getMeterStatsManager().markEvent(ExternalSourceAspects.CLOSE_CONNECTION_ON_EXTERNAL_CLIENT);
@@ -7,6 +7,7 @@ import com.gotocompany.dagger.core.processors.ColumnNameManager;
 import com.gotocompany.dagger.core.processors.common.OutputMapping;
 import com.gotocompany.dagger.core.processors.common.PostResponseTelemetry;
 import com.gotocompany.dagger.core.processors.common.RowManager;
+import com.gotocompany.dagger.core.processors.external.ExternalSourceCache;
 import com.gotocompany.dagger.common.metrics.managers.MeterStatsManager;
 import com.gotocompany.dagger.common.serde.typehandler.TypeHandler;
 import com.gotocompany.dagger.common.serde.typehandler.TypeHandlerFactory;
@@ -14,6 +15,7 @@ import com.google.protobuf.Descriptors;
 import com.google.protobuf.DynamicMessage;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.util.JsonFormat;
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.PathNotFoundException;
 import io.grpc.stub.StreamObserver;
@@ -74,14 +76,13 @@ public class GrpcResponseHandler implements StreamObserver<DynamicMessage> {
 
         try {
             String json = JsonFormat.printer().includingDefaultValueFields().preservingProtoFieldNames().print(message);
+            DocumentContext responseContext = JsonPath.parse(json);
 
             outputMappingKeys.forEach(key -> {
                 OutputMapping outputMappingKeyConfig = outputMappings.get(key);
                 Object value;
                 try {
-
-                    value = JsonPath.parse(json).read(outputMappingKeyConfig.getPath(), Object.class);
-
+                    value = responseContext.read(outputMappingKeyConfig.getJsonPath(), Object.class);
                 } catch (PathNotFoundException e) {
                     postResponseTelemetry.failureReadingPath(meterStatsManager);
                     LOGGER.error(e.getMessage());
@@ -141,6 +142,7 @@ public class GrpcResponseHandler implements StreamObserver<DynamicMessage> {
         } else {
             errorReporter.reportNonFatalException(grpcFailureException);
         }
+        ExternalSourceCache.markFailed(resultFuture);
         resultFuture.complete(Collections.singleton(rowManager.getAll()));
     }
 
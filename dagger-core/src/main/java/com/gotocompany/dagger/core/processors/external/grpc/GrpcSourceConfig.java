@@ -1,7 +1,11 @@
 package com.gotocompany.dagger.core.processors.external.grpc;
 
 import com.gotocompany.dagger.core.processors.common.OutputMapping;
+import com.gotocompany.dagger.core.processors.external.CacheConfig;
+import com.gotocompany.dagger.core.processors.external.ConcurrencyLimitConfig;
+import com.gotocompany.dagger.core.processors.external.HedgingConfig;
 import com.gotocompany.dagger.core.processors.types.SourceConfig;
+import com.gotocompany.dagger.core.utils.Constants;
 import com.google.gson.annotations.SerializedName;
 import org.apache.commons.lang3.StringUtils;
 
@@ -35,7 +39,13 @@ public class GrpcSourceConfig implements Serializable, SourceConfig {
     private Map<String, OutputMapping> outputMapping;
     @SerializedName(value = "metricId", alternate = {"MetricId", "METRICID"})
     private String metricId;
+    private CacheConfig cache;
+    private String outputOrdering;
+    private ConcurrencyLimitConfig concurrencyLimit;
+    private HedgingConfig hedging;
     private int capacity;
+    private ChannelPoolConfig channelPool;
+    private boolean idempotent;
 
     /**
      * Instantiates a new Grpc source config.
@@ -147,6 +157,26 @@ public class GrpcSourceConfig implements Serializable, SourceConfig {
         return metricId;
     }
 
+    @Override
+    public CacheConfig getCacheConfig() {
+        return cache;
+    }
+
+    @Override
+    public ConcurrencyLimitConfig getConcurrencyLimitConfig() {
+        return concurrencyLimit;
+    }
+
+    @Override
+    public HedgingConfig getHedgingConfig() {
+        return hedging;
+    }
+
+    @Override
+    public boolean isOutputOrdered() {
+        return !Constants.OUTPUT_ORDERING_UNORDERED.equalsIgnoreCase(outputOrdering);
+    }
+
     public String getType() {
         return type;
     }
@@ -290,6 +320,42 @@ public class GrpcSourceConfig implements Serializable, SourceConfig {
         return capacity;
     }
 
+    /**
+     * Gets channel pool config.
+     *
+     * @return the channel pool config
+     */
+    public ChannelPoolConfig getChannelPoolConfig() {
+        return channelPool == null ? new ChannelPoolConfig(null, null, null, null) : channelPool;
+    }
+
+    /**
+     * Sets channel pool config.
+     *
+     * @param channelPoolConfig the channel pool config
+     */
+    public void setChannelPoolConfig(ChannelPoolConfig channelPoolConfig) {
+        this.channelPool = channelPoolConfig;
+    }
+
+    /**
+     * Check if the grpc method is idempotent and can be called a second time for the same request.
+     *
+     * @return the boolean
+     */
+    public boolean isIdempotent() {
+        return idempotent;
+    }
+
+    /**
+     * Sets idempotent.
+     *
+     * @param idempotent the idempotent
+     */
+    public void setIdempotent(boolean idempotent) {
+        this.idempotent = idempotent;
+    }
+
     /**
      * Gets grpc stencil url.
      *
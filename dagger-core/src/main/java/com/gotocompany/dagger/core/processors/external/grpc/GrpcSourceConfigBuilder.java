@@ -22,6 +22,8 @@ public class GrpcSourceConfigBuilder {
     private Map<String, String> headers;
     private String metricId;
     private int capacity;
+    private ChannelPoolConfig channelPoolConfig;
+    private boolean idempotent;
 
     public GrpcSourceConfigBuilder setEndpoint(String endpoint) {
         this.endpoint = endpoint;
@@ -108,8 +110,21 @@ public class GrpcSourceConfigBuilder {
         return this;
     }
 
+    public GrpcSourceConfigBuilder setChannelPoolConfig(ChannelPoolConfig channelPoolConfig) {
+        this.channelPoolConfig = channelPoolConfig;
+        return this;
+    }
+
+    public GrpcSourceConfigBuilder setIdempotent(boolean idempotent) {
+        this.idempotent = idempotent;
+        return this;
+    }
+
     public GrpcSourceConfig createGrpcSourceConfig() {
-        return new GrpcSourceConfig(endpoint, servicePort, grpcRequestProtoSchema, grpcResponseProtoSchema, grpcMethodUrl, requestPattern, requestVariables,
+        GrpcSourceConfig grpcSourceConfig = new GrpcSourceConfig(endpoint, servicePort, grpcRequestProtoSchema, grpcResponseProtoSchema, grpcMethodUrl, requestPattern, requestVariables,
                 streamTimeout, connectTimeout, failOnErrors, grpcStencilUrl, type, retainResponseType, headers, outputMapping, metricId, capacity);
+        grpcSourceConfig.setChannelPoolConfig(channelPoolConfig);
+        grpcSourceConfig.setIdempotent(idempotent);
+        return grpcSourceConfig;
     }
 }
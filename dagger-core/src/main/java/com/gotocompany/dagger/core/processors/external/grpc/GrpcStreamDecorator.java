@@ -42,6 +42,9 @@ public class GrpcStreamDecorator implements StreamDecorator {
     public DataStream<Row> decorate(DataStream<Row> inputStream) {
         GrpcAsyncConnector grpcAsyncConnector = new GrpcAsyncConnector(grpcSourceConfig, externalMetricConfig, schemaConfig);
         grpcAsyncConnector.notifySubscriber(externalMetricConfig.getTelemetrySubscriber());
+        if (!grpcSourceConfig.isOutputOrdered()) {
+            return AsyncDataStream.unorderedWait(inputStream, grpcAsyncConnector, grpcSourceConfig.getStreamTimeout(), TimeUnit.MILLISECONDS, grpcSourceConfig.getCapacity());
+        }
         return AsyncDataStream.orderedWait(inputStream, grpcAsyncConnector, grpcSourceConfig.getStreamTimeout(), TimeUnit.MILLISECONDS, grpcSourceConfig.getCapacity());
     }
 }
@@ -1,30 +1,40 @@
 package com.gotocompany.dagger.core.processors.external.grpc.client;
 
 import com.gotocompany.dagger.core.exception.ChannelNotAvailableException;
+import com.gotocompany.dagger.core.processors.external.grpc.ChannelPoolConfig;
 import com.gotocompany.dagger.core.processors.external.grpc.GrpcSourceConfig;
 import com.google.protobuf.Descriptors.Descriptor;
 import com.google.protobuf.DynamicMessage;
 
 import io.grpc.Channel;
+import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
 import io.grpc.ClientInterceptors;
 import io.grpc.Metadata;
 import io.grpc.CallOptions;
-import io.grpc.ClientCall;
 import io.grpc.MethodDescriptor;
 import io.grpc.stub.ClientCalls;
 import io.grpc.stub.MetadataUtils;
 import io.grpc.stub.StreamObserver;
+import org.apache.commons.lang3.StringUtils;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The Grpc client.
+ * Spreads calls round robin over a pool of channels, each with its own HTTP/2 connection.
  */
 public class GrpcClient {
     private final GrpcSourceConfig grpcConfig;
 
-    private Channel decoratedChannel;
+    private volatile List<ManagedChannel> channels = new ArrayList<>();
+    private volatile List<Channel> decoratedChannels = new ArrayList<>();
+    private final AtomicInteger nextChannel = new AtomicInteger();
+    private volatile CachedMethodDescriptor cachedMethodDescriptor;
 
     /**
      * Instantiates a new Grpc client.
@@ -36,11 +46,9 @@ public class GrpcClient {
     }
 
     /**
-     * Add channel.
+     * Add channel pool.
      */
     public void addChannel() {
-        Channel channel = ManagedChannelBuilder.forAddress(grpcConfig.getEndpoint(), grpcConfig.getServicePort()).usePlaintext().build();
-
         Metadata metadata = new Metadata();
 
         if (grpcConfig.getHeaders() != null && !grpcConfig.getHeaders().isEmpty()) {
@@ -48,10 +56,34 @@ public class GrpcClient {
                 metadata.put(Metadata.Key.of(header.getKey(), Metadata.ASCII_STRING_MARSHALLER), header.getValue());
             }
         }
-        decoratedChannel = ClientInterceptors.intercept(channel,
-                MetadataUtils.newAttachHeadersInterceptor(metadata));
-
+        List<ManagedChannel> pooledChannels = new ArrayList<>();
+        List<Channel> pooledDecoratedChannels = new ArrayList<>();
+        ChannelPoolConfig channelPoolConfig = grpcConfig.getChannelPoolConfig() == null ? new ChannelPoolConfig(null, null, null, null) : grpcConfig.getChannelPoolConfig();
+        int channelPoolSize = Math.max(1, channelPoolConfig.getSize());
+        for (int index = 0; index < channelPoolSize; index++) {
+            ManagedChannel channel = createChannel(channelPoolConfig);
+            pooledChannels.add(channel);
+            pooledDecoratedChannels.add(ClientInterceptors.intercept(channel,
+                    MetadataUtils.newAttachHeadersInterceptor(metadata)));
+        }
+        channels = pooledChannels;
+        decoratedChannels = pooledDecoratedChannels;
+    }
 
+    private ManagedChannel createChannel(ChannelPoolConfig channelPoolConfig) {
+        ManagedChannelBuilder<?> channelBuilder = ManagedChannelBuilder.forAddress(grpcConfig.getEndpoint(), grpcConfig.getServicePort()).usePlaintext();
+        long keepAliveTimeMs = channelPoolConfig.getKeepAliveTimeMs();
+        if (keepAliveTimeMs > 0) {
+            channelBuilder.keepAliveTime(keepAliveTimeMs, TimeUnit.MILLISECONDS).keepAliveWithoutCalls(true);
+            long keepAliveTimeoutMs = channelPoolConfig.getKeepAliveTimeoutMs();
+            if (keepAliveTimeoutMs > 0) {
+                channelBuilder.keepAliveTimeout(keepAliveTimeoutMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (StringUtils.isNotEmpty(channelPoolConfig.getLoadBalancingPolicy())) {
+            channelBuilder.defaultLoadBalancingPolicy(channelPoolConfig.getLoadBalancingPolicy());
+        }
+        return channelBuilder.build();
     }
 
     /**
@@ -67,38 +99,79 @@ public class GrpcClient {
             DynamicMessage request,
             StreamObserver<DynamicMessage> responseObserver, Descriptor inputDescriptor, Descriptor outputDescriptor) throws Exception {
 
+        Channel decoratedChannel = getDecoratedChannel();
         if (decoratedChannel == null) {
             throw new ChannelNotAvailableException("channel not available");
         }
 
         ClientCalls.asyncUnaryCall(
-                createCall(CallOptions.DEFAULT, inputDescriptor, outputDescriptor),
+                decoratedChannel.newCall(getMethodDescriptor(inputDescriptor, outputDescriptor), CallOptions.DEFAULT),
                 request,
                 responseObserver);
     }
 
-    private ClientCall<DynamicMessage, DynamicMessage> createCall(CallOptions callOptions, Descriptor inputDescriptor, Descriptor outputDescriptor) {
-
-        return decoratedChannel.newCall(MethodDescriptor.newBuilder(new DynamicMessageMarshaller(inputDescriptor), new DynamicMessageMarshaller(outputDescriptor))
-                .setType(MethodDescriptor.MethodType.UNARY)
-                .setFullMethodName(grpcConfig.getGrpcMethodUrl())
-                .build(), callOptions);
+    /**
+     * Gets the method descriptor of the grpc method, built once per pair of input and output descriptors.
+     *
+     * @param inputDescriptor  the input descriptor
+     * @param outputDescriptor the output descriptor
+     * @return the method descriptor
+     */
+    MethodDescriptor<DynamicMessage, DynamicMessage> getMethodDescriptor(Descriptor inputDescriptor, Descriptor outputDescriptor) {
+        CachedMethodDescriptor cached = cachedMethodDescriptor;
+        if (cached == null || cached.inputDescriptor != inputDescriptor || cached.outputDescriptor != outputDescriptor) {
+            MethodDescriptor<DynamicMessage, DynamicMessage> methodDescriptor = MethodDescriptor
+                    .newBuilder(new DynamicMessageMarshaller(inputDescriptor), new DynamicMessageMarshaller(outputDescriptor))
+                    .setType(MethodDescriptor.MethodType.UNARY)
+                    .setFullMethodName(grpcConfig.getGrpcMethodUrl())
+                    .build();
+            cached = new CachedMethodDescriptor(inputDescriptor, outputDescriptor, methodDescriptor);
+            cachedMethodDescriptor = cached;
+        }
+        return cached.methodDescriptor;
     }
 
     /**
-     * Close channel.
+     * Close channel pool, in flight calls are allowed to finish.
      */
     public void close() {
-        this.decoratedChannel = null;
+        List<ManagedChannel> pooledChannels = channels;
+        this.channels = new ArrayList<>();
+        this.decoratedChannels = new ArrayList<>();
+        pooledChannels.forEach(ManagedChannel::shutdown);
     }
 
     /**
-     * Gets decorated channel.
+     * Gets the next decorated channel of the pool.
      *
      * @return the decorated channel
      */
     public Channel getDecoratedChannel() {
-        return decoratedChannel;
+        List<Channel> pooledDecoratedChannels = decoratedChannels;
+        if (pooledDecoratedChannels.isEmpty()) {
+            return null;
+        }
+        return pooledDecoratedChannels.get(Math.floorMod(nextChannel.getAndIncrement(), pooledDecoratedChannels.size()));
     }
-}
 
+    /**
+     * Gets channels of the pool.
+     *
+     * @return the channels
+     */
+    List<ManagedChannel> getChannels() {
+        return channels;
+    }
+
+    private static class CachedMethodDescriptor {
+        private final Descriptor inputDescriptor;
+        private final Descriptor outputDescriptor;
+        private final MethodDescriptor<DynamicMessage, DynamicMessage> methodDescriptor;
+
+        CachedMethodDescriptor(Descriptor inputDescriptor, Descriptor outputDescriptor, MethodDescriptor<DynamicMessage, DynamicMessage> methodDescriptor) {
+            this.inputDescriptor = inputDescriptor;
+            this.outputDescriptor = outputDescriptor;
+            this.methodDescriptor = methodDescriptor;
+        }
+    }
+}
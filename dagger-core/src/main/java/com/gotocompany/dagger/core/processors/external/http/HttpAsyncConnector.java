@@ -1,5 +1,6 @@
 package com.gotocompany.dagger.core.processors.external.http;
 
+import com.gotocompany.dagger.core.exception.InvalidConfigurationException;
 import com.gotocompany.dagger.core.exception.InvalidHttpVerbException;
 import com.gotocompany.dagger.core.metrics.aspects.ExternalSourceAspects;
 import com.gotocompany.dagger.core.metrics.reporters.ErrorReporter;
@@ -41,6 +42,7 @@ public class HttpAsyncConnector extends AsyncConnector {
     private AsyncHttpClient httpClient;
     private HttpSourceConfig httpSourceConfig;
     private Set<Integer> failOnErrorsExclusionSet;
+    private HttpRequestBatcher requestBatcher;
 
     /**
      * Instantiates a new Http async connector with specified http client.
@@ -94,16 +96,30 @@ public class HttpAsyncConnector extends AsyncConnector {
     public void open(Configuration configuration) throws Exception {
         super.open(configuration);
         setFailOnErrorsExclusionSet(httpSourceConfig.getExcludeFailOnErrorsCodeRange());
+        if (httpSourceConfig.isBatchingEnabled() && requestBatcher == null) {
+            validateBatchingConfig();
+            requestBatcher = new HttpRequestBatcher(httpSourceConfig, httpClient, getMeterStatsManager());
+        }
     }
 
     @Override
     public void close() throws Exception {
+        closeRequestHedger();
+        if (requestBatcher != null) {
+            requestBatcher.close();
+            requestBatcher = null;
+        }
         httpClient.close();
         httpClient = null;
         getMeterStatsManager().markEvent(ExternalSourceAspects.CLOSE_CONNECTION_ON_EXTERNAL_CLIENT);
         LOGGER.error("HTTP Connector : Connection closed");
     }
 
+    @Override
+    protected boolean isHedgingSupported() {
+        return httpSourceConfig.getVerb().equalsIgnoreCase("get") && !httpSourceConfig.isBatchingEnabled();
+    }
+
     @Override
     protected void process(Row input, ResultFuture<Row> resultFuture) {
         try {
@@ -118,9 +134,20 @@ public class HttpAsyncConnector extends AsyncConnector {
             if (getEndpointHandler().isQueryInvalid(resultFuture, rowManager, httpSourceConfig.getRequestVariables(), requestVariablesValues) || getEndpointHandler().isQueryInvalid(resultFuture, rowManager, httpSourceConfig.getHeaderVariables(), dynamicHeaderVariablesValues)) {
                 return;
             }
+            if (requestBatcher != null) {
+                String requestBody = String.format(httpSourceConfig.getPattern(), requestVariablesValues);
+                ResultFuture<Row> requestResultFuture = lookupCache(rowManager, resultFuture, requestVariablesValues);
+                if (requestResultFuture != null) {
+                    requestBatcher.add(requestBody, createResponseHandler(rowManager, requestResultFuture));
+                }
+                return;
+            }
             BoundRequestBuilder request = HttpRequestFactory.createRequest(httpSourceConfig, httpClient, requestVariablesValues, dynamicHeaderVariablesValues, endpointVariablesValues);
-            HttpResponseHandler httpResponseHandler = new HttpResponseHandler(httpSourceConfig, getFailOnErrorsExclusionSet(), getMeterStatsManager(),
-                    rowManager, getColumnNameManager(), getOutputDescriptor(resultFuture), resultFuture, getErrorReporter(), new PostResponseTelemetry());
+            ResultFuture<Row> requestResultFuture = lookupCache(rowManager, resultFuture, requestVariablesValues, dynamicHeaderVariablesValues, endpointVariablesValues);
+            if (requestResultFuture == null) {
+                return;
+            }
+            HttpResponseHandler httpResponseHandler = createResponseHandler(rowManager, requestResultFuture);
             httpResponseHandler.startTimer();
             request.execute(httpResponseHandler);
         } catch (InvalidHttpVerbException e) {
@@ -130,6 +157,31 @@ public class HttpAsyncConnector extends AsyncConnector {
 
     }
 
+    private HttpResponseHandler createResponseHandler(RowManager rowManager, ResultFuture<Row> resultFuture) {
+        return new HttpResponseHandler(httpSourceConfig, getFailOnErrorsExclusionSet(), getMeterStatsManager(),
+                rowManager, getColumnNameManager(), getOutputDescriptor(resultFuture), resultFuture, getErrorReporter(), new PostResponseTelemetry());
+    }
+
+    /**
+     * Sets request batcher.
+     *
+     * @param requestBatcher the request batcher
+     */
+    void setRequestBatcher(HttpRequestBatcher requestBatcher) {
+        this.requestBatcher = requestBatcher;
+    }
+
+    private void validateBatchingConfig() {
+        if (!StringUtil.isNullOrEmpty(httpSourceConfig.getEndpointVariables()) || !StringUtil.isNullOrEmpty(httpSourceConfig.getHeaderVariables())) {
+            getMeterStatsManager().markEvent(ExternalSourceAspects.INVALID_CONFIGURATION);
+            throw new InvalidConfigurationException("Http batching does not support endpoint or header variables");
+        }
+        if (!httpSourceConfig.getVerb().equalsIgnoreCase("post") && !httpSourceConfig.getVerb().equalsIgnoreCase("put")) {
+            getMeterStatsManager().markEvent(ExternalSourceAspects.INVALID_CONFIGURATION);
+            throw new InvalidHttpVerbException("Http verb not supported for batching");
+        }
+    }
+
     protected Set<Integer> getFailOnErrorsExclusionSet() {
         return failOnErrorsExclusionSet;
     }
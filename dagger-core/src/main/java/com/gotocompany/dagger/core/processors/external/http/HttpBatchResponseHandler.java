@@ -0,0 +1,71 @@
+package com.gotocompany.dagger.core.processors.external.http;
+
+import com.jayway.jsonpath.InvalidJsonException;
+import com.jayway.jsonpath.JsonPath;
+import org.asynchttpclient.AsyncCompletionHandler;
+import org.asynchttpclient.Response;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static com.gotocompany.dagger.core.processors.external.http.HttpResponseHandler.SUCCESS_CODE_PATTERN;
+
+/**
+ * The Http batch response handler.
+ * Fans the json array response of a bulk request back out to the response handler of each row by index.
+ */
+public class HttpBatchResponseHandler extends AsyncCompletionHandler<Object> {
+    private List<HttpResponseHandler> responseHandlers;
+
+    /**
+     * Instantiates a new Http batch response handler.
+     *
+     * @param responseHandlers the response handlers of the rows in the batch, in request order
+     */
+    public HttpBatchResponseHandler(List<HttpResponseHandler> responseHandlers) {
+        this.responseHandlers = responseHandlers;
+    }
+
+    /**
+     * Start timer.
+     */
+    public void startTimer() {
+        responseHandlers.forEach(HttpResponseHandler::startTimer);
+    }
+
+    @Override
+    public Object onCompleted(Response response) {
+        int statusCode = response.getStatusCode();
+        boolean isSuccess = Pattern.compile(SUCCESS_CODE_PATTERN).matcher(String.valueOf(statusCode)).matches();
+        if (!isSuccess) {
+            responseHandlers.forEach(responseHandler -> responseHandler.onCompleted(response));
+            return response;
+        }
+        Object responseBody;
+        try {
+            responseBody = JsonPath.parse(response.getResponseBody()).json();
+        } catch (InvalidJsonException e) {
+            responseHandlers.forEach(responseHandler -> responseHandler.failureHandler("Batch response is not valid json : " + e.getMessage(), 0));
+            return response;
+        }
+        if (!(responseBody instanceof List)) {
+            responseHandlers.forEach(responseHandler -> responseHandler.failureHandler("Batch response is not a json array", 0));
+            return response;
+        }
+        List<Object> responseElements = (List<Object>) responseBody;
+        for (int index = 0; index < responseHandlers.size(); index++) {
+            HttpResponseHandler responseHandler = responseHandlers.get(index);
+            if (index < responseElements.size()) {
+                responseHandler.successHandler(JsonPath.parse(responseElements.get(index)));
+            } else {
+                responseHandler.failureHandler("Batch response has no element at index : " + index, 0);
+            }
+        }
+        return response;
+    }
+
+    @Override
+    public void onThrowable(Throwable t) {
+        responseHandlers.forEach(responseHandler -> responseHandler.onThrowable(t));
+    }
+}
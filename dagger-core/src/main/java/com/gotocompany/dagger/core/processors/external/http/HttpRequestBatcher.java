@@ -0,0 +1,111 @@
+package com.gotocompany.dagger.core.processors.external.http;
+
+import com.gotocompany.dagger.common.metrics.managers.MeterStatsManager;
+import com.gotocompany.dagger.core.metrics.aspects.ExternalSourceAspects;
+import com.gotocompany.dagger.core.processors.external.http.request.HttpRequestFactory;
+import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.BoundRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Http request batcher.
+ * Buffers the requests of individual rows and sends them as a single bulk request
+ * once the batch is full or the linger time of its first row has elapsed.
+ */
+public class HttpRequestBatcher {
+    private final HttpSourceConfig httpSourceConfig;
+    private final AsyncHttpClient httpClient;
+    private final MeterStatsManager meterStatsManager;
+    private final ScheduledExecutorService lingerExecutor;
+    private List<String> pendingRequestBodies = new ArrayList<>();
+    private List<HttpResponseHandler> pendingResponseHandlers = new ArrayList<>();
+    private ScheduledFuture<?> lingerFlush;
+
+    /**
+     * Instantiates a new Http request batcher.
+     *
+     * @param httpSourceConfig  the http source config
+     * @param httpClient        the http client
+     * @param meterStatsManager the meter stats manager
+     */
+    public HttpRequestBatcher(HttpSourceConfig httpSourceConfig, AsyncHttpClient httpClient, MeterStatsManager meterStatsManager) {
+        this(httpSourceConfig, httpClient, meterStatsManager, Executors.newSingleThreadScheduledExecutor());
+    }
+
+    /**
+     * Instantiates a new Http request batcher with specified linger executor.
+     *
+     * @param httpSourceConfig  the http source config
+     * @param httpClient        the http client
+     * @param meterStatsManager the meter stats manager
+     * @param lingerExecutor    the executor flushing lingering batches
+     */
+    public HttpRequestBatcher(HttpSourceConfig httpSourceConfig, AsyncHttpClient httpClient, MeterStatsManager meterStatsManager, ScheduledExecutorService lingerExecutor) {
+        this.httpSourceConfig = httpSourceConfig;
+        this.httpClient = httpClient;
+        this.meterStatsManager = meterStatsManager;
+        this.lingerExecutor = lingerExecutor;
+    }
+
+    /**
+     * Add the request of a row to the current batch.
+     *
+     * @param requestBody     the request body of the row
+     * @param responseHandler the response handler of the row
+     */
+    public void add(String requestBody, HttpResponseHandler responseHandler) {
+        boolean isBatchFull;
+        synchronized (this) {
+            pendingRequestBodies.add(requestBody);
+            pendingResponseHandlers.add(responseHandler);
+            isBatchFull = pendingRequestBodies.size() >= httpSourceConfig.getBatchConfig().getSize();
+            if (!isBatchFull && lingerFlush == null) {
+                lingerFlush = lingerExecutor.schedule(this::flush, httpSourceConfig.getBatchConfig().getLingerMs(), TimeUnit.MILLISECONDS);
+            }
+        }
+        if (isBatchFull) {
+            flush();
+        }
+    }
+
+    /**
+     * Send the pending requests as a single bulk request.
+     */
+    public void flush() {
+        List<String> requestBodies;
+        List<HttpResponseHandler> responseHandlers;
+        synchronized (this) {
+            if (lingerFlush != null) {
+                lingerFlush.cancel(false);
+                lingerFlush = null;
+            }
+            if (pendingRequestBodies.isEmpty()) {
+                return;
+            }
+            requestBodies = pendingRequestBodies;
+            responseHandlers = pendingResponseHandlers;
+            pendingRequestBodies = new ArrayList<>();
+            pendingResponseHandlers = new ArrayList<>();
+        }
+        BoundRequestBuilder request = HttpRequestFactory.createBatchRequest(httpSourceConfig, httpClient, requestBodies);
+        HttpBatchResponseHandler batchResponseHandler = new HttpBatchResponseHandler(responseHandlers);
+        meterStatsManager.markEvent(ExternalSourceAspects.TOTAL_BATCH_REQUESTS);
+        meterStatsManager.updateHistogram(ExternalSourceAspects.BATCH_SIZE, requestBodies.size());
+        batchResponseHandler.startTimer();
+        request.execute(batchResponseHandler);
+    }
+
+    /**
+     * Flush the pending requests and stop the linger executor.
+     */
+    public void close() {
+        flush();
+        lingerExecutor.shutdown();
+    }
+}
@@ -11,6 +11,8 @@ import com.gotocompany.dagger.core.processors.ColumnNameManager;
 import com.gotocompany.dagger.core.processors.common.OutputMapping;
 import com.gotocompany.dagger.core.processors.common.PostResponseTelemetry;
 import com.gotocompany.dagger.core.processors.common.RowManager;
+import com.gotocompany.dagger.core.processors.external.ExternalSourceCache;
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.PathNotFoundException;
 import org.apache.flink.streaming.api.functions.async.ResultFuture;
@@ -27,6 +29,8 @@ import java.util.Collections;
 import java.util.Set;
 import java.util.regex.Pattern;
 
+import static org.apache.http.HttpStatus.SC_NOT_FOUND;
+
 /**
  * The Http response handler.
  */
@@ -102,6 +106,15 @@ public class HttpResponseHandler extends AsyncCompletionHandler<Object> {
     }
 
     private void successHandler(Response response) {
+        successHandler(JsonPath.parse(response.getResponseBody()));
+    }
+
+    /**
+     * Success handler for an already parsed response.
+     *
+     * @param responseContext the parsed response
+     */
+    public void successHandler(DocumentContext responseContext) {
         Map<String, OutputMapping> outputMappings = httpSourceConfig.getOutputMapping();
         ArrayList<String> outputMappingKeys = new ArrayList<>(outputMappings.keySet());
 
@@ -109,7 +122,7 @@ public class HttpResponseHandler extends AsyncCompletionHandler<Object> {
             OutputMapping outputMappingKeyConfig = outputMappings.get(key);
             Object value;
             try {
-                value = JsonPath.parse(response.getResponseBody()).read(outputMappingKeyConfig.getPath(), Object.class);
+                value = responseContext.read(outputMappingKeyConfig.getJsonPath(), Object.class);
             } catch (PathNotFoundException e) {
                 postResponseTelemetry.failureReadingPath(meterStatsManager);
                 LOGGER.error(e.getMessage());
@@ -138,6 +151,9 @@ public class HttpResponseHandler extends AsyncCompletionHandler<Object> {
         } else {
             errorReporter.reportNonFatalException(httpFailureException);
         }
+        if (statusCode != SC_NOT_FOUND) {
+            ExternalSourceCache.markFailed(resultFuture);
+        }
         resultFuture.complete(Collections.singleton(rowManager.getAll()));
     }
 
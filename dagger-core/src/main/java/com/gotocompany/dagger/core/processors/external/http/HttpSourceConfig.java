@@ -1,7 +1,12 @@
 package com.gotocompany.dagger.core.processors.external.http;
 
 import com.gotocompany.dagger.core.processors.common.OutputMapping;
+import com.gotocompany.dagger.core.processors.external.BatchConfig;
+import com.gotocompany.dagger.core.processors.external.CacheConfig;
+import com.gotocompany.dagger.core.processors.external.ConcurrencyLimitConfig;
+import com.gotocompany.dagger.core.processors.external.HedgingConfig;
 import com.gotocompany.dagger.core.processors.types.SourceConfig;
+import com.gotocompany.dagger.core.utils.Constants;
 import com.google.gson.annotations.SerializedName;
 import org.apache.commons.lang3.StringUtils;
 
@@ -35,7 +40,12 @@ public class HttpSourceConfig implements Serializable, SourceConfig {
     private Map<String, OutputMapping> outputMapping;
     @SerializedName(value = "metricId", alternate = {"MetricId", "METRICID"})
     private String metricId;
+    private CacheConfig cache;
+    private String outputOrdering;
+    private ConcurrencyLimitConfig concurrencyLimit;
+    private HedgingConfig hedging;
     private boolean retainResponseType;
+    private BatchConfig batch;
 
     /**
      * Instantiates a new Http source config.
@@ -180,6 +190,26 @@ public class HttpSourceConfig implements Serializable, SourceConfig {
         return metricId;
     }
 
+    @Override
+    public CacheConfig getCacheConfig() {
+        return cache;
+    }
+
+    @Override
+    public ConcurrencyLimitConfig getConcurrencyLimitConfig() {
+        return concurrencyLimit;
+    }
+
+    @Override
+    public HedgingConfig getHedgingConfig() {
+        return hedging;
+    }
+
+    @Override
+    public boolean isOutputOrdered() {
+        return !Constants.OUTPUT_ORDERING_UNORDERED.equalsIgnoreCase(outputOrdering);
+    }
+
     public String getType() {
         return type;
     }
@@ -249,6 +279,33 @@ public class HttpSourceConfig implements Serializable, SourceConfig {
         return retainResponseType;
     }
 
+    /**
+     * Gets batch config. Defaults to one row per request.
+     *
+     * @return the batch config
+     */
+    public BatchConfig getBatchConfig() {
+        return batch == null ? new BatchConfig(null, null) : batch;
+    }
+
+    /**
+     * Sets batch config.
+     *
+     * @param batchConfig the batch config
+     */
+    public void setBatchConfig(BatchConfig batchConfig) {
+        this.batch = batchConfig;
+    }
+
+    /**
+     * Check if rows should be coalesced into bulk requests.
+     *
+     * @return the boolean
+     */
+    public boolean isBatchingEnabled() {
+        return getBatchConfig().isEnabled();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -258,11 +315,11 @@ public class HttpSourceConfig implements Serializable, SourceConfig {
             return false;
         }
         HttpSourceConfig that = (HttpSourceConfig) o;
-        return failOnErrors == that.failOnErrors && excludeFailOnErrorsCodeRange == that.excludeFailOnErrorsCodeRange && retainResponseType == that.retainResponseType && Objects.equals(endpoint, that.endpoint) && Objects.equals(verb, that.verb) && Objects.equals(requestPattern, that.requestPattern) && Objects.equals(requestVariables, that.requestVariables) && Objects.equals(headerPattern, that.headerPattern) && Objects.equals(headerVariables, that.headerVariables) && Objects.equals(streamTimeout, that.streamTimeout) && Objects.equals(connectTimeout, that.connectTimeout) && Objects.equals(type, that.type) && Objects.equals(capacity, that.capacity) && Objects.equals(headers, that.headers) && Objects.equals(outputMapping, that.outputMapping) && Objects.equals(metricId, that.metricId);
+        return failOnErrors == that.failOnErrors && excludeFailOnErrorsCodeRange == that.excludeFailOnErrorsCodeRange && retainResponseType == that.retainResponseType && Objects.equals(endpoint, that.endpoint) && Objects.equals(verb, that.verb) && Objects.equals(requestPattern, that.requestPattern) && Objects.equals(requestVariables, that.requestVariables) && Objects.equals(headerPattern, that.headerPattern) && Objects.equals(headerVariables, that.headerVariables) && Objects.equals(streamTimeout, that.streamTimeout) && Objects.equals(connectTimeout, that.connectTimeout) && Objects.equals(type, that.type) && Objects.equals(capacity, that.capacity) && Objects.equals(headers, that.headers) && Objects.equals(outputMapping, that.outputMapping) && Objects.equals(metricId, that.metricId) && Objects.equals(batch, that.batch) && Objects.equals(cache, that.cache) && Objects.equals(outputOrdering, that.outputOrdering) && Objects.equals(concurrencyLimit, that.concurrencyLimit) && Objects.equals(hedging, that.hedging);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(endpoint, endpointVariables, verb, requestPattern, requestVariables, headerPattern, headerVariables, streamTimeout, connectTimeout, failOnErrors, excludeFailOnErrorsCodeRange, type, capacity, headers, outputMapping, metricId, retainResponseType);
+        return Objects.hash(endpoint, endpointVariables, verb, requestPattern, requestVariables, headerPattern, headerVariables, streamTimeout, connectTimeout, failOnErrors, excludeFailOnErrorsCodeRange, type, capacity, headers, outputMapping, metricId, retainResponseType, batch, cache, outputOrdering, concurrencyLimit, hedging);
     }
 }
@@ -0,0 +1,47 @@
+package com.gotocompany.dagger.core.processors.external.http.request;
+
+import com.gotocompany.dagger.core.processors.external.http.HttpSourceConfig;
+import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.BoundRequestBuilder;
+
+import java.util.List;
+
+/**
+ * The Http batch request handler.
+ * Coalesces the request bodies of many rows into a single json array body.
+ */
+public class HttpBatchRequestHandler implements HttpRequestHandler {
+    private HttpSourceConfig httpSourceConfig;
+    private AsyncHttpClient httpClient;
+    private List<String> requestBodies;
+
+    /**
+     * Instantiates a new Http batch request handler.
+     *
+     * @param httpSourceConfig the http source config
+     * @param httpClient       the http client
+     * @param requestBodies    the formatted request bodies of the rows in the batch
+     */
+    public HttpBatchRequestHandler(HttpSourceConfig httpSourceConfig, AsyncHttpClient httpClient, List<String> requestBodies) {
+        this.httpSourceConfig = httpSourceConfig;
+        this.httpClient = httpClient;
+        this.requestBodies = requestBodies;
+    }
+
+    @Override
+    public BoundRequestBuilder create() {
+        String requestBody = "[" + String.join(",", requestBodies) + "]";
+        String endpoint = httpSourceConfig.getEndpoint();
+
+        BoundRequestBuilder batchRequest = httpSourceConfig.getVerb().equalsIgnoreCase("put")
+                ? httpClient.preparePut(endpoint)
+                : httpClient.preparePost(endpoint);
+        batchRequest.setBody(requestBody);
+        return addHeaders(batchRequest, httpSourceConfig.getHeaders());
+    }
+
+    @Override
+    public boolean canCreate() {
+        return httpSourceConfig.getVerb().equalsIgnoreCase("post") || httpSourceConfig.getVerb().equalsIgnoreCase("put");
+    }
+}
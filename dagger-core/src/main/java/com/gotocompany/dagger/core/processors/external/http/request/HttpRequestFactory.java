@@ -6,6 +6,7 @@ import org.asynchttpclient.AsyncHttpClient;
 import org.asynchttpclient.BoundRequestBuilder;
 
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The factoy class for Http request.
@@ -33,4 +34,20 @@ public class HttpRequestFactory {
                 .orElseThrow(() -> new InvalidHttpVerbException("Http verb not supported"));
         return httpRequestHandler.create();
     }
+
+    /**
+     * Create a bulk request carrying the request bodies of many rows.
+     *
+     * @param httpSourceConfig the http source config
+     * @param httpClient       the http client
+     * @param requestBodies    the request bodies
+     * @return the bound request builder
+     */
+    public static BoundRequestBuilder createBatchRequest(HttpSourceConfig httpSourceConfig, AsyncHttpClient httpClient, List<String> requestBodies) {
+        HttpRequestHandler httpRequestHandler = new HttpBatchRequestHandler(httpSourceConfig, httpClient, requestBodies);
+        if (!httpRequestHandler.canCreate()) {
+            throw new InvalidHttpVerbException("Http verb not supported for batching");
+        }
+        return httpRequestHandler.create();
+    }
 }
@@ -10,21 +10,18 @@ import com.gotocompany.dagger.core.utils.Constants;
 import com.gotocompany.dagger.common.metrics.managers.MeterStatsManager;
 import com.gotocompany.dagger.core.processors.external.ExternalMetricConfig;
 import com.gotocompany.dagger.core.processors.external.AsyncConnector;
-import io.vertx.core.Vertx;
-import io.vertx.core.VertxOptions;
 import io.vertx.pgclient.PgConnectOptions;
 import io.vertx.pgclient.PgPool;
-import io.vertx.pgclient.impl.PgPoolImpl;
 import io.vertx.sqlclient.PoolOptions;
+import io.vertx.sqlclient.PreparedQuery;
 import io.vertx.sqlclient.Query;
 import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.Tuple;
 import org.apache.flink.streaming.api.functions.async.ResultFuture;
 import org.apache.flink.types.Row;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.concurrent.TimeUnit;
-
 /**
  * The Postgre async connector.
  */
@@ -32,6 +29,8 @@ public class PgAsyncConnector extends AsyncConnector {
     private static final Logger LOGGER = LoggerFactory.getLogger(PgAsyncConnector.class.getName());
     private final PgSourceConfig pgSourceConfig;
     private PgPool pgClient;
+    private String preparedQueryPattern;
+    private String poolKey;
 
     /**
      * Instantiates a new Postgre async connector with specified postgre client.
@@ -74,14 +73,21 @@ public class PgAsyncConnector extends AsyncConnector {
                     .setPassword(pgSourceConfig.getPassword())
                     .setConnectTimeout(pgSourceConfig.getConnectTimeout())
                     .setIdleTimeout(pgSourceConfig.getIdleTimeout());
+            connectOptions.setCachePreparedStatements(pgSourceConfig.isPreparedQuery());
 
             PoolOptions poolOptions = new PoolOptions()
-                    .setMaxSize(pgSourceConfig.getCapacity());
+                    .setMaxSize(pgSourceConfig.getPoolMaxSize());
 
-            pgClient = pool(connectOptions, poolOptions);
+            poolKey = pgSourceConfig.getPoolKey();
+            pgClient = PgPoolRegistry.acquire(poolKey, connectOptions, poolOptions);
         }
     }
 
+    @Override
+    protected boolean isHedgingSupported() {
+        return pgSourceConfig.getPattern().trim().toLowerCase().startsWith("select");
+    }
+
     @Override
     public void process(Row input, ResultFuture<Row> resultFuture) {
         RowManager rowManager = new RowManager(input);
@@ -92,43 +98,75 @@ public class PgAsyncConnector extends AsyncConnector {
             return;
         }
 
+        if (pgSourceConfig.isPreparedQuery()) {
+            executePreparedQuery(rowManager, resultFuture, queryVariablesValues);
+            return;
+        }
+
         String query = String.format(pgSourceConfig.getPattern(), queryVariablesValues);
-        PgResponseHandler pgResponseHandler = new PgResponseHandler(pgSourceConfig, getMeterStatsManager(), rowManager,
-                getColumnNameManager(), getOutputDescriptor(resultFuture), resultFuture, getErrorReporter(), new PostResponseTelemetry());
+        ResultFuture<Row> requestResultFuture = lookupCache(rowManager, resultFuture, queryVariablesValues);
+        if (requestResultFuture == null) {
+            return;
+        }
+        PgResponseHandler pgResponseHandler = createResponseHandler(rowManager, requestResultFuture);
 
         pgResponseHandler.startTimer();
         Query<RowSet<io.vertx.sqlclient.Row>> executableQuery = pgClient.query(query);
         if (executableQuery == null) {
-            getMeterStatsManager().markEvent(ExternalSourceAspects.INVALID_CONFIGURATION);
-            Exception invalidConfigurationException = new InvalidConfigurationException(String.format("Query '%s' is invalid", query));
-            reportAndThrowError(resultFuture, invalidConfigurationException);
+            reportInvalidQuery(requestResultFuture, query);
         } else {
             executableQuery.execute(pgResponseHandler);
         }
     }
 
+    private void executePreparedQuery(RowManager rowManager, ResultFuture<Row> resultFuture, Object[] queryVariablesValues) {
+        if (preparedQueryPattern == null) {
+            preparedQueryPattern = pgSourceConfig.getPreparedQueryPattern();
+        }
+        ResultFuture<Row> requestResultFuture = lookupCache(rowManager, resultFuture, queryVariablesValues);
+        if (requestResultFuture == null) {
+            return;
+        }
+        PgResponseHandler pgResponseHandler = createResponseHandler(rowManager, requestResultFuture);
+
+        pgResponseHandler.startTimer();
+        PreparedQuery<RowSet<io.vertx.sqlclient.Row>> executableQuery = pgClient.preparedQuery(preparedQueryPattern);
+        if (executableQuery == null) {
+            reportInvalidQuery(requestResultFuture, preparedQueryPattern);
+        } else {
+            Tuple queryParameters = Tuple.tuple();
+            for (Object queryVariableValue : queryVariablesValues) {
+                queryParameters.addValue(queryVariableValue);
+            }
+            executableQuery.execute(queryParameters, pgResponseHandler);
+        }
+    }
+
+    private PgResponseHandler createResponseHandler(RowManager rowManager, ResultFuture<Row> resultFuture) {
+        return new PgResponseHandler(pgSourceConfig, getMeterStatsManager(), rowManager,
+                getColumnNameManager(), getOutputDescriptor(resultFuture), resultFuture, getErrorReporter(), new PostResponseTelemetry());
+    }
+
+    private void reportInvalidQuery(ResultFuture<Row> resultFuture, String query) {
+        getMeterStatsManager().markEvent(ExternalSourceAspects.INVALID_CONFIGURATION);
+        Exception invalidConfigurationException = new InvalidConfigurationException(String.format("Query '%s' is invalid", query));
+        reportAndThrowError(resultFuture, invalidConfigurationException);
+    }
+
     @Override
     public void close() {
-        pgClient.close();
+        closeRequestHedger();
+        if (poolKey != null) {
+            PgPoolRegistry.release(poolKey);
+            poolKey = null;
+        } else {
+            pgClient.close();
+        }
         pgClient = null;
         getMeterStatsManager().markEvent(ExternalSourceAspects.CLOSE_CONNECTION_ON_EXTERNAL_CLIENT);
         LOGGER.info("DB Connector : Connection pool released");
     }
 
-    private PgPool pool(PgConnectOptions connectOptions, PoolOptions poolOptions) {
-        if (Vertx.currentContext() != null) {
-            throw new IllegalStateException("Running in a Vertx context => use PgPool#pool(Vertx, PgConnectOptions, PoolOptions) instead");
-        }
-        VertxOptions vertxOptions = new VertxOptions();
-        vertxOptions.setMaxEventLoopExecuteTime(Constants.MAX_EVENT_LOOP_EXECUTE_TIME_DEFAULT);
-        vertxOptions.setMaxEventLoopExecuteTimeUnit(TimeUnit.MILLISECONDS);
-        if (connectOptions.isUsingDomainSocket()) {
-            vertxOptions.setPreferNativeTransport(true);
-        }
-        Vertx vertx = Vertx.vertx(vertxOptions);
-        return new PgPoolImpl(vertx.getOrCreateContext(), true, connectOptions, poolOptions);
-    }
-
     /**
      * Gets postgre client.
      *
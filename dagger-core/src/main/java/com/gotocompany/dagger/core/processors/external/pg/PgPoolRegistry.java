@@ -0,0 +1,103 @@
+package com.gotocompany.dagger.core.processors.external.pg;
+
+import com.gotocompany.dagger.core.utils.Constants;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.pgclient.PgConnectOptions;
+import io.vertx.pgclient.PgPool;
+import io.vertx.pgclient.impl.PgPoolImpl;
+import io.vertx.sqlclient.PoolOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The JVM wide registry of Postgre pools.
+ * Subtasks running in the same TaskManager with the same connection options share one pool,
+ * and all the pools share the event loops of a single Vert.x instance.
+ * Pools and the Vert.x instance are reference counted and closed on their last release.
+ */
+public class PgPoolRegistry {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PgPoolRegistry.class.getName());
+    private static final Map<String, SharedPgPool> POOLS = new HashMap<>();
+    private static Vertx vertx;
+
+    private PgPoolRegistry() {
+    }
+
+    /**
+     * Acquire the pool for the given key, creating it on the first acquire.
+     *
+     * @param poolKey        the key identifying the connection and pool options
+     * @param connectOptions the connect options
+     * @param poolOptions    the pool options
+     * @return the shared pg pool
+     */
+    public static synchronized PgPool acquire(String poolKey, PgConnectOptions connectOptions, PoolOptions poolOptions) {
+        SharedPgPool sharedPgPool = POOLS.get(poolKey);
+        if (sharedPgPool == null) {
+            sharedPgPool = new SharedPgPool(new PgPoolImpl(getVertx(connectOptions).getOrCreateContext(), false, connectOptions, poolOptions));
+            POOLS.put(poolKey, sharedPgPool);
+            LOGGER.info("DB Connector : Created shared connection pool of max size " + poolOptions.getMaxSize());
+        }
+        sharedPgPool.references++;
+        return sharedPgPool.pgPool;
+    }
+
+    /**
+     * Release the pool for the given key, closing it when no subtask uses it anymore.
+     *
+     * @param poolKey the key identifying the connection and pool options
+     */
+    public static synchronized void release(String poolKey) {
+        SharedPgPool sharedPgPool = POOLS.get(poolKey);
+        if (sharedPgPool == null || --sharedPgPool.references > 0) {
+            return;
+        }
+        POOLS.remove(poolKey);
+        sharedPgPool.pgPool.close();
+        if (POOLS.isEmpty() && vertx != null) {
+            vertx.close();
+            vertx = null;
+        }
+    }
+
+    /**
+     * Gets the number of subtasks holding the pool for the given key.
+     *
+     * @param poolKey the key identifying the connection and pool options
+     * @return the reference count
+     */
+    static synchronized int getReferenceCount(String poolKey) {
+        SharedPgPool sharedPgPool = POOLS.get(poolKey);
+        return sharedPgPool == null ? 0 : sharedPgPool.references;
+    }
+
+    private static Vertx getVertx(PgConnectOptions connectOptions) {
+        if (vertx == null) {
+            if (Vertx.currentContext() != null) {
+                throw new IllegalStateException("Running in a Vertx context => use PgPool#pool(Vertx, PgConnectOptions, PoolOptions) instead");
+            }
+            VertxOptions vertxOptions = new VertxOptions();
+            vertxOptions.setMaxEventLoopExecuteTime(Constants.MAX_EVENT_LOOP_EXECUTE_TIME_DEFAULT);
+            vertxOptions.setMaxEventLoopExecuteTimeUnit(TimeUnit.MILLISECONDS);
+            if (connectOptions.isUsingDomainSocket()) {
+                vertxOptions.setPreferNativeTransport(true);
+            }
+            vertx = Vertx.vertx(vertxOptions);
+        }
+        return vertx;
+    }
+
+    private static class SharedPgPool {
+        private final PgPool pgPool;
+        private int references;
+
+        SharedPgPool(PgPool pgPool) {
+            this.pgPool = pgPool;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.gotocompany.dagger.core.metrics.reporters.ErrorReporter;
 import com.gotocompany.dagger.core.processors.ColumnNameManager;
 import com.gotocompany.dagger.core.processors.common.PostResponseTelemetry;
 import com.gotocompany.dagger.core.processors.common.RowManager;
+import com.gotocompany.dagger.core.processors.external.ExternalSourceCache;
 import com.gotocompany.dagger.common.metrics.managers.MeterStatsManager;
 import com.gotocompany.dagger.common.serde.typehandler.TypeHandler;
 import com.gotocompany.dagger.common.serde.typehandler.TypeHandlerFactory;
@@ -89,6 +90,7 @@ public class PgResponseHandler implements Handler<AsyncResult<RowSet<io.vertx.sq
                 reportAndThrowError(illegalArgumentException);
             } else {
                 errorReporter.reportNonFatalException(illegalArgumentException);
+                ExternalSourceCache.markFailed(resultFuture);
                 resultFuture.complete(Collections.singleton(rowManager.getAll()));
             }
             return;
@@ -127,6 +129,7 @@ public class PgResponseHandler implements Handler<AsyncResult<RowSet<io.vertx.sq
             meterStatsManager.markEvent(ExternalSourceAspects.OTHER_ERRORS);
             System.err.printf("PGResponseHandler some other errors :  %s \n", e.getMessage());
         }
+        ExternalSourceCache.markFailed(resultFuture);
         resultFuture.complete(Collections.singleton(rowManager.getAll()));
     }
 
@@ -1,6 +1,10 @@
 package com.gotocompany.dagger.core.processors.external.pg;
 
+import com.gotocompany.dagger.core.processors.external.CacheConfig;
+import com.gotocompany.dagger.core.processors.external.ConcurrencyLimitConfig;
+import com.gotocompany.dagger.core.processors.external.HedgingConfig;
 import com.gotocompany.dagger.core.processors.types.SourceConfig;
+import com.gotocompany.dagger.core.utils.Constants;
 import com.google.gson.annotations.SerializedName;
 import org.apache.commons.lang3.StringUtils;
 
@@ -9,11 +13,16 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * A class that holds Postgre configuration.
  */
 public class PgSourceConfig implements Serializable, SourceConfig {
+    private static final Pattern FORMAT_SPECIFIER = Pattern.compile("('?)%(?:(\\d+)\\$)?[-#+ 0,(<]*\\d*(?:\\.\\d+)?([a-zA-Z%])\\1");
+    private static final int ARGUMENT_INDEX_GROUP = 2;
+    private static final int CONVERSION_GROUP = 3;
 
     private final String host;
     private final String port;
@@ -31,7 +40,13 @@ public class PgSourceConfig implements Serializable, SourceConfig {
     private boolean failOnErrors;
     @SerializedName(value = "metricId", alternate = {"MetricId", "METRICID"})
     private String metricId;
+    private CacheConfig cache;
+    private String outputOrdering;
+    private ConcurrencyLimitConfig concurrencyLimit;
+    private HedgingConfig hedging;
     private boolean retainResponseType;
+    private boolean preparedQuery;
+    private String poolMaxSize;
 
     /**
      * Instantiates a new Postgre source config.
@@ -73,6 +88,41 @@ public class PgSourceConfig implements Serializable, SourceConfig {
         this.retainResponseType = retainResponseType;
     }
 
+    /**
+     * Instantiates a new Postgre source config with prepared query mode.
+     *
+     * @param host               the host
+     * @param port               the port
+     * @param user               the user
+     * @param password           the password
+     * @param database           the database
+     * @param type               the type
+     * @param capacity           the capacity
+     * @param streamTimeout      the stream timeout
+     * @param outputMapping      the output mapping
+     * @param connectTimeout     the connect timeout
+     * @param idleTimeout        the idle timeout
+     * @param queryVariables     the query variables
+     * @param queryPattern       the query pattern
+     * @param failOnErrors       the fail on errors
+     * @param metricId           the metric id
+     * @param retainResponseType the retain response type
+     * @param preparedQuery      the flag to send the query as a prepared statement with bound variables
+     */
+    public PgSourceConfig(String host, String port, String user, String password, String database,
+                          String type, String capacity, String streamTimeout, Map<String, String> outputMapping, String connectTimeout, String idleTimeout, String queryVariables, String queryPattern, boolean failOnErrors, String metricId, boolean retainResponseType, boolean preparedQuery) {
+        this(host, port, user, password, database, type, capacity, streamTimeout, outputMapping, connectTimeout, idleTimeout, queryVariables, queryPattern, failOnErrors, metricId, retainResponseType);
+        this.preparedQuery = preparedQuery;
+    }
+
+    @Override
+    public void validateFields() throws IllegalArgumentException {
+        SourceConfig.super.validateFields();
+        if (preparedQuery && hasFormatSpecifierInsideLiteral()) {
+            throw new IllegalArgumentException(String.format("Query pattern '%s' can not be sent as a prepared query, a format specifier is part of a quoted literal", queryPattern));
+        }
+    }
+
     @Override
     public List<String> getOutputColumns() {
         return new ArrayList<>(outputMapping.keySet());
@@ -115,6 +165,24 @@ public class PgSourceConfig implements Serializable, SourceConfig {
         return Integer.valueOf(capacity);
     }
 
+    /**
+     * Gets max size of the connection pool shared by the subtasks of a TaskManager.
+     *
+     * @return the pool max size
+     */
+    public Integer getPoolMaxSize() {
+        return StringUtils.isEmpty(poolMaxSize) ? getCapacity() : Integer.valueOf(poolMaxSize);
+    }
+
+    /**
+     * Gets the key of the connection pool, pools are shared between source configs with the same key.
+     *
+     * @return the pool key
+     */
+    public String getPoolKey() {
+        return String.join("|", host, port, database, user, password, connectTimeout, idleTimeout, String.valueOf(preparedQuery), String.valueOf(getPoolMaxSize()));
+    }
+
     /**
      * Gets port.
      *
@@ -229,6 +297,26 @@ public class PgSourceConfig implements Serializable, SourceConfig {
         return metricId;
     }
 
+    @Override
+    public CacheConfig getCacheConfig() {
+        return cache;
+    }
+
+    @Override
+    public ConcurrencyLimitConfig getConcurrencyLimitConfig() {
+        return concurrencyLimit;
+    }
+
+    @Override
+    public HedgingConfig getHedgingConfig() {
+        return hedging;
+    }
+
+    @Override
+    public boolean isOutputOrdered() {
+        return !Constants.OUTPUT_ORDERING_UNORDERED.equalsIgnoreCase(outputOrdering);
+    }
+
     /**
      * Check if it is retain response type.
      *
@@ -237,4 +325,49 @@ public class PgSourceConfig implements Serializable, SourceConfig {
     public boolean isRetainResponseType() {
         return retainResponseType;
     }
+
+    /**
+     * Check if the query is sent as a prepared statement.
+     *
+     * @return the boolean
+     */
+    public boolean isPreparedQuery() {
+        return preparedQuery;
+    }
+
+    private boolean hasFormatSpecifierInsideLiteral() {
+        Matcher matcher = FORMAT_SPECIFIER.matcher(queryPattern);
+        while (matcher.find()) {
+            if (!"%".equals(matcher.group(CONVERSION_GROUP)) && StringUtils.countMatches(queryPattern.substring(0, matcher.start()), '\'') % 2 != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the query pattern as a parameterised statement.
+     * Every format specifier, along with the single quotes around it, is replaced by a positional $n parameter.
+     * Specifiers which are only a part of a quoted literal are rejected by the validation of the config.
+     *
+     * @return the prepared query pattern
+     */
+    public String getPreparedQueryPattern() {
+        Matcher matcher = FORMAT_SPECIFIER.matcher(queryPattern);
+        StringBuffer preparedQueryPattern = new StringBuffer();
+        int parameterIndex = 0;
+        while (matcher.find()) {
+            String replacement;
+            if ("%".equals(matcher.group(CONVERSION_GROUP))) {
+                replacement = matcher.group().replace("%%", "%");
+            } else if (matcher.group(ARGUMENT_INDEX_GROUP) != null) {
+                replacement = "$" + matcher.group(ARGUMENT_INDEX_GROUP);
+            } else {
+                replacement = "$" + (++parameterIndex);
+            }
+            matcher.appendReplacement(preparedQueryPattern, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(preparedQueryPattern);
+        return preparedQueryPattern.toString();
+    }
 }
@@ -19,6 +19,7 @@ public class PgSourceConfigBuilder {
     private boolean failOnErrors;
     private String metricId;
     private boolean retainResponseType;
+    private boolean preparedQuery;
 
     public PgSourceConfigBuilder setHost(String host) {
         this.host = host;
@@ -100,7 +101,12 @@ public class PgSourceConfigBuilder {
         return this;
     }
 
+    public PgSourceConfigBuilder setPreparedQuery(boolean preparedQuery) {
+        this.preparedQuery = preparedQuery;
+        return this;
+    }
+
     public PgSourceConfig createPgSourceConfig() {
-        return new PgSourceConfig(host, port, user, password, database, type, capacity, streamTimeout, outputMapping, connectTimeout, idleTimeout, queryVariables, queryPattern, failOnErrors, metricId, retainResponseType);
+        return new PgSourceConfig(host, port, user, password, database, type, capacity, streamTimeout, outputMapping, connectTimeout, idleTimeout, queryVariables, queryPattern, failOnErrors, metricId, retainResponseType, preparedQuery);
     }
 }
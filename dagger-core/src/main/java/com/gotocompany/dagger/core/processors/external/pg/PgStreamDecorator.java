@@ -42,6 +42,9 @@ public class PgStreamDecorator implements StreamDecorator {
     public DataStream<Row> decorate(DataStream<Row> inputStream) {
         PgAsyncConnector pgAsyncConnector = new PgAsyncConnector(pgSourceConfig, externalMetricConfig, schemaConfig);
         pgAsyncConnector.notifySubscriber(externalMetricConfig.getTelemetrySubscriber());
+        if (!pgSourceConfig.isOutputOrdered()) {
+            return AsyncDataStream.unorderedWait(inputStream, pgAsyncConnector, pgSourceConfig.getStreamTimeout(), TimeUnit.MILLISECONDS, pgSourceConfig.getCapacity());
+        }
         return AsyncDataStream.orderedWait(inputStream, pgAsyncConnector, pgSourceConfig.getStreamTimeout(), TimeUnit.MILLISECONDS, pgSourceConfig.getCapacity());
     }
 }
@@ -24,4 +24,18 @@ public class AsyncProcessor {
     public DataStream<Row> orderedWait(DataStream<Row> inputStream, AsyncFunction<Row, Row> function, long timeout, TimeUnit timeunit, Integer capacity) {
         return AsyncDataStream.orderedWait(inputStream, function, timeout, timeunit, capacity);
     }
+
+    /**
+     * Unordered wait data stream.
+     *
+     * @param inputStream the input stream
+     * @param function    the function
+     * @param timeout     the timeout
+     * @param timeunit    the timeunit
+     * @param capacity    the capacity
+     * @return the data stream
+     */
+    public DataStream<Row> unorderedWait(DataStream<Row> inputStream, AsyncFunction<Row, Row> function, long timeout, TimeUnit timeunit, Integer capacity) {
+        return AsyncDataStream.unorderedWait(inputStream, function, timeout, timeunit, capacity);
+    }
 }
@@ -7,6 +7,7 @@ import org.apache.flink.types.Row;
 import com.google.gson.Gson;
 import com.gotocompany.dagger.common.configuration.Configuration;
 import com.gotocompany.dagger.common.core.StencilClientOrchestrator;
+import com.gotocompany.dagger.core.exception.DaggerConfigurationException;
 import com.gotocompany.dagger.core.processors.longbow.columnmodifier.LongbowReadColumnModifier;
 import com.gotocompany.dagger.core.processors.longbow.columnmodifier.LongbowWriteColumnModifier;
 import com.gotocompany.dagger.core.processors.longbow.columnmodifier.NoOpColumnModifier;
@@ -22,6 +23,7 @@ import com.gotocompany.dagger.core.processors.longbow.range.LongbowRange;
 import com.gotocompany.dagger.core.processors.longbow.range.LongbowRangeFactory;
 import com.gotocompany.dagger.core.processors.longbow.request.PutRequestFactory;
 import com.gotocompany.dagger.core.processors.longbow.request.ScanRequestFactory;
+import com.gotocompany.dagger.core.processors.longbow.storage.LongbowStoreType;
 import com.gotocompany.dagger.core.processors.longbow.validator.LongbowType;
 import com.gotocompany.dagger.core.processors.longbow.validator.LongbowValidator;
 import com.gotocompany.dagger.core.processors.telemetry.processor.MetricsTelemetryExporter;
@@ -35,6 +37,14 @@ import static com.gotocompany.dagger.common.core.Constants.STREAM_INPUT_SCHEMA_P
 import static com.gotocompany.dagger.core.utils.Constants.DAGGER_NAME_DEFAULT;
 import static com.gotocompany.dagger.core.utils.Constants.DAGGER_NAME_KEY;
 import static com.gotocompany.dagger.core.utils.Constants.PROCESSOR_LONGBOW_GCP_TABLE_ID_KEY;
+import static com.gotocompany.dagger.core.utils.Constants.PROCESSOR_LONGBOW_MAX_ROWS_DEFAULT;
+import static com.gotocompany.dagger.core.utils.Constants.PROCESSOR_LONGBOW_MAX_ROWS_KEY;
+import static com.gotocompany.dagger.core.utils.Constants.PROCESSOR_LONGBOW_READ_CACHE_MAX_KEYS_DEFAULT;
+import static com.gotocompany.dagger.core.utils.Constants.PROCESSOR_LONGBOW_READ_CACHE_MAX_KEYS_KEY;
+import static com.gotocompany.dagger.core.utils.Constants.PROCESSOR_LONGBOW_STORE_TYPE_DEFAULT;
+import static com.gotocompany.dagger.core.utils.Constants.PROCESSOR_LONGBOW_STORE_TYPE_KEY;
+import static com.gotocompany.dagger.core.utils.Constants.PROCESSOR_LONGBOW_STREAMING_SCAN_ENABLE_DEFAULT;
+import static com.gotocompany.dagger.core.utils.Constants.PROCESSOR_LONGBOW_STREAMING_SCAN_ENABLE_KEY;
 
 /**
  * The factory class for Longbow.
@@ -97,6 +107,20 @@ public class LongbowFactory {
 
         ArrayList<RichAsyncFunction<Row, Row>> longbowRichFunctions = new ArrayList<>();
         longbowValidator.validateLongbow(longbowType);
+        boolean isLocalStore = isLocalStore(configuration);
+        if (isLocalStore && longbowType != LongbowType.LongbowProcess) {
+            throw new DaggerConfigurationException(String.format("%s %s keeps the longbow data in the task managers of the job, "
+                    + "so it can not be used by daggers which only %s", PROCESSOR_LONGBOW_STORE_TYPE_KEY, LongbowStoreType.LOCAL, longbowType.getTypeName()));
+        }
+        boolean isReadCacheEnabled = isReadCacheEnabled(configuration);
+        if (isReadCacheEnabled && longbowType == LongbowType.LongbowRead) {
+            throw new DaggerConfigurationException(String.format("%s only reads documents written by the same task manager, "
+                    + "so it can not be used by daggers which only %s", PROCESSOR_LONGBOW_READ_CACHE_MAX_KEYS_KEY, longbowType.getTypeName()));
+        }
+        if (isReadCacheEnabled && configuration.getBoolean(PROCESSOR_LONGBOW_STREAMING_SCAN_ENABLE_KEY, PROCESSOR_LONGBOW_STREAMING_SCAN_ENABLE_DEFAULT)) {
+            throw new DaggerConfigurationException(String.format("%s and %s can not be used together, cached scans are not streamed",
+                    PROCESSOR_LONGBOW_READ_CACHE_MAX_KEYS_KEY, PROCESSOR_LONGBOW_STREAMING_SCAN_ENABLE_KEY));
+        }
         switch (longbowType) {
             case LongbowWrite:
                 longbowWriter = longbowWriterPlus();
@@ -115,13 +139,14 @@ public class LongbowFactory {
                 longbowRichFunctions.add(longbowReader);
                 longbowWriter.notifySubscriber(metricsTelemetryExporter);
                 longbowReader.notifySubscriber(metricsTelemetryExporter);
-                return new LongbowProcessor(asyncProcessor, configuration, longbowRichFunctions, new NoOpColumnModifier());
+                return new LongbowProcessor(asyncProcessor, configuration, longbowRichFunctions, new NoOpColumnModifier(),
+                        isLocalStore || isReadCacheEnabled ? new LongbowKeySelector(longbowSchema) : null);
         }
     }
 
     private LongbowReader longbowReaderPlus() {
         LongbowRange longbowRange = LongbowRangeFactory.getLongbowRange(longbowSchema);
-        ScanRequestFactory scanRequestFactory = new ScanRequestFactory(longbowSchema, getTableId(configuration));
+        ScanRequestFactory scanRequestFactory = new ScanRequestFactory(longbowSchema, getTableId(configuration), getMaxRows(configuration));
         ReaderOutputProtoData readerOutputRow = new ReaderOutputProtoData(longbowSchema);
         LongbowProtoData longbowTableData = new LongbowProtoData();
         return new LongbowReader(configuration, longbowSchema, longbowRange, longbowTableData, scanRequestFactory, readerOutputRow);
@@ -129,7 +154,7 @@ public class LongbowFactory {
 
     private LongbowReader longbowReader() {
         LongbowRange longbowRange = LongbowRangeFactory.getLongbowRange(longbowSchema);
-        ScanRequestFactory scanRequestFactory = new ScanRequestFactory(longbowSchema, getTableId(configuration));
+        ScanRequestFactory scanRequestFactory = new ScanRequestFactory(longbowSchema, getTableId(configuration), getMaxRows(configuration));
         ReaderOutputLongbowData readerOutputRow = new ReaderOutputLongbowData(longbowSchema);
         LongbowTableData longbowTableData = new LongbowTableData(longbowSchema);
         return new LongbowReader(configuration, longbowSchema, longbowRange, longbowTableData, scanRequestFactory, readerOutputRow);
@@ -155,6 +180,19 @@ public class LongbowFactory {
                 .getString(PROCESSOR_LONGBOW_GCP_TABLE_ID_KEY, config.getString(DAGGER_NAME_KEY, DAGGER_NAME_DEFAULT));
     }
 
+    private boolean isLocalStore(Configuration config) {
+        String storeType = config.getString(PROCESSOR_LONGBOW_STORE_TYPE_KEY, PROCESSOR_LONGBOW_STORE_TYPE_DEFAULT);
+        return LongbowStoreType.LOCAL.name().equalsIgnoreCase(storeType);
+    }
+
+    private boolean isReadCacheEnabled(Configuration config) {
+        return config.getInteger(PROCESSOR_LONGBOW_READ_CACHE_MAX_KEYS_KEY, PROCESSOR_LONGBOW_READ_CACHE_MAX_KEYS_DEFAULT) > 0;
+    }
+
+    private int getMaxRows(Configuration config) {
+        return config.getInteger(PROCESSOR_LONGBOW_MAX_ROWS_KEY, PROCESSOR_LONGBOW_MAX_ROWS_DEFAULT);
+    }
+
     private String getMessageProtoClassName(Configuration config) {
         String jsonArrayString = config.getString(INPUT_STREAMS, "");
         Map[] streamsConfig = GSON.fromJson(jsonArrayString, Map[].class);
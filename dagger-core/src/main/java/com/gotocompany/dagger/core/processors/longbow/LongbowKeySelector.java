@@ -0,0 +1,26 @@
+package com.gotocompany.dagger.core.processors.longbow;
+
+import org.apache.flink.api.java.functions.KeySelector;
+import org.apache.flink.types.Row;
+
+/**
+ * The key selector partitioning the rows of longbow by their longbow key.
+ * Every row of a key is processed by the same subtask, so the writer and the reader of a key share a task manager.
+ */
+public class LongbowKeySelector implements KeySelector<Row, String> {
+    private final LongbowSchema longbowSchema;
+
+    /**
+     * Instantiates a new Longbow key selector.
+     *
+     * @param longbowSchema the longbow schema
+     */
+    public LongbowKeySelector(LongbowSchema longbowSchema) {
+        this.longbowSchema = longbowSchema;
+    }
+
+    @Override
+    public String getKey(Row row) {
+        return String.valueOf(longbowSchema.getValue(row, longbowSchema.getType().getKeyName()));
+    }
+}
@@ -4,6 +4,7 @@ import com.gotocompany.dagger.core.processors.PostProcessorConfig;
 import com.gotocompany.dagger.core.processors.longbow.columnmodifier.ColumnModifier;
 import com.gotocompany.dagger.core.processors.types.PostProcessor;
 import com.gotocompany.dagger.core.utils.Constants;
+import org.apache.flink.api.java.functions.KeySelector;
 import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.flink.streaming.api.functions.async.RichAsyncFunction;
 import org.apache.flink.types.Row;
@@ -23,6 +24,7 @@ public class LongbowProcessor implements PostProcessor {
     private Configuration configuration;
     private ArrayList<RichAsyncFunction<Row, Row>> longbowRichFunctions;
     private ColumnModifier modifier;
+    private KeySelector<Row, String> keySelector;
 
     /**
      * Instantiates a new Longbow processor.
@@ -33,10 +35,25 @@ public class LongbowProcessor implements PostProcessor {
      * @param modifier             the modifier
      */
     public LongbowProcessor(AsyncProcessor asyncProcessor, Configuration configuration, ArrayList<RichAsyncFunction<Row, Row>> longbowRichFunctions, ColumnModifier modifier) {
+        this(asyncProcessor, configuration, longbowRichFunctions, modifier, null);
+    }
+
+    /**
+     * Instantiates a new Longbow processor which partitions its input by key before the rich functions.
+     *
+     * @param asyncProcessor       the async processor
+     * @param configuration        the configuration
+     * @param longbowRichFunctions the longbow rich functions
+     * @param modifier             the modifier
+     * @param keySelector          the key selector to partition the input with, null to keep the input partitioning
+     */
+    public LongbowProcessor(AsyncProcessor asyncProcessor, Configuration configuration, ArrayList<RichAsyncFunction<Row, Row>> longbowRichFunctions, ColumnModifier modifier,
+                            KeySelector<Row, String> keySelector) {
         this.asyncProcessor = asyncProcessor;
         this.configuration = configuration;
         this.longbowRichFunctions = longbowRichFunctions;
         this.modifier = modifier;
+        this.keySelector = keySelector;
     }
 
     @Override
@@ -44,9 +61,14 @@ public class LongbowProcessor implements PostProcessor {
         DataStream<Row> inputStream = streamInfo.getDataStream();
         long longbowAsyncTimeout = configuration.getLong(Constants.PROCESSOR_LONGBOW_ASYNC_TIMEOUT_KEY, Constants.PROCESSOR_LONGBOW_ASYNC_TIMEOUT_DEFAULT);
         Integer longbowThreadCapacity = configuration.getInteger(Constants.PROCESSOR_LONGBOW_THREAD_CAPACITY_KEY, Constants.PROCESSOR_LONGBOW_THREAD_CAPACITY_DEFAULT);
-        DataStream<Row> outputStream = inputStream;
+        String longbowOutputOrdering = configuration.getString(Constants.PROCESSOR_LONGBOW_OUTPUT_ORDERING_KEY, Constants.PROCESSOR_LONGBOW_OUTPUT_ORDERING_DEFAULT);
+        DataStream<Row> outputStream = keySelector == null ? inputStream : inputStream.keyBy(keySelector);
         for (RichAsyncFunction<Row, Row> longbowRichFunction : longbowRichFunctions) {
-            outputStream = asyncProcessor.orderedWait(outputStream, longbowRichFunction, longbowAsyncTimeout, TimeUnit.MILLISECONDS, longbowThreadCapacity);
+            if (Constants.OUTPUT_ORDERING_UNORDERED.equalsIgnoreCase(longbowOutputOrdering)) {
+                outputStream = asyncProcessor.unorderedWait(outputStream, longbowRichFunction, longbowAsyncTimeout, TimeUnit.MILLISECONDS, longbowThreadCapacity);
+            } else {
+                outputStream = asyncProcessor.orderedWait(outputStream, longbowRichFunction, longbowAsyncTimeout, TimeUnit.MILLISECONDS, longbowThreadCapacity);
+            }
         }
         return new StreamInfo(outputStream, modifier.modifyColumnNames(streamInfo.getColumnNames()));
     }
@@ -17,4 +17,12 @@ public interface LongbowData extends Serializable {
      * @return the map
      */
     Map parse(List<Result> scanResult);
+
+    /**
+     * Parse a scanned row into the longbow data, so rows of a streaming scan are parsed as they arrive.
+     *
+     * @param longbowData the longbow data of the rows parsed so far, starting from the parsed empty scan result
+     * @param scannedRow  the scanned row
+     */
+    void parse(Map longbowData, Result scannedRow);
 }
@@ -14,6 +14,7 @@ import java.util.Map;
  */
 public class LongbowProtoData implements LongbowData {
     private static final byte[] COLUMN_FAMILY_NAME = Bytes.toBytes(Constants.LONGBOW_COLUMN_FAMILY_DEFAULT);
+    private static final byte[] QUALIFIER_NAME = Bytes.toBytes(Constants.LONGBOW_QUALIFIER_DEFAULT);
 
     /**
      * Instantiates a new Longbow proto data.
@@ -23,14 +24,15 @@ public class LongbowProtoData implements LongbowData {
 
     @Override
     public Map<String, List<byte[]>> parse(List<Result> scanResult) {
-        ArrayList<byte[]> data = new ArrayList<>();
-
-        for (int i = 0; i < scanResult.size(); i++) {
-            data.add(i, scanResult.get(i).getValue(COLUMN_FAMILY_NAME, Bytes.toBytes(Constants.LONGBOW_QUALIFIER_DEFAULT)));
-        }
-
         HashMap<String, List<byte[]>> longbowData = new HashMap<>();
-        longbowData.put(Constants.LONGBOW_PROTO_DATA_KEY, data);
+        longbowData.put(Constants.LONGBOW_PROTO_DATA_KEY, new ArrayList<>(scanResult.size()));
+        scanResult.forEach(result -> parse(longbowData, result));
         return longbowData;
     }
+
+    @Override
+    public void parse(Map longbowData, Result scannedRow) {
+        List<byte[]> data = (List<byte[]>) longbowData.get(Constants.LONGBOW_PROTO_DATA_KEY);
+        data.add(scannedRow.getValue(COLUMN_FAMILY_NAME, QUALIFIER_NAME));
+    }
 }
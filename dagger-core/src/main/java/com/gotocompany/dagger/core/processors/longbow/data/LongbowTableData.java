@@ -17,7 +17,8 @@ import java.util.stream.Collectors;
 public class LongbowTableData implements LongbowData {
 
     private static final byte[] COLUMN_FAMILY_NAME = Bytes.toBytes(Constants.LONGBOW_COLUMN_FAMILY_DEFAULT);
-    private LongbowSchema longbowSchema;
+    private final List<String> longbowDataColumnNames;
+    private final List<byte[]> longbowDataQualifiers;
 
     /**
      * Instantiates a new Longbow table data.
@@ -25,25 +26,25 @@ public class LongbowTableData implements LongbowData {
      * @param longbowSchema the longbow schema
      */
     public LongbowTableData(LongbowSchema longbowSchema) {
-        this.longbowSchema = longbowSchema;
+        this.longbowDataColumnNames = longbowSchema.getColumnNames(c -> c.getKey().contains(Constants.LONGBOW_DATA_KEY));
+        this.longbowDataQualifiers = longbowDataColumnNames.stream()
+                .map(Bytes::toBytes)
+                .collect(Collectors.toList());
     }
 
     @Override
     public Map<String, List<String>> parse(List<Result> scanResult) {
         Map<String, List<String>> longbowData = new HashMap<>();
-        List<String> longbowDataColumnNames = longbowSchema.getColumnNames(c -> c.getKey().contains(Constants.LONGBOW_DATA_KEY));
-        if (scanResult.isEmpty()) {
-            longbowDataColumnNames.forEach(name -> longbowData.put(name, new ArrayList<>()));
-        } else {
-            longbowDataColumnNames.forEach(name -> longbowData.put(name, getData(scanResult, name)));
-        }
+        longbowDataColumnNames.forEach(name -> longbowData.put(name, new ArrayList<>(scanResult.size())));
+        scanResult.forEach(result -> parse(longbowData, result));
         return longbowData;
     }
 
-    private List<String> getData(List<Result> resultScan, String name) {
-        return resultScan
-                .stream()
-                .map(result -> Bytes.toString(result.getValue(COLUMN_FAMILY_NAME, Bytes.toBytes(name))))
-                .collect(Collectors.toList());
+    @Override
+    public void parse(Map longbowData, Result scannedRow) {
+        for (int i = 0; i < longbowDataColumnNames.size(); i++) {
+            List<String> data = (List<String>) longbowData.get(longbowDataColumnNames.get(i));
+            data.add(Bytes.toString(scannedRow.getValue(COLUMN_FAMILY_NAME, longbowDataQualifiers.get(i))));
+        }
     }
 }
@@ -18,6 +18,8 @@ import com.gotocompany.dagger.core.processors.longbow.data.LongbowData;
 import com.gotocompany.dagger.core.processors.longbow.outputRow.ReaderOutputRow;
 import com.gotocompany.dagger.core.processors.longbow.range.LongbowRange;
 import com.gotocompany.dagger.core.processors.longbow.request.ScanRequestFactory;
+import com.gotocompany.dagger.core.processors.longbow.storage.LongbowScanCache;
+import com.gotocompany.dagger.core.processors.longbow.storage.LongbowScanConsumer;
 import com.gotocompany.dagger.core.processors.longbow.storage.LongbowStore;
 import com.gotocompany.dagger.core.processors.longbow.storage.ScanRequest;
 import org.apache.hadoop.hbase.client.Result;
@@ -31,12 +33,17 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
 
 import static java.time.Duration.between;
 
 /**
  * The Longbow reader.
+ * With PROCESSOR_LONGBOW_READ_CACHE_MAX_KEYS set, the rows scanned for a longbow key are cached
+ * and the next scans of the key only read the rows written since.
+ * With PROCESSOR_LONGBOW_STREAMING_SCAN_ENABLE, scanned rows are parsed as they arrive instead of being buffered.
+ * Scans returning PROCESSOR_LONGBOW_MAX_ROWS rows were stopped by the limit and are counted as truncated.
  */
 public class LongbowReader extends RichAsyncFunction<Row, Row> implements TelemetryPublisher {
 
@@ -51,6 +58,9 @@ public class LongbowReader extends RichAsyncFunction<Row, Row> implements Teleme
     private LongbowData longbowData;
     private ScanRequestFactory scanRequestFactory;
     private ReaderOutputRow readerOutputRow;
+    private int readCacheMaxKeys;
+    private boolean streamingScanEnabled;
+    private int maxRows;
 
     /**
      * Instantiates a new Longbow reader with specified longbow store.
@@ -105,6 +115,9 @@ public class LongbowReader extends RichAsyncFunction<Row, Row> implements Teleme
             errorReporter = ErrorReporterFactory.getErrorReporter(getRuntimeContext().getMetricGroup(), configuration);
         }
         meterStatsManager.register("longbow.reader", LongbowReaderAspects.values());
+        readCacheMaxKeys = configuration.getInteger(Constants.PROCESSOR_LONGBOW_READ_CACHE_MAX_KEYS_KEY, Constants.PROCESSOR_LONGBOW_READ_CACHE_MAX_KEYS_DEFAULT);
+        streamingScanEnabled = configuration.getBoolean(Constants.PROCESSOR_LONGBOW_STREAMING_SCAN_ENABLE_KEY, Constants.PROCESSOR_LONGBOW_STREAMING_SCAN_ENABLE_DEFAULT);
+        maxRows = configuration.getInteger(Constants.PROCESSOR_LONGBOW_MAX_ROWS_KEY, Constants.PROCESSOR_LONGBOW_MAX_ROWS_DEFAULT);
     }
 
     @Override
@@ -126,7 +139,11 @@ public class LongbowReader extends RichAsyncFunction<Row, Row> implements Teleme
     public void asyncInvoke(Row input, ResultFuture<Row> resultFuture) {
         ScanRequest scanRequest = scanRequestFactory.create(input, longbowRange);
         Instant startTime = Instant.now();
-        longBowStore.scanAll(scanRequest)
+        if (streamingScanEnabled) {
+            streamingScan(scanRequest, input, resultFuture, startTime);
+            return;
+        }
+        scan(scanRequest)
                 .exceptionally(throwable -> logException(throwable, startTime))
                 .thenAccept(scanResult -> {
                     instrumentation(scanResult, startTime, input);
@@ -135,6 +152,28 @@ public class LongbowReader extends RichAsyncFunction<Row, Row> implements Teleme
                 });
     }
 
+    private void streamingScan(ScanRequest scanRequest, Row input, ResultFuture<Row> resultFuture, Instant startTime) {
+        StreamingScanConsumer scanConsumer = new StreamingScanConsumer();
+        longBowStore.scan(scanRequest, scanConsumer)
+                .thenApply(aVoid -> scanConsumer)
+                .exceptionally(throwable -> {
+                    logException(throwable, startTime);
+                    return new StreamingScanConsumer();
+                })
+                .thenAccept(scannedRows -> {
+                    instrumentation(scannedRows.documentsRead, scannedRows.firstRow, startTime, input);
+                    Row row = readerOutputRow.get(scannedRows.scannedData, input);
+                    resultFuture.complete(Collections.singletonList(row));
+                });
+    }
+
+    private CompletableFuture<List<Result>> scan(ScanRequest scanRequest) {
+        if (readCacheMaxKeys > 0) {
+            return LongbowScanCache.forTable(scanRequest.getTableId(), readCacheMaxKeys).scan(longBowStore, scanRequest);
+        }
+        return longBowStore.scanAll(scanRequest);
+    }
+
     /**
      * Gets longbow range.
      *
@@ -145,10 +184,17 @@ public class LongbowReader extends RichAsyncFunction<Row, Row> implements Teleme
     }
 
     private void instrumentation(List<Result> scanResult, Instant startTime, Row input) {
+        instrumentation(scanResult.size(), scanResult.isEmpty() ? null : scanResult.get(0).getRow(), startTime, input);
+    }
+
+    private void instrumentation(int documentsRead, byte[] firstRow, Instant startTime, Row input) {
         meterStatsManager.markEvent(LongbowReaderAspects.SUCCESS_ON_READ_DOCUMENT);
         meterStatsManager.updateHistogram(LongbowReaderAspects.SUCCESS_ON_READ_DOCUMENT_RESPONSE_TIME, between(startTime, Instant.now()).toMillis());
-        meterStatsManager.updateHistogram(LongbowReaderAspects.DOCUMENTS_READ_PER_SCAN, scanResult.size());
-        if (scanResult.isEmpty() || !Arrays.equals(scanResult.get(0).getRow(), longBowSchema.getKey(input, 0))) {
+        meterStatsManager.updateHistogram(LongbowReaderAspects.DOCUMENTS_READ_PER_SCAN, documentsRead);
+        if (maxRows > 0 && documentsRead >= maxRows) {
+            meterStatsManager.markEvent(LongbowReaderAspects.TRUNCATED_SCANS_ON_READ_DOCUMENT);
+        }
+        if (firstRow == null || !Arrays.equals(firstRow, longBowSchema.getKey(input, 0))) {
             meterStatsManager.markEvent(LongbowReaderAspects.FAILED_TO_READ_LAST_RECORD);
         }
     }
@@ -179,4 +225,23 @@ public class LongbowReader extends RichAsyncFunction<Row, Row> implements Teleme
     private void addMetric(String key, String value) {
         metrics.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
     }
+
+    /**
+     * Parses the rows of a streaming scan as they arrive.
+     */
+    private class StreamingScanConsumer implements LongbowScanConsumer {
+        private final Map scannedData = longbowData.parse(Collections.emptyList());
+        private int documentsRead;
+        private byte[] firstRow;
+
+        @Override
+        public boolean onNext(Result result) {
+            if (firstRow == null) {
+                firstRow = result.getRow();
+            }
+            longbowData.parse(scannedData, result);
+            documentsRead++;
+            return true;
+        }
+    }
 }
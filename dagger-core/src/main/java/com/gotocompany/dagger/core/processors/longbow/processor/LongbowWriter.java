@@ -8,6 +8,9 @@ import com.gotocompany.dagger.core.metrics.telemetry.TelemetryTypes;
 import com.gotocompany.dagger.core.processors.longbow.exceptions.LongbowWriterException;
 import com.gotocompany.dagger.core.processors.longbow.outputRow.WriterOutputRow;
 import com.gotocompany.dagger.core.utils.Constants;
+import org.apache.flink.runtime.state.FunctionInitializationContext;
+import org.apache.flink.runtime.state.FunctionSnapshotContext;
+import org.apache.flink.streaming.api.checkpoint.CheckpointedFunction;
 import org.apache.flink.streaming.api.functions.async.ResultFuture;
 import org.apache.flink.streaming.api.functions.async.RichAsyncFunction;
 import org.apache.flink.types.Row;
@@ -16,8 +19,11 @@ import com.gotocompany.dagger.common.configuration.Configuration;
 import com.gotocompany.dagger.common.metrics.managers.MeterStatsManager;
 import com.gotocompany.dagger.core.processors.longbow.LongbowSchema;
 import com.gotocompany.dagger.core.processors.longbow.request.PutRequestFactory;
+import com.gotocompany.dagger.core.processors.longbow.storage.LongbowPutBatcher;
+import com.gotocompany.dagger.core.processors.longbow.storage.LongbowScanCache;
 import com.gotocompany.dagger.core.processors.longbow.storage.LongbowStore;
 import com.gotocompany.dagger.core.processors.longbow.storage.PutRequest;
+import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.util.Bytes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,8 +42,11 @@ import static java.time.Duration.between;
 
 /**
  * The Longbow writer.
+ * With PROCESSOR_LONGBOW_WRITE_BATCH_SIZE above one, the puts of the rows are coalesced into bulk mutations
+ * which are flushed when full, after the linger time, and on checkpoints.
+ * With PROCESSOR_LONGBOW_READ_CACHE_MAX_KEYS set, written rows are added to the scan cache of the longbow readers.
  */
-public class LongbowWriter extends RichAsyncFunction<Row, Row> implements TelemetryPublisher {
+public class LongbowWriter extends RichAsyncFunction<Row, Row> implements TelemetryPublisher, CheckpointedFunction {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(LongbowWriter.class.getName());
     private static final byte[] COLUMN_FAMILY_NAME = Bytes.toBytes(Constants.LONGBOW_COLUMN_FAMILY_DEFAULT);
@@ -50,6 +59,8 @@ public class LongbowWriter extends RichAsyncFunction<Row, Row> implements Teleme
     private String tableId;
     private WriterOutputRow writerOutputRow;
     private LongbowStore longBowStore;
+    private LongbowPutBatcher putBatcher;
+    private int readCacheMaxKeys;
     private Map<String, List<String>> metrics = new HashMap<>();
     private ErrorReporter errorReporter;
 
@@ -100,6 +111,14 @@ public class LongbowWriter extends RichAsyncFunction<Row, Row> implements Teleme
             longBowStore = LongbowStore.create(this.configuration);
         }
 
+        int writeBatchSize = configuration.getInteger(Constants.PROCESSOR_LONGBOW_WRITE_BATCH_SIZE_KEY, Constants.PROCESSOR_LONGBOW_WRITE_BATCH_SIZE_DEFAULT);
+        if (putBatcher == null && writeBatchSize > 1) {
+            long writeBatchBytes = configuration.getLong(Constants.PROCESSOR_LONGBOW_WRITE_BATCH_BYTES_KEY, Constants.PROCESSOR_LONGBOW_WRITE_BATCH_BYTES_DEFAULT);
+            long writeBatchLingerMs = configuration.getLong(Constants.PROCESSOR_LONGBOW_WRITE_BATCH_LINGER_MS_KEY, Constants.PROCESSOR_LONGBOW_WRITE_BATCH_LINGER_MS_DEFAULT);
+            putBatcher = new LongbowPutBatcher(longBowStore, writeBatchSize, writeBatchBytes, writeBatchLingerMs);
+        }
+        readCacheMaxKeys = configuration.getInteger(Constants.PROCESSOR_LONGBOW_READ_CACHE_MAX_KEYS_KEY, Constants.PROCESSOR_LONGBOW_READ_CACHE_MAX_KEYS_DEFAULT);
+
         if (meterStatsManager == null) {
             meterStatsManager = new MeterStatsManager(getRuntimeContext().getMetricGroup(), true);
         }
@@ -140,7 +159,11 @@ public class LongbowWriter extends RichAsyncFunction<Row, Row> implements Teleme
     public void asyncInvoke(Row input, ResultFuture<Row> resultFuture) throws Exception {
         PutRequest putRequest = putRequestFactory.create(input);
         Instant startTime = Instant.now();
-        CompletableFuture<Void> writeFuture = longBowStore.put(putRequest);
+        CompletableFuture<Void> writeFuture = putBatcher != null ? putBatcher.add(putRequest) : longBowStore.put(putRequest);
+        if (readCacheMaxKeys > 0) {
+            Put put = putRequest.get();
+            writeFuture = writeFuture.thenRun(() -> LongbowScanCache.forTable(putRequest.getTableId(), readCacheMaxKeys).put(put));
+        }
         writeFuture.exceptionally(throwable -> logException(throwable, startTime)).thenAccept(aVoid -> {
             meterStatsManager.markEvent(LongbowWriterAspects.SUCCESS_ON_WRITE_DOCUMENT);
             meterStatsManager.updateHistogram(LongbowWriterAspects.SUCCESS_ON_WRITE_DOCUMENT_RESPONSE_TIME,
@@ -167,9 +190,23 @@ public class LongbowWriter extends RichAsyncFunction<Row, Row> implements Teleme
         resultFuture.completeExceptionally(timeoutException);
     }
 
+    @Override
+    public void snapshotState(FunctionSnapshotContext context) {
+        if (putBatcher != null) {
+            putBatcher.flush();
+        }
+    }
+
+    @Override
+    public void initializeState(FunctionInitializationContext context) {
+    }
+
     @Override
     public void close() throws Exception {
         super.close();
+        if (putBatcher != null) {
+            putBatcher.close();
+        }
         if (longBowStore != null) {
             longBowStore.close();
         }
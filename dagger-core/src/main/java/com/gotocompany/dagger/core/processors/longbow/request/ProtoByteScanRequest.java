@@ -14,6 +14,7 @@ public class ProtoByteScanRequest implements ScanRequest {
     private byte[] startRow;
     private byte[] stopRow;
     private String tableId;
+    private int maxRows;
 
 
     /**
@@ -24,14 +25,27 @@ public class ProtoByteScanRequest implements ScanRequest {
      * @param tableId  the table id
      */
     public ProtoByteScanRequest(byte[] startRow, byte[] stopRow, String tableId) {
+        this(startRow, stopRow, tableId, 0);
+    }
+
+    /**
+     * Instantiates a new Proto byte scan request with specified max rows.
+     *
+     * @param startRow the start row
+     * @param stopRow  the stop row
+     * @param tableId  the table id
+     * @param maxRows  the max rows, or zero to read the whole range
+     */
+    public ProtoByteScanRequest(byte[] startRow, byte[] stopRow, String tableId, int maxRows) {
         this.startRow = startRow;
         this.stopRow = stopRow;
         this.tableId = tableId;
+        this.maxRows = maxRows;
     }
 
     @Override
     public Scan get() {
-        Scan scan = setScanRange(startRow, stopRow);
+        Scan scan = setScanLimit(setScanRange(startRow, stopRow), maxRows);
         scan.addColumn(COLUMN_FAMILY_NAME, QUALIFIER_NAME);
         return scan;
     }
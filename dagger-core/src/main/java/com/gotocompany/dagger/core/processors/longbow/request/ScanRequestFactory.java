@@ -15,6 +15,7 @@ import java.io.Serializable;
 public class ScanRequestFactory implements Serializable {
     private LongbowSchema longbowSchema;
     private String tableId;
+    private int maxRows;
 
     /**
      * Instantiates a new Scan request factory.
@@ -23,8 +24,20 @@ public class ScanRequestFactory implements Serializable {
      * @param tableId       the table id
      */
     public ScanRequestFactory(LongbowSchema longbowSchema, String tableId) {
+        this(longbowSchema, tableId, 0);
+    }
+
+    /**
+     * Instantiates a new Scan request factory with specified max rows.
+     *
+     * @param longbowSchema the longbow schema
+     * @param tableId       the table id
+     * @param maxRows       the max rows of a scan, or zero to read the whole range
+     */
+    public ScanRequestFactory(LongbowSchema longbowSchema, String tableId, int maxRows) {
         this.longbowSchema = longbowSchema;
         this.tableId = tableId;
+        this.maxRows = maxRows;
     }
 
     /**
@@ -36,9 +49,9 @@ public class ScanRequestFactory implements Serializable {
      */
     public ScanRequest create(Row input, LongbowRange longbowRange) {
         if (!longbowSchema.isLongbowPlus()) {
-            return new TableScanRequest(longbowRange.getUpperBound(input), longbowRange.getLowerBound(input), longbowSchema, tableId);
+            return new TableScanRequest(longbowRange.getUpperBound(input), longbowRange.getLowerBound(input), longbowSchema, tableId, maxRows);
         } else {
-            return new ProtoByteScanRequest(longbowRange.getUpperBound(input), longbowRange.getLowerBound(input), parseTableName(input));
+            return new ProtoByteScanRequest(longbowRange.getUpperBound(input), longbowRange.getLowerBound(input), parseTableName(input), maxRows);
         }
     }
 
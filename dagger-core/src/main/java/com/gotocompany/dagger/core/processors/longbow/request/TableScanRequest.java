@@ -17,6 +17,7 @@ public class TableScanRequest implements ScanRequest {
     private byte[] stopRow;
     private LongbowSchema longbowSchema;
     private String tableId;
+    private int maxRows;
 
     /**
      * Instantiates a new Table scan request.
@@ -27,15 +28,29 @@ public class TableScanRequest implements ScanRequest {
      * @param tableId       the table id
      */
     public TableScanRequest(byte[] startRow, byte[] stopRow, LongbowSchema longbowSchema, String tableId) {
+        this(startRow, stopRow, longbowSchema, tableId, 0);
+    }
+
+    /**
+     * Instantiates a new Table scan request with specified max rows.
+     *
+     * @param startRow      the start row
+     * @param stopRow       the stop row
+     * @param longbowSchema the longbow schema
+     * @param tableId       the table id
+     * @param maxRows       the max rows, or zero to read the whole range
+     */
+    public TableScanRequest(byte[] startRow, byte[] stopRow, LongbowSchema longbowSchema, String tableId, int maxRows) {
         this.startRow = startRow;
         this.stopRow = stopRow;
         this.longbowSchema = longbowSchema;
         this.tableId = tableId;
+        this.maxRows = maxRows;
     }
 
     @Override
     public Scan get() {
-        Scan scan = setScanRange(startRow, stopRow);
+        Scan scan = setScanLimit(setScanRange(startRow, stopRow), maxRows);
         longbowSchema
                 .getColumnNames(this::isLongbowData)
                 .forEach(column -> scan.addColumn(COLUMN_FAMILY_NAME, Bytes.toBytes(column)));
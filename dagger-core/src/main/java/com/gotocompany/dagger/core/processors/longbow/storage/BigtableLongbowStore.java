@@ -0,0 +1,142 @@
+package com.gotocompany.dagger.core.processors.longbow.storage;
+
+import com.google.cloud.bigtable.admin.v2.BigtableTableAdminClient;
+import com.google.cloud.bigtable.admin.v2.models.CreateTableRequest;
+import com.google.cloud.bigtable.hbase.BigtableConfiguration;
+
+import com.gotocompany.dagger.common.configuration.Configuration;
+import com.gotocompany.dagger.core.utils.Constants;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.AsyncTable;
+import org.apache.hadoop.hbase.client.BigtableAsyncConnection;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ScanResultConsumer;
+import org.threeten.bp.Duration;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static com.google.cloud.bigtable.admin.v2.models.GCRules.GCRULES;
+
+/**
+ * The longbow store backed by Bigtable.
+ */
+public class BigtableLongbowStore implements LongbowStore {
+    private BigtableTableAdminClient adminClient;
+    private BigtableAsyncConnection tableClient;
+    private Map<String, AsyncTable<ScanResultConsumer>> tables;
+
+    BigtableLongbowStore(BigtableTableAdminClient adminClient, BigtableAsyncConnection tableClient) {
+        this.adminClient = adminClient;
+        this.tableClient = tableClient;
+        this.tables = new ConcurrentHashMap<>();
+    }
+
+    private AsyncTable<ScanResultConsumer> getTable(String tableId) {
+        return tables.computeIfAbsent(tableId, id -> tableClient.getTable(TableName.valueOf(id), ForkJoinPool.commonPool()));
+    }
+
+    /**
+     * Create bigtable longbow store.
+     *
+     * @param configuration the configuration
+     * @return the bigtable longbow store
+     * @throws IOException the io exception
+     */
+    public static BigtableLongbowStore create(Configuration configuration) throws IOException {
+        String gcpProjectID = configuration.getString(Constants.PROCESSOR_LONGBOW_GCP_PROJECT_ID_KEY, Constants.PROCESSOR_LONGBOW_GCP_PROJECT_ID_DEFAULT);
+        String gcpInstanceID = configuration.getString(Constants.PROCESSOR_LONGBOW_GCP_INSTANCE_ID_KEY, Constants.PROCESSOR_LONGBOW_GCP_INSTANCE_ID_DEFAULT);
+        BigtableTableAdminClient bigtableTableAdminClient = BigtableTableAdminClient.create(gcpProjectID, gcpInstanceID);
+        org.apache.hadoop.conf.Configuration bigTableConfiguration = BigtableConfiguration.configure(gcpProjectID, gcpInstanceID);
+        BigtableAsyncConnection bigtableAsyncConnection = new BigtableAsyncConnection(bigTableConfiguration);
+        return new BigtableLongbowStore(bigtableTableAdminClient, bigtableAsyncConnection);
+    }
+
+    @Override
+    public boolean tableExists(String tableId) {
+        return adminClient.exists(tableId);
+    }
+
+    @Override
+    public void createTable(Duration maxAgeDuration, String columnFamilyName, String tableId) throws Exception {
+        adminClient.createTable(CreateTableRequest.of(tableId).addFamily(columnFamilyName,
+                GCRULES.union()
+                        .rule(GCRULES.maxVersions(1))
+                        .rule(GCRULES.maxAge(maxAgeDuration))));
+    }
+
+    @Override
+    public CompletableFuture<Void> put(PutRequest putRequest) {
+        return getTable(putRequest.getTableId()).put(putRequest.get());
+    }
+
+    @Override
+    public CompletableFuture<Void> putAll(List<PutRequest> putRequests) {
+        Map<String, List<Put>> putsByTable = putRequests.stream()
+                .collect(Collectors.groupingBy(PutRequest::getTableId, Collectors.mapping(PutRequest::get, Collectors.toList())));
+        return CompletableFuture.allOf(putsByTable.entrySet().stream()
+                .map(tablePuts -> getTable(tablePuts.getKey()).putAll(tablePuts.getValue()))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    @Override
+    public CompletableFuture<List<Result>> scanAll(ScanRequest scanRequest) {
+        return getTable(scanRequest.getTableId()).scanAll(scanRequest.get());
+    }
+
+    /**
+     * Streams the rows of the scan from Bigtable, so they are consumed as they arrive instead of being buffered.
+     * Falls back to consuming the buffered rows if the async table does not support scan consumers,
+     * e.g. for scans with a while match filter.
+     */
+    @Override
+    public CompletableFuture<Void> scan(ScanRequest scanRequest, LongbowScanConsumer scanConsumer) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            getTable(scanRequest.getTableId()).scan(scanRequest.get(), new ScanResultConsumer() {
+                @Override
+                public boolean onNext(Result result) {
+                    try {
+                        if (!scanConsumer.onNext(result)) {
+                            future.complete(null);
+                            return false;
+                        }
+                        return true;
+                    } catch (RuntimeException e) {
+                        future.completeExceptionally(e);
+                        return false;
+                    }
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    future.completeExceptionally(error);
+                }
+
+                @Override
+                public void onComplete() {
+                    future.complete(null);
+                }
+            });
+        } catch (UnsupportedOperationException e) {
+            return LongbowStore.super.scan(scanRequest, scanConsumer);
+        }
+        return future;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (tableClient != null) {
+            tableClient.close();
+        }
+        if (adminClient != null) {
+            adminClient.close();
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.gotocompany.dagger.core.processors.longbow.storage;
+
+import com.gotocompany.dagger.common.configuration.Configuration;
+import com.gotocompany.dagger.core.utils.Constants;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.threeten.bp.Duration;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The longbow store embedded in the task manager.
+ * Tables are sorted maps of row keys shared by every longbow processor of the JVM, so the writer and the reader
+ * of a dagger scan the lookback window locally instead of paying a network round trip per row. Like the Bigtable
+ * tables, they keep the latest version of each cell and drop the cells older than the max age of the table.
+ * Expired cells are skipped by scans and compacted away periodically by puts.
+ * The tables live in memory and are not shared across task managers, so they only suit daggers which
+ * write and read the longbow data in the same job, with the rows partitioned by their longbow key.
+ * A table holds at most PROCESSOR_LONGBOW_LOCAL_MAX_ROWS rows, puts of new rows fail once it is full of unexpired rows.
+ */
+public class LocalLongbowStore implements LongbowStore {
+    private static final Map<String, LocalTable> TABLES = new ConcurrentHashMap<>();
+    private static final long COMPACTION_INTERVAL_MILLIS = 60000L;
+    private final Map<String, LocalTable> tables;
+    private final Clock clock;
+    private final long maxRows;
+
+    /**
+     * Instantiates a new Local longbow store.
+     *
+     * @param tables  the tables by table id
+     * @param clock   the clock the cell ages are measured with
+     * @param maxRows the max number of rows of a table
+     */
+    LocalLongbowStore(Map<String, LocalTable> tables, Clock clock, long maxRows) {
+        this.tables = tables;
+        this.clock = clock;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Create local longbow store on the tables of the task manager.
+     *
+     * @param configuration the configuration
+     * @return the local longbow store
+     */
+    public static LocalLongbowStore create(Configuration configuration) {
+        return new LocalLongbowStore(TABLES, Clock.systemUTC(),
+                configuration.getLong(Constants.PROCESSOR_LONGBOW_LOCAL_MAX_ROWS_KEY, Constants.PROCESSOR_LONGBOW_LOCAL_MAX_ROWS_DEFAULT));
+    }
+
+    @Override
+    public boolean tableExists(String tableId) {
+        return tables.containsKey(tableId);
+    }
+
+    @Override
+    public void createTable(Duration maxAgeDuration, String columnFamilyName, String tableId) {
+        tables.putIfAbsent(tableId, new LocalTable(tableId, Bytes.toBytes(columnFamilyName), maxAgeDuration.toMillis(), maxRows, clock.millis()));
+    }
+
+    @Override
+    public CompletableFuture<Void> put(PutRequest putRequest) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            getTable(putRequest.getTableId()).put(putRequest.get(), clock.millis());
+            future.complete(null);
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    @Override
+    public CompletableFuture<List<Result>> scanAll(ScanRequest scanRequest) {
+        List<Result> results = new ArrayList<>();
+        return scan(scanRequest, results::add).thenApply(aVoid -> results);
+    }
+
+    @Override
+    public CompletableFuture<Void> scan(ScanRequest scanRequest, LongbowScanConsumer scanConsumer) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            getTable(scanRequest.getTableId()).scan(scanRequest.get(), clock.millis(), scanConsumer);
+            future.complete(null);
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private LocalTable getTable(String tableId) throws IOException {
+        LocalTable table = tables.get(tableId);
+        if (table == null) {
+            throw new IOException(String.format("table '%s' does not exist in the local longbow store", tableId));
+        }
+        return table;
+    }
+
+    /**
+     * The tables are kept for the other longbow processors of the task manager, so there is nothing to close.
+     */
+    @Override
+    public void close() {
+    }
+
+    static class LocalTable {
+        private final String tableId;
+        private final byte[] columnFamily;
+        private final long maxAgeMillis;
+        private final long maxRows;
+        private final AtomicLong lastCompactionMillis;
+        private final AtomicLong rowCount = new AtomicLong();
+        private final ConcurrentSkipListMap<byte[], LocalRow> rows = new ConcurrentSkipListMap<>(Bytes.BYTES_COMPARATOR);
+
+        LocalTable(String tableId, byte[] columnFamily, long maxAgeMillis, long maxRows, long creationMillis) {
+            this.tableId = tableId;
+            this.columnFamily = columnFamily;
+            this.maxAgeMillis = maxAgeMillis;
+            this.maxRows = maxRows;
+            this.lastCompactionMillis = new AtomicLong(creationMillis);
+        }
+
+        private void put(Put put, long nowMillis) throws IOException {
+            long expiryMillis = nowMillis - maxAgeMillis;
+            List<Cell> cells = new ArrayList<>();
+            for (Map.Entry<byte[], List<Cell>> familyCells : put.getFamilyCellMap().entrySet()) {
+                if (!Arrays.equals(columnFamily, familyCells.getKey())) {
+                    throw new IOException(String.format("column family '%s' does not exist in the local longbow store", Bytes.toString(familyCells.getKey())));
+                }
+                for (Cell cell : familyCells.getValue()) {
+                    long timestamp = cell.getTimestamp() == HConstants.LATEST_TIMESTAMP ? nowMillis : cell.getTimestamp();
+                    if (timestamp >= expiryMillis) {
+                        cells.add(new KeyValue(put.getRow(), columnFamily, CellUtil.cloneQualifier(cell), timestamp, CellUtil.cloneValue(cell)));
+                    }
+                }
+            }
+            if (!cells.isEmpty()) {
+                LocalRow row = getOrCreateRow(put.getRow(), nowMillis);
+                while (!row.add(cells)) {
+                    /* the row was compacted away concurrently, so the cells are added to a new one */
+                    removeRow(put.getRow(), row);
+                    row = getOrCreateRow(put.getRow(), nowMillis);
+                }
+            }
+            compactIfDue(nowMillis);
+        }
+
+        private LocalRow getOrCreateRow(byte[] rowKey, long nowMillis) throws IOException {
+            LocalRow row = rows.get(rowKey);
+            if (row != null) {
+                return row;
+            }
+            if (rowCount.get() >= maxRows) {
+                compact(nowMillis);
+                if (rowCount.get() >= maxRows) {
+                    throw new IOException(String.format("table '%s' of the local longbow store is full with %d rows, see %s",
+                            tableId, maxRows, Constants.PROCESSOR_LONGBOW_LOCAL_MAX_ROWS_KEY));
+                }
+            }
+            LocalRow newRow = new LocalRow();
+            row = rows.putIfAbsent(rowKey, newRow);
+            if (row != null) {
+                return row;
+            }
+            rowCount.incrementAndGet();
+            return newRow;
+        }
+
+        private void removeRow(byte[] rowKey, LocalRow row) {
+            if (rows.remove(rowKey, row)) {
+                rowCount.decrementAndGet();
+            }
+        }
+
+        private void scan(Scan scan, long nowMillis, LongbowScanConsumer scanConsumer) {
+            NavigableSet<byte[]> qualifiers = scan.getFamilyMap().get(columnFamily);
+            if (!scan.getFamilyMap().isEmpty() && !scan.getFamilyMap().containsKey(columnFamily)) {
+                return;
+            }
+            long expiryMillis = nowMillis - maxAgeMillis;
+            int scannedRows = 0;
+            for (Map.Entry<byte[], LocalRow> row : getScannedRows(scan).entrySet()) {
+                if (scan.getLimit() > 0 && scannedRows >= scan.getLimit()) {
+                    return;
+                }
+                List<Cell> cells = row.getValue().get(qualifiers, expiryMillis);
+                if (!cells.isEmpty()) {
+                    scannedRows++;
+                    if (!scanConsumer.onNext(Result.create(cells))) {
+                        return;
+                    }
+                }
+            }
+        }
+
+        private NavigableMap<byte[], LocalRow> getScannedRows(Scan scan) {
+            NavigableMap<byte[], LocalRow> scannedRows = Arrays.equals(scan.getStopRow(), HConstants.EMPTY_END_ROW)
+                    ? rows.tailMap(scan.getStartRow(), scan.includeStartRow())
+                    : rows.subMap(scan.getStartRow(), scan.includeStartRow(), scan.getStopRow(), scan.includeStopRow());
+            return scan.isReversed() ? scannedRows.descendingMap() : scannedRows;
+        }
+
+        private void compactIfDue(long nowMillis) {
+            long lastCompaction = lastCompactionMillis.get();
+            if (nowMillis - lastCompaction < COMPACTION_INTERVAL_MILLIS || !lastCompactionMillis.compareAndSet(lastCompaction, nowMillis)) {
+                return;
+            }
+            compact(nowMillis);
+        }
+
+        private void compact(long nowMillis) {
+            long expiryMillis = nowMillis - maxAgeMillis;
+            rows.forEach((rowKey, row) -> {
+                if (row.compact(expiryMillis)) {
+                    removeRow(rowKey, row);
+                }
+            });
+        }
+    }
+
+    private static class LocalRow {
+        private final NavigableMap<byte[], Cell> cells = new ConcurrentSkipListMap<>(Bytes.BYTES_COMPARATOR);
+        private boolean removed;
+
+        private synchronized boolean add(List<Cell> newCells) {
+            if (removed) {
+                return false;
+            }
+            for (Cell cell : newCells) {
+                cells.merge(CellUtil.cloneQualifier(cell), cell, (oldCell, newCell) -> newCell.getTimestamp() >= oldCell.getTimestamp() ? newCell : oldCell);
+            }
+            return true;
+        }
+
+        private synchronized List<Cell> get(NavigableSet<byte[]> qualifiers, long expiryMillis) {
+            List<Cell> rowCells = new ArrayList<>();
+            for (Map.Entry<byte[], Cell> cell : cells.entrySet()) {
+                boolean isScanned = qualifiers == null || qualifiers.isEmpty() || qualifiers.contains(cell.getKey());
+                if (isScanned && cell.getValue().getTimestamp() >= expiryMillis) {
+                    rowCells.add(cell.getValue());
+                }
+            }
+            return rowCells;
+        }
+
+        private synchronized boolean compact(long expiryMillis) {
+            cells.values().removeIf(cell -> cell.getTimestamp() < expiryMillis);
+            removed = cells.isEmpty();
+            return removed;
+        }
+    }
+}
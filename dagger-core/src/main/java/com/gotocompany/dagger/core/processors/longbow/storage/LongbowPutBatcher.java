@@ -0,0 +1,142 @@
+package com.gotocompany.dagger.core.processors.longbow.storage;
+
+import org.apache.hadoop.hbase.client.Put;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The longbow put batcher.
+ * Buffers the puts of individual rows and writes them to the longbow store as a single bulk mutation
+ * once the batch reaches its size or bytes, or the linger time of its first put has elapsed.
+ * The future of each put completes when the bulk mutation of its batch lands.
+ */
+public class LongbowPutBatcher {
+    private final LongbowStore longbowStore;
+    private final int batchSize;
+    private final long batchBytes;
+    private final long batchLingerMs;
+    private final ScheduledExecutorService lingerExecutor;
+    private List<PutRequest> pendingPutRequests = new ArrayList<>();
+    private List<CompletableFuture<Void>> pendingFutures = new ArrayList<>();
+    private long pendingBytes;
+    private ScheduledFuture<?> lingerFlush;
+
+    /**
+     * Instantiates a new Longbow put batcher.
+     *
+     * @param longbowStore  the longbow store
+     * @param batchSize     the max puts of a batch
+     * @param batchBytes    the max bytes of a batch
+     * @param batchLingerMs the max time the first put of a batch waits for the batch to fill
+     */
+    public LongbowPutBatcher(LongbowStore longbowStore, int batchSize, long batchBytes, long batchLingerMs) {
+        this(longbowStore, batchSize, batchBytes, batchLingerMs, Executors.newSingleThreadScheduledExecutor());
+    }
+
+    /**
+     * Instantiates a new Longbow put batcher with specified linger executor.
+     *
+     * @param longbowStore   the longbow store
+     * @param batchSize      the max puts of a batch
+     * @param batchBytes     the max bytes of a batch
+     * @param batchLingerMs  the max time the first put of a batch waits for the batch to fill
+     * @param lingerExecutor the executor flushing lingering batches
+     */
+    public LongbowPutBatcher(LongbowStore longbowStore, int batchSize, long batchBytes, long batchLingerMs, ScheduledExecutorService lingerExecutor) {
+        this.longbowStore = longbowStore;
+        this.batchSize = batchSize;
+        this.batchBytes = batchBytes;
+        this.batchLingerMs = batchLingerMs;
+        this.lingerExecutor = lingerExecutor;
+    }
+
+    /**
+     * Add the put of a row to the current batch.
+     *
+     * @param putRequest the put request
+     * @return the future completing when the batch of the put is written
+     */
+    public CompletableFuture<Void> add(PutRequest putRequest) {
+        Put put = putRequest.get();
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        boolean isBatchFull;
+        synchronized (this) {
+            pendingPutRequests.add(new BatchedPutRequest(put, putRequest.getTableId()));
+            pendingFutures.add(future);
+            pendingBytes += put.heapSize();
+            isBatchFull = pendingPutRequests.size() >= batchSize || pendingBytes >= batchBytes;
+            if (!isBatchFull && lingerFlush == null) {
+                lingerFlush = lingerExecutor.schedule(this::flush, batchLingerMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (isBatchFull) {
+            flush();
+        }
+        return future;
+    }
+
+    /**
+     * Write the pending puts as a single bulk mutation.
+     */
+    public void flush() {
+        List<PutRequest> putRequests;
+        List<CompletableFuture<Void>> futures;
+        synchronized (this) {
+            if (lingerFlush != null) {
+                lingerFlush.cancel(false);
+                lingerFlush = null;
+            }
+            if (pendingPutRequests.isEmpty()) {
+                return;
+            }
+            putRequests = pendingPutRequests;
+            futures = pendingFutures;
+            pendingPutRequests = new ArrayList<>();
+            pendingFutures = new ArrayList<>();
+            pendingBytes = 0;
+        }
+        longbowStore.putAll(putRequests).whenComplete((aVoid, throwable) -> {
+            for (CompletableFuture<Void> future : futures) {
+                if (throwable == null) {
+                    future.complete(null);
+                } else {
+                    future.completeExceptionally(throwable);
+                }
+            }
+        });
+    }
+
+    /**
+     * Flush the pending puts and stop the linger executor.
+     */
+    public void close() {
+        flush();
+        lingerExecutor.shutdown();
+    }
+
+    private static class BatchedPutRequest implements PutRequest {
+        private final Put put;
+        private final String tableId;
+
+        BatchedPutRequest(Put put, String tableId) {
+            this.put = put;
+            this.tableId = tableId;
+        }
+
+        @Override
+        public Put get() {
+            return put;
+        }
+
+        @Override
+        public String getTableId() {
+            return tableId;
+        }
+    }
+}
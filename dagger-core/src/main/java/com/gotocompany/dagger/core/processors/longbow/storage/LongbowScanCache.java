@@ -0,0 +1,242 @@
+package com.gotocompany.dagger.core.processors.longbow.storage;
+
+import com.gotocompany.dagger.core.utils.Constants;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellComparator;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The cache of the recently scanned longbow rows of a table.
+ * Row keys are the longbow key followed by the reversed timestamp, so the lookback window of a key is a contiguous
+ * range whose start moves forward as new events arrive. For every longbow key the cache keeps the rows of the last
+ * scanned range, and the next scan of the key only reads the rows newer than the cached ones from the store.
+ * Cached rows older than the scanned range are dropped, so a key never holds more than its lookback window.
+ * Scans limited to the latest rows of the range only cache the rows they returned.
+ * The writers of the task manager add their rows to the cached ranges, so late events of a key are read as well.
+ * The scans of a key are chained one after the other, so a scan never decides on a cached range another scan of
+ * the key is extending or truncating.
+ * Rows written for a key by other task managers after it was cached are not seen, so longbow processes using the
+ * cache partition their stream by the longbow key, and daggers which only read longbow data can not use it.
+ */
+public class LongbowScanCache {
+    private static final Map<String, LongbowScanCache> CACHES = new ConcurrentHashMap<>();
+    private static final float LOAD_FACTOR = 0.75f;
+    private final Map<String, CachedRange> cachedRanges;
+    private final Map<String, CompletableFuture<List<Result>>> lastScans = new HashMap<>();
+
+    /**
+     * Instantiates a new Longbow scan cache.
+     *
+     * @param maxKeys the max longbow keys whose rows are cached
+     */
+    LongbowScanCache(int maxKeys) {
+        this.cachedRanges = new LinkedHashMap<String, CachedRange>(maxKeys, LOAD_FACTOR, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedRange> eldest) {
+                return size() > maxKeys;
+            }
+        };
+    }
+
+    /**
+     * Gets the scan cache of the table shared by the longbow processors of the task manager.
+     *
+     * @param tableId the table id
+     * @param maxKeys the max longbow keys whose rows are cached
+     * @return the longbow scan cache
+     */
+    public static LongbowScanCache forTable(String tableId, int maxKeys) {
+        return CACHES.computeIfAbsent(tableId, id -> new LongbowScanCache(maxKeys));
+    }
+
+    /**
+     * Scan the rows of the request, reading from the store only the rows which are not cached.
+     *
+     * @param longbowStore the longbow store
+     * @param scanRequest  the scan request
+     * @return the completable future
+     */
+    public CompletableFuture<List<Result>> scan(LongbowStore longbowStore, ScanRequest scanRequest) {
+        Scan scan = scanRequest.get();
+        byte[] startRow = scan.getStartRow();
+        byte[] stopRow = scan.getStopRow();
+        String longbowKey = getLongbowKey(startRow);
+        if (longbowKey == null || !longbowKey.equals(getLongbowKey(stopRow))) {
+            return longbowStore.scanAll(scanRequest);
+        }
+        CompletableFuture<List<Result>> keyScan;
+        synchronized (lastScans) {
+            CompletableFuture<List<Result>> lastScan = lastScans.get(longbowKey);
+            keyScan = lastScan == null
+                    ? scan(longbowStore, scanRequest, longbowKey, startRow, stopRow, scan.getLimit())
+                    : lastScan.handle((rows, error) -> null)
+                    .thenCompose(aVoid -> scan(longbowStore, scanRequest, longbowKey, startRow, stopRow, scan.getLimit()));
+            lastScans.put(longbowKey, keyScan);
+        }
+        CompletableFuture<List<Result>> chainedKeyScan = keyScan;
+        keyScan.whenComplete((rows, error) -> {
+            synchronized (lastScans) {
+                lastScans.remove(longbowKey, chainedKeyScan);
+            }
+        });
+        return keyScan;
+    }
+
+    private CompletableFuture<List<Result>> scan(LongbowStore longbowStore, ScanRequest scanRequest, String longbowKey, byte[] startRow, byte[] stopRow, int limit) {
+        CachedRange cachedRange = getCachedRange(longbowKey);
+        if (cachedRange != null && cachedRange.containsStartRow(startRow)) {
+            List<Result> rows = cachedRange.get(startRow, stopRow);
+            if (cachedRange.covers(startRow, stopRow) || (limit > 0 && rows.size() >= limit)) {
+                return CompletableFuture.completedFuture(limit(rows, limit));
+            }
+        }
+        if (cachedRange != null && cachedRange.isExtendedBy(startRow, stopRow, limit > 0)) {
+            byte[] cachedStartRow = cachedRange.getStartRow();
+            ScanRequest deltaScanRequest = new DeltaScanRequest(scanRequest, startRow, cachedStartRow);
+            return longbowStore.scanAll(deltaScanRequest).thenCompose(deltaRows -> {
+                if (limit > 0 && deltaRows.size() >= limit) {
+                    putCachedRange(longbowKey, new CachedRange(startRow, deltaRows.get(deltaRows.size() - 1).getRow(), deltaRows));
+                    return CompletableFuture.completedFuture(deltaRows);
+                }
+                cachedRange.extend(startRow, stopRow, deltaRows);
+                List<Result> rows = cachedRange.get(startRow, stopRow);
+                if (!cachedRange.covers(startRow, stopRow) && (limit <= 0 || rows.size() < limit)) {
+                    return scanAll(longbowStore, scanRequest, longbowKey, startRow, stopRow, limit);
+                }
+                return CompletableFuture.completedFuture(limit(rows, limit));
+            });
+        }
+        return scanAll(longbowStore, scanRequest, longbowKey, startRow, stopRow, limit);
+    }
+
+    private CompletableFuture<List<Result>> scanAll(LongbowStore longbowStore, ScanRequest scanRequest, String longbowKey, byte[] startRow, byte[] stopRow, int limit) {
+        return longbowStore.scanAll(scanRequest).thenApply(rows -> {
+            byte[] coveredStopRow = limit > 0 && rows.size() >= limit ? rows.get(rows.size() - 1).getRow() : stopRow;
+            putCachedRange(longbowKey, new CachedRange(startRow, coveredStopRow, rows));
+            return rows;
+        });
+    }
+
+    private static List<Result> limit(List<Result> rows, int limit) {
+        return limit > 0 && rows.size() > limit ? rows.subList(0, limit) : rows;
+    }
+
+    /**
+     * Add the written row to the cached range of its longbow key.
+     *
+     * @param put the put of the row
+     */
+    public void put(Put put) {
+        String longbowKey = getLongbowKey(put.getRow());
+        CachedRange cachedRange = longbowKey == null ? null : getCachedRange(longbowKey);
+        if (cachedRange == null) {
+            return;
+        }
+        List<Cell> cells = new ArrayList<>();
+        put.getFamilyCellMap().values().forEach(cells::addAll);
+        cells.sort(CellComparator.getInstance());
+        cachedRange.put(put.getRow(), Result.create(cells));
+    }
+
+    private synchronized CachedRange getCachedRange(String longbowKey) {
+        return cachedRanges.get(longbowKey);
+    }
+
+    private synchronized void putCachedRange(String longbowKey, CachedRange cachedRange) {
+        cachedRanges.put(longbowKey, cachedRange);
+    }
+
+    private static String getLongbowKey(byte[] row) {
+        String rowKey = Bytes.toString(row);
+        int delimiterIndex = rowKey.lastIndexOf(Constants.LONGBOW_DELIMITER);
+        return delimiterIndex < 0 ? null : rowKey.substring(0, delimiterIndex);
+    }
+
+    private static class CachedRange {
+        private final NavigableMap<byte[], Result> rows = new ConcurrentSkipListMap<>(Bytes.BYTES_COMPARATOR);
+        private byte[] startRow;
+        private byte[] stopRow;
+
+        CachedRange(byte[] startRow, byte[] stopRow, List<Result> scannedRows) {
+            this.startRow = startRow;
+            this.stopRow = stopRow;
+            scannedRows.forEach(row -> rows.put(row.getRow(), row));
+        }
+
+        private synchronized byte[] getStartRow() {
+            return startRow;
+        }
+
+        private synchronized boolean containsStartRow(byte[] scanStartRow) {
+            return Bytes.compareTo(startRow, scanStartRow) <= 0 && Bytes.compareTo(scanStartRow, stopRow) <= 0;
+        }
+
+        private synchronized boolean covers(byte[] scanStartRow, byte[] scanStopRow) {
+            return Bytes.compareTo(startRow, scanStartRow) <= 0 && Bytes.compareTo(scanStopRow, stopRow) <= 0;
+        }
+
+        private synchronized boolean isExtendedBy(byte[] scanStartRow, byte[] scanStopRow, boolean isLimited) {
+            return Bytes.compareTo(scanStartRow, startRow) < 0
+                    && Bytes.compareTo(startRow, scanStopRow) <= 0
+                    && (isLimited || Bytes.compareTo(scanStopRow, stopRow) <= 0);
+        }
+
+        private synchronized List<Result> get(byte[] scanStartRow, byte[] scanStopRow) {
+            return new ArrayList<>(rows.subMap(scanStartRow, true, scanStopRow, true).values());
+        }
+
+        private synchronized void extend(byte[] scanStartRow, byte[] scanStopRow, List<Result> deltaRows) {
+            deltaRows.forEach(row -> rows.put(row.getRow(), row));
+            if (Bytes.compareTo(scanStartRow, startRow) < 0) {
+                startRow = scanStartRow;
+            }
+            if (Bytes.compareTo(scanStopRow, stopRow) < 0) {
+                rows.tailMap(scanStopRow, false).clear();
+                stopRow = scanStopRow;
+            }
+        }
+
+        private synchronized void put(byte[] row, Result result) {
+            if (Bytes.compareTo(startRow, row) <= 0 && Bytes.compareTo(row, stopRow) <= 0) {
+                rows.put(row, result);
+            }
+        }
+    }
+
+    private static class DeltaScanRequest implements ScanRequest {
+        private final ScanRequest scanRequest;
+        private final byte[] startRow;
+        private final byte[] stopRow;
+
+        DeltaScanRequest(ScanRequest scanRequest, byte[] startRow, byte[] stopRow) {
+            this.scanRequest = scanRequest;
+            this.startRow = startRow;
+            this.stopRow = stopRow;
+        }
+
+        @Override
+        public Scan get() {
+            return scanRequest.get()
+                    .withStartRow(startRow, true)
+                    .withStopRow(stopRow, false);
+        }
+
+        @Override
+        public String getTableId() {
+            return scanRequest.getTableId();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.gotocompany.dagger.core.processors.longbow.storage;
+
+import org.apache.hadoop.hbase.client.Result;
+
+/**
+ * The consumer of the rows of a streaming longbow scan.
+ */
+public interface LongbowScanConsumer {
+    /**
+     * Consume the next scanned row.
+     *
+     * @param result the scanned row
+     * @return false to terminate the scan
+     */
+    boolean onNext(Result result);
+}
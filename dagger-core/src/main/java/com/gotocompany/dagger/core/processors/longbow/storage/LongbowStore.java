@@ -1,61 +1,53 @@
 package com.gotocompany.dagger.core.processors.longbow.storage;
 
-import com.google.cloud.bigtable.admin.v2.BigtableTableAdminClient;
-import com.google.cloud.bigtable.admin.v2.models.CreateTableRequest;
-import com.google.cloud.bigtable.hbase.BigtableConfiguration;
-
 import com.gotocompany.dagger.common.configuration.Configuration;
+import com.gotocompany.dagger.core.exception.DaggerConfigurationException;
 import com.gotocompany.dagger.core.utils.Constants;
-import org.apache.hadoop.hbase.TableName;
-import org.apache.hadoop.hbase.client.AdvancedScanResultConsumer;
-import org.apache.hadoop.hbase.client.AsyncTable;
-import org.apache.hadoop.hbase.client.BigtableAsyncConnection;
 import org.apache.hadoop.hbase.client.Result;
 import org.threeten.bp.Duration;
 
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
-import static com.google.cloud.bigtable.admin.v2.models.GCRules.GCRULES;
-
 /**
- * A class that responsible to store the event to big table for longbow.
+ * The store of the events of longbow.
+ * Backends are selected with PROCESSOR_LONGBOW_STORE_TYPE.
  */
-public class LongbowStore {
-    private BigtableTableAdminClient adminClient;
-    private BigtableAsyncConnection tableClient;
-    private Map<String, AsyncTable<AdvancedScanResultConsumer>> tables;
-
-    private LongbowStore(BigtableTableAdminClient adminClient, BigtableAsyncConnection tableClient) {
-        this.adminClient = adminClient;
-        this.tableClient = tableClient;
-        this.tables = new HashMap<>();
-    }
-
-    private AsyncTable<AdvancedScanResultConsumer> getTable(String tableId) {
-        if (!tables.containsKey(tableId)) {
-            tables.put(tableId, tableClient.getTable(TableName.valueOf(tableId)));
-        }
-        return tables.get(tableId);
-    }
+public interface LongbowStore {
 
     /**
-     * Create longbow store.
+     * Create the longbow store of the configured type.
      *
      * @param configuration the configuration
      * @return the longbow store
      * @throws IOException the io exception
      */
-    public static LongbowStore create(Configuration configuration) throws IOException {
-        String gcpProjectID = configuration.getString(Constants.PROCESSOR_LONGBOW_GCP_PROJECT_ID_KEY, Constants.PROCESSOR_LONGBOW_GCP_PROJECT_ID_DEFAULT);
-        String gcpInstanceID = configuration.getString(Constants.PROCESSOR_LONGBOW_GCP_INSTANCE_ID_KEY, Constants.PROCESSOR_LONGBOW_GCP_INSTANCE_ID_DEFAULT);
-        BigtableTableAdminClient bigtableTableAdminClient = BigtableTableAdminClient.create(gcpProjectID, gcpInstanceID);
-        org.apache.hadoop.conf.Configuration bigTableConfiguration = BigtableConfiguration.configure(gcpProjectID, gcpInstanceID);
-        BigtableAsyncConnection bigtableAsyncConnection = new BigtableAsyncConnection(bigTableConfiguration);
-        return new LongbowStore(bigtableTableAdminClient, bigtableAsyncConnection);
+    static LongbowStore create(Configuration configuration) throws IOException {
+        String storeType = configuration.getString(Constants.PROCESSOR_LONGBOW_STORE_TYPE_KEY, Constants.PROCESSOR_LONGBOW_STORE_TYPE_DEFAULT);
+        switch (getStoreType(storeType)) {
+            case LOCAL:
+                return LocalLongbowStore.create(configuration);
+            case BIGTABLE:
+            default:
+                return BigtableLongbowStore.create(configuration);
+        }
+    }
+
+    /**
+     * Gets the longbow store type.
+     *
+     * @param storeType the configured store type
+     * @return the longbow store type
+     */
+    static LongbowStoreType getStoreType(String storeType) {
+        try {
+            return LongbowStoreType.valueOf(storeType.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new DaggerConfigurationException(String.format("Invalid %s %s, supported types are %s",
+                    Constants.PROCESSOR_LONGBOW_STORE_TYPE_KEY, storeType, Arrays.toString(LongbowStoreType.values())));
+        }
     }
 
     /**
@@ -64,9 +56,7 @@ public class LongbowStore {
      * @param tableId the table id
      * @return the boolean
      */
-    public boolean tableExists(String tableId) {
-        return adminClient.exists(tableId);
-    }
+    boolean tableExists(String tableId);
 
     /**
      * Create the table.
@@ -76,12 +66,7 @@ public class LongbowStore {
      * @param tableId          the table id
      * @throws Exception the exception
      */
-    public void createTable(Duration maxAgeDuration, String columnFamilyName, String tableId) throws Exception {
-        adminClient.createTable(CreateTableRequest.of(tableId).addFamily(columnFamilyName,
-                GCRULES.union()
-                        .rule(GCRULES.maxVersions(1))
-                        .rule(GCRULES.maxAge(maxAgeDuration))));
-    }
+    void createTable(Duration maxAgeDuration, String columnFamilyName, String tableId) throws Exception;
 
     /**
      * Put completable future.
@@ -89,8 +74,19 @@ public class LongbowStore {
      * @param putRequest the put request
      * @return the completable future
      */
-    public CompletableFuture<Void> put(PutRequest putRequest) {
-        return getTable(putRequest.getTableId()).put(putRequest.get());
+    CompletableFuture<Void> put(PutRequest putRequest);
+
+    /**
+     * Put all the requests as a single bulk mutation.
+     * The returned future completes when every put has been written, and fails if any of them failed.
+     *
+     * @param putRequests the put requests
+     * @return the completable future
+     */
+    default CompletableFuture<Void> putAll(List<PutRequest> putRequests) {
+        return CompletableFuture.allOf(putRequests.stream()
+                .map(this::put)
+                .toArray(CompletableFuture[]::new));
     }
 
     /**
@@ -99,8 +95,24 @@ public class LongbowStore {
      * @param scanRequest the scan request
      * @return the completable future
      */
-    public CompletableFuture<List<Result>> scanAll(ScanRequest scanRequest) {
-        return getTable(scanRequest.getTableId()).scanAll(scanRequest.get());
+    CompletableFuture<List<Result>> scanAll(ScanRequest scanRequest);
+
+    /**
+     * Scan the rows of the request into the consumer, which may terminate the scan early.
+     * The returned future completes when the scan is done or terminated.
+     *
+     * @param scanRequest  the scan request
+     * @param scanConsumer the scan consumer
+     * @return the completable future
+     */
+    default CompletableFuture<Void> scan(ScanRequest scanRequest, LongbowScanConsumer scanConsumer) {
+        return scanAll(scanRequest).thenAccept(results -> {
+            for (Result result : results) {
+                if (!scanConsumer.onNext(result)) {
+                    return;
+                }
+            }
+        });
     }
 
     /**
@@ -108,12 +120,5 @@ public class LongbowStore {
      *
      * @throws IOException the io exception
      */
-    public void close() throws IOException {
-        if (tableClient != null) {
-            tableClient.close();
-        }
-        if (adminClient != null) {
-            adminClient.close();
-        }
-    }
+    void close() throws IOException;
 }
@@ -0,0 +1,9 @@
+package com.gotocompany.dagger.core.processors.longbow.storage;
+
+/**
+ * The enum Longbow store type.
+ */
+public enum LongbowStoreType {
+    BIGTABLE,
+    LOCAL
+}
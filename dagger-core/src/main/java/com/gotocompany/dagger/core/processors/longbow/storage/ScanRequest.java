@@ -27,6 +27,23 @@ public interface ScanRequest {
         return scan;
     }
 
+    /**
+     * Sets the max rows of the scan.
+     * Rows are sorted by reversed timestamp, so the scan keeps the latest rows of the range.
+     * The page size is set to the limit, so the rows are returned in a single page.
+     *
+     * @param scan    the scan
+     * @param maxRows the max rows, or zero to read the whole range
+     * @return the scan
+     */
+    default Scan setScanLimit(Scan scan, int maxRows) {
+        if (maxRows > 0) {
+            scan.setLimit(maxRows);
+            scan.setCaching(maxRows);
+        }
+        return scan;
+    }
+
     /**
      * Gets table id.
      *
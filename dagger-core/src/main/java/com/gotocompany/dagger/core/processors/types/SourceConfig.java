@@ -1,5 +1,9 @@
 package com.gotocompany.dagger.core.processors.types;
 
+import com.gotocompany.dagger.core.processors.external.CacheConfig;
+import com.gotocompany.dagger.core.processors.external.ConcurrencyLimitConfig;
+import com.gotocompany.dagger.core.processors.external.HedgingConfig;
+
 import java.util.List;
 
 /**
@@ -47,4 +51,32 @@ public interface SourceConfig extends Validator {
      * @return the type
      */
     String getType();
+
+    /**
+     * Gets request cache config.
+     *
+     * @return the cache config, or null if caching is disabled
+     */
+    CacheConfig getCacheConfig();
+
+    /**
+     * Gets adaptive concurrency limit config.
+     *
+     * @return the concurrency limit config, or null if the concurrency is only bounded by the capacity
+     */
+    ConcurrencyLimitConfig getConcurrencyLimitConfig();
+
+    /**
+     * Gets request hedging config.
+     *
+     * @return the hedging config, or null if hedging is disabled
+     */
+    HedgingConfig getHedgingConfig();
+
+    /**
+     * Check if the enriched rows are emitted in the order of the input rows.
+     *
+     * @return the boolean
+     */
+    boolean isOutputOrdered();
 }
@@ -7,14 +7,18 @@ import com.gotocompany.dagger.core.source.config.StreamConfig;
 import com.gotocompany.dagger.core.source.config.models.SourceDetails;
 import com.gotocompany.dagger.core.source.config.models.SourceName;
 import com.gotocompany.dagger.core.source.config.models.SourceType;
+import com.gotocompany.dagger.core.utils.Constants;
 import org.apache.flink.api.common.eventtime.WatermarkStrategy;
 import org.apache.flink.connector.kafka.source.KafkaSource;
 import org.apache.flink.connector.kafka.source.reader.deserializer.KafkaRecordDeserializationSchema;
+import org.apache.flink.streaming.api.datastream.AsyncDataStream;
 import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
 import org.apache.flink.streaming.connectors.kafka.KafkaDeserializationSchema;
 import org.apache.flink.types.Row;
 
+import java.util.concurrent.TimeUnit;
+
 public class KafkaDaggerSource implements DaggerSource<Row> {
     private final DaggerDeserializer<Row> deserializer;
     private final StreamConfig streamConfig;
@@ -39,9 +43,28 @@ public class KafkaDaggerSource implements DaggerSource<Row> {
                 .build();
     }
 
+    KafkaSource<byte[]> buildRawValueSource() {
+        return KafkaSource.<byte[]>builder()
+                .setTopicPattern(streamConfig.getTopicPattern())
+                .setStartingOffsets(streamConfig.getStartingOffset())
+                .setProperties(streamConfig.getKafkaProps(configuration))
+                .setDeserializer(new KafkaRawValueDeserializationSchema())
+                .build();
+    }
+
     @Override
     public DataStream<Row> register(StreamExecutionEnvironment executionEnvironment, WatermarkStrategy<Row> watermarkStrategy) {
-        return executionEnvironment.fromSource(buildSource(), watermarkStrategy, streamConfig.getSchemaTable());
+        int deserializationThreads = configuration.getInteger(Constants.SOURCE_KAFKA_DESERIALIZATION_THREADS_KEY, Constants.SOURCE_KAFKA_DESERIALIZATION_THREADS_DEFAULT);
+        boolean perPartitionWatermark = configuration.getBoolean(Constants.FLINK_WATERMARK_PER_PARTITION_ENABLE_KEY, Constants.FLINK_WATERMARK_PER_PARTITION_ENABLE_DEFAULT);
+        if (deserializationThreads <= 0 || perPartitionWatermark) {
+            return executionEnvironment.fromSource(buildSource(), watermarkStrategy, streamConfig.getSchemaTable());
+        }
+        int queueCapacity = configuration.getInteger(Constants.SOURCE_KAFKA_DESERIALIZATION_QUEUE_CAPACITY_KEY, Constants.SOURCE_KAFKA_DESERIALIZATION_QUEUE_CAPACITY_DEFAULT);
+        DataStream<byte[]> rawValueStream = executionEnvironment.fromSource(buildRawValueSource(), WatermarkStrategy.noWatermarks(), streamConfig.getSchemaTable());
+        ParallelDeserializationFunction deserializationFunction = new ParallelDeserializationFunction((KafkaDeserializationSchema<Row>) deserializer, deserializationThreads);
+        return AsyncDataStream
+                .orderedWait(rawValueStream, deserializationFunction, Constants.SOURCE_KAFKA_DESERIALIZATION_TIMEOUT_MS, TimeUnit.MILLISECONDS, queueCapacity)
+                .returns(deserializer.getProducedType());
     }
 
     @Override
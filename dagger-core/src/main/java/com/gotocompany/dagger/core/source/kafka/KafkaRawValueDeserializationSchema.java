@@ -0,0 +1,27 @@
+package com.gotocompany.dagger.core.source.kafka;
+
+import com.gotocompany.dagger.common.exceptions.serde.DaggerDeserializationException;
+import org.apache.flink.api.common.typeinfo.PrimitiveArrayTypeInfo;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.connector.kafka.source.reader.deserializer.KafkaRecordDeserializationSchema;
+import org.apache.flink.util.Collector;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+/**
+ * Emits the value bytes of Kafka records, leaving the deserialization to a later operator.
+ */
+public class KafkaRawValueDeserializationSchema implements KafkaRecordDeserializationSchema<byte[]> {
+
+    @Override
+    public void deserialize(ConsumerRecord<byte[], byte[]> record, Collector<byte[]> out) {
+        if (record.value() == null) {
+            throw new DaggerDeserializationException(String.format("null value at offset %d of %s-%d", record.offset(), record.topic(), record.partition()));
+        }
+        out.collect(record.value());
+    }
+
+    @Override
+    public TypeInformation<byte[]> getProducedType() {
+        return PrimitiveArrayTypeInfo.BYTE_PRIMITIVE_ARRAY_TYPE_INFO;
+    }
+}
@@ -0,0 +1,81 @@
+package com.gotocompany.dagger.core.source.kafka;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.streaming.api.functions.async.ResultFuture;
+import org.apache.flink.streaming.api.functions.async.RichAsyncFunction;
+import org.apache.flink.streaming.connectors.kafka.KafkaDeserializationSchema;
+import org.apache.flink.types.Row;
+import org.apache.flink.util.InstantiationUtil;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+
+import static java.util.Collections.singleton;
+
+/**
+ * Deserializes Kafka record values on a pool of worker threads.
+ * Every worker uses its own copy of the deserializer, so deserializers need not be thread safe.
+ * The copies only hold the per record state, proto deserializers look up descriptors through the stencil client
+ * shared by every deserializer of the task manager, so workers do not create and leak stencil clients of their own.
+ * Used with an ordered async operator, rows are emitted in the order the values were read.
+ */
+public class ParallelDeserializationFunction extends RichAsyncFunction<byte[], Row> {
+    private final KafkaDeserializationSchema<Row> deserializer;
+    private final int threads;
+    private transient ExecutorService executorService;
+    private transient ThreadLocal<KafkaDeserializationSchema<Row>> workerDeserializer;
+
+    /**
+     * Instantiates a new Parallel deserialization function.
+     *
+     * @param deserializer the deserializer
+     * @param threads      the number of worker threads
+     */
+    public ParallelDeserializationFunction(KafkaDeserializationSchema<Row> deserializer, int threads) {
+        this.deserializer = deserializer;
+        this.threads = threads;
+    }
+
+    @Override
+    public void open(Configuration parameters) throws Exception {
+        byte[] serializedDeserializer = InstantiationUtil.serializeObject(deserializer);
+        ClassLoader classLoader = getRuntimeContext().getUserCodeClassLoader();
+        workerDeserializer = ThreadLocal.withInitial(() -> copyDeserializer(serializedDeserializer, classLoader));
+        executorService = Executors.newFixedThreadPool(threads);
+    }
+
+    private KafkaDeserializationSchema<Row> copyDeserializer(byte[] serializedDeserializer, ClassLoader classLoader) {
+        try {
+            return InstantiationUtil.deserializeObject(serializedDeserializer, classLoader);
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("failed to copy the deserializer for a worker thread", e);
+        }
+    }
+
+    @Override
+    public void asyncInvoke(byte[] value, ResultFuture<Row> resultFuture) {
+        executorService.execute(() -> {
+            try {
+                Row row = workerDeserializer.get().deserialize(new ConsumerRecord<>("", 0, 0L, null, value));
+                resultFuture.complete(singleton(row));
+            } catch (Exception e) {
+                resultFuture.completeExceptionally(e);
+            }
+        });
+    }
+
+    @Override
+    public void timeout(byte[] value, ResultFuture<Row> resultFuture) {
+        resultFuture.completeExceptionally(new TimeoutException("deserialization of a Kafka record timed out"));
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (executorService != null) {
+            executorService.shutdownNow();
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.gotocompany.dagger.core.exception.DaggerConfigurationException;
 import com.gotocompany.dagger.core.metrics.reporters.statsd.SerializedStatsDReporterSupplier;
 import com.gotocompany.dagger.core.metrics.reporters.statsd.StatsDErrorReporter;
 import com.gotocompany.dagger.core.source.parquet.reader.ParquetReader;
+import com.gotocompany.dagger.core.source.parquet.reader.RowtimeFilter;
 import com.gotocompany.dagger.core.source.parquet.splitassigner.ChronologyOrderedSplitAssigner;
 import com.gotocompany.dagger.common.serde.DaggerDeserializer;
 import com.gotocompany.dagger.common.serde.parquet.deserialization.SimpleGroupDeserializer;
@@ -13,6 +14,7 @@ import com.gotocompany.dagger.core.source.config.StreamConfig;
 import com.gotocompany.dagger.core.source.config.models.SourceDetails;
 import com.gotocompany.dagger.core.source.config.models.SourceName;
 import com.gotocompany.dagger.core.source.config.models.SourceType;
+import com.gotocompany.dagger.core.source.config.models.TimeRangePool;
 import com.gotocompany.dagger.core.source.parquet.path.HourDatePathParser;
 import com.gotocompany.dagger.core.source.parquet.reader.ReaderProvider;
 import org.apache.flink.api.common.eventtime.WatermarkStrategy;
@@ -30,6 +32,14 @@ import java.util.function.Supplier;
 
 import static com.gotocompany.dagger.core.source.config.models.SourceName.PARQUET_SOURCE;
 import static com.gotocompany.dagger.core.source.config.models.SourceType.BOUNDED;
+import static com.gotocompany.dagger.core.utils.Constants.SOURCE_PARQUET_COLUMNAR_READ_ENABLE_DEFAULT;
+import static com.gotocompany.dagger.core.utils.Constants.SOURCE_PARQUET_COLUMNAR_READ_ENABLE_KEY;
+import static com.gotocompany.dagger.core.utils.Constants.SOURCE_PARQUET_FILTER_PUSHDOWN_ENABLE_DEFAULT;
+import static com.gotocompany.dagger.core.utils.Constants.SOURCE_PARQUET_FILTER_PUSHDOWN_ENABLE_KEY;
+import static com.gotocompany.dagger.core.utils.Constants.SOURCE_PARQUET_PREFETCH_MEMORY_BUDGET_BYTES_DEFAULT;
+import static com.gotocompany.dagger.core.utils.Constants.SOURCE_PARQUET_PREFETCH_MEMORY_BUDGET_BYTES_KEY;
+import static com.gotocompany.dagger.core.utils.Constants.SOURCE_PARQUET_ROW_GROUP_SPLIT_ENABLE_DEFAULT;
+import static com.gotocompany.dagger.core.utils.Constants.SOURCE_PARQUET_ROW_GROUP_SPLIT_ENABLE_KEY;
 
 public class ParquetDaggerSource implements DaggerSource<Row> {
     private final DaggerDeserializer<Row> deserializer;
@@ -71,6 +81,10 @@ public class ParquetDaggerSource implements DaggerSource<Row> {
         ParquetFileRecordFormat parquetFileRecordFormat = buildParquetFileRecordFormat();
         FileSplitAssigner.Provider splitAssignerProvider = buildParquetFileSplitAssignerProvider();
         Path[] filePaths = buildFlinkFilePaths();
+        if (isRowGroupSplitEnabled()) {
+            TimeRangePool parquetFileDateRange = streamConfig.getParquetFileDateRange();
+            parquetFileSourceBuilder.setFileEnumerator(() -> new ParquetRowGroupSplitEnumerator(new HourDatePathParser(), parquetFileDateRange));
+        }
 
         ParquetFileSource parquetFileSource = parquetFileSourceBuilder.setFilePaths(filePaths)
                 .setConfiguration(configuration)
@@ -107,15 +121,31 @@ public class ParquetDaggerSource implements DaggerSource<Row> {
         }
     }
 
+    private boolean isRowGroupSplitEnabled() {
+        return configuration.getBoolean(SOURCE_PARQUET_ROW_GROUP_SPLIT_ENABLE_KEY, SOURCE_PARQUET_ROW_GROUP_SPLIT_ENABLE_DEFAULT);
+    }
+
+    private RowtimeFilter buildRowtimeFilter() {
+        TimeRangePool parquetFileDateRange = streamConfig.getParquetFileDateRange();
+        boolean filterPushdownEnabled = configuration.getBoolean(SOURCE_PARQUET_FILTER_PUSHDOWN_ENABLE_KEY, SOURCE_PARQUET_FILTER_PUSHDOWN_ENABLE_DEFAULT);
+        if (!filterPushdownEnabled || parquetFileDateRange == null) {
+            return null;
+        }
+        return new RowtimeFilter(parquetFileDateRange, HourDatePathParser.MAX_PARTITION_DURATION);
+    }
+
     private ParquetFileRecordFormat buildParquetFileRecordFormat() {
         SimpleGroupDeserializer simpleGroupDeserializer = (SimpleGroupDeserializer) deserializer;
-        ReaderProvider parquetFileReaderProvider = new ParquetReader.ParquetReaderProvider(simpleGroupDeserializer, statsDReporterSupplier);
+        ReaderProvider parquetFileReaderProvider = new ParquetReader.ParquetReaderProvider(simpleGroupDeserializer, statsDReporterSupplier,
+                configuration.getBoolean(SOURCE_PARQUET_COLUMNAR_READ_ENABLE_KEY, SOURCE_PARQUET_COLUMNAR_READ_ENABLE_DEFAULT), buildRowtimeFilter(),
+                configuration.getLong(SOURCE_PARQUET_PREFETCH_MEMORY_BUDGET_BYTES_KEY, SOURCE_PARQUET_PREFETCH_MEMORY_BUDGET_BYTES_DEFAULT));
         ParquetFileRecordFormat.Builder parquetFileRecordFormatBuilder = ParquetFileRecordFormat.Builder.getInstance();
         Supplier<TypeInformation<Row>> typeInformationProvider = (Supplier<TypeInformation<Row>> & Serializable) simpleGroupDeserializer::getProducedType;
         return parquetFileRecordFormatBuilder
                 .setParquetFileReaderProvider(parquetFileReaderProvider)
                 .setTypeInformationProvider(typeInformationProvider)
                 .setStatsDReporterSupplier(statsDReporterSupplier)
+                .setSplittable(isRowGroupSplitEnabled())
                 .build();
     }
 }
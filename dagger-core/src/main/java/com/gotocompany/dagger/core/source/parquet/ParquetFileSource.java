@@ -8,6 +8,8 @@ import lombok.Getter;
 import org.apache.flink.connector.file.src.FileSource;
 import org.apache.flink.connector.file.src.assigners.FileSplitAssigner;
 import org.apache.flink.connector.file.src.assigners.LocalityAwareSplitAssigner;
+import org.apache.flink.connector.file.src.enumerate.FileEnumerator;
+import org.apache.flink.connector.file.src.enumerate.NonSplittingRecursiveEnumerator;
 import org.apache.flink.connector.file.src.reader.FileRecordFormat;
 import org.apache.flink.core.fs.Path;
 import org.apache.flink.types.Row;
@@ -28,22 +30,27 @@ public class ParquetFileSource implements Serializable {
     private final FileRecordFormat<Row> fileRecordFormat;
     @Getter
     private final FileSplitAssigner.Provider fileSplitAssigner;
+    @Getter
+    private final FileEnumerator.Provider fileEnumerator;
 
     private ParquetFileSource(SourceType sourceType,
                               Configuration configuration,
                               FileRecordFormat<Row> fileRecordFormat,
                               Path[] filePaths,
-                              FileSplitAssigner.Provider fileSplitAssigner) {
+                              FileSplitAssigner.Provider fileSplitAssigner,
+                              FileEnumerator.Provider fileEnumerator) {
         this.sourceType = sourceType;
         this.configuration = configuration;
         this.filePaths = filePaths;
         this.fileRecordFormat = fileRecordFormat;
         this.fileSplitAssigner = fileSplitAssigner;
+        this.fileEnumerator = fileEnumerator;
     }
 
     public FileSource<Row> buildFileSource() {
         return FileSource.forRecordFileFormat(fileRecordFormat, filePaths)
                 .setSplitAssigner(fileSplitAssigner)
+                .setFileEnumerator(fileEnumerator)
                 .build();
     }
 
@@ -53,6 +60,7 @@ public class ParquetFileSource implements Serializable {
         private FileRecordFormat<Row> fileRecordFormat;
         private Configuration configuration;
         private FileSplitAssigner.Provider fileSplitAssigner;
+        private FileEnumerator.Provider fileEnumerator;
         private SerializedStatsDReporterSupplier statsDReporterSupplier;
 
         public static Builder getInstance() {
@@ -65,6 +73,7 @@ public class ParquetFileSource implements Serializable {
             this.fileRecordFormat = null;
             this.filePaths = new Path[0];
             this.fileSplitAssigner = LocalityAwareSplitAssigner::new;
+            this.fileEnumerator = NonSplittingRecursiveEnumerator::new;
         }
 
         public Builder setSourceType(SourceType sourceType) {
@@ -82,6 +91,11 @@ public class ParquetFileSource implements Serializable {
             return this;
         }
 
+        public Builder setFileEnumerator(FileEnumerator.Provider fileEnumerator) {
+            this.fileEnumerator = fileEnumerator;
+            return this;
+        }
+
         public Builder setFilePaths(Path[] filePaths) {
             this.filePaths = filePaths;
             return this;
@@ -119,7 +133,8 @@ public class ParquetFileSource implements Serializable {
                     configuration,
                     fileRecordFormat,
                     filePaths,
-                    fileSplitAssigner);
+                    fileSplitAssigner,
+                    fileEnumerator);
         }
     }
 }
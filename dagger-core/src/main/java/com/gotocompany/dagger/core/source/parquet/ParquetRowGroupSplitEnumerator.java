@@ -0,0 +1,106 @@
+package com.gotocompany.dagger.core.source.parquet;
+
+import com.gotocompany.dagger.core.source.config.models.TimeRangePool;
+import com.gotocompany.dagger.core.source.parquet.path.PathParser;
+import org.apache.flink.connector.file.src.FileSourceSplit;
+import org.apache.flink.connector.file.src.enumerate.FileEnumerator;
+import org.apache.flink.connector.file.src.enumerate.NonSplittingRecursiveEnumerator;
+import org.apache.flink.core.fs.Path;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.io.InputFile;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The enumerator of Parquet files which splits every file at its row group boundaries.
+ * Each row group becomes a split starting at the row group and spanning its compressed size, so the split holds
+ * the midpoint of exactly that row group and the row groups of a large file can be read by different subtasks.
+ * Files whose partition path lies outside the time ranges are dropped before their footers are read.
+ */
+public class ParquetRowGroupSplitEnumerator implements FileEnumerator {
+    private final FileEnumerator fileEnumerator;
+    private final PathParser pathParser;
+    private final TimeRangePool timeRangePool;
+    private long nextSplitId;
+
+    /**
+     * Instantiates a new Parquet row group split enumerator.
+     */
+    public ParquetRowGroupSplitEnumerator() {
+        this(new NonSplittingRecursiveEnumerator());
+    }
+
+    /**
+     * Instantiates a new Parquet row group split enumerator.
+     *
+     * @param fileEnumerator the enumerator of the files to split
+     */
+    public ParquetRowGroupSplitEnumerator(FileEnumerator fileEnumerator) {
+        this(fileEnumerator, null, null);
+    }
+
+    /**
+     * Instantiates a new Parquet row group split enumerator which only splits the files of the time ranges.
+     *
+     * @param pathParser    the parser of the instant of a file from its path
+     * @param timeRangePool the time ranges of the files to split, null to split every file
+     */
+    public ParquetRowGroupSplitEnumerator(PathParser pathParser, TimeRangePool timeRangePool) {
+        this(new NonSplittingRecursiveEnumerator(), pathParser, timeRangePool);
+    }
+
+    /**
+     * Instantiates a new Parquet row group split enumerator which only splits the files of the time ranges.
+     *
+     * @param fileEnumerator the enumerator of the files to split
+     * @param pathParser     the parser of the instant of a file from its path
+     * @param timeRangePool  the time ranges of the files to split, null to split every file
+     */
+    public ParquetRowGroupSplitEnumerator(FileEnumerator fileEnumerator, PathParser pathParser, TimeRangePool timeRangePool) {
+        this.fileEnumerator = fileEnumerator;
+        this.pathParser = pathParser;
+        this.timeRangePool = timeRangePool;
+        this.nextSplitId = 0L;
+    }
+
+    @Override
+    public Collection<FileSourceSplit> enumerateSplits(Path[] paths, int minDesiredSplits) throws IOException {
+        List<FileSourceSplit> splits = new ArrayList<>();
+        for (FileSourceSplit fileSplit : fileEnumerator.enumerateSplits(paths, minDesiredSplits)) {
+            if (!isInTimeRanges(fileSplit.path())) {
+                continue;
+            }
+            for (BlockMetaData rowGroup : readRowGroups(fileSplit.path())) {
+                splits.add(new FileSourceSplit(String.valueOf(nextSplitId++), fileSplit.path(), rowGroup.getStartingPos(),
+                        rowGroup.getCompressedSize(), fileSplit.hostnames()));
+            }
+        }
+        return splits;
+    }
+
+    private boolean isInTimeRanges(Path filePath) {
+        if (pathParser == null || timeRangePool == null) {
+            return true;
+        }
+        try {
+            return timeRangePool.contains(pathParser.instantFromFilePath(filePath));
+        } catch (ParseException e) {
+            /* the file is kept, so the split assigner reports the path which can not be parsed */
+            return true;
+        }
+    }
+
+    private List<BlockMetaData> readRowGroups(Path filePath) throws IOException {
+        InputFile inputFile = HadoopInputFile.fromPath(new org.apache.hadoop.fs.Path(filePath.toUri()), new Configuration());
+        try (ParquetFileReader parquetFileReader = ParquetFileReader.open(inputFile)) {
+            return parquetFileReader.getRowGroups();
+        }
+    }
+}
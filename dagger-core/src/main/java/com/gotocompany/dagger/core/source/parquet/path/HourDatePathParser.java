@@ -5,6 +5,7 @@ import org.apache.flink.core.fs.Path;
 import java.io.Serializable;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.util.TimeZone;
@@ -12,6 +13,9 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class HourDatePathParser implements PathParser, Serializable {
+    /* date partitions without an hour segment span a whole day */
+    public static final Duration MAX_PARTITION_DURATION = Duration.ofDays(1);
+
     @Override
     public Instant instantFromFilePath(Path path) throws ParseException {
         Pattern filePathPattern = Pattern.compile("^.*/dt=([0-9][0-9][0-9][0-9]-[0-9][0-9]-[0-9][0-9])/(hr=([0-9][0-9]))?.*$");
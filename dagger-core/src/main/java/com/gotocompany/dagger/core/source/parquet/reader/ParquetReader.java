@@ -9,28 +9,38 @@ import com.gotocompany.dagger.core.metrics.reporters.statsd.manager.DaggerCounte
 import com.gotocompany.dagger.core.metrics.reporters.statsd.manager.DaggerHistogramManager;
 import com.gotocompany.dagger.core.metrics.reporters.statsd.tags.ComponentTags;
 import com.gotocompany.dagger.core.metrics.reporters.statsd.tags.StatsDTag;
+import com.gotocompany.dagger.common.serde.parquet.deserialization.ColumnarRowGroupDeserializer;
 import com.gotocompany.dagger.common.serde.parquet.deserialization.SimpleGroupDeserializer;
 import org.apache.flink.connector.file.src.reader.FileRecordFormat;
 import org.apache.flink.connector.file.src.util.CheckpointedPosition;
 import org.apache.flink.types.Row;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
+import org.apache.parquet.HadoopReadOptions;
+import org.apache.parquet.ParquetReadOptions;
 import org.apache.parquet.column.page.PageReadStore;
 import org.apache.parquet.example.data.Group;
 import org.apache.parquet.example.data.simple.SimpleGroup;
 import org.apache.parquet.example.data.simple.convert.GroupRecordConverter;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
 import org.apache.parquet.hadoop.ParquetFileReader;
 import org.apache.parquet.hadoop.util.HadoopInputFile;
 import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.InputFile;
 import org.apache.parquet.io.MessageColumnIO;
 import org.apache.parquet.io.RecordReader;
 import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Type;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 public class ParquetReader implements FileRecordFormat.Reader<Row> {
     private final Path hadoopFilePath;
@@ -45,16 +55,25 @@ public class ParquetReader implements FileRecordFormat.Reader<Row> {
     private DaggerCounterManager daggerCounterManager;
     private DaggerHistogramManager daggerHistogramManager;
     private final StatsDErrorReporter statsDErrorReporter;
+    private final ColumnarRowGroupDeserializer columnarRowGroupDeserializer;
+    private final long splitOffset;
+    private final RowGroupPrefetcher rowGroupPrefetcher;
     private static final Logger LOGGER = LoggerFactory.getLogger(ParquetReader.class.getName());
 
-    private ParquetReader(Path hadoopFilePath, SimpleGroupDeserializer simpleGroupDeserializer, ParquetFileReader
-            parquetFileReader, SerializedStatsDReporterSupplier statsDReporterSupplier) throws IOException {
+    private ParquetReader(Path hadoopFilePath, SimpleGroupDeserializer simpleGroupDeserializer, ParquetFileReader parquetFileReader,
+                          MessageType schema, SerializedStatsDReporterSupplier statsDReporterSupplier, boolean columnarReadEnabled,
+                          long splitOffset, long prefetchMemoryBudgetBytes) throws IOException {
         this.hadoopFilePath = hadoopFilePath;
         this.simpleGroupDeserializer = simpleGroupDeserializer;
         this.parquetFileReader = parquetFileReader;
-        this.schema = this.parquetFileReader.getFileMetaData().getSchema();
+        this.schema = schema;
+        this.splitOffset = splitOffset;
+        this.rowGroupPrefetcher = new RowGroupPrefetcher(parquetFileReader, prefetchMemoryBudgetBytes);
         this.isRecordReaderInitialized = false;
         this.totalEmittedRowCount = 0L;
+        this.columnarRowGroupDeserializer = columnarReadEnabled
+                ? new ColumnarRowGroupDeserializer(simpleGroupDeserializer, schema, parquetFileReader.getFileMetaData().getCreatedBy())
+                : null;
         this.registerTagsWithMeasurementManagers(statsDReporterSupplier);
         this.statsDErrorReporter = new StatsDErrorReporter(statsDReporterSupplier);
         daggerCounterManager.increment(ParquetReaderAspects.READER_CREATED);
@@ -80,38 +99,54 @@ public class ParquetReader implements FileRecordFormat.Reader<Row> {
     private void changeReaderPosition(PageReadStore pages) {
         rowCount = pages.getRowCount();
         currentRecordIndex = 0;
+        if (columnarRowGroupDeserializer != null) {
+            columnarRowGroupDeserializer.readRowGroup(pages);
+            return;
+        }
         MessageColumnIO columnIO = new ColumnIOFactory().getColumnIO(schema);
         recordReader = columnIO.getRecordReader(pages, new GroupRecordConverter(schema));
     }
 
     private void initializeRecordReader() throws IOException {
-        PageReadStore nextPage = parquetFileReader.readNextRowGroup();
-        changeReaderPosition(nextPage);
+        PageReadStore nextPage = rowGroupPrefetcher.next();
+        if (!checkIfNullPage(nextPage)) {
+            changeReaderPosition(nextPage);
+        }
         this.isRecordReaderInitialized = true;
         String logMessage = String.format("Successfully created the ParquetFileReader and RecordReader for file %s", hadoopFilePath.getName());
         LOGGER.info(logMessage);
     }
 
     private Row readRecords() throws IOException {
+        Row row = readNextRecord();
+        if (row != null) {
+            totalEmittedRowCount++;
+        }
+        return row;
+    }
+
+    private Row readNextRecord() throws IOException {
         long startReadTime = Instant.now().toEpochMilli();
 
         if (currentRecordIndex >= rowCount) {
-            PageReadStore nextPage = parquetFileReader.readNextRowGroup();
+            PageReadStore nextPage = rowGroupPrefetcher.next();
             if (checkIfNullPage(nextPage)) {
                 return null;
             }
             changeReaderPosition(nextPage);
         }
-        SimpleGroup simpleGroup = (SimpleGroup) recordReader.read();
+        SimpleGroup simpleGroup = null;
+        if (columnarRowGroupDeserializer == null) {
+            simpleGroup = (SimpleGroup) recordReader.read();
+        }
         long endReadTime = Instant.now().toEpochMilli();
 
         currentRecordIndex++;
         long startDeserializationTime = Instant.now().toEpochMilli();
 
-        Row row = deserialize(simpleGroup);
+        Row row = columnarRowGroupDeserializer == null ? deserialize(simpleGroup) : deserializeNextRow();
 
         long endDeserializationTime = Instant.now().toEpochMilli();
-        totalEmittedRowCount++;
 
         daggerHistogramManager.recordValue(ParquetReaderAspects.READER_ROW_READ_TIME, endReadTime - startReadTime);
         daggerHistogramManager.recordValue(ParquetReaderAspects.READER_ROW_DESERIALIZATION_TIME, endDeserializationTime - startDeserializationTime);
@@ -127,6 +162,15 @@ public class ParquetReader implements FileRecordFormat.Reader<Row> {
         }
     }
 
+    private Row deserializeNextRow() {
+        try {
+            return columnarRowGroupDeserializer.next();
+        } catch (DaggerDeserializationException exception) {
+            statsDErrorReporter.reportFatalException(exception);
+            throw exception;
+        }
+    }
+
     @Nullable
     @Override
     public Row read() throws IOException {
@@ -140,6 +184,7 @@ public class ParquetReader implements FileRecordFormat.Reader<Row> {
 
     @Override
     public void close() throws IOException {
+        rowGroupPrefetcher.close();
         parquetFileReader.close();
         closeRecordReader();
         String logMessage = String.format("Closed the ParquetFileReader and de-referenced the RecordReader for file %s", hadoopFilePath.getName());
@@ -154,32 +199,104 @@ public class ParquetReader implements FileRecordFormat.Reader<Row> {
         recordReader = null;
     }
 
+    /**
+     * Gets the checkpointed position of the reader.
+     * Readers of a split are positioned by the offset of the split, which starts at the row group it was split at,
+     * and the rows emitted from it, so a restored reader only skips rows of that row group.
+     * Readers of a whole file have no offset and are positioned by the rows emitted from the file.
+     *
+     * @return the checkpointed position
+     */
     @Override
     public CheckpointedPosition getCheckpointedPosition() {
-        return new CheckpointedPosition(CheckpointedPosition.NO_OFFSET, totalEmittedRowCount);
+        return new CheckpointedPosition(splitOffset, totalEmittedRowCount);
     }
 
     public static class ParquetReaderProvider implements ReaderProvider {
         private final SimpleGroupDeserializer simpleGroupDeserializer;
         private final SerializedStatsDReporterSupplier statsDReporterSupplier;
+        private final boolean columnarReadEnabled;
+        private final RowtimeFilter rowtimeFilter;
+        private final long prefetchMemoryBudgetBytes;
 
         public ParquetReaderProvider(SimpleGroupDeserializer simpleGroupDeserializer, SerializedStatsDReporterSupplier statsDReporterSupplier) {
+            this(simpleGroupDeserializer, statsDReporterSupplier, false, null);
+        }
+
+        public ParquetReaderProvider(SimpleGroupDeserializer simpleGroupDeserializer, SerializedStatsDReporterSupplier statsDReporterSupplier,
+                                     boolean columnarReadEnabled, RowtimeFilter rowtimeFilter) {
+            this(simpleGroupDeserializer, statsDReporterSupplier, columnarReadEnabled, rowtimeFilter, 0L);
+        }
+
+        public ParquetReaderProvider(SimpleGroupDeserializer simpleGroupDeserializer, SerializedStatsDReporterSupplier statsDReporterSupplier,
+                                     boolean columnarReadEnabled, RowtimeFilter rowtimeFilter, long prefetchMemoryBudgetBytes) {
             this.simpleGroupDeserializer = simpleGroupDeserializer;
             this.statsDReporterSupplier = statsDReporterSupplier;
+            this.columnarReadEnabled = columnarReadEnabled;
+            this.rowtimeFilter = rowtimeFilter;
+            this.prefetchMemoryBudgetBytes = prefetchMemoryBudgetBytes;
         }
 
         @Override
         public ParquetReader getReader(String filePath) {
+            return getReader(filePath, CheckpointedPosition.NO_OFFSET, 0L);
+        }
+
+        /**
+         * Gets a reader of the row groups whose midpoint lies in the split, the same way Parquet assigns row groups to splits.
+         *
+         * @param filePath    the file path
+         * @param splitOffset the offset of the split in the file, or {@link CheckpointedPosition#NO_OFFSET} to read the whole file
+         * @param splitLength the length of the split
+         * @return the parquet reader
+         */
+        @Override
+        public ParquetReader getReader(String filePath, long splitOffset, long splitLength) {
             try {
                 Configuration conf = new Configuration();
                 Path hadoopFilePath = new Path(filePath);
-                ParquetFileReader parquetFileReader = ParquetFileReader.open(HadoopInputFile.fromPath(hadoopFilePath, conf));
-                return new ParquetReader(hadoopFilePath, simpleGroupDeserializer, parquetFileReader, statsDReporterSupplier);
+                InputFile inputFile = HadoopInputFile.fromPath(hadoopFilePath, conf);
+                ParquetFileReader parquetFileReader = ParquetFileReader.open(inputFile, buildReadOptions(conf, splitOffset, splitLength, null));
+                MessageType fileSchema = parquetFileReader.getFileMetaData().getSchema();
+                FilterPredicate filterPredicate = rowtimeFilter == null ? null
+                        : rowtimeFilter.toPredicate(fileSchema, simpleGroupDeserializer.getTimestampFieldName());
+                if (filterPredicate != null) {
+                    /* the predicate depends on how the file stores the timestamp, so the file is reopened with it once the schema is known */
+                    parquetFileReader.close();
+                    parquetFileReader = ParquetFileReader.open(inputFile, buildReadOptions(conf, splitOffset, splitLength, filterPredicate));
+                }
+                MessageType requestedSchema = getRequestedSchema(fileSchema);
+                parquetFileReader.setRequestedSchema(requestedSchema);
+                return new ParquetReader(hadoopFilePath, simpleGroupDeserializer, parquetFileReader, requestedSchema, statsDReporterSupplier,
+                        columnarReadEnabled, splitOffset, prefetchMemoryBudgetBytes);
             } catch (IOException | RuntimeException ex) {
                 ParquetFileSourceReaderInitializationException exception = new ParquetFileSourceReaderInitializationException(ex);
                 new StatsDErrorReporter(statsDReporterSupplier).reportFatalException(exception);
                 throw exception;
             }
         }
+
+        private ParquetReadOptions buildReadOptions(Configuration conf, long splitOffset, long splitLength, FilterPredicate filterPredicate) {
+            ParquetReadOptions.Builder readOptionsBuilder = HadoopReadOptions.builder(conf);
+            if (splitOffset != CheckpointedPosition.NO_OFFSET) {
+                readOptionsBuilder.withRange(splitOffset, splitOffset + splitLength);
+            }
+            if (filterPredicate != null) {
+                readOptionsBuilder.withRecordFilter(FilterCompat.get(filterPredicate));
+            }
+            return readOptionsBuilder.build();
+        }
+
+        private MessageType getRequestedSchema(MessageType fileSchema) {
+            Set<String> projectedFields = simpleGroupDeserializer.getProjectedFields();
+            if (projectedFields == null) {
+                return fileSchema;
+            }
+            String timestampFieldName = simpleGroupDeserializer.getTimestampFieldName();
+            List<Type> requestedFields = fileSchema.getFields().stream()
+                    .filter(type -> projectedFields.contains(type.getName()) || type.getName().equals(timestampFieldName))
+                    .collect(Collectors.toList());
+            return requestedFields.isEmpty() ? fileSchema : new MessageType(fileSchema.getName(), requestedFields);
+        }
     }
 }
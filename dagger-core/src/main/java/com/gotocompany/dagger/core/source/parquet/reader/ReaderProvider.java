@@ -8,4 +8,17 @@ import java.io.Serializable;
 @FunctionalInterface
 public interface ReaderProvider extends Serializable {
     FileRecordFormat.Reader<Row> getReader(String filePath);
+
+    /**
+     * Gets a reader of the row groups of the file which lie in a split.
+     * Providers which can not read parts of a file return a reader of the whole file.
+     *
+     * @param filePath    the file path
+     * @param splitOffset the offset of the split in the file
+     * @param splitLength the length of the split
+     * @return the reader
+     */
+    default FileRecordFormat.Reader<Row> getReader(String filePath, long splitOffset, long splitLength) {
+        return getReader(filePath);
+    }
 }
@@ -0,0 +1,125 @@
+package com.gotocompany.dagger.core.source.parquet.reader;
+
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The reader of the row groups of a Parquet file which fetches the next row group in the background.
+ * While the rows of the current row group are deserialized, the column chunks of the next one are read from the
+ * file system on a separate thread, so the reader does not stall on the storage latency at every row group boundary.
+ * At most one row group is prefetched, and only if the largest row group of the file fits in the memory budget.
+ * Otherwise, or with a budget of zero, row groups are read synchronously.
+ */
+public class RowGroupPrefetcher implements Closeable {
+    private final ParquetFileReader parquetFileReader;
+    private final boolean prefetchEnabled;
+    private ExecutorService prefetchExecutor;
+    private Future<PageReadStore> prefetchedRowGroup;
+    private static final Logger LOGGER = LoggerFactory.getLogger(RowGroupPrefetcher.class.getName());
+
+    /**
+     * Instantiates a new Row group prefetcher.
+     *
+     * @param parquetFileReader the parquet file reader
+     * @param memoryBudgetBytes the bytes a prefetched row group may take
+     */
+    public RowGroupPrefetcher(ParquetFileReader parquetFileReader, long memoryBudgetBytes) {
+        this(parquetFileReader, memoryBudgetBytes, null);
+    }
+
+    /**
+     * Instantiates a new Row group prefetcher.
+     *
+     * @param parquetFileReader the parquet file reader
+     * @param memoryBudgetBytes the bytes a prefetched row group may take
+     * @param prefetchExecutor  the executor reading the row groups ahead, created on the first prefetch if null
+     */
+    public RowGroupPrefetcher(ParquetFileReader parquetFileReader, long memoryBudgetBytes, ExecutorService prefetchExecutor) {
+        this.parquetFileReader = parquetFileReader;
+        this.prefetchExecutor = prefetchExecutor;
+        long largestRowGroupBytes = parquetFileReader.getRowGroups().stream()
+                .mapToLong(BlockMetaData::getCompressedSize)
+                .max()
+                .orElse(0L);
+        this.prefetchEnabled = memoryBudgetBytes > 0 && largestRowGroupBytes <= memoryBudgetBytes;
+    }
+
+    /**
+     * Check if row groups are read ahead.
+     *
+     * @return the boolean
+     */
+    public boolean isPrefetchEnabled() {
+        return prefetchEnabled;
+    }
+
+    /**
+     * Gets the next row group of the file and starts prefetching the one after it.
+     *
+     * @return the pages of the row group, or null if there are no more row groups
+     * @throws IOException the io exception
+     */
+    public PageReadStore next() throws IOException {
+        PageReadStore rowGroup = prefetchedRowGroup == null ? parquetFileReader.readNextFilteredRowGroup() : awaitPrefetchedRowGroup();
+        prefetchedRowGroup = null;
+        if (rowGroup != null && prefetchEnabled) {
+            prefetchedRowGroup = getPrefetchExecutor().submit(parquetFileReader::readNextFilteredRowGroup);
+        }
+        return rowGroup;
+    }
+
+    private PageReadStore awaitPrefetchedRowGroup() throws IOException {
+        try {
+            return prefetchedRowGroup.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the prefetched row group");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private ExecutorService getPrefetchExecutor() {
+        if (prefetchExecutor == null) {
+            prefetchExecutor = Executors.newSingleThreadExecutor();
+        }
+        return prefetchExecutor;
+    }
+
+    /**
+     * Waits for the row group being prefetched, so the file is not closed while it is read, and stops the prefetching.
+     */
+    @Override
+    public void close() {
+        if (prefetchedRowGroup != null) {
+            try {
+                prefetchedRowGroup.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                LOGGER.warn("Discarding the prefetched row group which could not be read", e.getCause());
+            }
+            prefetchedRowGroup = null;
+        }
+        if (prefetchExecutor != null) {
+            prefetchExecutor.shutdownNow();
+        }
+    }
+}
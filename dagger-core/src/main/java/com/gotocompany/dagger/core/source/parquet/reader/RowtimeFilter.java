@@ -0,0 +1,83 @@
+package com.gotocompany.dagger.core.source.parquet.reader;
+
+import com.gotocompany.dagger.core.source.config.models.TimeRange;
+import com.gotocompany.dagger.core.source.config.models.TimeRangePool;
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Type;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * The filter of Parquet row groups and pages on their event timestamp.
+ * The time ranges select files by their partition path, so a selected file holds rows up to one partition after
+ * the end of a range. The end of every range is widened by the path granularity and no row of a file is ever dropped,
+ * only the row groups and pages whose statistics lie entirely outside the widened ranges are not read.
+ */
+public class RowtimeFilter implements Serializable {
+    private static final String SECONDS_FIELD_NAME = "seconds";
+    private final TimeRangePool timeRangePool;
+    private final Duration pathGranularity;
+
+    /**
+     * Instantiates a new Rowtime filter.
+     *
+     * @param timeRangePool   the time ranges files are selected with
+     * @param pathGranularity the time span of the rows of a file partition
+     */
+    public RowtimeFilter(TimeRangePool timeRangePool, Duration pathGranularity) {
+        this.timeRangePool = timeRangePool;
+        this.pathGranularity = pathGranularity;
+    }
+
+    /**
+     * Gets the predicate on the timestamp column of the file.
+     * Timestamps stored as int64 milliseconds and as groups of seconds and nanos are supported.
+     *
+     * @param fileSchema         the file schema
+     * @param timestampFieldName the timestamp field name
+     * @return the filter predicate, or null if the timestamp column can not be filtered
+     */
+    public FilterPredicate toPredicate(MessageType fileSchema, String timestampFieldName) {
+        if (timestampFieldName == null || !fileSchema.containsField(timestampFieldName) || timeRangePool.getTimeRanges().isEmpty()) {
+            return null;
+        }
+        Type timestampType = fileSchema.getType(timestampFieldName);
+        if (timestampType.isRepetition(Type.Repetition.REPEATED)) {
+            return null;
+        }
+        if (timestampType.isPrimitive()) {
+            if (timestampType.asPrimitiveType().getPrimitiveTypeName() != PrimitiveTypeName.INT64) {
+                return null;
+            }
+            return toPredicate(FilterApi.longColumn(timestampFieldName), false);
+        }
+        GroupType timestampGroupType = timestampType.asGroupType();
+        if (!timestampGroupType.containsField(SECONDS_FIELD_NAME)) {
+            return null;
+        }
+        Type secondsType = timestampGroupType.getType(SECONDS_FIELD_NAME);
+        if (!secondsType.isPrimitive() || secondsType.asPrimitiveType().getPrimitiveTypeName() != PrimitiveTypeName.INT64) {
+            return null;
+        }
+        return toPredicate(FilterApi.longColumn(timestampFieldName + "." + SECONDS_FIELD_NAME), true);
+    }
+
+    private FilterPredicate toPredicate(Operators.LongColumn column, boolean isSeconds) {
+        FilterPredicate predicate = null;
+        for (TimeRange timeRange : timeRangePool.getTimeRanges()) {
+            Instant endInstant = timeRange.getEndInstant().plus(pathGranularity);
+            long start = isSeconds ? timeRange.getStartInstant().getEpochSecond() : timeRange.getStartInstant().toEpochMilli();
+            long end = isSeconds ? endInstant.getEpochSecond() : endInstant.toEpochMilli();
+            FilterPredicate rangePredicate = FilterApi.and(FilterApi.gtEq(column, start), FilterApi.ltEq(column, end));
+            predicate = predicate == null ? rangePredicate : FilterApi.or(predicate, rangePredicate);
+        }
+        return predicate;
+    }
+}
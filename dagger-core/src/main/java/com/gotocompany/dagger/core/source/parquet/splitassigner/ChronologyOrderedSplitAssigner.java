@@ -99,9 +99,15 @@ public class ChronologyOrderedSplitAssigner implements FileSplitAssigner {
                 return -1;
             } else if (instant1.isAfter(instant2)) {
                 return 1;
-            } else {
-                return 0;
             }
+            /* splits of the same hour are assigned file by file, and the row group splits of a file in the order of their offsets */
+            FileSourceSplit split1 = instantEnrichedSplit1.getFileSourceSplit();
+            FileSourceSplit split2 = instantEnrichedSplit2.getFileSourceSplit();
+            int pathComparison = split1.path().toString().compareTo(split2.path().toString());
+            if (pathComparison != 0) {
+                return pathComparison;
+            }
+            return Long.compare(split1.offset(), split2.offset());
         };
     }
 
@@ -28,6 +28,25 @@ public class Constants {
     public static final String PROCESSOR_LONGBOW_ASYNC_TIMEOUT_KEY = "PROCESSOR_LONGBOW_ASYNC_TIMEOUT";
     public static final Integer PROCESSOR_LONGBOW_THREAD_CAPACITY_DEFAULT = 30;
     public static final String PROCESSOR_LONGBOW_THREAD_CAPACITY_KEY = "PROCESSOR_LONGBOW_THREAD_CAPACITY";
+    public static final String PROCESSOR_LONGBOW_OUTPUT_ORDERING_KEY = "PROCESSOR_LONGBOW_OUTPUT_ORDERING";
+    public static final String PROCESSOR_LONGBOW_OUTPUT_ORDERING_DEFAULT = "ordered";
+    public static final String PROCESSOR_LONGBOW_STORE_TYPE_KEY = "PROCESSOR_LONGBOW_STORE_TYPE";
+    public static final String PROCESSOR_LONGBOW_STORE_TYPE_DEFAULT = "BIGTABLE";
+    public static final String PROCESSOR_LONGBOW_LOCAL_MAX_ROWS_KEY = "PROCESSOR_LONGBOW_LOCAL_MAX_ROWS";
+    public static final Long PROCESSOR_LONGBOW_LOCAL_MAX_ROWS_DEFAULT = 1000000L;
+    public static final String PROCESSOR_LONGBOW_WRITE_BATCH_SIZE_KEY = "PROCESSOR_LONGBOW_WRITE_BATCH_SIZE";
+    public static final Integer PROCESSOR_LONGBOW_WRITE_BATCH_SIZE_DEFAULT = 1;
+    public static final String PROCESSOR_LONGBOW_WRITE_BATCH_BYTES_KEY = "PROCESSOR_LONGBOW_WRITE_BATCH_BYTES";
+    public static final Long PROCESSOR_LONGBOW_WRITE_BATCH_BYTES_DEFAULT = 5242880L;
+    public static final String PROCESSOR_LONGBOW_WRITE_BATCH_LINGER_MS_KEY = "PROCESSOR_LONGBOW_WRITE_BATCH_LINGER_MS";
+    public static final Long PROCESSOR_LONGBOW_WRITE_BATCH_LINGER_MS_DEFAULT = 10L;
+    public static final String PROCESSOR_LONGBOW_READ_CACHE_MAX_KEYS_KEY = "PROCESSOR_LONGBOW_READ_CACHE_MAX_KEYS";
+    public static final Integer PROCESSOR_LONGBOW_READ_CACHE_MAX_KEYS_DEFAULT = 0;
+    public static final String PROCESSOR_LONGBOW_MAX_ROWS_KEY = "PROCESSOR_LONGBOW_MAX_ROWS";
+    public static final Integer PROCESSOR_LONGBOW_MAX_ROWS_DEFAULT = 0;
+    public static final String PROCESSOR_LONGBOW_STREAMING_SCAN_ENABLE_KEY = "PROCESSOR_LONGBOW_STREAMING_SCAN_ENABLE";
+    public static final boolean PROCESSOR_LONGBOW_STREAMING_SCAN_ENABLE_DEFAULT = false;
+    public static final String OUTPUT_ORDERING_UNORDERED = "unordered";
     public static final String DAGGER_NAME_KEY = "FLINK_JOB_ID";
     public static final String DAGGER_NAME_DEFAULT = "SQL Flink Job";
     public static final String EVENT_TIMESTAMP = "event_timestamp";
@@ -36,6 +55,10 @@ public class Constants {
     public static final String DAY_UNIT = "d";
     public static final String FLINK_SQL_QUERY_KEY = "FLINK_SQL_QUERY";
     public static final String FLINK_SQL_QUERY_DEFAULT = "";
+    public static final String FLINK_SQL_PROJECTION_PUSHDOWN_ENABLE_KEY = "FLINK_SQL_PROJECTION_PUSHDOWN_ENABLE";
+    public static final boolean FLINK_SQL_PROJECTION_PUSHDOWN_ENABLE_DEFAULT = false;
+    public static final String FLINK_BYTES_SERIALIZER_ENABLE_KEY = "FLINK_BYTES_SERIALIZER_ENABLE";
+    public static final boolean FLINK_BYTES_SERIALIZER_ENABLE_DEFAULT = false;
 
     public static final int FLINK_PARALLELISM_DEFAULT = 1;
     public static final String FLINK_PARALLELISM_KEY = "FLINK_PARALLELISM";
@@ -169,6 +192,21 @@ public class Constants {
 
     public static final String SOURCE_KAFKA_CONSUME_LARGE_MESSAGE_ENABLE_KEY = "SOURCE_KAFKA_CONSUME_LARGE_MESSAGE_ENABLE";
     public static final boolean SOURCE_KAFKA_CONSUME_LARGE_MESSAGE_ENABLE_DEFAULT = false;
+    public static final String SOURCE_KAFKA_RAW_MESSAGE_ENABLE_KEY = "SOURCE_KAFKA_RAW_MESSAGE_ENABLE";
+    public static final boolean SOURCE_KAFKA_RAW_MESSAGE_ENABLE_DEFAULT = false;
+    public static final String SOURCE_KAFKA_DESERIALIZATION_THREADS_KEY = "SOURCE_KAFKA_DESERIALIZATION_THREADS";
+    public static final int SOURCE_KAFKA_DESERIALIZATION_THREADS_DEFAULT = 0;
+    public static final String SOURCE_KAFKA_DESERIALIZATION_QUEUE_CAPACITY_KEY = "SOURCE_KAFKA_DESERIALIZATION_QUEUE_CAPACITY";
+    public static final int SOURCE_KAFKA_DESERIALIZATION_QUEUE_CAPACITY_DEFAULT = 1000;
+    public static final long SOURCE_KAFKA_DESERIALIZATION_TIMEOUT_MS = 60000L;
+    public static final String SOURCE_PARQUET_COLUMNAR_READ_ENABLE_KEY = "SOURCE_PARQUET_COLUMNAR_READ_ENABLE";
+    public static final boolean SOURCE_PARQUET_COLUMNAR_READ_ENABLE_DEFAULT = false;
+    public static final String SOURCE_PARQUET_FILTER_PUSHDOWN_ENABLE_KEY = "SOURCE_PARQUET_FILTER_PUSHDOWN_ENABLE";
+    public static final boolean SOURCE_PARQUET_FILTER_PUSHDOWN_ENABLE_DEFAULT = false;
+    public static final String SOURCE_PARQUET_ROW_GROUP_SPLIT_ENABLE_KEY = "SOURCE_PARQUET_ROW_GROUP_SPLIT_ENABLE";
+    public static final boolean SOURCE_PARQUET_ROW_GROUP_SPLIT_ENABLE_DEFAULT = false;
+    public static final String SOURCE_PARQUET_PREFETCH_MEMORY_BUDGET_BYTES_KEY = "SOURCE_PARQUET_PREFETCH_MEMORY_BUDGET_BYTES";
+    public static final long SOURCE_PARQUET_PREFETCH_MEMORY_BUDGET_BYTES_DEFAULT = 0L;
     public static final String SOURCE_KAFKA_MAX_PARTITION_FETCH_BYTES_KEY = "max.partition.fetch.bytes";
     public static final String SOURCE_KAFKA_MAX_PARTITION_FETCH_BYTES_DEFAULT = "5242880";
 
@@ -0,0 +1,89 @@
+package com.gotocompany.dagger.core.deserializer;
+
+import com.gotocompany.dagger.common.configuration.Configuration;
+import com.gotocompany.dagger.common.core.StencilClientOrchestrator;
+import com.gotocompany.dagger.consumer.TestBookingLogMessage;
+import com.gotocompany.dagger.core.utils.Constants;
+import com.gotocompany.stencil.client.StencilClient;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class QueryProjectionTest {
+    private static final String PROTO_CLASS_NAME = "com.tests.TestMessage";
+
+    @Mock
+    private Configuration configuration;
+
+    @Mock
+    private StencilClientOrchestrator stencilClientOrchestrator;
+
+    @Mock
+    private StencilClient stencilClient;
+
+    @Before
+    public void setUp() {
+        initMocks(this);
+        when(stencilClientOrchestrator.getStencilClient()).thenReturn(stencilClient);
+        when(stencilClient.get(PROTO_CLASS_NAME)).thenReturn(TestBookingLogMessage.getDescriptor());
+        when(configuration.getBoolean(Constants.FLINK_SQL_PROJECTION_PUSHDOWN_ENABLE_KEY, Constants.FLINK_SQL_PROJECTION_PUSHDOWN_ENABLE_DEFAULT)).thenReturn(true);
+        when(configuration.getString(Constants.PROCESSOR_PREPROCESSOR_CONFIG_KEY, "")).thenReturn("");
+    }
+
+    private void setQuery(String sqlQuery) {
+        when(configuration.getString(Constants.FLINK_SQL_QUERY_KEY, Constants.FLINK_SQL_QUERY_DEFAULT)).thenReturn(sqlQuery);
+    }
+
+    @Test
+    public void shouldNotProjectIfDisabled() {
+        when(configuration.getBoolean(Constants.FLINK_SQL_PROJECTION_PUSHDOWN_ENABLE_KEY, Constants.FLINK_SQL_PROJECTION_PUSHDOWN_ENABLE_DEFAULT)).thenReturn(false);
+        setQuery("SELECT order_number FROM data_stream");
+
+        assertNull(QueryProjection.getProjectedFields(configuration, stencilClientOrchestrator, PROTO_CLASS_NAME, 5));
+    }
+
+    @Test
+    public void shouldProjectFieldsReferencedInQueryAndEventTimestamp() {
+        setQuery("SELECT Order_Number, driver_pickup_location.name AS pickup FROM data_stream WHERE customer_id = 'abc'");
+
+        Set<String> projectedFields = QueryProjection.getProjectedFields(configuration, stencilClientOrchestrator, PROTO_CLASS_NAME, 5);
+
+        assertEquals(new HashSet<>(Arrays.asList("order_number", "driver_pickup_location", "customer_id", "event_timestamp")), projectedFields);
+    }
+
+    @Test
+    public void shouldNotProjectIfQuerySelectsAllColumns() {
+        setQuery("SELECT * FROM data_stream");
+
+        assertNull(QueryProjection.getProjectedFields(configuration, stencilClientOrchestrator, PROTO_CLASS_NAME, 5));
+    }
+
+    @Test
+    public void shouldProjectIfQueryOnlyCountsRows() {
+        setQuery("SELECT COUNT( * ) AS total, service_type FROM data_stream GROUP BY service_type");
+
+        Set<String> projectedFields = QueryProjection.getProjectedFields(configuration, stencilClientOrchestrator, PROTO_CLASS_NAME, 5);
+
+        assertEquals(new HashSet<>(Arrays.asList("service_type", "event_timestamp")), projectedFields);
+    }
+
+    @Test
+    public void shouldProjectFieldsReferencedByPreProcessors() {
+        setQuery("SELECT order_number FROM data_stream");
+        when(configuration.getBoolean(Constants.PROCESSOR_PREPROCESSOR_ENABLE_KEY, Constants.PROCESSOR_PREPROCESSOR_ENABLE_DEFAULT)).thenReturn(true);
+        when(configuration.getString(Constants.PROCESSOR_PREPROCESSOR_CONFIG_KEY, "")).thenReturn("{\"table_transformers\": [{\"table_name\": \"data_stream\", \"transformers\": [{\"transformation_arguments\": {\"sqlQuery\": \"SELECT driver_id FROM data_stream\"}}]}]}");
+
+        Set<String> projectedFields = QueryProjection.getProjectedFields(configuration, stencilClientOrchestrator, PROTO_CLASS_NAME, 5);
+
+        assertTrue(projectedFields.contains("order_number"));
+        assertTrue(projectedFields.contains("driver_id"));
+    }
+}
@@ -1,5 +1,6 @@
 package com.gotocompany.dagger.core.processors.common;
 
+import com.jayway.jsonpath.JsonPath;
 import org.junit.Test;
 
 import java.util.HashMap;
@@ -15,6 +16,14 @@ public class OutputMappingTest {
         assertEquals("path", path);
     }
 
+    @Test
+    public void shouldReturnCompiledJsonPath() {
+        OutputMapping outputMapping = new OutputMapping("$.surge");
+        JsonPath jsonPath = outputMapping.getJsonPath();
+        assertEquals("$['surge']", jsonPath.getPath());
+        assertSame(jsonPath, outputMapping.getJsonPath());
+    }
+
     @Test
     public void shouldValidate() {
         OutputMapping outputMapping = new OutputMapping("path");
@@ -0,0 +1,162 @@
+package com.gotocompany.dagger.core.processors.external;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.time.Clock;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    @Mock
+    private Clock clock;
+
+    @Mock
+    private AdaptiveConcurrencyLimiter.LimitedCall firstCall;
+
+    @Mock
+    private AdaptiveConcurrencyLimiter.LimitedCall secondCall;
+
+    @Before
+    public void setUp() {
+        initMocks(this);
+        when(clock.millis()).thenReturn(1000L);
+    }
+
+    @Test
+    public void shouldStartAtInitialLimit() {
+        AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(new ConcurrencyLimitConfig("1", "1000", "2", "0"), clock);
+
+        assertEquals(20, concurrencyLimiter.getLimit());
+    }
+
+    @Test
+    public void shouldStartAtConfiguredInitialLimitWithinMaxLimit() {
+        assertEquals(10, new AdaptiveConcurrencyLimiter(new ConcurrencyLimitConfig("1", "100", "10", "2", "0"), clock).getLimit());
+        assertEquals(5, new AdaptiveConcurrencyLimiter(new ConcurrencyLimitConfig("1", "5", "10", "2", "0"), clock).getLimit());
+    }
+
+    @Test
+    public void shouldDispatchCallRightAwayWhilePermitIsAvailable() {
+        AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(new ConcurrencyLimitConfig("1", "20", "2", "0"), clock);
+
+        concurrencyLimiter.submit(firstCall);
+
+        verify(firstCall, times(1)).dispatch(0L);
+        assertEquals(0, concurrencyLimiter.getDeferredCalls());
+    }
+
+    @Test
+    public void shouldDeferCallWithoutBlockingAndDispatchItWhenPermitIsReleased() {
+        AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(new ConcurrencyLimitConfig("1", "1", "2", "1000"), clock);
+        concurrencyLimiter.submit(firstCall);
+
+        concurrencyLimiter.submit(secondCall);
+
+        verify(secondCall, never()).dispatch(anyLong());
+        assertEquals(1, concurrencyLimiter.getDeferredCalls());
+
+        when(clock.millis()).thenReturn(1300L);
+        concurrencyLimiter.releaseIgnored();
+
+        verify(secondCall, times(1)).dispatch(300L);
+        verify(secondCall, never()).shed(anyLong());
+        assertEquals(0, concurrencyLimiter.getDeferredCalls());
+    }
+
+    @Test
+    public void shouldShedDeferredCallAfterMaxQueueingDelayInsteadOfDispatchingIt() {
+        AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(new ConcurrencyLimitConfig("1", "1", "2", "50"), clock);
+        concurrencyLimiter.submit(firstCall);
+        concurrencyLimiter.submit(secondCall);
+
+        when(clock.millis()).thenReturn(1100L);
+        concurrencyLimiter.releaseIgnored();
+
+        verify(secondCall, times(1)).shed(100L);
+        verify(secondCall, never()).dispatch(anyLong());
+        assertEquals(0, concurrencyLimiter.getDeferredCalls());
+    }
+
+    @Test
+    public void shouldNotDispatchCancelledCall() {
+        AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(new ConcurrencyLimitConfig("1", "1", "2", "1000"), clock);
+        concurrencyLimiter.submit(firstCall);
+        concurrencyLimiter.submit(secondCall);
+
+        concurrencyLimiter.cancel(secondCall);
+        concurrencyLimiter.releaseIgnored();
+
+        verify(secondCall, never()).dispatch(anyLong());
+        verify(secondCall, never()).shed(anyLong());
+    }
+
+    @Test
+    public void shouldDecreaseLimitWhenLatencyRisesAboveTolerance() {
+        AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(new ConcurrencyLimitConfig("1", "20", "2", "0"), clock);
+        concurrencyLimiter.submit(firstCall);
+        concurrencyLimiter.release(10);
+        concurrencyLimiter.submit(firstCall);
+
+        concurrencyLimiter.release(50);
+
+        assertEquals(18, concurrencyLimiter.getLimit());
+    }
+
+    @Test
+    public void shouldDecreaseLimitOnlyOnceForCallsInFlightTogether() {
+        AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(new ConcurrencyLimitConfig("1", "20", "2", "0"), clock);
+        for (int index = 0; index < 10; index++) {
+            concurrencyLimiter.submit(firstCall);
+        }
+
+        when(clock.millis()).thenReturn(1100L);
+        for (int index = 0; index < 10; index++) {
+            concurrencyLimiter.releaseDropped(100);
+        }
+
+        assertEquals(18, concurrencyLimiter.getLimit());
+    }
+
+    @Test
+    public void shouldIncreaseLimitWhileLatencyIsWithinTolerance() {
+        AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(new ConcurrencyLimitConfig("1", "20", "2", "0"), clock);
+        concurrencyLimiter.submit(firstCall);
+        concurrencyLimiter.releaseDropped(0);
+        assertEquals(18, concurrencyLimiter.getLimit());
+
+        for (int index = 0; index < 60; index++) {
+            concurrencyLimiter.submit(firstCall);
+            concurrencyLimiter.release(10);
+        }
+
+        assertEquals(20, concurrencyLimiter.getLimit());
+    }
+
+    @Test
+    public void shouldNotDecreaseLimitBelowMinLimit() {
+        AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(new ConcurrencyLimitConfig("5", "10", "2", "0"), clock);
+
+        for (int index = 0; index < 20; index++) {
+            concurrencyLimiter.submit(firstCall);
+            concurrencyLimiter.releaseDropped(0);
+        }
+
+        assertEquals(5, concurrencyLimiter.getLimit());
+    }
+
+    @Test
+    public void shouldNotChangeLimitForIgnoredCalls() {
+        AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(new ConcurrencyLimitConfig("1", "20", "2", "0"), clock);
+        concurrencyLimiter.submit(firstCall);
+
+        concurrencyLimiter.releaseIgnored();
+
+        assertEquals(20, concurrencyLimiter.getLimit());
+    }
+}
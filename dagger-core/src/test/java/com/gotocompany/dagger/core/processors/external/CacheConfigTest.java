@@ -0,0 +1,26 @@
+package com.gotocompany.dagger.core.processors.external;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CacheConfigTest {
+
+    @Test
+    public void shouldReturnConfiguredValues() {
+        CacheConfig cacheConfig = new CacheConfig("500", "30000", true);
+
+        assertEquals(Integer.valueOf(500), cacheConfig.getMaxSize());
+        assertEquals(Long.valueOf(30000L), cacheConfig.getTtlMs());
+        assertTrue(cacheConfig.isCacheEmptyResults());
+    }
+
+    @Test
+    public void shouldReturnDefaultValuesIfNotConfigured() {
+        CacheConfig cacheConfig = new CacheConfig(null, "", false);
+
+        assertEquals(Integer.valueOf(10000), cacheConfig.getMaxSize());
+        assertEquals(Long.valueOf(60000L), cacheConfig.getTtlMs());
+        assertFalse(cacheConfig.isCacheEmptyResults());
+    }
+}
@@ -0,0 +1,186 @@
+package com.gotocompany.dagger.core.processors.external;
+
+import com.gotocompany.dagger.common.metrics.managers.MeterStatsManager;
+import com.gotocompany.dagger.core.metrics.aspects.ExternalSourceAspects;
+import com.gotocompany.dagger.core.processors.common.RowManager;
+import org.apache.flink.streaming.api.functions.async.ResultFuture;
+import org.apache.flink.types.Row;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.time.Clock;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class ExternalSourceCacheTest {
+
+    @Mock
+    private MeterStatsManager meterStatsManager;
+
+    @Mock
+    private ResultFuture<Row> firstResultFuture;
+
+    @Mock
+    private ResultFuture<Row> secondResultFuture;
+
+    @Mock
+    private Clock clock;
+
+    private ExternalSourceCache externalSourceCache;
+
+    @Before
+    public void setUp() {
+        initMocks(this);
+        when(clock.millis()).thenReturn(1000L);
+        externalSourceCache = new ExternalSourceCache(new CacheConfig("2", "100", false), new int[]{0}, meterStatsManager, clock);
+    }
+
+    private RowManager createRowManager(String input) {
+        return new RowManager(Row.of(input), 1);
+    }
+
+    private void completeWithOutput(ResultFuture<Row> requestResultFuture, RowManager rowManager, Object output) {
+        rowManager.setInOutput(0, output);
+        requestResultFuture.complete(Collections.singleton(rowManager.getAll()));
+    }
+
+    @Test
+    public void shouldReturnResultFutureForExternalCallOnMiss() {
+        RowManager rowManager = createRowManager("customer_1");
+
+        ResultFuture<Row> requestResultFuture = externalSourceCache.lookup("key", rowManager, firstResultFuture);
+
+        assertNotNull(requestResultFuture);
+        verify(meterStatsManager, times(1)).markEvent(ExternalSourceAspects.CACHE_MISS);
+        verify(firstResultFuture, never()).complete(any());
+    }
+
+    @Test
+    public void shouldCompleteFromCacheOnHit() {
+        RowManager firstRowManager = createRowManager("customer_1");
+        completeWithOutput(externalSourceCache.lookup("key", firstRowManager, firstResultFuture), firstRowManager, "profile");
+        RowManager secondRowManager = createRowManager("customer_1");
+
+        ResultFuture<Row> requestResultFuture = externalSourceCache.lookup("key", secondRowManager, secondResultFuture);
+
+        assertNull(requestResultFuture);
+        verify(meterStatsManager, times(1)).markEvent(ExternalSourceAspects.CACHE_HIT);
+        verify(secondResultFuture, times(1)).complete(Collections.singleton(secondRowManager.getAll()));
+        assertEquals("profile", secondRowManager.getOutputData().getField(0));
+    }
+
+    @Test
+    public void shouldCompleteConcurrentIdenticalMissesWithSingleExternalCall() {
+        RowManager firstRowManager = createRowManager("order_1");
+        RowManager secondRowManager = createRowManager("order_2");
+        ResultFuture<Row> requestResultFuture = externalSourceCache.lookup("key", firstRowManager, firstResultFuture);
+
+        assertNull(externalSourceCache.lookup("key", secondRowManager, secondResultFuture));
+        completeWithOutput(requestResultFuture, firstRowManager, "profile");
+
+        verify(firstResultFuture, times(1)).complete(Collections.singleton(firstRowManager.getAll()));
+        verify(secondResultFuture, times(1)).complete(Collections.singleton(secondRowManager.getAll()));
+        assertEquals("profile", secondRowManager.getOutputData().getField(0));
+        assertEquals("order_2", secondRowManager.getInputData().getField(0));
+    }
+
+    @Test
+    public void shouldFailWaitingRowsWhenExternalCallFails() {
+        ResultFuture<Row> requestResultFuture = externalSourceCache.lookup("key", createRowManager("order_1"), firstResultFuture);
+        externalSourceCache.lookup("key", createRowManager("order_2"), secondResultFuture);
+        Exception exception = new RuntimeException("failed");
+
+        requestResultFuture.completeExceptionally(exception);
+
+        verify(firstResultFuture, times(1)).completeExceptionally(exception);
+        verify(secondResultFuture, times(1)).completeExceptionally(exception);
+        assertNotNull(externalSourceCache.lookup("key", createRowManager("order_3"), firstResultFuture));
+    }
+
+    @Test
+    public void shouldNotCacheEmptyResultsByDefault() {
+        RowManager rowManager = createRowManager("customer_1");
+        completeWithOutput(externalSourceCache.lookup("key", rowManager, firstResultFuture), rowManager, null);
+
+        assertNotNull(externalSourceCache.lookup("key", createRowManager("customer_1"), secondResultFuture));
+    }
+
+    @Test
+    public void shouldCacheEmptyResultsIfEnabled() {
+        externalSourceCache = new ExternalSourceCache(new CacheConfig("2", "100", true), new int[]{0}, meterStatsManager, clock);
+        RowManager rowManager = createRowManager("customer_1");
+        completeWithOutput(externalSourceCache.lookup("key", rowManager, firstResultFuture), rowManager, null);
+
+        assertNull(externalSourceCache.lookup("key", createRowManager("customer_1"), secondResultFuture));
+        verify(meterStatsManager, times(1)).markEvent(ExternalSourceAspects.CACHE_HIT);
+    }
+
+    @Test
+    public void shouldNotCacheFailedLookupsEvenIfEmptyResultsAreCached() {
+        externalSourceCache = new ExternalSourceCache(new CacheConfig("2", "100", true), new int[]{0}, meterStatsManager, clock);
+        RowManager rowManager = createRowManager("customer_1");
+        ResultFuture<Row> requestResultFuture = externalSourceCache.lookup("key", rowManager, firstResultFuture);
+
+        ExternalSourceCache.markFailed(requestResultFuture);
+        requestResultFuture.complete(Collections.singleton(rowManager.getAll()));
+
+        verify(firstResultFuture, times(1)).complete(Collections.singleton(rowManager.getAll()));
+        assertNotNull(externalSourceCache.lookup("key", createRowManager("customer_1"), secondResultFuture));
+    }
+
+    @Test
+    public void shouldExpireEntriesAfterTtl() {
+        RowManager rowManager = createRowManager("customer_1");
+        completeWithOutput(externalSourceCache.lookup("key", rowManager, firstResultFuture), rowManager, "profile");
+        when(clock.millis()).thenReturn(1101L);
+
+        assertNotNull(externalSourceCache.lookup("key", createRowManager("customer_1"), secondResultFuture));
+        verify(meterStatsManager, times(1)).markEvent(ExternalSourceAspects.CACHE_EVICTION);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedEntryWhenFull() {
+        for (String key : new String[]{"key_1", "key_2", "key_3"}) {
+            RowManager rowManager = createRowManager(key);
+            completeWithOutput(externalSourceCache.lookup(key, rowManager, firstResultFuture), rowManager, "profile");
+        }
+
+        verify(meterStatsManager, times(1)).markEvent(ExternalSourceAspects.CACHE_EVICTION);
+        assertNotNull(externalSourceCache.lookup("key_1", createRowManager("key_1"), secondResultFuture));
+        assertNull(externalSourceCache.lookup("key_3", createRowManager("key_3"), secondResultFuture));
+    }
+
+    @Test
+    public void shouldOnlyReplayTheOutputColumnsOfTheSourceWhenChainedWithAnotherCachedSource() {
+        ExternalSourceCache firstSourceCache = new ExternalSourceCache(new CacheConfig("2", "100", false), new int[]{0}, meterStatsManager, clock);
+        ExternalSourceCache secondSourceCache = new ExternalSourceCache(new CacheConfig("2", "100", false), new int[]{1}, meterStatsManager, clock);
+        RowManager firstRowManager = new RowManager(Row.of("order_1"), 2);
+        firstRowManager.setInOutput(0, "customer_1");
+        firstSourceCache.lookup("customer_key_1", firstRowManager, firstResultFuture).complete(Collections.singleton(firstRowManager.getAll()));
+        firstRowManager.setInOutput(1, "driver_1");
+        secondSourceCache.lookup("driver_key_1", firstRowManager, firstResultFuture).complete(Collections.singleton(firstRowManager.getAll()));
+        RowManager secondRowManager = new RowManager(Row.of("order_2"), 2);
+        secondRowManager.setInOutput(0, "customer_2");
+        firstSourceCache.lookup("customer_key_2", secondRowManager, secondResultFuture).complete(Collections.singleton(secondRowManager.getAll()));
+
+        assertNull(secondSourceCache.lookup("driver_key_1", secondRowManager, secondResultFuture));
+
+        assertEquals("customer_2", secondRowManager.getOutputData().getField(0));
+        assertEquals("driver_1", secondRowManager.getOutputData().getField(1));
+    }
+
+    @Test
+    public void shouldNotCacheEmptyResultOfTheSourceWhenAnotherSourceFilledItsColumns() {
+        ExternalSourceCache secondSourceCache = new ExternalSourceCache(new CacheConfig("2", "100", false), new int[]{1}, meterStatsManager, clock);
+        RowManager rowManager = new RowManager(Row.of("order_1"), 2);
+        rowManager.setInOutput(0, "customer_1");
+
+        secondSourceCache.lookup("driver_key_1", rowManager, firstResultFuture).complete(Collections.singleton(rowManager.getAll()));
+
+        assertNotNull(secondSourceCache.lookup("driver_key_1", new RowManager(Row.of("order_2"), 2), secondResultFuture));
+    }
+}
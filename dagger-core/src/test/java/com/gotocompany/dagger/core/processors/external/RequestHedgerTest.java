@@ -0,0 +1,196 @@
+package com.gotocompany.dagger.core.processors.external;
+
+import com.gotocompany.dagger.common.metrics.managers.MeterStatsManager;
+import com.gotocompany.dagger.core.metrics.aspects.ExternalSourceAspects;
+import org.apache.flink.streaming.api.functions.async.ResultFuture;
+import org.apache.flink.types.Row;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class RequestHedgerTest {
+
+    @Mock
+    private MeterStatsManager meterStatsManager;
+
+    @Mock
+    private ScheduledExecutorService hedgeExecutor;
+
+    @Mock
+    private ScheduledFuture scheduledHedge;
+
+    @Mock
+    private ResultFuture<Row> resultFuture;
+
+    private RequestHedger requestHedger;
+    private List<Row> processedInputs;
+    private List<ResultFuture<Row>> attempts;
+
+    @Before
+    public void setUp() {
+        initMocks(this);
+        doReturn(scheduledHedge).when(hedgeExecutor).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        requestHedger = new RequestHedger(new HedgingConfig("95", "5"), meterStatsManager, hedgeExecutor);
+        processedInputs = new ArrayList<>();
+        attempts = new ArrayList<>();
+    }
+
+    private void process(Row input, ResultFuture<Row> attempt) {
+        processedInputs.add(input);
+        attempts.add(attempt);
+    }
+
+    private Row createInput() {
+        return Row.of(Row.of("customer_1"), new Row(1));
+    }
+
+    private void observeLatencies(int count) throws Exception {
+        for (int index = 0; index < count; index++) {
+            requestHedger.invoke(createInput(), mock(ResultFuture.class), this::process);
+            attempts.get(attempts.size() - 1).complete(Collections.emptyList());
+        }
+        processedInputs.clear();
+        attempts.clear();
+        reset(hedgeExecutor);
+        doReturn(scheduledHedge).when(hedgeExecutor).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    private Runnable invokeAndCaptureHedge(Row input) throws Exception {
+        requestHedger.invoke(input, resultFuture, this::process);
+        ArgumentCaptor<Runnable> hedgeCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(hedgeExecutor, times(1)).schedule(hedgeCaptor.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        return hedgeCaptor.getValue();
+    }
+
+    @Test
+    public void shouldNotHedgeUntilEnoughLatencyIsObserved() throws Exception {
+        requestHedger.invoke(createInput(), resultFuture, this::process);
+
+        assertEquals(-1, requestHedger.getHedgeDelayMs());
+        verify(hedgeExecutor, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        assertFalse(RequestHedger.isHedge(attempts.get(0)));
+    }
+
+    @Test
+    public void shouldScheduleHedgeAfterPercentileOfObservedLatency() throws Exception {
+        observeLatencies(100);
+
+        requestHedger.invoke(createInput(), resultFuture, this::process);
+
+        assertEquals(5, requestHedger.getHedgeDelayMs());
+        verify(hedgeExecutor, times(1)).schedule(any(Runnable.class), eq(5L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldNotHedgeRequestsCompletedDuringProcessing() throws Exception {
+        observeLatencies(100);
+
+        requestHedger.invoke(createInput(), resultFuture, (input, attempt) -> attempt.complete(Collections.singleton(input)));
+
+        verify(hedgeExecutor, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        verify(resultFuture, times(1)).complete(any());
+    }
+
+    @Test
+    public void shouldCompleteWithHedgeIfItSucceedsFirst() throws Exception {
+        observeLatencies(100);
+        Row input = createInput();
+        Runnable hedge = invokeAndCaptureHedge(input);
+
+        hedge.run();
+        ResultFuture<Row> hedgeAttempt = attempts.get(1);
+        hedgeAttempt.complete(Collections.singleton(processedInputs.get(1)));
+        attempts.get(0).complete(Collections.singleton(input));
+
+        assertTrue(RequestHedger.isHedge(hedgeAttempt));
+        assertNotSame(input.getField(1), processedInputs.get(1).getField(1));
+        verify(resultFuture, times(1)).complete(Collections.singleton(processedInputs.get(1)));
+        verify(meterStatsManager, times(1)).markEvent(ExternalSourceAspects.HEDGED_REQUESTS);
+        verify(meterStatsManager, times(1)).markEvent(ExternalSourceAspects.HEDGE_WINS);
+    }
+
+    @Test
+    public void shouldNotSendHedgeIfRequestCompletedBeforeDelay() throws Exception {
+        observeLatencies(100);
+        Row input = createInput();
+        Runnable hedge = invokeAndCaptureHedge(input);
+
+        attempts.get(0).complete(Collections.singleton(input));
+        hedge.run();
+
+        assertEquals(1, attempts.size());
+        verify(scheduledHedge, times(1)).cancel(false);
+        verify(meterStatsManager, never()).markEvent(ExternalSourceAspects.HEDGED_REQUESTS);
+    }
+
+    @Test
+    public void shouldNotSendHedgeOrCompleteOnceRequestIsCancelled() throws Exception {
+        observeLatencies(100);
+        Row input = createInput();
+        RequestHedger.HedgedRequest hedgedRequest = requestHedger.invoke(input, resultFuture, this::process);
+        ArgumentCaptor<Runnable> hedgeCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(hedgeExecutor, times(1)).schedule(hedgeCaptor.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+
+        hedgedRequest.cancel();
+        hedgeCaptor.getValue().run();
+        attempts.get(0).complete(Collections.singleton(input));
+
+        assertEquals(1, attempts.size());
+        verify(scheduledHedge, times(1)).cancel(false);
+        verify(meterStatsManager, never()).markEvent(ExternalSourceAspects.HEDGED_REQUESTS);
+        verify(resultFuture, never()).complete(any());
+    }
+
+    @Test
+    public void shouldFailOnlyAfterEveryAttemptFailed() throws Exception {
+        observeLatencies(100);
+        Runnable hedge = invokeAndCaptureHedge(createInput());
+        hedge.run();
+        Exception exception = new RuntimeException("connection reset");
+
+        attempts.get(0).completeExceptionally(exception);
+        verify(resultFuture, never()).completeExceptionally(any());
+        attempts.get(1).completeExceptionally(exception);
+
+        verify(resultFuture, times(1)).completeExceptionally(exception);
+    }
+
+    @Test
+    public void shouldNotCompleteWithFailedAttemptWhichAlsoCompletesWhileHedgeIsPending() throws Exception {
+        observeLatencies(100);
+        Row input = createInput();
+        Runnable hedge = invokeAndCaptureHedge(input);
+        hedge.run();
+        Exception exception = new RuntimeException("fatal response");
+
+        attempts.get(0).completeExceptionally(exception);
+        attempts.get(0).complete(Collections.singleton(input));
+        verify(resultFuture, never()).complete(any());
+        attempts.get(1).completeExceptionally(exception);
+        attempts.get(1).complete(Collections.singleton(processedInputs.get(1)));
+
+        verify(resultFuture, times(1)).completeExceptionally(exception);
+        verify(resultFuture, never()).complete(any());
+    }
+
+    @Test
+    public void shouldShutdownExecutorOnClose() {
+        requestHedger.close();
+
+        verify(hedgeExecutor, times(1)).shutdownNow();
+    }
+}
@@ -0,0 +1,130 @@
+package com.gotocompany.dagger.core.processors.external.es;
+
+import com.gotocompany.dagger.core.exception.HttpFailureException;
+import com.jayway.jsonpath.DocumentContext;
+import mockit.Mock;
+import mockit.MockUp;
+import org.apache.http.HttpEntity;
+import org.apache.http.StatusLine;
+import org.apache.http.util.EntityUtils;
+import org.elasticsearch.client.Response;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class EsBatchResponseHandlerTest {
+
+    @org.mockito.Mock
+    private EsResponseHandler firstResponseHandler;
+
+    @org.mockito.Mock
+    private EsResponseHandler secondResponseHandler;
+
+    @org.mockito.Mock
+    private Response response;
+
+    @org.mockito.Mock
+    private StatusLine statusLine;
+
+    @org.mockito.Mock
+    private HttpEntity httpEntity;
+
+    private EsBatchResponseHandler batchResponseHandler;
+
+    @Before
+    public void setUp() {
+        initMocks(this);
+        when(response.getStatusLine()).thenReturn(statusLine);
+        when(response.getEntity()).thenReturn(httpEntity);
+        when(statusLine.getStatusCode()).thenReturn(200);
+        batchResponseHandler = new EsBatchResponseHandler(Arrays.asList(firstResponseHandler, secondResponseHandler));
+    }
+
+    private MockUp<EntityUtils> mockResponseBody(String responseBody) {
+        return new MockUp<EntityUtils>() {
+            @Mock
+            public String toString(HttpEntity entity) {
+                return responseBody;
+            }
+        };
+    }
+
+    @Test
+    public void shouldFanOutFoundDocumentsToRowsByIndex() {
+        MockUp<EntityUtils> mockUp = mockResponseBody("{\"docs\": [{\"_id\": \"1\", \"found\": true, \"_source\": {\"driver_id\": \"1\"}}, "
+                + "{\"_id\": \"2\", \"found\": true, \"_source\": {\"driver_id\": \"2\"}}]}");
+
+        batchResponseHandler.onSuccess(response);
+
+        ArgumentCaptor<DocumentContext> firstDocumentCaptor = ArgumentCaptor.forClass(DocumentContext.class);
+        verify(firstResponseHandler, times(1)).onDocument(firstDocumentCaptor.capture());
+        assertEquals("1", firstDocumentCaptor.getValue().read("$._source.driver_id"));
+        ArgumentCaptor<DocumentContext> secondDocumentCaptor = ArgumentCaptor.forClass(DocumentContext.class);
+        verify(secondResponseHandler, times(1)).onDocument(secondDocumentCaptor.capture());
+        assertEquals("2", secondDocumentCaptor.getValue().read("$._source.driver_id"));
+        mockUp.tearDown();
+    }
+
+    @Test
+    public void shouldHandleDocumentsNotFoundAsNotFound() {
+        MockUp<EntityUtils> mockUp = mockResponseBody("{\"docs\": [{\"_id\": \"1\", \"found\": false}, "
+                + "{\"_id\": \"2\", \"found\": true, \"_source\": {\"driver_id\": \"2\"}}]}");
+
+        batchResponseHandler.onSuccess(response);
+
+        verify(firstResponseHandler, times(1)).onDocumentNotFound("Document not found at index : 0");
+        verify(secondResponseHandler, times(1)).onDocument(any(DocumentContext.class));
+        mockUp.tearDown();
+    }
+
+    @Test
+    public void shouldFailRowsMissingInMultiGetResponse() {
+        MockUp<EntityUtils> mockUp = mockResponseBody("{\"docs\": [{\"_id\": \"1\", \"found\": true, \"_source\": {}}]}");
+
+        batchResponseHandler.onSuccess(response);
+
+        verify(firstResponseHandler, times(1)).onDocument(any(DocumentContext.class));
+        ArgumentCaptor<HttpFailureException> failureCaptor = ArgumentCaptor.forClass(HttpFailureException.class);
+        verify(secondResponseHandler, times(1)).onFailure(failureCaptor.capture());
+        assertEquals("Multi get response has no document at index : 1", failureCaptor.getValue().getMessage());
+        mockUp.tearDown();
+    }
+
+    @Test
+    public void shouldFailEveryRowIfResponseHasNoDocs() {
+        MockUp<EntityUtils> mockUp = mockResponseBody("{\"error\": \"bad request\"}");
+
+        batchResponseHandler.onSuccess(response);
+
+        verify(firstResponseHandler, times(1)).onFailure(any(HttpFailureException.class));
+        verify(secondResponseHandler, times(1)).onFailure(any(HttpFailureException.class));
+        mockUp.tearDown();
+    }
+
+    @Test
+    public void shouldPassResponseToEveryRowOnNonOkStatusCode() {
+        when(statusLine.getStatusCode()).thenReturn(500);
+
+        batchResponseHandler.onSuccess(response);
+
+        verify(firstResponseHandler, times(1)).onSuccess(response);
+        verify(secondResponseHandler, times(1)).onSuccess(response);
+    }
+
+    @Test
+    public void shouldDelegateFailureToEveryRow() {
+        Exception exception = new RuntimeException("connection refused");
+
+        new EsBatchResponseHandler(Collections.singletonList(firstResponseHandler)).onFailure(exception);
+
+        verify(firstResponseHandler, times(1)).onFailure(exception);
+    }
+}
@@ -0,0 +1,128 @@
+package com.gotocompany.dagger.core.processors.external.es;
+
+import com.gotocompany.dagger.common.metrics.managers.MeterStatsManager;
+import com.gotocompany.dagger.core.exception.InvalidConfigurationException;
+import com.gotocompany.dagger.core.metrics.aspects.ExternalSourceAspects;
+import com.gotocompany.dagger.core.processors.common.OutputMapping;
+import com.gotocompany.dagger.core.processors.external.BatchConfig;
+import org.apache.http.util.EntityUtils;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.RestClient;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class EsRequestBatcherTest {
+
+    @Mock
+    private RestClient esClient;
+
+    @Mock
+    private MeterStatsManager meterStatsManager;
+
+    @Mock
+    private ScheduledExecutorService lingerExecutor;
+
+    @Mock
+    private ScheduledFuture lingerFlush;
+
+    @Mock
+    private EsResponseHandler firstResponseHandler;
+
+    @Mock
+    private EsResponseHandler secondResponseHandler;
+
+    private EsSourceConfig esSourceConfig;
+
+    @Before
+    public void setUp() {
+        initMocks(this);
+        HashMap<String, OutputMapping> outputMapping = new HashMap<>();
+        outputMapping.put("driver_profile", new OutputMapping("$._source"));
+        esSourceConfig = new EsSourceConfigBuilder()
+                .setHost("localhost")
+                .setPort("9200")
+                .setEndpointPattern("/drivers/driver/%s")
+                .setEndpointVariables("driver_id")
+                .setCapacity("30")
+                .setConnectTimeout("5000")
+                .setRetryTimeout("5000")
+                .setSocketTimeout("5000")
+                .setStreamTimeout("5000")
+                .setOutputMapping(outputMapping)
+                .setMetricId("metricId_01")
+                .setBatchConfig(new BatchConfig("2", "10"))
+                .createEsSourceConfig();
+        doReturn(lingerFlush).when(lingerExecutor).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void shouldConvertDocumentEndpointToMultiGetDocument() {
+        Map<String, String> document = EsRequestBatcher.toDocument("/drivers/driver/123");
+
+        assertEquals("drivers", document.get("_index"));
+        assertEquals("driver", document.get("_type"));
+        assertEquals("123", document.get("_id"));
+    }
+
+    @Test
+    public void shouldThrowIfEndpointIsNotASingleDocument() {
+        InvalidConfigurationException exception = assertThrows(InvalidConfigurationException.class,
+                () -> EsRequestBatcher.toDocument("/drivers/_search?q=123"));
+
+        assertEquals("Endpoint '/drivers/_search?q=123' is not of the form /index/type/id required for batching", exception.getMessage());
+    }
+
+    @Test
+    public void shouldScheduleLingerFlushForFirstDocumentOfBatch() {
+        EsRequestBatcher requestBatcher = new EsRequestBatcher(esSourceConfig, esClient, meterStatsManager, lingerExecutor);
+
+        requestBatcher.add(EsRequestBatcher.toDocument("/drivers/driver/123"), firstResponseHandler);
+
+        verify(lingerExecutor, times(1)).schedule(any(Runnable.class), eq(10L), eq(TimeUnit.MILLISECONDS));
+        verify(esClient, never()).performRequestAsync(any(Request.class), any(EsBatchResponseHandler.class));
+    }
+
+    @Test
+    public void shouldSendMultiGetRequestWhenBatchIsFull() throws IOException {
+        EsRequestBatcher requestBatcher = new EsRequestBatcher(esSourceConfig, esClient, meterStatsManager, lingerExecutor);
+
+        requestBatcher.add(EsRequestBatcher.toDocument("/drivers/driver/123"), firstResponseHandler);
+        requestBatcher.add(EsRequestBatcher.toDocument("/drivers/driver/456"), secondResponseHandler);
+
+        ArgumentCaptor<Request> requestCaptor = ArgumentCaptor.forClass(Request.class);
+        verify(esClient, times(1)).performRequestAsync(requestCaptor.capture(), any(EsBatchResponseHandler.class));
+        assertEquals("POST", requestCaptor.getValue().getMethod());
+        assertEquals("/_mget", requestCaptor.getValue().getEndpoint());
+        assertEquals("{\"docs\":[{\"_index\":\"drivers\",\"_type\":\"driver\",\"_id\":\"123\"},{\"_index\":\"drivers\",\"_type\":\"driver\",\"_id\":\"456\"}]}",
+                EntityUtils.toString(requestCaptor.getValue().getEntity()));
+        verify(lingerFlush, times(1)).cancel(false);
+        verify(meterStatsManager, times(1)).markEvent(ExternalSourceAspects.TOTAL_BATCH_REQUESTS);
+        verify(meterStatsManager, times(1)).updateHistogram(ExternalSourceAspects.BATCH_SIZE, 2L);
+    }
+
+    @Test
+    public void shouldFlushAndShutdownExecutorOnClose() {
+        EsRequestBatcher requestBatcher = new EsRequestBatcher(esSourceConfig, esClient, meterStatsManager, lingerExecutor);
+
+        requestBatcher.add(EsRequestBatcher.toDocument("/drivers/driver/123"), firstResponseHandler);
+        requestBatcher.close();
+
+        verify(esClient, times(1)).performRequestAsync(any(Request.class), any(EsBatchResponseHandler.class));
+        verify(lingerExecutor, times(1)).shutdown();
+    }
+}
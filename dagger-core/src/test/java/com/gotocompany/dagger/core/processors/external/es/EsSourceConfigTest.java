@@ -1,6 +1,8 @@
 package com.gotocompany.dagger.core.processors.external.es;
 
+import com.google.gson.Gson;
 import com.gotocompany.dagger.core.processors.common.OutputMapping;
+import com.gotocompany.dagger.core.processors.external.BatchConfig;
 import org.junit.Test;
 
 import java.util.Arrays;
@@ -212,6 +214,16 @@ public class EsSourceConfigTest {
         assertEquals("path", esSourceConfig.getPath("outputField"));
     }
 
+    @Test
+    public void shouldReturnCompiledJsonPathForOutputField() {
+        HashMap<String, OutputMapping> outputMap = new HashMap<>();
+        outputMap.put("outputField", new OutputMapping("$._source"));
+        EsSourceConfig esSourceConfig = new EsSourceConfigBuilder()
+                .setOutputMapping(outputMap)
+                .createEsSourceConfig();
+        assertEquals("$['_source']", esSourceConfig.getJsonPath("outputField").getPath());
+    }
+
     @Test
     public void shouldReturnMandatoryFields() {
         HashMap<String, Object> expectedMandatoryFields = new HashMap<>();
@@ -253,6 +265,32 @@ public class EsSourceConfigTest {
         assertEquals("Missing required fields: [endpoint_pattern]", illegalArgumentException.getMessage());
     }
 
+    @Test
+    public void shouldDisableBatchingByDefault() {
+        EsSourceConfig esSourceConfig = getValidEsSourceConfigBuilder().createEsSourceConfig();
+        assertEquals(Integer.valueOf(1), esSourceConfig.getBatchConfig().getSize());
+        assertEquals(Long.valueOf(0L), esSourceConfig.getBatchConfig().getLingerMs());
+        assertFalse(esSourceConfig.isBatchingEnabled());
+    }
+
+    @Test
+    public void shouldEnableBatchingIfBatchSizeIsMoreThanOne() {
+        EsSourceConfig esSourceConfig = getValidEsSourceConfigBuilder()
+                .setBatchConfig(new BatchConfig("50", "5"))
+                .createEsSourceConfig();
+        assertEquals(Integer.valueOf(50), esSourceConfig.getBatchConfig().getSize());
+        assertEquals(Long.valueOf(5L), esSourceConfig.getBatchConfig().getLingerMs());
+        assertTrue(esSourceConfig.isBatchingEnabled());
+    }
+
+    @Test
+    public void shouldParseNestedBatchConfig() {
+        EsSourceConfig esSourceConfig = new Gson().fromJson("{\"host\": \"localhost\", \"batch\": {\"size\": \"20\"}}", EsSourceConfig.class);
+
+        assertEquals(new BatchConfig("20", null), esSourceConfig.getBatchConfig());
+        assertTrue(esSourceConfig.isBatchingEnabled());
+    }
+
     private EsSourceConfigBuilder getValidEsSourceConfigBuilder() {
         return new EsSourceConfigBuilder()
                 .setHost(host)
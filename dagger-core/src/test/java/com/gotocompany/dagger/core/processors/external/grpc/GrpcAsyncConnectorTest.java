@@ -1,5 +1,6 @@
 package com.gotocompany.dagger.core.processors.external.grpc;
 
+import com.google.gson.Gson;
 import com.gotocompany.dagger.core.exception.InvalidConfigurationException;
 import com.gotocompany.dagger.core.metrics.aspects.ExternalSourceAspects;
 import com.gotocompany.dagger.core.metrics.reporters.ErrorReporter;
@@ -414,6 +415,25 @@ public class GrpcAsyncConnectorTest {
         verify(telemetrySubscriber, times(1)).updated(grpcAsyncConnector);
     }
 
+    @Test
+    public void shouldThrowIfHedgingIsConfiguredForMethodNotMarkedIdempotent() {
+        GrpcSourceConfig hedgedGrpcSourceConfig = new Gson().fromJson("{\"endpoint\": \"localhost\", \"hedging\": {\"percentile\": \"95\"}}", GrpcSourceConfig.class);
+        GrpcAsyncConnector grpcAsyncConnector = new GrpcAsyncConnector(hedgedGrpcSourceConfig, externalMetricConfig, schemaConfig, grpcClient, errorReporter, meterStatsManager, descriptorManager);
+
+        assertThrows(InvalidConfigurationException.class, () -> grpcAsyncConnector.open(flinkConfiguration));
+        verify(meterStatsManager, times(1)).markEvent(ExternalSourceAspects.INVALID_CONFIGURATION);
+    }
+
+    @Test
+    public void shouldAllowHedgingForMethodMarkedIdempotent() throws Exception {
+        GrpcSourceConfig hedgedGrpcSourceConfig = new Gson().fromJson("{\"endpoint\": \"localhost\", \"idempotent\": true, \"hedging\": {\"percentile\": \"95\"}}", GrpcSourceConfig.class);
+        GrpcAsyncConnector grpcAsyncConnector = new GrpcAsyncConnector(hedgedGrpcSourceConfig, externalMetricConfig, schemaConfig, grpcClient, errorReporter, meterStatsManager, descriptorManager);
+
+        grpcAsyncConnector.open(flinkConfiguration);
+
+        verify(meterStatsManager, never()).markEvent(ExternalSourceAspects.INVALID_CONFIGURATION);
+    }
+
     @Test
     public void shouldThrowIfRuntimeContextNotInitialized() {
         GrpcAsyncConnector grpcAsyncConnector = new GrpcAsyncConnector(grpcSourceConfig, externalMetricConfig, schemaConfig, grpcClient, null, meterStatsManager, descriptorManager);
@@ -1,6 +1,7 @@
 package com.gotocompany.dagger.core.processors.external.grpc;
 
 
+import com.google.gson.Gson;
 import com.google.gson.annotations.SerializedName;
 import com.gotocompany.dagger.core.processors.common.OutputMapping;
 import com.gotocompany.dagger.core.processors.external.http.HttpSourceConfig;
@@ -226,4 +227,30 @@ public class GrpcSourceConfigTest {
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> grpcSourceConfig.validateFields());
         assertEquals("Missing required fields: [outputMapping]", exception.getMessage());
     }
+    @Test
+    public void shouldUseSingleChannelWithoutKeepAliveByDefault() {
+        assertEquals(Integer.valueOf(1), grpcSourceConfig.getChannelPoolConfig().getSize());
+        assertEquals(Long.valueOf(0L), grpcSourceConfig.getChannelPoolConfig().getKeepAliveTimeMs());
+        assertEquals(Long.valueOf(0L), grpcSourceConfig.getChannelPoolConfig().getKeepAliveTimeoutMs());
+        assertNull(grpcSourceConfig.getChannelPoolConfig().getLoadBalancingPolicy());
+    }
+
+    @Test
+    public void shouldGetChannelSettings() {
+        grpcSourceConfig = new GrpcSourceConfigBuilder().setEndpoint(endpoint).setServicePort(servicePort).setGrpcRequestProtoSchema(grpcRequestProtoSchema).setGrpcResponseProtoSchema(grpcResponseProtoSchema).setGrpcMethodUrl(grpcMethodUrl).setRequestPattern(requestPattern).setRequestVariables(requestVariables).setStreamTimeout(streamTimeout).setConnectTimeout(connectTimeout).setFailOnErrors(failOnErrors).setGrpcStencilUrl(defaultGrpcStencilUrl).setType(type).setRetainResponseType(retainResponseType).setHeaders(headerMap).setOutputMapping(outputMappings).setMetricId(metricId).setCapacity(capacity)
+                .setChannelPoolConfig(new ChannelPoolConfig("4", "30000", "5000", "round_robin")).createGrpcSourceConfig();
+
+        assertEquals(Integer.valueOf(4), grpcSourceConfig.getChannelPoolConfig().getSize());
+        assertEquals(Long.valueOf(30000L), grpcSourceConfig.getChannelPoolConfig().getKeepAliveTimeMs());
+        assertEquals(Long.valueOf(5000L), grpcSourceConfig.getChannelPoolConfig().getKeepAliveTimeoutMs());
+        assertEquals("round_robin", grpcSourceConfig.getChannelPoolConfig().getLoadBalancingPolicy());
+    }
+
+    @Test
+    public void shouldParseNestedChannelPoolConfig() {
+        grpcSourceConfig = new Gson().fromJson("{\"endpoint\": \"localhost\", \"channelPool\": {\"size\": \"4\", \"loadBalancingPolicy\": \"round_robin\"}}", GrpcSourceConfig.class);
+
+        assertEquals(new ChannelPoolConfig("4", null, null, "round_robin"), grpcSourceConfig.getChannelPoolConfig());
+    }
+
 }
@@ -1,9 +1,15 @@
 package com.gotocompany.dagger.core.processors.external.grpc.client;
 
+import com.gotocompany.dagger.consumer.TestBookingLogMessage;
+import com.gotocompany.dagger.consumer.TestGrpcRequest;
 import io.grpc.Channel;
+import io.grpc.ManagedChannel;
+import com.gotocompany.dagger.core.processors.external.grpc.ChannelPoolConfig;
 import com.gotocompany.dagger.core.processors.external.grpc.GrpcSourceConfig;
 import org.junit.Test;
 
+import java.util.List;
+
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -50,4 +56,63 @@ public class GrpcClientTest {
 
     }
 
+    @Test
+    public void shouldCreateConfiguredNumberOfChannels() {
+        grpcSourceConfig = mock(GrpcSourceConfig.class);
+        when(grpcSourceConfig.getEndpoint()).thenReturn("localhost");
+        when(grpcSourceConfig.getServicePort()).thenReturn(8080);
+        when(grpcSourceConfig.getChannelPoolConfig()).thenReturn(new ChannelPoolConfig("3", "30000", "5000", "round_robin"));
+        GrpcClient grpcClient = new GrpcClient(grpcSourceConfig);
+
+        grpcClient.addChannel();
+
+        assertEquals(3, grpcClient.getChannels().size());
+        grpcClient.close();
+    }
+
+    @Test
+    public void shouldSpreadCallsRoundRobinOverChannels() {
+        grpcSourceConfig = mock(GrpcSourceConfig.class);
+        when(grpcSourceConfig.getEndpoint()).thenReturn("localhost");
+        when(grpcSourceConfig.getServicePort()).thenReturn(8080);
+        when(grpcSourceConfig.getChannelPoolConfig()).thenReturn(new ChannelPoolConfig("2", null, null, null));
+        GrpcClient grpcClient = new GrpcClient(grpcSourceConfig);
+        grpcClient.addChannel();
+
+        Channel firstChannel = grpcClient.getDecoratedChannel();
+        Channel secondChannel = grpcClient.getDecoratedChannel();
+
+        assertNotSame(firstChannel, secondChannel);
+        assertSame(firstChannel, grpcClient.getDecoratedChannel());
+        grpcClient.close();
+    }
+
+    @Test
+    public void shouldShutdownChannelsOnClose() {
+        grpcSourceConfig = mock(GrpcSourceConfig.class);
+        when(grpcSourceConfig.getEndpoint()).thenReturn("localhost");
+        when(grpcSourceConfig.getServicePort()).thenReturn(8080);
+        when(grpcSourceConfig.getChannelPoolConfig()).thenReturn(new ChannelPoolConfig("2", null, null, null));
+        GrpcClient grpcClient = new GrpcClient(grpcSourceConfig);
+        grpcClient.addChannel();
+        List<ManagedChannel> channels = grpcClient.getChannels();
+
+        grpcClient.close();
+
+        assertTrue(channels.stream().allMatch(ManagedChannel::isShutdown));
+        assertTrue(grpcClient.getChannels().isEmpty());
+    }
+
+    @Test
+    public void shouldReuseMethodDescriptorForSameDescriptors() {
+        grpcSourceConfig = mock(GrpcSourceConfig.class);
+        when(grpcSourceConfig.getGrpcMethodUrl()).thenReturn("test/TestMethod");
+        GrpcClient grpcClient = new GrpcClient(grpcSourceConfig);
+
+        assertSame(grpcClient.getMethodDescriptor(TestGrpcRequest.getDescriptor(), TestBookingLogMessage.getDescriptor()),
+                grpcClient.getMethodDescriptor(TestGrpcRequest.getDescriptor(), TestBookingLogMessage.getDescriptor()));
+        assertNotSame(grpcClient.getMethodDescriptor(TestGrpcRequest.getDescriptor(), TestBookingLogMessage.getDescriptor()),
+                grpcClient.getMethodDescriptor(TestBookingLogMessage.getDescriptor(), TestBookingLogMessage.getDescriptor()));
+    }
+
 }
@@ -14,8 +14,12 @@ import com.gotocompany.dagger.common.core.StencilClientOrchestrator;
 import com.gotocompany.dagger.common.exceptions.DescriptorNotFoundException;
 import com.gotocompany.dagger.common.metrics.managers.MeterStatsManager;
 import com.gotocompany.dagger.consumer.TestBookingLogMessage;
+import com.gotocompany.dagger.core.processors.external.AdaptiveConcurrencyLimiter;
 import com.gotocompany.dagger.core.processors.external.AsyncConnector;
+import com.gotocompany.dagger.core.processors.external.ConcurrencyLimitConfig;
 import com.gotocompany.dagger.core.processors.external.ExternalMetricConfig;
+import com.gotocompany.dagger.core.processors.external.RequestHedger;
+import com.google.gson.Gson;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.streaming.api.functions.async.ResultFuture;
 import org.apache.flink.types.Row;
@@ -26,11 +30,14 @@ import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 
+import java.time.Clock;
 import java.util.*;
 import java.util.concurrent.TimeoutException;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -218,6 +225,139 @@ public class HttpAsyncConnectorTest {
         verify(resultFuture, times(1)).completeExceptionally(any(DescriptorNotFoundException.class));
     }
 
+    @Test
+    public void shouldTrackInFlightRequestsUntilCompletion() throws Exception {
+        when(httpClient.preparePost("http://localhost:8080/test")).thenReturn(boundRequestBuilder);
+        when(boundRequestBuilder.setBody("{\"key\": \"123456\"}")).thenReturn(boundRequestBuilder);
+        when(defaultDescriptorManager.getDescriptor(inputProtoClasses[0])).thenReturn(TestBookingLogMessage.getDescriptor());
+        HttpAsyncConnector httpAsyncConnector = new HttpAsyncConnector(defaultHttpSourceConfig, externalMetricConfig, schemaConfig, httpClient, errorReporter, meterStatsManager, defaultDescriptorManager);
+
+        httpAsyncConnector.open(flinkConfiguration);
+        httpAsyncConnector.asyncInvoke(streamData, resultFuture);
+
+        verify(meterStatsManager, times(1)).updateHistogram(ExternalSourceAspects.IN_FLIGHT_REQUESTS, 1L);
+        assertEquals(1, httpAsyncConnector.getInFlightRequests());
+        ArgumentCaptor<HttpResponseHandler> handlerCaptor = ArgumentCaptor.forClass(HttpResponseHandler.class);
+        verify(boundRequestBuilder, times(1)).execute(handlerCaptor.capture());
+        handlerCaptor.getValue().onThrowable(new RuntimeException("connection reset"));
+        assertEquals(0, httpAsyncConnector.getInFlightRequests());
+    }
+
+    @Test
+    public void shouldReportConcurrencyLimitAndQueueingDelayIfConcurrencyLimitIsConfigured() throws Exception {
+        when(httpClient.preparePost("http://localhost:8080/test")).thenReturn(boundRequestBuilder);
+        when(boundRequestBuilder.setBody("{\"key\": \"123456\"}")).thenReturn(boundRequestBuilder);
+        when(defaultDescriptorManager.getDescriptor(inputProtoClasses[0])).thenReturn(TestBookingLogMessage.getDescriptor());
+        HttpAsyncConnector httpAsyncConnector = new HttpAsyncConnector(defaultHttpSourceConfig, externalMetricConfig, schemaConfig, httpClient, errorReporter, meterStatsManager, defaultDescriptorManager);
+        httpAsyncConnector.setConcurrencyLimiter(new AdaptiveConcurrencyLimiter(new ConcurrencyLimitConfig("1", "20", "2", "0")));
+
+        httpAsyncConnector.open(flinkConfiguration);
+        httpAsyncConnector.asyncInvoke(streamData, resultFuture);
+
+        verify(meterStatsManager, times(1)).updateHistogram(ExternalSourceAspects.CONCURRENCY_LIMIT, 20L);
+        verify(meterStatsManager, times(1)).updateHistogram(eq(ExternalSourceAspects.QUEUEING_DELAY), anyLong());
+    }
+
+    @Test
+    public void shouldReleaseConcurrencyPermitAndDecreaseLimitOnTimeout() throws Exception {
+        when(httpClient.preparePost("http://localhost:8080/test")).thenReturn(boundRequestBuilder);
+        when(boundRequestBuilder.setBody("{\"key\": \"123456\"}")).thenReturn(boundRequestBuilder);
+        when(defaultDescriptorManager.getDescriptor(inputProtoClasses[0])).thenReturn(TestBookingLogMessage.getDescriptor());
+        AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(new ConcurrencyLimitConfig("1", "20", "2", "0"));
+        HttpAsyncConnector httpAsyncConnector = new HttpAsyncConnector(defaultHttpSourceConfig, externalMetricConfig, schemaConfig, httpClient, errorReporter, meterStatsManager, defaultDescriptorManager);
+        httpAsyncConnector.setConcurrencyLimiter(concurrencyLimiter);
+
+        httpAsyncConnector.open(flinkConfiguration);
+        httpAsyncConnector.asyncInvoke(streamData, resultFuture);
+        httpAsyncConnector.timeout(streamData, resultFuture);
+
+        assertEquals(0, httpAsyncConnector.getInFlightRequests());
+        assertEquals(18, concurrencyLimiter.getLimit());
+    }
+
+    @Test
+    public void shouldDeferRowOverConcurrencyLimitAndShedItAfterMaxQueueingDelay() throws Exception {
+        when(httpClient.preparePost("http://localhost:8080/test")).thenReturn(boundRequestBuilder);
+        when(boundRequestBuilder.setBody("{\"key\": \"123456\"}")).thenReturn(boundRequestBuilder);
+        when(defaultDescriptorManager.getDescriptor(inputProtoClasses[0])).thenReturn(TestBookingLogMessage.getDescriptor());
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(1000L);
+        ResultFuture<Row> deferredResultFuture = mock(ResultFuture.class);
+        HttpAsyncConnector httpAsyncConnector = new HttpAsyncConnector(defaultHttpSourceConfig, externalMetricConfig, schemaConfig, httpClient, errorReporter, meterStatsManager, defaultDescriptorManager);
+        httpAsyncConnector.setConcurrencyLimiter(new AdaptiveConcurrencyLimiter(new ConcurrencyLimitConfig("1", "1", "2", "50"), clock));
+
+        httpAsyncConnector.open(flinkConfiguration);
+        httpAsyncConnector.asyncInvoke(streamData, resultFuture);
+        httpAsyncConnector.asyncInvoke(streamData, deferredResultFuture);
+
+        verify(boundRequestBuilder, times(1)).execute(any(HttpResponseHandler.class));
+        verify(deferredResultFuture, never()).complete(any());
+
+        when(clock.millis()).thenReturn(1100L);
+        httpAsyncConnector.timeout(streamData, resultFuture);
+
+        verify(boundRequestBuilder, times(1)).execute(any(HttpResponseHandler.class));
+        verify(meterStatsManager, times(1)).markEvent(ExternalSourceAspects.SHED_REQUESTS);
+        verify(errorReporter, times(2)).reportNonFatalException(any(TimeoutException.class));
+        verify(deferredResultFuture, times(1)).complete(Collections.singleton(streamData));
+        assertEquals(0, httpAsyncConnector.getInFlightRequests());
+    }
+
+    @Test
+    public void shouldThrowIfHedgingIsConfiguredForNonIdempotentVerb() {
+        HttpSourceConfig hedgedHttpSourceConfig = new Gson().fromJson("{\"endpoint\": \"http://localhost:8080/test\", \"verb\": \"POST\", \"hedging\": {\"percentile\": \"95\"}}", HttpSourceConfig.class);
+        HttpAsyncConnector httpAsyncConnector = new HttpAsyncConnector(hedgedHttpSourceConfig, externalMetricConfig, schemaConfig, httpClient, errorReporter, meterStatsManager, defaultDescriptorManager);
+
+        assertThrows(InvalidConfigurationException.class, () -> httpAsyncConnector.open(flinkConfiguration));
+        verify(meterStatsManager, times(1)).markEvent(ExternalSourceAspects.INVALID_CONFIGURATION);
+    }
+
+    @Test
+    public void shouldCancelHedgeOfRowOnTimeout() throws Exception {
+        when(defaultDescriptorManager.getDescriptor(inputProtoClasses[0])).thenReturn(TestBookingLogMessage.getDescriptor());
+        defaultHttpSourceConfig = new HttpSourceConfig("http://localhost:8080/test", "", "GET", "{\"key\": \"%s\"}", "customer_id", "", "", "123", "234", false, null, httpConfigType, "345", headers, outputMapping, "metricId_02", false);
+        RequestHedger requestHedger = mock(RequestHedger.class);
+        RequestHedger.HedgedRequest hedgedRequest = mock(RequestHedger.HedgedRequest.class);
+        when(requestHedger.invoke(eq(streamData), any(), any())).thenReturn(hedgedRequest);
+        HttpAsyncConnector httpAsyncConnector = new HttpAsyncConnector(defaultHttpSourceConfig, externalMetricConfig, schemaConfig, httpClient, errorReporter, meterStatsManager, defaultDescriptorManager);
+        httpAsyncConnector.setRequestHedger(requestHedger);
+
+        httpAsyncConnector.open(flinkConfiguration);
+        httpAsyncConnector.asyncInvoke(streamData, resultFuture);
+        verify(hedgedRequest, never()).cancel();
+        httpAsyncConnector.timeout(streamData, resultFuture);
+
+        verify(hedgedRequest, times(1)).cancel();
+        assertEquals(0, httpAsyncConnector.getInFlightRequests());
+    }
+
+    @Test
+    public void shouldSendCallsOfHedgedSourceThroughRequestHedger() throws Exception {
+        when(defaultDescriptorManager.getDescriptor(inputProtoClasses[0])).thenReturn(TestBookingLogMessage.getDescriptor());
+        defaultHttpSourceConfig = new HttpSourceConfig("http://localhost:8080/test", "", "GET", "{\"key\": \"%s\"}", "customer_id", "", "", "123", "234", false, null, httpConfigType, "345", headers, outputMapping, "metricId_02", false);
+        RequestHedger requestHedger = mock(RequestHedger.class);
+        HttpAsyncConnector httpAsyncConnector = new HttpAsyncConnector(defaultHttpSourceConfig, externalMetricConfig, schemaConfig, httpClient, errorReporter, meterStatsManager, defaultDescriptorManager);
+        httpAsyncConnector.setRequestHedger(requestHedger);
+
+        httpAsyncConnector.open(flinkConfiguration);
+        httpAsyncConnector.asyncInvoke(streamData, resultFuture);
+
+        verify(requestHedger, times(1)).invoke(eq(streamData), any(), any());
+        verify(httpClient, never()).prepareGet(anyString());
+    }
+
+    @Test
+    public void shouldNotCountFailedInvocationsAsInFlight() throws Exception {
+        when(defaultDescriptorManager.getDescriptor(inputProtoClasses[0])).thenReturn(TestBookingLogMessage.getDescriptor());
+        defaultHttpSourceConfig = new HttpSourceConfig("http://localhost:8080/test", "", "POST", "{\"key\": \"%s\"}", "invalid_variable", "", "", "123", "234", false, null, httpConfigType, "345", headers, outputMapping, "metricId_02", false);
+        HttpAsyncConnector httpAsyncConnector = new HttpAsyncConnector(defaultHttpSourceConfig, externalMetricConfig, schemaConfig, httpClient, errorReporter, meterStatsManager, defaultDescriptorManager);
+
+        httpAsyncConnector.open(flinkConfiguration);
+        httpAsyncConnector.asyncInvoke(streamData, resultFuture);
+
+        assertEquals(0, httpAsyncConnector.getInFlightRequests());
+    }
+
     @Test
     public void shouldCompleteExceptionallyWhenRequestVariableIsInvalid() throws Exception {
         when(defaultDescriptorManager.getDescriptor(inputProtoClasses[0])).thenReturn(TestBookingLogMessage.getDescriptor());
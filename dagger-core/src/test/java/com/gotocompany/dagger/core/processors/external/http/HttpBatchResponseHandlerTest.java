@@ -0,0 +1,164 @@
+package com.gotocompany.dagger.core.processors.external.http;
+
+import com.gotocompany.dagger.common.metrics.managers.MeterStatsManager;
+import com.gotocompany.dagger.core.exception.HttpFailureException;
+import com.gotocompany.dagger.core.metrics.aspects.ExternalSourceAspects;
+import com.gotocompany.dagger.core.metrics.reporters.ErrorReporter;
+import com.gotocompany.dagger.core.processors.ColumnNameManager;
+import com.gotocompany.dagger.core.processors.common.OutputMapping;
+import com.gotocompany.dagger.core.processors.common.PostResponseTelemetry;
+import com.gotocompany.dagger.core.processors.common.RowManager;
+import com.gotocompany.dagger.core.processors.external.BatchConfig;
+import com.gotocompany.dagger.consumer.TestSurgeFactorLogMessage;
+import org.apache.flink.streaming.api.functions.async.ResultFuture;
+import org.apache.flink.types.Row;
+import org.asynchttpclient.Response;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class HttpBatchResponseHandlerTest {
+
+    @Mock
+    private ResultFuture<Row> firstResultFuture;
+
+    @Mock
+    private ResultFuture<Row> secondResultFuture;
+
+    @Mock
+    private Response response;
+
+    @Mock
+    private MeterStatsManager meterStatsManager;
+
+    @Mock
+    private ErrorReporter errorReporter;
+
+    private HttpSourceConfig httpSourceConfig;
+    private ColumnNameManager columnNameManager;
+
+    @Before
+    public void setUp() {
+        initMocks(this);
+        HashMap<String, OutputMapping> outputMapping = new HashMap<>();
+        outputMapping.put("surge_factor", new OutputMapping("$.surge"));
+        HashMap<String, String> headers = new HashMap<>();
+        headers.put("content-type", "application/json");
+        columnNameManager = new ColumnNameManager(new String[]{"order_id", "customer_id"}, Collections.singletonList("surge_factor"));
+        httpSourceConfig = new HttpSourceConfig("http://localhost:8080/test", "", "POST", "{\"key\": \"%s\"}", "customer_id", "", "", "123", "234", false, "", "test", "345", headers, outputMapping, "metricId_02", false);
+        httpSourceConfig.setBatchConfig(new BatchConfig("2", "10"));
+    }
+
+    private HttpResponseHandler createResponseHandler(Row inputData, ResultFuture<Row> resultFuture) {
+        Row streamData = new Row(2);
+        streamData.setField(0, inputData);
+        streamData.setField(1, new Row(1));
+        return new HttpResponseHandler(httpSourceConfig, new HashSet<>(), meterStatsManager, new RowManager(streamData), columnNameManager,
+                TestSurgeFactorLogMessage.getDescriptor(), resultFuture, errorReporter, new PostResponseTelemetry());
+    }
+
+    private Row createExpectedRow(Row inputData, Float surgeFactor) {
+        Row outputData = new Row(1);
+        outputData.setField(0, surgeFactor);
+        Row expectedRow = new Row(2);
+        expectedRow.setField(0, inputData);
+        expectedRow.setField(1, outputData);
+        return expectedRow;
+    }
+
+    @Test
+    public void shouldFanOutResponseElementsToRowsByIndex() {
+        Row firstInput = Row.of("order_1", "customer_1");
+        Row secondInput = Row.of("order_2", "customer_2");
+        HttpBatchResponseHandler batchResponseHandler = new HttpBatchResponseHandler(Arrays.asList(
+                createResponseHandler(firstInput, firstResultFuture), createResponseHandler(secondInput, secondResultFuture)));
+        when(response.getStatusCode()).thenReturn(200);
+        when(response.getResponseBody()).thenReturn("[{\"surge\": 0.732}, {\"surge\": 1.5}]");
+
+        batchResponseHandler.startTimer();
+        batchResponseHandler.onCompleted(response);
+
+        verify(firstResultFuture, times(1)).complete(Collections.singleton(createExpectedRow(firstInput, 0.732f)));
+        verify(secondResultFuture, times(1)).complete(Collections.singleton(createExpectedRow(secondInput, 1.5f)));
+        verify(meterStatsManager, times(2)).markEvent(ExternalSourceAspects.SUCCESS_RESPONSE);
+    }
+
+    @Test
+    public void shouldPassInputForRowsMissingInBatchResponse() {
+        Row firstInput = Row.of("order_1", "customer_1");
+        Row secondInput = Row.of("order_2", "customer_2");
+        HttpBatchResponseHandler batchResponseHandler = new HttpBatchResponseHandler(Arrays.asList(
+                createResponseHandler(firstInput, firstResultFuture), createResponseHandler(secondInput, secondResultFuture)));
+        when(response.getStatusCode()).thenReturn(200);
+        when(response.getResponseBody()).thenReturn("[{\"surge\": 0.732}]");
+
+        batchResponseHandler.startTimer();
+        batchResponseHandler.onCompleted(response);
+
+        verify(firstResultFuture, times(1)).complete(Collections.singleton(createExpectedRow(firstInput, 0.732f)));
+        verify(secondResultFuture, times(1)).complete(Collections.singleton(createExpectedRow(secondInput, null)));
+        ArgumentCaptor<HttpFailureException> failureCaptor = ArgumentCaptor.forClass(HttpFailureException.class);
+        verify(errorReporter, times(1)).reportNonFatalException(failureCaptor.capture());
+        assertEquals("Batch response has no element at index : 1", failureCaptor.getValue().getMessage());
+    }
+
+    @Test
+    public void shouldFailEveryRowOfBatchOnFailureStatusCode() {
+        Row firstInput = Row.of("order_1", "customer_1");
+        Row secondInput = Row.of("order_2", "customer_2");
+        HttpBatchResponseHandler batchResponseHandler = new HttpBatchResponseHandler(Arrays.asList(
+                createResponseHandler(firstInput, firstResultFuture), createResponseHandler(secondInput, secondResultFuture)));
+        when(response.getStatusCode()).thenReturn(500);
+
+        batchResponseHandler.startTimer();
+        batchResponseHandler.onCompleted(response);
+
+        verify(firstResultFuture, times(1)).complete(Collections.singleton(createExpectedRow(firstInput, null)));
+        verify(secondResultFuture, times(1)).complete(Collections.singleton(createExpectedRow(secondInput, null)));
+        verify(meterStatsManager, times(2)).markEvent(ExternalSourceAspects.FAILURE_CODE_5XX);
+    }
+
+    @Test
+    public void shouldPassInputIfBatchResponseIsNotAnArray() {
+        Row firstInput = Row.of("order_1", "customer_1");
+        HttpBatchResponseHandler batchResponseHandler = new HttpBatchResponseHandler(Collections.singletonList(
+                createResponseHandler(firstInput, firstResultFuture)));
+        when(response.getStatusCode()).thenReturn(200);
+        when(response.getResponseBody()).thenReturn("{\"surge\": 0.732}");
+
+        batchResponseHandler.startTimer();
+        batchResponseHandler.onCompleted(response);
+
+        verify(firstResultFuture, times(1)).complete(Collections.singleton(createExpectedRow(firstInput, null)));
+        ArgumentCaptor<HttpFailureException> failureCaptor = ArgumentCaptor.forClass(HttpFailureException.class);
+        verify(errorReporter, times(1)).reportNonFatalException(failureCaptor.capture());
+        assertEquals("Batch response is not a json array", failureCaptor.getValue().getMessage());
+    }
+
+    @Test
+    public void shouldFailEveryRowOfBatchIfBatchResponseIsNotValidJson() {
+        Row firstInput = Row.of("order_1", "customer_1");
+        Row secondInput = Row.of("order_2", "customer_2");
+        HttpBatchResponseHandler batchResponseHandler = new HttpBatchResponseHandler(Arrays.asList(
+                createResponseHandler(firstInput, firstResultFuture), createResponseHandler(secondInput, secondResultFuture)));
+        when(response.getStatusCode()).thenReturn(200);
+        when(response.getResponseBody()).thenReturn("[{\"surge\": 0.732}, {\"surge\":");
+
+        batchResponseHandler.startTimer();
+        batchResponseHandler.onCompleted(response);
+
+        verify(firstResultFuture, times(1)).complete(Collections.singleton(createExpectedRow(firstInput, null)));
+        verify(secondResultFuture, times(1)).complete(Collections.singleton(createExpectedRow(secondInput, null)));
+        verify(errorReporter, times(2)).reportNonFatalException(any(HttpFailureException.class));
+    }
+}
@@ -0,0 +1,116 @@
+package com.gotocompany.dagger.core.processors.external.http;
+
+import com.gotocompany.dagger.common.metrics.managers.MeterStatsManager;
+import com.gotocompany.dagger.core.metrics.aspects.ExternalSourceAspects;
+import com.gotocompany.dagger.core.processors.common.OutputMapping;
+import com.gotocompany.dagger.core.processors.external.BatchConfig;
+import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.BoundRequestBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.util.HashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class HttpRequestBatcherTest {
+
+    @Mock
+    private AsyncHttpClient httpClient;
+
+    @Mock
+    private BoundRequestBuilder boundRequestBuilder;
+
+    @Mock
+    private MeterStatsManager meterStatsManager;
+
+    @Mock
+    private ScheduledExecutorService lingerExecutor;
+
+    @Mock
+    private ScheduledFuture lingerFlush;
+
+    @Mock
+    private HttpResponseHandler firstResponseHandler;
+
+    @Mock
+    private HttpResponseHandler secondResponseHandler;
+
+    private HttpSourceConfig httpSourceConfig;
+
+    @Before
+    public void setUp() {
+        initMocks(this);
+        HashMap<String, OutputMapping> outputMapping = new HashMap<>();
+        outputMapping.put("surge_factor", new OutputMapping("$.surge"));
+        httpSourceConfig = new HttpSourceConfig("http://localhost:8080/bulk", "", "POST", "{\"key\": \"%s\"}", "customer_id", "", "", "123", "234", false, "", "test", "345", new HashMap<>(), outputMapping, "metricId_02", false);
+        httpSourceConfig.setBatchConfig(new BatchConfig("2", "10"));
+        when(httpClient.preparePost(anyString())).thenReturn(boundRequestBuilder);
+        when(boundRequestBuilder.setBody(anyString())).thenReturn(boundRequestBuilder);
+        doReturn(lingerFlush).when(lingerExecutor).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void shouldScheduleLingerFlushForFirstRequestOfBatch() {
+        HttpRequestBatcher requestBatcher = new HttpRequestBatcher(httpSourceConfig, httpClient, meterStatsManager, lingerExecutor);
+
+        requestBatcher.add("{\"key\": \"123\"}", firstResponseHandler);
+
+        verify(lingerExecutor, times(1)).schedule(any(Runnable.class), eq(10L), eq(TimeUnit.MILLISECONDS));
+        verify(httpClient, never()).preparePost(anyString());
+    }
+
+    @Test
+    public void shouldSendBulkRequestWhenBatchIsFull() {
+        HttpRequestBatcher requestBatcher = new HttpRequestBatcher(httpSourceConfig, httpClient, meterStatsManager, lingerExecutor);
+
+        requestBatcher.add("{\"key\": \"123\"}", firstResponseHandler);
+        requestBatcher.add("{\"key\": \"456\"}", secondResponseHandler);
+
+        verify(httpClient, times(1)).preparePost("http://localhost:8080/bulk");
+        verify(boundRequestBuilder, times(1)).setBody("[{\"key\": \"123\"},{\"key\": \"456\"}]");
+        verify(boundRequestBuilder, times(1)).execute(any(HttpBatchResponseHandler.class));
+        verify(lingerFlush, times(1)).cancel(false);
+        verify(meterStatsManager, times(1)).markEvent(ExternalSourceAspects.TOTAL_BATCH_REQUESTS);
+        verify(meterStatsManager, times(1)).updateHistogram(ExternalSourceAspects.BATCH_SIZE, 2L);
+    }
+
+    @Test
+    public void shouldSendPendingRequestsOnFlush() {
+        HttpRequestBatcher requestBatcher = new HttpRequestBatcher(httpSourceConfig, httpClient, meterStatsManager, lingerExecutor);
+
+        requestBatcher.add("{\"key\": \"123\"}", firstResponseHandler);
+        requestBatcher.flush();
+
+        verify(boundRequestBuilder, times(1)).setBody("[{\"key\": \"123\"}]");
+        verify(boundRequestBuilder, times(1)).execute(any(HttpBatchResponseHandler.class));
+    }
+
+    @Test
+    public void shouldNotSendRequestOnFlushWithoutPendingRequests() {
+        HttpRequestBatcher requestBatcher = new HttpRequestBatcher(httpSourceConfig, httpClient, meterStatsManager, lingerExecutor);
+
+        requestBatcher.flush();
+
+        verify(httpClient, never()).preparePost(anyString());
+    }
+
+    @Test
+    public void shouldFlushAndShutdownExecutorOnClose() {
+        HttpRequestBatcher requestBatcher = new HttpRequestBatcher(httpSourceConfig, httpClient, meterStatsManager, lingerExecutor);
+
+        requestBatcher.add("{\"key\": \"123\"}", firstResponseHandler);
+        requestBatcher.close();
+
+        verify(boundRequestBuilder, times(1)).execute(any(HttpBatchResponseHandler.class));
+        verify(lingerExecutor, times(1)).shutdown();
+    }
+}
@@ -1,6 +1,9 @@
 package com.gotocompany.dagger.core.processors.external.http;
 
+import com.google.gson.Gson;
 import com.gotocompany.dagger.core.processors.common.OutputMapping;
+import com.gotocompany.dagger.core.processors.external.BatchConfig;
+import com.gotocompany.dagger.core.processors.external.HedgingConfig;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -63,6 +66,54 @@ public class HttpSourceConfigTest {
         assertEquals(parseInt(connectTimeout), (int) defaultHttpSourceConfig.getConnectTimeout());
     }
 
+    @Test
+    public void shouldKeepOutputOrderedByDefault() {
+        assertTrue(defaultHttpSourceConfig.isOutputOrdered());
+    }
+
+    @Test
+    public void shouldNotKeepOutputOrderedIfConfiguredUnordered() {
+        HttpSourceConfig httpSourceConfig = new Gson().fromJson("{\"endpoint\": \"http://localhost:8080/test\", \"outputOrdering\": \"unordered\"}", HttpSourceConfig.class);
+        assertFalse(httpSourceConfig.isOutputOrdered());
+    }
+
+    @Test
+    public void shouldReadHedgingConfig() {
+        HttpSourceConfig httpSourceConfig = new Gson().fromJson("{\"endpoint\": \"http://localhost:8080/test\", \"hedging\": {\"percentile\": \"99\", \"minDelayMs\": \"20\"}}", HttpSourceConfig.class);
+        assertEquals(new HedgingConfig("99", "20"), httpSourceConfig.getHedgingConfig());
+        assertEquals(Double.valueOf(99), httpSourceConfig.getHedgingConfig().getPercentile());
+        assertEquals(Long.valueOf(20L), httpSourceConfig.getHedgingConfig().getMinDelayMs());
+    }
+
+    @Test
+    public void shouldNotHedgeByDefault() {
+        assertNull(defaultHttpSourceConfig.getHedgingConfig());
+    }
+
+    @Test
+    public void shouldDisableBatchingByDefault() {
+        assertEquals(Integer.valueOf(1), defaultHttpSourceConfig.getBatchConfig().getSize());
+        assertEquals(Long.valueOf(0L), defaultHttpSourceConfig.getBatchConfig().getLingerMs());
+        assertFalse(defaultHttpSourceConfig.isBatchingEnabled());
+    }
+
+    @Test
+    public void shouldEnableBatchingWhenBatchSizeIsGreaterThanOne() {
+        HttpSourceConfig httpSourceConfig = new HttpSourceConfig(endpoint, endpointVariable, verb, requestPattern, requestVariables, headerPattern, headerVariables, streamTimeout, connectTimeout, failOnErrors, failOnErrorsCodeRange, type, capacity, headerMap, outputMappings, metricId, retainResponseType);
+        httpSourceConfig.setBatchConfig(new BatchConfig("50", "10"));
+        assertEquals(Integer.valueOf(50), httpSourceConfig.getBatchConfig().getSize());
+        assertEquals(Long.valueOf(10L), httpSourceConfig.getBatchConfig().getLingerMs());
+        assertTrue(httpSourceConfig.isBatchingEnabled());
+    }
+
+    @Test
+    public void shouldParseNestedBatchConfig() {
+        HttpSourceConfig httpSourceConfig = new Gson().fromJson("{\"endpoint\": \"http://localhost:8080/test\", \"verb\": \"POST\", \"batch\": {\"size\": \"20\"}}", HttpSourceConfig.class);
+
+        assertEquals(new BatchConfig("20", null), httpSourceConfig.getBatchConfig());
+        assertTrue(httpSourceConfig.isBatchingEnabled());
+    }
+
     @Test
     public void shouldReturnEndpoint() {
         assertEquals(endpoint, defaultHttpSourceConfig.getEndpoint());
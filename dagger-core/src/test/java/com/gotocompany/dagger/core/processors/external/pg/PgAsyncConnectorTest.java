@@ -14,6 +14,7 @@ import com.gotocompany.dagger.core.processors.external.ExternalMetricConfig;
 import com.gotocompany.stencil.client.StencilClient;
 import io.vertx.pgclient.PgPool;
 import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.Tuple;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.streaming.api.functions.async.ResultFuture;
 import org.apache.flink.types.Row;
@@ -51,6 +52,8 @@ public class PgAsyncConnectorTest {
     @Mock
     private io.vertx.sqlclient.Query<RowSet<io.vertx.sqlclient.Row>> executableQuery;
     @Mock
+    private io.vertx.sqlclient.PreparedQuery<RowSet<io.vertx.sqlclient.Row>> preparedQuery;
+    @Mock
     private SchemaConfig schemaConfig;
 
     private HashMap<String, String> outputMapping = new HashMap<>();
@@ -319,6 +322,47 @@ public class PgAsyncConnectorTest {
         verify(executableQuery, times(1)).execute(any());
     }
 
+    @Test
+    public void shouldExecutePreparedQueryWithBoundVariablesIfEnabled() throws Exception {
+        inputData.setField(3, "11223344545");
+        pgSourceConfig = getPgSourceConfigBuilder()
+                .setPreparedQuery(true)
+                .createPgSourceConfig();
+        String preparedQueryPattern = "select * from public.customers where customer_id = $1";
+
+        PgAsyncConnector pgAsyncConnector = new PgAsyncConnector(pgSourceConfig, externalMetricConfig, schemaConfig, meterStatsManager, pgClient, errorReporter);
+        when(pgClient.preparedQuery(preparedQueryPattern)).thenReturn(preparedQuery);
+
+        pgAsyncConnector.open(configuration);
+        pgAsyncConnector.asyncInvoke(streamRow, resultFuture);
+
+        verify(pgClient, never()).query(any());
+        ArgumentCaptor<Tuple> parametersCaptor = ArgumentCaptor.forClass(Tuple.class);
+        verify(preparedQuery, times(1)).execute(parametersCaptor.capture(), any(PgResponseHandler.class));
+        assertEquals(1, parametersCaptor.getValue().size());
+        assertEquals("11223344545", parametersCaptor.getValue().getValue(0));
+    }
+
+    @Test
+    public void shouldBindVariableOfPreparedQueryWithItsOwnType() throws Exception {
+        inputData.setField(5, 1);
+        pgSourceConfig = getPgSourceConfigBuilder()
+                .setQueryVariables("service_area_id")
+                .setQueryPattern("select * from public.service_areas where service_area_id = %d")
+                .setPreparedQuery(true)
+                .createPgSourceConfig();
+
+        PgAsyncConnector pgAsyncConnector = new PgAsyncConnector(pgSourceConfig, externalMetricConfig, schemaConfig, meterStatsManager, pgClient, errorReporter);
+        when(pgClient.preparedQuery("select * from public.service_areas where service_area_id = $1")).thenReturn(preparedQuery);
+
+        pgAsyncConnector.open(configuration);
+        pgAsyncConnector.asyncInvoke(streamRow, resultFuture);
+
+        ArgumentCaptor<Tuple> parametersCaptor = ArgumentCaptor.forClass(Tuple.class);
+        verify(preparedQuery, times(1)).execute(parametersCaptor.capture(), any(PgResponseHandler.class));
+        assertEquals(1, parametersCaptor.getValue().getValue(0));
+    }
+
     @Test
     public void shouldNotEnrichOutputOnTimeout() throws Exception {
         pgClient = null;
@@ -0,0 +1,57 @@
+package com.gotocompany.dagger.core.processors.external.pg;
+
+import io.vertx.pgclient.PgConnectOptions;
+import io.vertx.pgclient.PgPool;
+import io.vertx.sqlclient.PoolOptions;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PgPoolRegistryTest {
+
+    private final PgConnectOptions connectOptions = new PgConnectOptions()
+            .setHost("localhost")
+            .setPort(5432)
+            .setDatabase("db")
+            .setUser("user")
+            .setPassword("password");
+    private final PoolOptions poolOptions = new PoolOptions().setMaxSize(5);
+
+    @Test
+    public void shouldShareThePoolBetweenAcquiresWithTheSameKey() {
+        PgPool firstPool = PgPoolRegistry.acquire("same_key", connectOptions, poolOptions);
+        PgPool secondPool = PgPoolRegistry.acquire("same_key", connectOptions, poolOptions);
+
+        assertSame(firstPool, secondPool);
+        assertEquals(2, PgPoolRegistry.getReferenceCount("same_key"));
+
+        PgPoolRegistry.release("same_key");
+        PgPoolRegistry.release("same_key");
+    }
+
+    @Test
+    public void shouldCreateSeparatePoolsForDifferentKeys() {
+        PgPool firstPool = PgPoolRegistry.acquire("first_key", connectOptions, poolOptions);
+        PgPool secondPool = PgPoolRegistry.acquire("second_key", connectOptions, poolOptions);
+
+        assertNotSame(firstPool, secondPool);
+
+        PgPoolRegistry.release("first_key");
+        PgPoolRegistry.release("second_key");
+    }
+
+    @Test
+    public void shouldClosePoolOnLastRelease() {
+        PgPool firstPool = PgPoolRegistry.acquire("closed_key", connectOptions, poolOptions);
+        PgPoolRegistry.acquire("closed_key", connectOptions, poolOptions);
+
+        PgPoolRegistry.release("closed_key");
+        assertEquals(1, PgPoolRegistry.getReferenceCount("closed_key"));
+        PgPoolRegistry.release("closed_key");
+        assertEquals(0, PgPoolRegistry.getReferenceCount("closed_key"));
+
+        PgPool secondPool = PgPoolRegistry.acquire("closed_key", connectOptions, poolOptions);
+        assertNotSame(firstPool, secondPool);
+        PgPoolRegistry.release("closed_key");
+    }
+}
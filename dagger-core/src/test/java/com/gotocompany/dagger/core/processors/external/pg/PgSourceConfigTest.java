@@ -196,4 +196,92 @@ public class PgSourceConfigTest {
         assertEquals("Missing required fields: [output_mapping]", illegalArgumentException.getMessage());
     }
 
+    @Test
+    public void shouldNotUsePreparedQueryByDefault() {
+        assertFalse(pgSourceConfig.isPreparedQuery());
+    }
+
+    @Test
+    public void shouldReplaceQuotedAndUnquotedFormatSpecifiersWithPositionalParameters() {
+        pgSourceConfig = getPgSourceConfigBuilder()
+                .setQueryPattern("select * from public.drivers where driver_id = '%s' and service_area_id = %d and name like 'a%%'")
+                .setPreparedQuery(true)
+                .createPgSourceConfig();
+
+        assertTrue(pgSourceConfig.isPreparedQuery());
+        assertEquals("select * from public.drivers where driver_id = $1 and service_area_id = $2 and name like 'a%'", pgSourceConfig.getPreparedQueryPattern());
+    }
+
+    @Test
+    public void shouldKeepExplicitArgumentIndexesInPreparedQueryPattern() {
+        pgSourceConfig = getPgSourceConfigBuilder()
+                .setQueryPattern("select * from public.drivers where service_area_id = %2$d and driver_id = '%1$s'")
+                .createPgSourceConfig();
+
+        assertEquals("select * from public.drivers where service_area_id = $2 and driver_id = $1", pgSourceConfig.getPreparedQueryPattern());
+    }
+
+    @Test
+    public void shouldRejectPreparedQueryWithFormatSpecifierInsideQuotedLiteral() {
+        pgSourceConfig = getPgSourceConfigBuilder()
+                .setQueryPattern("select * from public.drivers where driver_code = 'prefix-%s'")
+                .setPreparedQuery(true)
+                .createPgSourceConfig();
+
+        IllegalArgumentException illegalArgumentException = assertThrows(IllegalArgumentException.class,
+                () -> pgSourceConfig.validateFields());
+        assertEquals("Query pattern 'select * from public.drivers where driver_code = 'prefix-%s'' can not be sent as a prepared query, a format specifier is part of a quoted literal", illegalArgumentException.getMessage());
+    }
+
+    @Test
+    public void shouldRejectPreparedQueryWithFormatSpecifierFollowedByWildcardInsideQuotedLiteral() {
+        pgSourceConfig = getPgSourceConfigBuilder()
+                .setQueryPattern("select * from public.drivers where name like '%s%%'")
+                .setPreparedQuery(true)
+                .createPgSourceConfig();
+
+        assertThrows(IllegalArgumentException.class, () -> pgSourceConfig.validateFields());
+    }
+
+    @Test
+    public void shouldAcceptFormatSpecifierInsideQuotedLiteralIfQueryIsNotPrepared() {
+        pgSourceConfig = getPgSourceConfigBuilder()
+                .setQueryPattern("select * from public.drivers where driver_code = 'prefix-%s'")
+                .createPgSourceConfig();
+
+        pgSourceConfig.validateFields();
+    }
+
+    @Test
+    public void shouldAcceptPreparedQueryWithWholeQuotedAndUnquotedFormatSpecifiers() {
+        pgSourceConfig = getPgSourceConfigBuilder()
+                .setQueryPattern("select * from public.drivers where driver_id = '%s' and service_area_id = %d and name like 'a%%'")
+                .setPreparedQuery(true)
+                .createPgSourceConfig();
+
+        pgSourceConfig.validateFields();
+    }
+
+    @Test
+    public void shouldUseCapacityAsPoolMaxSizeByDefault() {
+        assertEquals(Integer.valueOf(capacity), pgSourceConfig.getPoolMaxSize());
+    }
+
+    @Test
+    public void shouldReturnSamePoolKeyForSameConnectionOptions() {
+        PgSourceConfig otherPgSourceConfig = getPgSourceConfigBuilder()
+                .setQueryPattern("select * from public.customers where customer_id = '%s'")
+                .createPgSourceConfig();
+
+        assertEquals(pgSourceConfig.getPoolKey(), otherPgSourceConfig.getPoolKey());
+    }
+
+    @Test
+    public void shouldReturnDifferentPoolKeyForDifferentDatabase() {
+        PgSourceConfig otherPgSourceConfig = getPgSourceConfigBuilder()
+                .setDatabase("other_db")
+                .createPgSourceConfig();
+
+        assertNotEquals(pgSourceConfig.getPoolKey(), otherPgSourceConfig.getPoolKey());
+    }
 }
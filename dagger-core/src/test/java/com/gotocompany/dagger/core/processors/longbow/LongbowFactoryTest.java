@@ -1,7 +1,11 @@
 package com.gotocompany.dagger.core.processors.longbow;
 
+import com.gotocompany.dagger.core.exception.DaggerConfigurationException;
 import com.gotocompany.dagger.core.processors.types.PostProcessor;
+import com.gotocompany.dagger.core.utils.Constants;
+import org.apache.flink.api.java.functions.KeySelector;
 import org.apache.flink.streaming.api.datastream.DataStream;
+import org.apache.flink.streaming.api.datastream.KeyedStream;
 
 import com.gotocompany.dagger.common.configuration.Configuration;
 import com.gotocompany.dagger.common.core.StencilClientOrchestrator;
@@ -18,6 +22,7 @@ import java.util.concurrent.TimeUnit;
 import static com.gotocompany.dagger.common.core.Constants.INPUT_STREAMS;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -41,6 +46,9 @@ public class LongbowFactoryTest {
     @Mock
     private DataStream dataStream;
 
+    @Mock
+    private KeyedStream keyedStream;
+
     @Before
     public void setup() {
         initMocks(this);
@@ -92,4 +100,77 @@ public class LongbowFactoryTest {
         verify(asyncProcessor, times(1)).orderedWait(any(), any(LongbowWriter.class), anyLong(), any(TimeUnit.class), anyInt());
         assertEquals(inputColumnNames.length, outputStream.getColumnNames().length);
     }
+
+    @Test
+    public void shouldPartitionByLongbowKeyBeforeReadAndWriteWithLocalStore() {
+        String[] inputColumnNames = new String[]{"longbow_key", "longbow_data", "rowtime", "event_timestamp", "longbow_duration"};
+        when(streamInfo.getColumnNames()).thenReturn(inputColumnNames);
+        when(configuration.getString(Constants.PROCESSOR_LONGBOW_STORE_TYPE_KEY, Constants.PROCESSOR_LONGBOW_STORE_TYPE_DEFAULT)).thenReturn("local");
+        when(dataStream.keyBy(any(KeySelector.class))).thenReturn(keyedStream);
+        LongbowSchema longbowSchema = new LongbowSchema(inputColumnNames);
+        LongbowFactory longbowFactory = new LongbowFactory(longbowSchema, configuration, stencilClientOrchestrator, metricsTelemetryExporter, asyncProcessor);
+        PostProcessor longbowProcessor = longbowFactory.getLongbowProcessor();
+        longbowProcessor.process(streamInfo);
+        verify(dataStream, times(1)).keyBy(any(LongbowKeySelector.class));
+        verify(asyncProcessor, times(1)).orderedWait(eq(keyedStream), any(LongbowWriter.class), anyLong(), any(TimeUnit.class), anyInt());
+    }
+
+    @Test
+    public void shouldPartitionByLongbowKeyBeforeReadAndWriteWithReadCache() {
+        String[] inputColumnNames = new String[]{"longbow_key", "longbow_data", "rowtime", "event_timestamp", "longbow_duration"};
+        when(streamInfo.getColumnNames()).thenReturn(inputColumnNames);
+        when(configuration.getInteger(Constants.PROCESSOR_LONGBOW_READ_CACHE_MAX_KEYS_KEY, Constants.PROCESSOR_LONGBOW_READ_CACHE_MAX_KEYS_DEFAULT)).thenReturn(100);
+        when(dataStream.keyBy(any(KeySelector.class))).thenReturn(keyedStream);
+        LongbowSchema longbowSchema = new LongbowSchema(inputColumnNames);
+        LongbowFactory longbowFactory = new LongbowFactory(longbowSchema, configuration, stencilClientOrchestrator, metricsTelemetryExporter, asyncProcessor);
+        PostProcessor longbowProcessor = longbowFactory.getLongbowProcessor();
+        longbowProcessor.process(streamInfo);
+        verify(dataStream, times(1)).keyBy(any(LongbowKeySelector.class));
+        verify(asyncProcessor, times(1)).orderedWait(eq(keyedStream), any(LongbowWriter.class), anyLong(), any(TimeUnit.class), anyInt());
+    }
+
+    @Test
+    public void shouldNotPartitionByLongbowKeyBeforeReadAndWriteWithoutReadCache() {
+        String[] inputColumnNames = new String[]{"longbow_key", "longbow_data", "rowtime", "event_timestamp", "longbow_duration"};
+        when(streamInfo.getColumnNames()).thenReturn(inputColumnNames);
+        LongbowSchema longbowSchema = new LongbowSchema(inputColumnNames);
+        LongbowFactory longbowFactory = new LongbowFactory(longbowSchema, configuration, stencilClientOrchestrator, metricsTelemetryExporter, asyncProcessor);
+        PostProcessor longbowProcessor = longbowFactory.getLongbowProcessor();
+        longbowProcessor.process(streamInfo);
+        verify(dataStream, never()).keyBy(any(KeySelector.class));
+    }
+
+    @Test
+    public void shouldThrowConfigurationExceptionForReadOnlyWithReadCache() {
+        String[] inputColumnNames = new String[]{"longbow_read_key", "rowtime", "longbow_duration", "event_timestamp"};
+        when(configuration.getInteger(Constants.PROCESSOR_LONGBOW_READ_CACHE_MAX_KEYS_KEY, Constants.PROCESSOR_LONGBOW_READ_CACHE_MAX_KEYS_DEFAULT)).thenReturn(100);
+        LongbowSchema longbowSchema = new LongbowSchema(inputColumnNames);
+        LongbowFactory longbowFactory = new LongbowFactory(longbowSchema, configuration, stencilClientOrchestrator, metricsTelemetryExporter, asyncProcessor);
+        DaggerConfigurationException exception = assertThrows(DaggerConfigurationException.class, longbowFactory::getLongbowProcessor);
+        assertEquals("PROCESSOR_LONGBOW_READ_CACHE_MAX_KEYS only reads documents written by the same task manager, "
+                + "so it can not be used by daggers which only longbow_read", exception.getMessage());
+    }
+
+    @Test
+    public void shouldThrowConfigurationExceptionForStreamingScanWithReadCache() {
+        String[] inputColumnNames = new String[]{"longbow_key", "longbow_data", "rowtime", "event_timestamp", "longbow_duration"};
+        when(configuration.getInteger(Constants.PROCESSOR_LONGBOW_READ_CACHE_MAX_KEYS_KEY, Constants.PROCESSOR_LONGBOW_READ_CACHE_MAX_KEYS_DEFAULT)).thenReturn(100);
+        when(configuration.getBoolean(Constants.PROCESSOR_LONGBOW_STREAMING_SCAN_ENABLE_KEY, Constants.PROCESSOR_LONGBOW_STREAMING_SCAN_ENABLE_DEFAULT)).thenReturn(true);
+        LongbowSchema longbowSchema = new LongbowSchema(inputColumnNames);
+        LongbowFactory longbowFactory = new LongbowFactory(longbowSchema, configuration, stencilClientOrchestrator, metricsTelemetryExporter, asyncProcessor);
+        DaggerConfigurationException exception = assertThrows(DaggerConfigurationException.class, longbowFactory::getLongbowProcessor);
+        assertEquals("PROCESSOR_LONGBOW_READ_CACHE_MAX_KEYS and PROCESSOR_LONGBOW_STREAMING_SCAN_ENABLE can not be used together, "
+                + "cached scans are not streamed", exception.getMessage());
+    }
+
+    @Test
+    public void shouldThrowConfigurationExceptionForWriteOnlyWithLocalStore() {
+        String[] inputColumnNames = new String[]{"longbow_write_key", "longbow_write", "rowtime", "event_timestamp"};
+        when(configuration.getString(Constants.PROCESSOR_LONGBOW_STORE_TYPE_KEY, Constants.PROCESSOR_LONGBOW_STORE_TYPE_DEFAULT)).thenReturn("LOCAL");
+        LongbowSchema longbowSchema = new LongbowSchema(inputColumnNames);
+        LongbowFactory longbowFactory = new LongbowFactory(longbowSchema, configuration, stencilClientOrchestrator, metricsTelemetryExporter, asyncProcessor);
+        DaggerConfigurationException exception = assertThrows(DaggerConfigurationException.class, longbowFactory::getLongbowProcessor);
+        assertEquals("PROCESSOR_LONGBOW_STORE_TYPE LOCAL keeps the longbow data in the task managers of the job, "
+                + "so it can not be used by daggers which only longbow_write", exception.getMessage());
+    }
 }
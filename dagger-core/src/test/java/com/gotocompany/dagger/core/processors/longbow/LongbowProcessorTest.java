@@ -7,6 +7,7 @@ import org.apache.flink.types.Row;
 import com.gotocompany.dagger.common.configuration.Configuration;
 import com.gotocompany.dagger.common.core.StreamInfo;
 import com.gotocompany.dagger.core.processors.longbow.columnmodifier.ColumnModifier;
+import com.gotocompany.dagger.core.utils.Constants;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -59,4 +60,19 @@ public class LongbowProcessorTest {
                 .orderedWait(any(), functionCaptor.capture(), anyLong(), any(TimeUnit.class), anyInt());
         assertEquals(Arrays.asList(asyncFunction1, asyncFunction2), functionCaptor.getAllValues());
     }
+
+    @Test
+    public void shouldChainRichAsyncFunctionsWithUnorderedWaitIfConfigured() {
+        String[] columnNames = {"rowtime", "longbow_key", "event_timestamp"};
+        when(configuration.getString(Constants.PROCESSOR_LONGBOW_OUTPUT_ORDERING_KEY, Constants.PROCESSOR_LONGBOW_OUTPUT_ORDERING_DEFAULT)).thenReturn("unordered");
+        RichAsyncFunction asyncFunction = mock(RichAsyncFunction.class);
+        ArrayList<RichAsyncFunction<Row, Row>> richAsyncFunctions = new ArrayList<>();
+        richAsyncFunctions.add(asyncFunction);
+        LongbowProcessor longbowProcessor = new LongbowProcessor(asyncProcessor, configuration, richAsyncFunctions, columnModifier);
+        longbowProcessor.process(new StreamInfo(dataStream, columnNames));
+        verify(asyncProcessor, times(1))
+                .unorderedWait(any(), eq(asyncFunction), anyLong(), any(TimeUnit.class), anyInt());
+        verify(asyncProcessor, never())
+                .orderedWait(any(), any(), anyLong(), any(TimeUnit.class), anyInt());
+    }
 }
@@ -38,4 +38,17 @@ public class LongbowProtoDataTest {
         }};
         assertEquals(expectedMap, actualMap);
     }
+
+    @Test
+    public void shouldParseScannedRowsIntoProtoByteData() {
+        byte[] mockResult = Bytes.toBytes("test");
+        when(scanResult.getValue(COLUMN_FAMILY_NAME, Bytes.toBytes(Constants.LONGBOW_QUALIFIER_DEFAULT))).thenReturn(mockResult);
+        LongbowProtoData longbowProtoData = new LongbowProtoData();
+
+        Map<String, List<byte[]>> actualMap = longbowProtoData.parse(Collections.emptyList());
+        longbowProtoData.parse(actualMap, scanResult);
+        longbowProtoData.parse(actualMap, scanResult);
+
+        assertEquals(Arrays.asList(mockResult, mockResult), actualMap.get("proto_data"));
+    }
 }
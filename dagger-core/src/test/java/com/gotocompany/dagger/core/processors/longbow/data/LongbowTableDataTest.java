@@ -72,4 +72,18 @@ public class LongbowTableDataTest {
         }};
         assertEquals(expectedMap, actualData);
     }
+
+    @Test
+    public void shouldParseScannedRowsOneAtATime() {
+        String[] columnNames = {"longbow_key", "longbow_data1", "rowtime", "longbow_duration", "longbow_data2"};
+
+        LongbowSchema longbowSchema = new LongbowSchema(columnNames);
+        LongbowTableData longbowTableData = new LongbowTableData(longbowSchema);
+        Map<String, List<String>> actualData = longbowTableData.parse(new ArrayList<>());
+        longbowTableData.parse(actualData, result2);
+        longbowTableData.parse(actualData, result1);
+
+        assertEquals(Arrays.asList("RB-224", "RB-234"), actualData.get("longbow_data1"));
+        assertEquals(Arrays.asList("RB-225", "RB-235"), actualData.get("longbow_data2"));
+    }
 }
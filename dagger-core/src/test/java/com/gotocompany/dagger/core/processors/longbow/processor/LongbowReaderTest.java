@@ -15,8 +15,12 @@ import com.gotocompany.dagger.core.processors.longbow.exceptions.LongbowReaderEx
 import com.gotocompany.dagger.core.processors.longbow.outputRow.ReaderOutputRow;
 import com.gotocompany.dagger.core.processors.longbow.range.LongbowAbsoluteRange;
 import com.gotocompany.dagger.core.processors.longbow.request.ScanRequestFactory;
+import com.gotocompany.dagger.core.processors.longbow.storage.LongbowScanConsumer;
 import com.gotocompany.dagger.core.processors.longbow.storage.LongbowStore;
 import com.gotocompany.dagger.core.processors.longbow.storage.ScanRequest;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -24,14 +28,18 @@ import org.mockito.Mock;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeoutException;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -103,6 +111,71 @@ public class LongbowReaderTest {
         verify(errorReporter, times(1)).reportNonFatalException(any(LongbowReaderException.class));
     }
 
+    @Test
+    public void shouldServeRepeatedScansOfKeyFromReadCache() throws Exception {
+        Row input = Row.of("driver-cached", "order1", currentTimestamp, "24h");
+        when(configuration.getInteger(Constants.PROCESSOR_LONGBOW_READ_CACHE_MAX_KEYS_KEY, Constants.PROCESSOR_LONGBOW_READ_CACHE_MAX_KEYS_DEFAULT)).thenReturn(100);
+        when(longbowAbsoluteRow.getUpperBound(input)).thenReturn(defaultLongBowSchema.getAbsoluteKey(input, currentTimestamp.getTime()));
+        when(longbowAbsoluteRow.getLowerBound(input)).thenReturn(defaultLongBowSchema.getAbsoluteKey(input, currentTimestamp.getTime() - 10000));
+        when(longBowStore.scanAll(any(ScanRequest.class))).thenReturn(CompletableFuture.completedFuture(new ArrayList<>()));
+        LongbowReader longBowReader = new LongbowReader(configuration, defaultLongBowSchema, longbowAbsoluteRow, longBowStore, meterStatsManager, errorReporter, longbowData, scanRequestFactory, readerOutputRow);
+
+        longBowReader.open(flinkInternalConfig);
+        longBowReader.asyncInvoke(input, resultFuture);
+        longBowReader.asyncInvoke(input, resultFuture);
+
+        verify(longBowStore, times(1)).scanAll(any(ScanRequest.class));
+        verify(meterStatsManager, times(2)).markEvent(LongbowReaderAspects.SUCCESS_ON_READ_DOCUMENT);
+    }
+
+    @Test
+    public void shouldParseStreamingScanLimitedToMaxRowsAndCountItAsTruncated() throws Exception {
+        Row input = Row.of("driver0", "order1", currentTimestamp, "24h");
+        when(configuration.getBoolean(Constants.PROCESSOR_LONGBOW_STREAMING_SCAN_ENABLE_KEY, Constants.PROCESSOR_LONGBOW_STREAMING_SCAN_ENABLE_DEFAULT)).thenReturn(true);
+        when(configuration.getInteger(Constants.PROCESSOR_LONGBOW_MAX_ROWS_KEY, Constants.PROCESSOR_LONGBOW_MAX_ROWS_DEFAULT)).thenReturn(2);
+        when(longbowAbsoluteRow.getUpperBound(input)).thenReturn(defaultLongBowSchema.getKey(input, 0));
+        when(longbowAbsoluteRow.getLowerBound(input)).thenReturn(defaultLongBowSchema.getKey(input, 10000));
+        Result firstResult = Result.create(Collections.singletonList(new KeyValue(defaultLongBowSchema.getKey(input, 0), Bytes.toBytes("ts"), Bytes.toBytes("longbow_data1"), Bytes.toBytes("order1"))));
+        when(longBowStore.scan(any(ScanRequest.class), any(LongbowScanConsumer.class))).thenAnswer(invocation -> {
+            ScanRequest scanRequest = invocation.getArgument(0);
+            LongbowScanConsumer scanConsumer = invocation.getArgument(1);
+            int rowsRead = 0;
+            while (rowsRead < scanRequest.get().getLimit() && scanConsumer.onNext(firstResult)) {
+                rowsRead++;
+            }
+            return CompletableFuture.completedFuture(null);
+        });
+        LongbowReader longBowReader = new LongbowReader(configuration, defaultLongBowSchema, longbowAbsoluteRow, longBowStore, meterStatsManager, errorReporter, longbowData, new ScanRequestFactory(defaultLongBowSchema, "tableId", 2), readerOutputRow);
+
+        longBowReader.open(flinkInternalConfig);
+        longBowReader.asyncInvoke(input, resultFuture);
+
+        verify(longBowStore, never()).scanAll(any(ScanRequest.class));
+        verify(longbowData, times(2)).parse(any(Map.class), eq(firstResult));
+        verify(meterStatsManager, times(1)).updateHistogram(LongbowReaderAspects.DOCUMENTS_READ_PER_SCAN, 2L);
+        verify(meterStatsManager, times(1)).markEvent(LongbowReaderAspects.TRUNCATED_SCANS_ON_READ_DOCUMENT);
+        verify(meterStatsManager, never()).markEvent(LongbowReaderAspects.FAILED_TO_READ_LAST_RECORD);
+        verify(resultFuture, times(1)).complete(any());
+    }
+
+    @Test
+    public void shouldNotCountScanWithLessThanMaxRowsAsTruncated() throws Exception {
+        Row input = Row.of("driver0", "order1", currentTimestamp, "24h");
+        when(configuration.getInteger(Constants.PROCESSOR_LONGBOW_MAX_ROWS_KEY, Constants.PROCESSOR_LONGBOW_MAX_ROWS_DEFAULT)).thenReturn(2);
+        when(longbowAbsoluteRow.getUpperBound(input)).thenReturn(defaultLongBowSchema.getKey(input, 0));
+        when(longbowAbsoluteRow.getLowerBound(input)).thenReturn(defaultLongBowSchema.getKey(input, 10000));
+        Result firstResult = Result.create(Collections.singletonList(new KeyValue(defaultLongBowSchema.getKey(input, 0), Bytes.toBytes("ts"), Bytes.toBytes("longbow_data1"), Bytes.toBytes("order1"))));
+        when(longBowStore.scanAll(any(ScanRequest.class))).thenReturn(CompletableFuture.completedFuture(Collections.singletonList(firstResult)));
+        LongbowReader longBowReader = new LongbowReader(configuration, defaultLongBowSchema, longbowAbsoluteRow, longBowStore, meterStatsManager, errorReporter, longbowData, new ScanRequestFactory(defaultLongBowSchema, "tableId", 2), readerOutputRow);
+
+        longBowReader.open(flinkInternalConfig);
+        longBowReader.asyncInvoke(input, resultFuture);
+
+        verify(meterStatsManager, times(1)).updateHistogram(LongbowReaderAspects.DOCUMENTS_READ_PER_SCAN, 1L);
+        verify(meterStatsManager, never()).markEvent(LongbowReaderAspects.TRUNCATED_SCANS_ON_READ_DOCUMENT);
+        verify(resultFuture, times(1)).complete(any());
+    }
+
     @Test
     public void shouldHandleClose() throws Exception {
         String[] columnNames = {"longbow_key", "longbow_data1", "rowtime", "longbow_duration", "longbow_data2"};
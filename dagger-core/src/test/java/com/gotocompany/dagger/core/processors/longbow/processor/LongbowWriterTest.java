@@ -144,6 +144,49 @@ public class LongbowWriterTest {
                 .updateHistogram(eq(LongbowWriterAspects.SUCCESS_ON_WRITE_DOCUMENT_RESPONSE_TIME), any(Long.class));
     }
 
+    @Test
+    public void shouldWriteBatchOfDocumentsAsSingleBulkMutation() throws Exception {
+        when(configuration.getInteger("PROCESSOR_LONGBOW_WRITE_BATCH_SIZE", 1)).thenReturn(2);
+        when(configuration.getLong("PROCESSOR_LONGBOW_WRITE_BATCH_BYTES", 5242880L)).thenReturn(5242880L);
+        when(configuration.getLong("PROCESSOR_LONGBOW_WRITE_BATCH_LINGER_MS", 10L)).thenReturn(60000L);
+        when(longBowStore.tableExists(tableId)).thenReturn(true);
+        when(longBowStore.putAll(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+        Row firstInput = Row.of(longbowKey, longbowData1, longbowDuration, longbowRowtime);
+        Row secondInput = Row.of("rule123#driver555", longbowData1, longbowDuration, longbowRowtime);
+
+        defaultLongbowWriter.open(flinkInternalConfig);
+        defaultLongbowWriter.asyncInvoke(firstInput, resultFuture);
+
+        verify(resultFuture, never()).complete(any());
+
+        defaultLongbowWriter.asyncInvoke(secondInput, resultFuture);
+        defaultLongbowWriter.close();
+
+        verify(longBowStore, times(1)).putAll(argThat(putRequests -> putRequests.size() == 2));
+        verify(longBowStore, never()).put(any(PutRequest.class));
+        verify(resultFuture, times(1)).complete(Collections.singletonList(firstInput));
+        verify(resultFuture, times(1)).complete(Collections.singletonList(secondInput));
+        verify(meterStatsManager, times(2)).markEvent(LongbowWriterAspects.SUCCESS_ON_WRITE_DOCUMENT);
+    }
+
+    @Test
+    public void shouldFlushPendingBatchOnCheckpoint() throws Exception {
+        when(configuration.getInteger("PROCESSOR_LONGBOW_WRITE_BATCH_SIZE", 1)).thenReturn(30);
+        when(configuration.getLong("PROCESSOR_LONGBOW_WRITE_BATCH_BYTES", 5242880L)).thenReturn(5242880L);
+        when(configuration.getLong("PROCESSOR_LONGBOW_WRITE_BATCH_LINGER_MS", 10L)).thenReturn(60000L);
+        when(longBowStore.tableExists(tableId)).thenReturn(true);
+        when(longBowStore.putAll(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+        Row input = Row.of(longbowKey, longbowData1, longbowDuration, longbowRowtime);
+
+        defaultLongbowWriter.open(flinkInternalConfig);
+        defaultLongbowWriter.asyncInvoke(input, resultFuture);
+        defaultLongbowWriter.snapshotState(null);
+
+        verify(longBowStore, times(1)).putAll(argThat(putRequests -> putRequests.size() == 1));
+        verify(resultFuture, times(1)).complete(Collections.singletonList(input));
+        defaultLongbowWriter.close();
+    }
+
     @Test(expected = RuntimeException.class)
     public void shouldCaptureExceptionWithStatsDManagerAndRethrowExceptionOnCreateTableFailure() throws Exception {
         long nintyDays = (long) 90 * 24 * 60 * 60 * 1000;
@@ -30,4 +30,20 @@ public class ProtoByteScanRequestTest {
         expectedScan.addColumn(Bytes.toBytes("ts"), Bytes.toBytes("proto"));
         assertEquals(expectedScan.getFamilyMap(), protoByteScanRequest.get().getFamilyMap());
     }
+
+    @Test
+    public void shouldNotLimitProtoScanRequestByDefault() {
+        ProtoByteScanRequest protoByteScanRequest = new ProtoByteScanRequest(startRow, endRow, tableId);
+
+        assertEquals(-1, protoByteScanRequest.get().getLimit());
+    }
+
+    @Test
+    public void shouldLimitProtoScanRequestToMaxRows() {
+        ProtoByteScanRequest protoByteScanRequest = new ProtoByteScanRequest(startRow, endRow, tableId, 100);
+
+        Scan scan = protoByteScanRequest.get();
+        assertEquals(100, scan.getLimit());
+        assertEquals(100, scan.getCaching());
+    }
 }
@@ -1,6 +1,7 @@
 package com.gotocompany.dagger.core.processors.longbow.request;
 
 import org.apache.flink.types.Row;
+import org.apache.hadoop.hbase.util.Bytes;
 
 import com.gotocompany.dagger.core.processors.longbow.LongbowSchema;
 import com.gotocompany.dagger.core.processors.longbow.range.LongbowRange;
@@ -47,4 +48,14 @@ public class ScanRequestFactoryTest {
         ScanRequest scanRequest = scanRequestFactory.create(input, longbowRange);
         assertEquals(ProtoByteScanRequest.class, scanRequest.getClass());
     }
+
+    @Test
+    public void shouldCreateScanRequestLimitedToMaxRows() {
+        when(longbowSchema.isLongbowPlus()).thenReturn(false);
+        when(longbowRange.getUpperBound(input)).thenReturn(Bytes.toBytes("driver1#1"));
+        when(longbowRange.getLowerBound(input)).thenReturn(Bytes.toBytes("driver1#2"));
+        ScanRequestFactory scanRequestFactory = new ScanRequestFactory(longbowSchema, tableId, 20);
+        ScanRequest scanRequest = scanRequestFactory.create(input, longbowRange);
+        assertEquals(20, scanRequest.get().getLimit());
+    }
 }
@@ -70,4 +70,16 @@ public class TableScanRequestTest {
         expectedScan.addColumn(Bytes.toBytes("ts"), Bytes.toBytes("longbow_data2"));
         assertEquals(expectedScan.getFamilyMap(), actualTableScanRequest.get().getFamilyMap());
     }
+
+    @Test
+    public void shouldLimitScanRequestToMaxRows() {
+        String[] columnNames = {"longbow_key", "longbow_data1", "longbow_duration", "rowtime"};
+        LongbowSchema longbowSchema = new LongbowSchema(columnNames);
+
+        Scan scan = new TableScanRequest(startRow, endRow, longbowSchema, tableId, 50).get();
+
+        assertEquals(50, scan.getLimit());
+        assertEquals(50, scan.getCaching());
+        assertEquals(-1, new TableScanRequest(startRow, endRow, longbowSchema, tableId).get().getLimit());
+    }
 }
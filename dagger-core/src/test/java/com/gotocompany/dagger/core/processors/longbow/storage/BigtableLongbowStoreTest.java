@@ -0,0 +1,118 @@
+package com.gotocompany.dagger.core.processors.longbow.storage;
+
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.AsyncTable;
+import org.apache.hadoop.hbase.client.BigtableAsyncConnection;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.ScanResultConsumer;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class BigtableLongbowStoreTest {
+    private static final byte[] COLUMN_FAMILY = Bytes.toBytes("ts");
+    private static final byte[] QUALIFIER = Bytes.toBytes("proto");
+    private static final String TABLE_ID = "test-table";
+
+    @Mock
+    private BigtableAsyncConnection tableClient;
+
+    @Mock
+    private AsyncTable<ScanResultConsumer> table;
+
+    @Mock
+    private ScanRequest scanRequest;
+
+    private BigtableLongbowStore bigtableLongbowStore;
+
+    @Before
+    public void setup() {
+        initMocks(this);
+        when(tableClient.getTable(any(TableName.class), any(ExecutorService.class))).thenReturn(table);
+        when(scanRequest.getTableId()).thenReturn(TABLE_ID);
+        when(scanRequest.get()).thenReturn(new Scan());
+        bigtableLongbowStore = new BigtableLongbowStore(null, tableClient);
+    }
+
+    @Test
+    public void shouldStreamScannedRowsIntoConsumer() throws Exception {
+        List<Result> rows = Arrays.asList(result("row1"), result("row2"));
+        doAnswer(invocation -> {
+            ScanResultConsumer consumer = invocation.getArgument(1);
+            rows.forEach(consumer::onNext);
+            consumer.onComplete();
+            return null;
+        }).when(table).scan(any(Scan.class), any(ScanResultConsumer.class));
+        List<Result> consumedRows = new ArrayList<>();
+
+        bigtableLongbowStore.scan(scanRequest, consumedRows::add).get();
+
+        assertEquals(rows, consumedRows);
+    }
+
+    @Test
+    public void shouldTerminateScanWhenConsumerStops() throws Exception {
+        doAnswer(invocation -> {
+            ScanResultConsumer consumer = invocation.getArgument(1);
+            if (consumer.onNext(result("row1"))) {
+                consumer.onNext(result("row2"));
+                consumer.onComplete();
+            }
+            return null;
+        }).when(table).scan(any(Scan.class), any(ScanResultConsumer.class));
+        List<Result> consumedRows = new ArrayList<>();
+
+        CompletableFuture<Void> future = bigtableLongbowStore.scan(scanRequest, result -> !consumedRows.add(result));
+
+        assertTrue(future.isDone());
+        assertFalse(future.isCompletedExceptionally());
+        assertEquals(1, consumedRows.size());
+    }
+
+    @Test
+    public void shouldFailScanOnError() {
+        RuntimeException error = new RuntimeException("scan failed");
+        doAnswer(invocation -> {
+            ScanResultConsumer consumer = invocation.getArgument(1);
+            consumer.onError(error);
+            return null;
+        }).when(table).scan(any(Scan.class), any(ScanResultConsumer.class));
+
+        CompletableFuture<Void> future = bigtableLongbowStore.scan(scanRequest, result -> true);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertSame(error, exception.getCause());
+    }
+
+    @Test
+    public void shouldFallBackToScanAllIfScanConsumerIsNotSupported() throws Exception {
+        List<Result> rows = Collections.singletonList(result("row1"));
+        doThrow(new UnsupportedOperationException()).when(table).scan(any(Scan.class), any(ScanResultConsumer.class));
+        when(table.scanAll(any(Scan.class))).thenReturn(CompletableFuture.completedFuture(rows));
+        List<Result> consumedRows = new ArrayList<>();
+
+        bigtableLongbowStore.scan(scanRequest, consumedRows::add).get();
+
+        assertEquals(rows, consumedRows);
+    }
+
+    private Result result(String rowKey) {
+        return Result.create(Collections.singletonList(new KeyValue(Bytes.toBytes(rowKey), COLUMN_FAMILY, QUALIFIER, Bytes.toBytes(rowKey))));
+    }
+}
@@ -0,0 +1,203 @@
+package com.gotocompany.dagger.core.processors.longbow.storage;
+
+import com.gotocompany.dagger.core.exception.DaggerConfigurationException;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.threeten.bp.Duration;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class LocalLongbowStoreTest {
+    private static final byte[] COLUMN_FAMILY = Bytes.toBytes("ts");
+    private static final byte[] QUALIFIER = Bytes.toBytes("proto");
+    private static final String TABLE_ID = "test-table";
+    private static final long NOW = 1600000000000L;
+    private static final long MAX_ROWS = 100L;
+
+    @Mock
+    private PutRequest putRequest;
+
+    @Mock
+    private ScanRequest scanRequest;
+
+    private Map<String, LocalLongbowStore.LocalTable> tables;
+    private LocalLongbowStore localLongbowStore;
+
+    @Before
+    public void setup() {
+        initMocks(this);
+        tables = new ConcurrentHashMap<>();
+        localLongbowStore = new LocalLongbowStore(tables, Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC), MAX_ROWS);
+        when(putRequest.getTableId()).thenReturn(TABLE_ID);
+        when(scanRequest.getTableId()).thenReturn(TABLE_ID);
+    }
+
+    @Test
+    public void shouldCreateTable() {
+        assertFalse(localLongbowStore.tableExists(TABLE_ID));
+
+        localLongbowStore.createTable(Duration.ofDays(1), "ts", TABLE_ID);
+
+        assertTrue(localLongbowStore.tableExists(TABLE_ID));
+    }
+
+    @Test
+    public void shouldScanRowsOfTheRangeInOrderOfTheirKeys() throws Exception {
+        localLongbowStore.createTable(Duration.ofDays(1), "ts", TABLE_ID);
+        put("key#3", NOW - 3, "third");
+        put("key#1", NOW - 1, "first");
+        put("key#2", NOW - 2, "second");
+        put("other#1", NOW - 1, "other");
+
+        when(scanRequest.get()).thenReturn(scan("key#1", "key#2"));
+        List<Result> results = localLongbowStore.scanAll(scanRequest).get();
+
+        assertEquals(2, results.size());
+        assertEquals("first", Bytes.toString(results.get(0).getValue(COLUMN_FAMILY, QUALIFIER)));
+        assertEquals("second", Bytes.toString(results.get(1).getValue(COLUMN_FAMILY, QUALIFIER)));
+        assertArrayEquals(Bytes.toBytes("key#1"), results.get(0).getRow());
+    }
+
+    @Test
+    public void shouldKeepTheLatestVersionOfACell() throws Exception {
+        localLongbowStore.createTable(Duration.ofDays(1), "ts", TABLE_ID);
+        put("key#1", NOW - 1, "latest");
+        put("key#1", NOW - 2, "older");
+
+        when(scanRequest.get()).thenReturn(scan("key#1", "key#1"));
+        List<Result> results = localLongbowStore.scanAll(scanRequest).get();
+
+        assertEquals(1, results.size());
+        assertEquals("latest", Bytes.toString(results.get(0).getValue(COLUMN_FAMILY, QUALIFIER)));
+    }
+
+    @Test
+    public void shouldNotScanCellsOlderThanTheMaxAgeOfTheTable() throws Exception {
+        localLongbowStore.createTable(Duration.ofMillis(1000), "ts", TABLE_ID);
+        put("key#1", NOW - 100, "recent");
+        put("key#2", NOW - 900, "old");
+
+        LocalLongbowStore laterLocalLongbowStore = new LocalLongbowStore(tables, Clock.fixed(Instant.ofEpochMilli(NOW + 500), ZoneOffset.UTC), MAX_ROWS);
+        when(scanRequest.get()).thenReturn(scan("key#1", "key#2"));
+        List<Result> results = laterLocalLongbowStore.scanAll(scanRequest).get();
+
+        assertEquals(1, results.size());
+        assertEquals("recent", Bytes.toString(results.get(0).getValue(COLUMN_FAMILY, QUALIFIER)));
+    }
+
+    @Test
+    public void shouldStopScanningAtTheLimitOfTheScan() throws Exception {
+        localLongbowStore.createTable(Duration.ofDays(1), "ts", TABLE_ID);
+        put("key#1", NOW - 1, "first");
+        put("key#2", NOW - 2, "second");
+
+        when(scanRequest.get()).thenReturn(scan("key#1", "key#2").setLimit(1));
+        List<Result> results = localLongbowStore.scanAll(scanRequest).get();
+
+        assertEquals(1, results.size());
+    }
+
+    @Test
+    public void shouldStopStreamingScanWhenConsumerTerminatesIt() throws Exception {
+        localLongbowStore.createTable(Duration.ofDays(1), "ts", TABLE_ID);
+        put("key#1", NOW - 1, "first");
+        put("key#2", NOW - 2, "second");
+        put("key#3", NOW - 3, "third");
+        List<String> values = new ArrayList<>();
+
+        when(scanRequest.get()).thenReturn(scan("key#1", "key#3"));
+        localLongbowStore.scan(scanRequest, result -> {
+            values.add(Bytes.toString(result.getValue(COLUMN_FAMILY, QUALIFIER)));
+            return values.size() < 2;
+        }).get();
+
+        assertEquals(Arrays.asList("first", "second"), values);
+    }
+
+    @Test
+    public void shouldFailThePutAndTheScanWhenTheTableDoesNotExist() {
+        when(putRequest.get()).thenReturn(new Put(Bytes.toBytes("key#1")).addColumn(COLUMN_FAMILY, QUALIFIER, NOW, Bytes.toBytes("value")));
+        when(scanRequest.get()).thenReturn(scan("key#1", "key#2"));
+
+        ExecutionException putException = assertThrows(ExecutionException.class, () -> localLongbowStore.put(putRequest).get());
+        ExecutionException scanException = assertThrows(ExecutionException.class, () -> localLongbowStore.scanAll(scanRequest).get());
+
+        assertEquals("table 'test-table' does not exist in the local longbow store", putException.getCause().getMessage());
+        assertEquals("table 'test-table' does not exist in the local longbow store", scanException.getCause().getMessage());
+    }
+
+    @Test
+    public void shouldFailThePutOfANewRowWhenTheTableIsFull() throws Exception {
+        localLongbowStore = new LocalLongbowStore(tables, Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC), 2L);
+        localLongbowStore.createTable(Duration.ofDays(1), "ts", TABLE_ID);
+        put("key#1", NOW - 1, "first");
+        put("key#2", NOW - 2, "second");
+        put("key#1", NOW, "latest");
+
+        when(putRequest.get()).thenReturn(new Put(Bytes.toBytes("key#3")).addColumn(COLUMN_FAMILY, QUALIFIER, NOW - 3, Bytes.toBytes("third")));
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> localLongbowStore.put(putRequest).get());
+
+        assertEquals("table 'test-table' of the local longbow store is full with 2 rows, see PROCESSOR_LONGBOW_LOCAL_MAX_ROWS", exception.getCause().getMessage());
+    }
+
+    @Test
+    public void shouldCompactExpiredRowsToMakeRoomForANewRowWhenTheTableIsFull() throws Exception {
+        localLongbowStore = new LocalLongbowStore(tables, Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC), 2L);
+        localLongbowStore.createTable(Duration.ofMillis(1000), "ts", TABLE_ID);
+        put("key#1", NOW - 100, "recent");
+        put("key#2", NOW - 900, "old");
+
+        LocalLongbowStore laterLocalLongbowStore = new LocalLongbowStore(tables, Clock.fixed(Instant.ofEpochMilli(NOW + 500), ZoneOffset.UTC), 2L);
+        when(putRequest.get()).thenReturn(new Put(Bytes.toBytes("key#3")).addColumn(COLUMN_FAMILY, QUALIFIER, NOW, Bytes.toBytes("new")));
+        laterLocalLongbowStore.put(putRequest).get();
+        when(scanRequest.get()).thenReturn(scan("key#1", "key#3"));
+        List<Result> results = laterLocalLongbowStore.scanAll(scanRequest).get();
+
+        assertEquals(2, results.size());
+        assertEquals("recent", Bytes.toString(results.get(0).getValue(COLUMN_FAMILY, QUALIFIER)));
+        assertEquals("new", Bytes.toString(results.get(1).getValue(COLUMN_FAMILY, QUALIFIER)));
+    }
+
+    @Test
+    public void shouldParseTheStoreTypeIgnoringCase() {
+        assertEquals(LongbowStoreType.LOCAL, LongbowStore.getStoreType("local"));
+        assertEquals(LongbowStoreType.BIGTABLE, LongbowStore.getStoreType("BIGTABLE"));
+    }
+
+    @Test
+    public void shouldThrowConfigurationExceptionForUnknownStoreType() {
+        DaggerConfigurationException exception = assertThrows(DaggerConfigurationException.class, () -> LongbowStore.getStoreType("cassandra"));
+
+        assertEquals("Invalid PROCESSOR_LONGBOW_STORE_TYPE cassandra, supported types are [BIGTABLE, LOCAL]", exception.getMessage());
+    }
+
+    private void put(String rowKey, long timestamp, String value) throws Exception {
+        when(putRequest.get()).thenReturn(new Put(Bytes.toBytes(rowKey)).addColumn(COLUMN_FAMILY, QUALIFIER, timestamp, Bytes.toBytes(value)));
+        localLongbowStore.put(putRequest).get();
+    }
+
+    private Scan scan(String startRow, String stopRow) {
+        Scan scan = new Scan();
+        scan.withStartRow(Bytes.toBytes(startRow), true);
+        scan.withStopRow(Bytes.toBytes(stopRow), true);
+        scan.addColumn(COLUMN_FAMILY, QUALIFIER);
+        return scan;
+    }
+}
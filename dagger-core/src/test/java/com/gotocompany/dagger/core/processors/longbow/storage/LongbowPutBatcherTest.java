@@ -0,0 +1,137 @@
+package com.gotocompany.dagger.core.processors.longbow.storage;
+
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class LongbowPutBatcherTest {
+    private static final String TABLE_ID = "test-table";
+    private static final long BATCH_BYTES = 5242880L;
+
+    @Mock
+    private LongbowStore longbowStore;
+
+    @Mock
+    private ScheduledExecutorService lingerExecutor;
+
+    @Mock
+    private ScheduledFuture lingerFlush;
+
+    @Mock
+    private PutRequest firstPutRequest;
+
+    @Mock
+    private PutRequest secondPutRequest;
+
+    private Put firstPut;
+    private Put secondPut;
+
+    @Before
+    public void setup() {
+        initMocks(this);
+        firstPut = new Put(Bytes.toBytes("driver#1")).addColumn(Bytes.toBytes("ts"), Bytes.toBytes("proto"), Bytes.toBytes("first"));
+        secondPut = new Put(Bytes.toBytes("driver#2")).addColumn(Bytes.toBytes("ts"), Bytes.toBytes("proto"), Bytes.toBytes("second"));
+        when(firstPutRequest.get()).thenReturn(firstPut);
+        when(firstPutRequest.getTableId()).thenReturn(TABLE_ID);
+        when(secondPutRequest.get()).thenReturn(secondPut);
+        when(secondPutRequest.getTableId()).thenReturn(TABLE_ID);
+        doReturn(lingerFlush).when(lingerExecutor).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void shouldScheduleLingerFlushForFirstPutOfBatch() {
+        LongbowPutBatcher putBatcher = new LongbowPutBatcher(longbowStore, 2, BATCH_BYTES, 10L, lingerExecutor);
+
+        CompletableFuture<Void> future = putBatcher.add(firstPutRequest);
+
+        assertFalse(future.isDone());
+        verify(lingerExecutor, times(1)).schedule(any(Runnable.class), eq(10L), eq(TimeUnit.MILLISECONDS));
+        verify(longbowStore, never()).putAll(anyList());
+    }
+
+    @Test
+    public void shouldPutAllWhenBatchIsFullAndCompleteEveryPut() {
+        when(longbowStore.putAll(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+        LongbowPutBatcher putBatcher = new LongbowPutBatcher(longbowStore, 2, BATCH_BYTES, 10L, lingerExecutor);
+
+        CompletableFuture<Void> firstFuture = putBatcher.add(firstPutRequest);
+        CompletableFuture<Void> secondFuture = putBatcher.add(secondPutRequest);
+
+        ArgumentCaptor<List<PutRequest>> putRequestsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(longbowStore, times(1)).putAll(putRequestsCaptor.capture());
+        List<PutRequest> putRequests = putRequestsCaptor.getValue();
+        assertEquals(2, putRequests.size());
+        assertSame(firstPut, putRequests.get(0).get());
+        assertSame(secondPut, putRequests.get(1).get());
+        assertEquals(TABLE_ID, putRequests.get(1).getTableId());
+        assertTrue(firstFuture.isDone());
+        assertTrue(secondFuture.isDone());
+        assertFalse(secondFuture.isCompletedExceptionally());
+        verify(lingerFlush, times(1)).cancel(false);
+    }
+
+    @Test
+    public void shouldPutAllWhenBatchReachesItsBytes() {
+        when(longbowStore.putAll(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+        LongbowPutBatcher putBatcher = new LongbowPutBatcher(longbowStore, 30, firstPut.heapSize(), 10L, lingerExecutor);
+
+        CompletableFuture<Void> future = putBatcher.add(firstPutRequest);
+
+        assertTrue(future.isDone());
+        verify(longbowStore, times(1)).putAll(anyList());
+        verify(lingerExecutor, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void shouldFailEveryPutOfBatchWhenBulkMutationFails() {
+        CompletableFuture<Void> bulkMutation = new CompletableFuture<>();
+        bulkMutation.completeExceptionally(new IOException("write failed"));
+        when(longbowStore.putAll(anyList())).thenReturn(bulkMutation);
+        LongbowPutBatcher putBatcher = new LongbowPutBatcher(longbowStore, 2, BATCH_BYTES, 10L, lingerExecutor);
+
+        CompletableFuture<Void> firstFuture = putBatcher.add(firstPutRequest);
+        CompletableFuture<Void> secondFuture = putBatcher.add(secondPutRequest);
+
+        assertTrue(firstFuture.isCompletedExceptionally());
+        assertTrue(secondFuture.isCompletedExceptionally());
+    }
+
+    @Test
+    public void shouldNotPutAllWhenFlushingEmptyBatch() {
+        LongbowPutBatcher putBatcher = new LongbowPutBatcher(longbowStore, 2, BATCH_BYTES, 10L, lingerExecutor);
+
+        putBatcher.flush();
+
+        verify(longbowStore, never()).putAll(anyList());
+    }
+
+    @Test
+    public void shouldFlushAndShutdownExecutorOnClose() {
+        when(longbowStore.putAll(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+        LongbowPutBatcher putBatcher = new LongbowPutBatcher(longbowStore, 2, BATCH_BYTES, 10L, lingerExecutor);
+
+        CompletableFuture<Void> future = putBatcher.add(firstPutRequest);
+        putBatcher.close();
+
+        assertTrue(future.isDone());
+        verify(longbowStore, times(1)).putAll(anyList());
+        verify(lingerExecutor, times(1)).shutdown();
+    }
+}
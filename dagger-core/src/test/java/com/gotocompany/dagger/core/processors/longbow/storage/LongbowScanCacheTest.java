@@ -0,0 +1,199 @@
+package com.gotocompany.dagger.core.processors.longbow.storage;
+
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class LongbowScanCacheTest {
+    private static final byte[] COLUMN_FAMILY = Bytes.toBytes("ts");
+    private static final byte[] QUALIFIER = Bytes.toBytes("longbow_data1");
+    private static final String TABLE_ID = "test-table";
+    private static final long NOW = 1600000000000L;
+
+    @Mock
+    private LongbowStore longbowStore;
+
+    private LongbowScanCache longbowScanCache;
+
+    @Before
+    public void setup() {
+        initMocks(this);
+        longbowScanCache = new LongbowScanCache(2);
+    }
+
+    @Test
+    public void shouldScanWholeRangeOfKeyWhichIsNotCached() throws Exception {
+        List<Result> rows = Arrays.asList(result("driver1", NOW - 1000, "order2"), result("driver1", NOW - 2000, "order1"));
+        when(longbowStore.scanAll(any(ScanRequest.class))).thenReturn(CompletableFuture.completedFuture(rows));
+
+        List<Result> scannedRows = longbowScanCache.scan(longbowStore, scanRequest("driver1", NOW, NOW - 10000)).get();
+
+        assertEquals(rows, scannedRows);
+        verify(longbowStore, times(1)).scanAll(any(ScanRequest.class));
+    }
+
+    @Test
+    public void shouldOnlyScanRowsNewerThanCachedRange() throws Exception {
+        Result firstRow = result("driver1", NOW - 2000, "order1");
+        Result secondRow = result("driver1", NOW + 500, "order2");
+        when(longbowStore.scanAll(any(ScanRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(Collections.singletonList(firstRow)))
+                .thenReturn(CompletableFuture.completedFuture(Collections.singletonList(secondRow)));
+
+        longbowScanCache.scan(longbowStore, scanRequest("driver1", NOW, NOW - 10000)).get();
+        List<Result> scannedRows = longbowScanCache.scan(longbowStore, scanRequest("driver1", NOW + 1000, NOW - 9000)).get();
+
+        assertEquals(Arrays.asList(secondRow, firstRow), scannedRows);
+        ArgumentCaptor<ScanRequest> scanRequestCaptor = ArgumentCaptor.forClass(ScanRequest.class);
+        verify(longbowStore, times(2)).scanAll(scanRequestCaptor.capture());
+        Scan deltaScan = scanRequestCaptor.getAllValues().get(1).get();
+        assertArrayEquals(rowKey("driver1", NOW + 1000), deltaScan.getStartRow());
+        assertTrue(deltaScan.includeStartRow());
+        assertArrayEquals(rowKey("driver1", NOW), deltaScan.getStopRow());
+        assertFalse(deltaScan.includeStopRow());
+        assertEquals(TABLE_ID, scanRequestCaptor.getAllValues().get(1).getTableId());
+    }
+
+    @Test
+    public void shouldDropCachedRowsOlderThanScannedRange() throws Exception {
+        Result firstRow = result("driver1", NOW - 9500, "order1");
+        Result secondRow = result("driver1", NOW - 2000, "order2");
+        when(longbowStore.scanAll(any(ScanRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(Arrays.asList(secondRow, firstRow)))
+                .thenReturn(CompletableFuture.completedFuture(Collections.emptyList()))
+                .thenReturn(CompletableFuture.completedFuture(Arrays.asList(secondRow, firstRow)));
+
+        longbowScanCache.scan(longbowStore, scanRequest("driver1", NOW, NOW - 10000)).get();
+        List<Result> slidRows = longbowScanCache.scan(longbowStore, scanRequest("driver1", NOW + 1000, NOW - 9000)).get();
+        List<Result> scannedRows = longbowScanCache.scan(longbowStore, scanRequest("driver1", NOW, NOW - 10000)).get();
+
+        assertEquals(Collections.singletonList(secondRow), slidRows);
+        assertEquals(Arrays.asList(secondRow, firstRow), scannedRows);
+        verify(longbowStore, times(3)).scanAll(any(ScanRequest.class));
+    }
+
+    @Test
+    public void shouldServeRangeCoveredByCacheWithoutScanning() throws Exception {
+        Result firstRow = result("driver1", NOW - 2000, "order1");
+        Result secondRow = result("driver1", NOW - 5000, "order2");
+        when(longbowStore.scanAll(any(ScanRequest.class))).thenReturn(CompletableFuture.completedFuture(Arrays.asList(firstRow, secondRow)));
+
+        longbowScanCache.scan(longbowStore, scanRequest("driver1", NOW, NOW - 10000)).get();
+        List<Result> scannedRows = longbowScanCache.scan(longbowStore, scanRequest("driver1", NOW - 1000, NOW - 3000)).get();
+
+        assertEquals(Collections.singletonList(firstRow), scannedRows);
+        verify(longbowStore, times(1)).scanAll(any(ScanRequest.class));
+    }
+
+    @Test
+    public void shouldServeLimitedScansFromLatestCachedRows() throws Exception {
+        Result firstRow = result("driver1", NOW - 1000, "order3");
+        Result secondRow = result("driver1", NOW - 2000, "order2");
+        when(longbowStore.scanAll(any(ScanRequest.class))).thenReturn(CompletableFuture.completedFuture(Arrays.asList(firstRow, secondRow)));
+
+        List<Result> scannedRows = longbowScanCache.scan(longbowStore, scanRequest("driver1", NOW, NOW - 10000, 2)).get();
+        List<Result> cachedRows = longbowScanCache.scan(longbowStore, scanRequest("driver1", NOW - 500, NOW - 20000, 1)).get();
+        longbowScanCache.scan(longbowStore, scanRequest("driver1", NOW, NOW - 10000, 3)).get();
+
+        assertEquals(Arrays.asList(firstRow, secondRow), scannedRows);
+        assertEquals(Collections.singletonList(firstRow), cachedRows);
+        verify(longbowStore, times(2)).scanAll(any(ScanRequest.class));
+    }
+
+    @Test
+    public void shouldNotScanKeyWhileAnotherScanOfItIsExtendingTheCachedRange() throws Exception {
+        Result firstRow = result("driver1", NOW - 7000, "order1");
+        Result secondRow = result("driver1", NOW - 2000, "order2");
+        Result thirdRow = result("driver1", NOW + 1500, "order3");
+        Result olderRow = result("driver1", NOW - 8500, "order0");
+        CompletableFuture<List<Result>> deltaRows = new CompletableFuture<>();
+        when(longbowStore.scanAll(any(ScanRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(Arrays.asList(secondRow, firstRow)))
+                .thenReturn(deltaRows)
+                .thenReturn(CompletableFuture.completedFuture(Arrays.asList(secondRow, firstRow, olderRow)));
+        longbowScanCache.scan(longbowStore, scanRequest("driver1", NOW, NOW - 10000)).get();
+
+        CompletableFuture<List<Result>> firstScan = longbowScanCache.scan(longbowStore, scanRequest("driver1", NOW + 2000, NOW - 8000));
+        CompletableFuture<List<Result>> secondScan = longbowScanCache.scan(longbowStore, scanRequest("driver1", NOW + 1000, NOW - 9000));
+
+        verify(longbowStore, times(2)).scanAll(any(ScanRequest.class));
+        assertFalse(secondScan.isDone());
+        deltaRows.complete(Collections.singletonList(thirdRow));
+
+        assertEquals(Arrays.asList(thirdRow, secondRow, firstRow), firstScan.get());
+        assertEquals(Arrays.asList(secondRow, firstRow, olderRow), secondScan.get());
+        verify(longbowStore, times(3)).scanAll(any(ScanRequest.class));
+    }
+
+    @Test
+    public void shouldAddWrittenRowsToCachedRangeOfTheirKey() throws Exception {
+        when(longbowStore.scanAll(any(ScanRequest.class))).thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
+        longbowScanCache.scan(longbowStore, scanRequest("driver1", NOW, NOW - 10000)).get();
+
+        longbowScanCache.put(new Put(rowKey("driver1", NOW - 3000)).addColumn(COLUMN_FAMILY, QUALIFIER, NOW - 3000, Bytes.toBytes("order1")));
+        longbowScanCache.put(new Put(rowKey("driver1", NOW - 20000)).addColumn(COLUMN_FAMILY, QUALIFIER, NOW - 20000, Bytes.toBytes("order0")));
+        List<Result> scannedRows = longbowScanCache.scan(longbowStore, scanRequest("driver1", NOW, NOW - 10000)).get();
+
+        assertEquals(1, scannedRows.size());
+        assertEquals("order1", Bytes.toString(scannedRows.get(0).getValue(COLUMN_FAMILY, QUALIFIER)));
+        verify(longbowStore, times(1)).scanAll(any(ScanRequest.class));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyScannedKeys() throws Exception {
+        when(longbowStore.scanAll(any(ScanRequest.class))).thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
+
+        longbowScanCache.scan(longbowStore, scanRequest("driver1", NOW, NOW - 10000)).get();
+        longbowScanCache.scan(longbowStore, scanRequest("driver2", NOW, NOW - 10000)).get();
+        longbowScanCache.scan(longbowStore, scanRequest("driver1", NOW, NOW - 10000)).get();
+        longbowScanCache.scan(longbowStore, scanRequest("driver3", NOW, NOW - 10000)).get();
+        longbowScanCache.scan(longbowStore, scanRequest("driver1", NOW, NOW - 10000)).get();
+        longbowScanCache.scan(longbowStore, scanRequest("driver2", NOW, NOW - 10000)).get();
+
+        verify(longbowStore, times(4)).scanAll(any(ScanRequest.class));
+    }
+
+    @Test
+    public void shouldShareCacheOfTableAcrossProcessors() {
+        assertSame(LongbowScanCache.forTable("shared-table", 10), LongbowScanCache.forTable("shared-table", 10));
+        assertNotSame(LongbowScanCache.forTable("shared-table", 10), LongbowScanCache.forTable("other-table", 10));
+    }
+
+    private ScanRequest scanRequest(String longbowKey, long latest, long earliest) {
+        return scanRequest(longbowKey, latest, earliest, -1);
+    }
+
+    private ScanRequest scanRequest(String longbowKey, long latest, long earliest, int limit) {
+        ScanRequest scanRequest = mock(ScanRequest.class);
+        when(scanRequest.get()).thenAnswer(invocation -> new Scan()
+                .withStartRow(rowKey(longbowKey, latest), true)
+                .withStopRow(rowKey(longbowKey, earliest), true)
+                .setLimit(limit));
+        when(scanRequest.getTableId()).thenReturn(TABLE_ID);
+        return scanRequest;
+    }
+
+    private Result result(String longbowKey, long timestamp, String value) {
+        return Result.create(Collections.singletonList(new KeyValue(rowKey(longbowKey, timestamp), COLUMN_FAMILY, QUALIFIER, timestamp, Bytes.toBytes(value))));
+    }
+
+    private byte[] rowKey(String longbowKey, long timestamp) {
+        return Bytes.toBytes(longbowKey + "#" + (Long.MAX_VALUE - timestamp));
+    }
+}
@@ -0,0 +1,112 @@
+package com.gotocompany.dagger.core.source.kafka;
+
+import org.apache.flink.api.common.functions.RuntimeContext;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.common.typeinfo.Types;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.streaming.api.functions.async.ResultFuture;
+import org.apache.flink.streaming.connectors.kafka.KafkaDeserializationSchema;
+import org.apache.flink.types.Row;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class ParallelDeserializationFunctionTest {
+
+    @Mock
+    private RuntimeContext runtimeContext;
+
+    private ParallelDeserializationFunction deserializationFunction;
+
+    @Before
+    public void setUp() throws Exception {
+        initMocks(this);
+        when(runtimeContext.getUserCodeClassLoader()).thenReturn(getClass().getClassLoader());
+        deserializationFunction = new ParallelDeserializationFunction(new StringDeserializer(), 2);
+        deserializationFunction.setRuntimeContext(runtimeContext);
+        deserializationFunction.open(new Configuration());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        deserializationFunction.close();
+    }
+
+    @Test
+    public void shouldCompleteWithDeserializedRow() throws Exception {
+        CollectingResultFuture resultFuture = new CollectingResultFuture();
+
+        deserializationFunction.asyncInvoke("order_1".getBytes(StandardCharsets.UTF_8), resultFuture);
+
+        Collection<Row> result = resultFuture.result.get(10, TimeUnit.SECONDS);
+        assertEquals(Row.of("order_1"), result.iterator().next());
+    }
+
+    @Test
+    public void shouldCompleteExceptionallyIfDeserializationFails() throws Exception {
+        CollectingResultFuture resultFuture = new CollectingResultFuture();
+
+        deserializationFunction.asyncInvoke(new byte[0], resultFuture);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> resultFuture.result.get(10, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void shouldCompleteExceptionallyOnTimeout() {
+        CollectingResultFuture resultFuture = new CollectingResultFuture();
+
+        deserializationFunction.timeout("order_1".getBytes(StandardCharsets.UTF_8), resultFuture);
+
+        assertTrue(resultFuture.result.isCompletedExceptionally());
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> resultFuture.result.get());
+        assertTrue(exception.getCause() instanceof TimeoutException);
+    }
+
+    private static class StringDeserializer implements KafkaDeserializationSchema<Row> {
+        @Override
+        public boolean isEndOfStream(Row nextElement) {
+            return false;
+        }
+
+        @Override
+        public Row deserialize(ConsumerRecord<byte[], byte[]> record) {
+            if (record.value().length == 0) {
+                throw new IllegalArgumentException("empty value");
+            }
+            return Row.of(new String(record.value(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public TypeInformation<Row> getProducedType() {
+            return Types.ROW(Types.STRING);
+        }
+    }
+
+    private static class CollectingResultFuture implements ResultFuture<Row> {
+        private final CompletableFuture<Collection<Row>> result = new CompletableFuture<>();
+
+        @Override
+        public void complete(Collection<Row> rows) {
+            result.complete(rows);
+        }
+
+        @Override
+        public void completeExceptionally(Throwable error) {
+            result.completeExceptionally(error);
+        }
+    }
+}
@@ -17,6 +17,7 @@ import org.mockito.Mock;
 import java.util.function.Supplier;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -111,6 +112,55 @@ public class ParquetFileRecordFormatTest {
         assertFalse(parquetFileRecordFormat.isSplittable());
     }
 
+    @Test
+    public void shouldCreateReaderOfTheSplitWhenSplittable() {
+        ReaderProvider splitReaderProvider = new ReaderProvider() {
+            @Override
+            public FileRecordFormat.Reader<Row> getReader(String filePath) {
+                return null;
+            }
+
+            @Override
+            public FileRecordFormat.Reader<Row> getReader(String filePath, long splitOffset, long splitLength) {
+                return splitOffset == 4 && splitLength == 1024 ? parquetReader : null;
+            }
+        };
+        ParquetFileRecordFormat parquetFileRecordFormat = ParquetFileRecordFormat.Builder.getInstance()
+                .setParquetFileReaderProvider(splitReaderProvider)
+                .setTypeInformationProvider(typeInformationProviderMock)
+                .setStatsDReporterSupplier(statsDReporterSupplierMock)
+                .setSplittable(true)
+                .build();
+
+        assertTrue(parquetFileRecordFormat.isSplittable());
+        assertEquals(parquetReader, parquetFileRecordFormat.createReader(configuration, new Path("gs://file-path"), 4, 1024));
+    }
+
+    @Test
+    public void shouldRestoreReaderFromTheRestoredOffsetToTheEndOfTheSplitWhenSplittable() {
+        ReaderProvider splitReaderProvider = new ReaderProvider() {
+            @Override
+            public FileRecordFormat.Reader<Row> getReader(String filePath) {
+                return null;
+            }
+
+            @Override
+            public FileRecordFormat.Reader<Row> getReader(String filePath, long splitOffset, long splitLength) {
+                return splitOffset == 512 && splitLength == 516 ? parquetReader : null;
+            }
+        };
+        ParquetFileRecordFormat parquetFileRecordFormat = ParquetFileRecordFormat.Builder.getInstance()
+                .setParquetFileReaderProvider(splitReaderProvider)
+                .setTypeInformationProvider(typeInformationProviderMock)
+                .setStatsDReporterSupplier(statsDReporterSupplierMock)
+                .setSplittable(true)
+                .build();
+
+        assertEquals(parquetReader, parquetFileRecordFormat.restoreReader(configuration, new Path("gs://file-path"), 512, 4, 1024));
+        verify(statsDReporter, never())
+                .captureCount("fatal.exception", 1L, "fatal_exception_type=" + UnsupportedOperationException.class.getName());
+    }
+
     @Test
     public void shouldThrowUnsupportedOperationExceptionAndReportErrorWhenRestoreReaderIsCalled() {
         ParquetFileRecordFormat.Builder builder = ParquetFileRecordFormat.Builder.getInstance();
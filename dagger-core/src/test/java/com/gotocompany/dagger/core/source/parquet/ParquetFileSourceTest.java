@@ -7,6 +7,7 @@ import com.gotocompany.dagger.core.source.parquet.path.HourDatePathParser;
 import com.gotocompany.dagger.core.source.parquet.splitassigner.ChronologyOrderedSplitAssigner;
 import com.gotocompany.depot.metrics.StatsDReporter;
 import org.apache.flink.connector.file.src.assigners.LocalityAwareSplitAssigner;
+import org.apache.flink.connector.file.src.enumerate.NonSplittingRecursiveEnumerator;
 import org.apache.flink.connector.file.src.reader.FileRecordFormat;
 import org.apache.flink.core.fs.Path;
 import org.apache.flink.types.Row;
@@ -142,9 +143,24 @@ public class ParquetFileSourceTest {
                 .build();
 
         assertTrue(parquetFileSource.getFileSplitAssigner().create(emptyList()) instanceof LocalityAwareSplitAssigner);
+        assertTrue(parquetFileSource.getFileEnumerator().create() instanceof NonSplittingRecursiveEnumerator);
         Assert.assertEquals(SourceType.BOUNDED, parquetFileSource.getSourceType());
     }
 
+    @Test
+    public void shouldBuildParquetFileSourceWithConfiguredFileEnumerator() {
+        ParquetFileSource.Builder builder = ParquetFileSource.Builder.getInstance();
+        Path[] filePaths = new Path[]{new Path("gs://aadadc"), new Path("gs://sjsjhd")};
+        ParquetFileSource parquetFileSource = builder.setConfiguration(configuration)
+                .setFileRecordFormat(fileRecordFormat)
+                .setFileEnumerator(ParquetRowGroupSplitEnumerator::new)
+                .setStatsDReporterSupplier(statsDReporterSupplierMock)
+                .setFilePaths(filePaths)
+                .build();
+
+        assertTrue(parquetFileSource.getFileEnumerator().create() instanceof ParquetRowGroupSplitEnumerator);
+    }
+
     /* this test just verifies that the code for generating the FileSource compiles successfully and runs. */
     /* Since static methods of FileSource have been used and its member properties are not exposed, it's difficult to test the */
     /* returned blackbox object */
@@ -0,0 +1,88 @@
+package com.gotocompany.dagger.core.source.parquet;
+
+import com.gotocompany.dagger.core.source.config.models.TimeRange;
+import com.gotocompany.dagger.core.source.config.models.TimeRangePool;
+import com.gotocompany.dagger.core.source.parquet.path.PathParser;
+import org.apache.flink.connector.file.src.FileSourceSplit;
+import org.apache.flink.connector.file.src.enumerate.FileEnumerator;
+import org.apache.flink.core.fs.Path;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ParquetRowGroupSplitEnumeratorTest {
+
+    @Test
+    public void shouldCreateOneSplitPerRowGroupOfTheFile() throws IOException {
+        String filePath = getClass().getClassLoader().getResource("multiple_row_groups_test_file.parquet").getPath();
+        List<BlockMetaData> rowGroups = readRowGroups(filePath);
+
+        List<FileSourceSplit> splits = new ArrayList<>(new ParquetRowGroupSplitEnumerator().enumerateSplits(new Path[]{new Path(filePath)}, 1));
+
+        assertTrue(rowGroups.size() > 1);
+        assertEquals(rowGroups.size(), splits.size());
+        for (int index = 0; index < rowGroups.size(); index++) {
+            assertEquals(new Path(filePath), splits.get(index).path());
+            assertEquals(rowGroups.get(index).getStartingPos(), splits.get(index).offset());
+            assertEquals(rowGroups.get(index).getCompressedSize(), splits.get(index).length());
+        }
+    }
+
+    @Test
+    public void shouldCreateSplitsWithUniqueIdsAcrossFiles() throws IOException {
+        ClassLoader classLoader = getClass().getClassLoader();
+        Path[] filePaths = new Path[]{
+                new Path(classLoader.getResource("multiple_row_groups_test_file.parquet").getPath()),
+                new Path(classLoader.getResource("test_file.parquet").getPath())};
+
+        List<FileSourceSplit> splits = new ArrayList<>(new ParquetRowGroupSplitEnumerator().enumerateSplits(filePaths, 1));
+
+        Set<String> splitIds = new HashSet<>();
+        splits.forEach(split -> splitIds.add(split.splitId()));
+        assertEquals(splits.size(), splitIds.size());
+        assertEquals(filePaths[1], splits.get(splits.size() - 1).path());
+    }
+
+    @Test
+    public void shouldNotReadFilesOutsideTheTimeRanges() throws Exception {
+        String filePath = getClass().getClassLoader().getResource("multiple_row_groups_test_file.parquet").getPath();
+        Path missingFilePath = new Path("/data/booking/dt=2022-02-05/hr=11/missing.parquet");
+        FileEnumerator fileEnumerator = mock(FileEnumerator.class);
+        when(fileEnumerator.enumerateSplits(any(), anyInt())).thenReturn(Arrays.asList(
+                new FileSourceSplit("0", missingFilePath, 0, 1),
+                new FileSourceSplit("1", new Path(filePath), 0, 1)));
+        PathParser pathParser = mock(PathParser.class);
+        when(pathParser.instantFromFilePath(missingFilePath)).thenReturn(Instant.parse("2022-02-05T11:00:00Z"));
+        when(pathParser.instantFromFilePath(new Path(filePath))).thenReturn(Instant.parse("2022-02-05T09:00:00Z"));
+        TimeRangePool timeRangePool = new TimeRangePool();
+        timeRangePool.add(new TimeRange(Instant.parse("2022-02-05T00:00:00Z"), Instant.parse("2022-02-05T10:59:59Z")));
+
+        List<FileSourceSplit> splits = new ArrayList<>(new ParquetRowGroupSplitEnumerator(fileEnumerator, pathParser, timeRangePool)
+                .enumerateSplits(new Path[]{new Path("/data/booking")}, 1));
+
+        assertEquals(readRowGroups(filePath).size(), splits.size());
+        splits.forEach(split -> assertEquals(new Path(filePath), split.path()));
+    }
+
+    private List<BlockMetaData> readRowGroups(String filePath) throws IOException {
+        try (ParquetFileReader parquetFileReader = ParquetFileReader.open(HadoopInputFile.fromPath(new org.apache.hadoop.fs.Path(filePath), new Configuration()))) {
+            return parquetFileReader.getRowGroups();
+        }
+    }
+}
@@ -5,10 +5,15 @@ import com.gotocompany.dagger.common.exceptions.serde.DaggerDeserializationExcep
 import com.gotocompany.dagger.core.exception.ParquetFileSourceReaderInitializationException;
 import com.gotocompany.dagger.core.metrics.aspects.ParquetReaderAspects;
 import com.gotocompany.dagger.core.metrics.reporters.statsd.SerializedStatsDReporterSupplier;
+import com.gotocompany.dagger.core.source.config.models.TimeRange;
+import com.gotocompany.dagger.core.source.config.models.TimeRangePool;
 import com.gotocompany.dagger.common.serde.parquet.deserialization.SimpleGroupDeserializer;
+import com.gotocompany.dagger.core.source.parquet.ParquetRowGroupSplitEnumerator;
 import com.gotocompany.depot.metrics.StatsDReporter;
 import org.apache.commons.lang3.ArrayUtils;
+import org.apache.flink.connector.file.src.FileSourceSplit;
 import org.apache.flink.connector.file.src.util.CheckpointedPosition;
+import org.apache.flink.core.fs.Path;
 import org.apache.flink.types.Row;
 import org.apache.parquet.example.data.simple.SimpleGroup;
 import org.apache.parquet.schema.GroupType;
@@ -24,6 +29,10 @@ import org.mockito.Mockito;
 
 import java.io.File;
 import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
 import java.util.List;
 
 import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BINARY;
@@ -31,6 +40,7 @@ import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT64;
 import static org.apache.parquet.schema.Types.*;
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -255,6 +265,122 @@ public class ParquetReaderTest {
         assertEquals(expectedCheckpointedPosition, reader.getCheckpointedPosition());
     }
 
+    @Test
+    public void shouldEmitEveryRowOfRowGroupsOverlappingTheTimeRanges() throws IOException {
+        when(deserializer.getTimestampFieldName()).thenReturn("age");
+        when(deserializer.deserialize(any(SimpleGroup.class))).thenAnswer(invocation -> {
+            SimpleGroup simpleGroup = invocation.getArgument(0);
+            return Row.of(simpleGroup.getString("name", 0), new Timestamp(simpleGroup.getLong("age", 0)));
+        });
+        TimeRangePool timeRangePool = new TimeRangePool();
+        timeRangePool.add(new TimeRange(Instant.ofEpochMilli(25), Instant.ofEpochMilli(30)));
+        ParquetReader.ParquetReaderProvider provider = new ParquetReader.ParquetReaderProvider(deserializer, statsDReporterSupplierMock, false,
+                new RowtimeFilter(timeRangePool, Duration.ZERO));
+        ClassLoader classLoader = getClass().getClassLoader();
+        ParquetReader reader = provider.getReader(classLoader.getResource("test_file.parquet").getPath());
+
+        assertEquals("Ajay", reader.read().getField(0));
+        assertEquals("Utkarsh", reader.read().getField(0));
+        assertEquals("Samay", reader.read().getField(0));
+        assertNull(reader.read());
+    }
+
+    @Test
+    public void shouldReadRowGroupsAfterTheEndOfTheTimeRangesWithinThePathGranularity() throws IOException {
+        when(deserializer.getTimestampFieldName()).thenReturn("age");
+        when(deserializer.deserialize(any(SimpleGroup.class))).thenAnswer(invocation -> {
+            SimpleGroup simpleGroup = invocation.getArgument(0);
+            return Row.of(simpleGroup.getString("name", 0), new Timestamp(simpleGroup.getLong("age", 0)));
+        });
+        TimeRangePool timeRangePool = new TimeRangePool();
+        timeRangePool.add(new TimeRange(Instant.ofEpochMilli(0), Instant.ofEpochMilli(10)));
+        ParquetReader.ParquetReaderProvider provider = new ParquetReader.ParquetReaderProvider(deserializer, statsDReporterSupplierMock, false,
+                new RowtimeFilter(timeRangePool, Duration.ofMillis(20)));
+        ClassLoader classLoader = getClass().getClassLoader();
+        ParquetReader reader = provider.getReader(classLoader.getResource("test_file.parquet").getPath());
+
+        assertEquals("Ajay", reader.read().getField(0));
+    }
+
+    @Test
+    public void shouldSkipRowGroupsOutsideTheTimeRanges() throws IOException {
+        when(deserializer.getTimestampFieldName()).thenReturn("age");
+        TimeRangePool timeRangePool = new TimeRangePool();
+        timeRangePool.add(new TimeRange(Instant.ofEpochMilli(100), Instant.ofEpochMilli(200)));
+        ParquetReader.ParquetReaderProvider provider = new ParquetReader.ParquetReaderProvider(deserializer, statsDReporterSupplierMock, false,
+                new RowtimeFilter(timeRangePool, Duration.ZERO));
+        ClassLoader classLoader = getClass().getClassLoader();
+        ParquetReader reader = provider.getReader(classLoader.getResource("multiple_row_groups_test_file.parquet").getPath());
+
+        assertNull(reader.read());
+        verify(deserializer, never()).deserialize(any(SimpleGroup.class));
+    }
+
+    @Test
+    public void shouldOnlyReadProjectedColumnsAndTimestampColumn() throws IOException {
+        when(deserializer.getProjectedFields()).thenReturn(Collections.singleton("name"));
+        when(deserializer.getTimestampFieldName()).thenReturn("age");
+        ParquetReader.ParquetReaderProvider provider = new ParquetReader.ParquetReaderProvider(deserializer, statsDReporterSupplierMock);
+        ClassLoader classLoader = getClass().getClassLoader();
+        ParquetReader reader = provider.getReader(classLoader.getResource("test_file.parquet").getPath());
+
+        reader.read();
+
+        ArgumentCaptor<SimpleGroup> simpleGroupCaptor = ArgumentCaptor.forClass(SimpleGroup.class);
+        verify(deserializer, times(1)).deserialize(simpleGroupCaptor.capture());
+        GroupType actualSchema = simpleGroupCaptor.getValue().getType();
+        assertEquals(2, actualSchema.getFieldCount());
+        assertEquals("Ajay", simpleGroupCaptor.getValue().getString("name", 0));
+        assertEquals(24L, simpleGroupCaptor.getValue().getLong("age", 0));
+        assertFalse(actualSchema.containsField("residence"));
+    }
+
+    @Test
+    public void shouldOnlyReadTheRowGroupsOfTheSplitAndCheckpointByTheOffsetOfTheSplit() throws IOException {
+        when(deserializer.deserialize(any(SimpleGroup.class))).thenReturn(Row.of("some", "row"));
+        ParquetReader.ParquetReaderProvider provider = new ParquetReader.ParquetReaderProvider(deserializer, statsDReporterSupplierMock);
+        String filePath = getClass().getClassLoader().getResource("multiple_row_groups_test_file.parquet").getPath();
+        ParquetReader fileReader = provider.getReader(filePath);
+        long fileRowCount = 0;
+        while (fileReader.read() != null) {
+            fileRowCount++;
+        }
+
+        long splitRowCount = 0;
+        for (FileSourceSplit split : new ParquetRowGroupSplitEnumerator().enumerateSplits(new Path[]{new Path(filePath)}, 1)) {
+            ParquetReader splitReader = provider.getReader(filePath, split.offset(), split.length());
+            long rowCount = 0;
+            while (splitReader.read() != null) {
+                rowCount++;
+            }
+            assertTrue(rowCount > 0);
+            assertEquals(new CheckpointedPosition(split.offset(), rowCount), splitReader.getCheckpointedPosition());
+            splitRowCount += rowCount;
+        }
+
+        assertEquals(fileRowCount, splitRowCount);
+    }
+
+    @Test
+    public void shouldEmitTheSameRowsWhenPrefetchingRowGroups() throws IOException {
+        when(deserializer.deserialize(any(SimpleGroup.class))).thenAnswer(invocation -> {
+            SimpleGroup simpleGroup = invocation.getArgument(0);
+            return Row.of(simpleGroup.getString("name", 0));
+        });
+        String filePath = getClass().getClassLoader().getResource("multiple_row_groups_test_file.parquet").getPath();
+        ParquetReader reader = new ParquetReader.ParquetReaderProvider(deserializer, statsDReporterSupplierMock).getReader(filePath);
+        ParquetReader prefetchingReader = new ParquetReader.ParquetReaderProvider(deserializer, statsDReporterSupplierMock, false, null, Long.MAX_VALUE)
+                .getReader(filePath);
+
+        Row row = reader.read();
+        while (row != null) {
+            assertEquals(row, prefetchingReader.read());
+            row = reader.read();
+        }
+        assertNull(prefetchingReader.read());
+        prefetchingReader.close();
+    }
+
     private SimpleGroup[] getSimpleGroups() {
         GroupType expectedSchema = buildMessage()
                 .optional(BINARY).as(LogicalTypeAnnotation.stringType()).named("name")
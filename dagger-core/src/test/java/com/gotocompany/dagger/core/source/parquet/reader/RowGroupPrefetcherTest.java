@@ -0,0 +1,76 @@
+package com.gotocompany.dagger.core.source.parquet.reader;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+public class RowGroupPrefetcherTest {
+    private ParquetFileReader parquetFileReader;
+    private ExecutorService prefetchExecutor;
+
+    @Before
+    public void setup() throws IOException {
+        String filePath = getClass().getClassLoader().getResource("multiple_row_groups_test_file.parquet").getPath();
+        parquetFileReader = ParquetFileReader.open(HadoopInputFile.fromPath(new Path(filePath), new Configuration()));
+        prefetchExecutor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        parquetFileReader.close();
+        prefetchExecutor.shutdownNow();
+    }
+
+    @Test
+    public void shouldReadAllRowGroupsInOrderWhilePrefetching() throws IOException {
+        List<BlockMetaData> rowGroups = parquetFileReader.getRowGroups();
+        RowGroupPrefetcher rowGroupPrefetcher = new RowGroupPrefetcher(parquetFileReader, Long.MAX_VALUE, prefetchExecutor);
+
+        assertTrue(rowGroupPrefetcher.isPrefetchEnabled());
+        for (BlockMetaData rowGroup : rowGroups) {
+            PageReadStore pages = rowGroupPrefetcher.next();
+            assertEquals(rowGroup.getRowCount(), pages.getRowCount());
+        }
+        assertNull(rowGroupPrefetcher.next());
+        rowGroupPrefetcher.close();
+    }
+
+    @Test
+    public void shouldReadRowGroupsSynchronouslyWhenBudgetIsZero() throws IOException {
+        RowGroupPrefetcher rowGroupPrefetcher = new RowGroupPrefetcher(parquetFileReader, 0L, prefetchExecutor);
+
+        assertFalse(rowGroupPrefetcher.isPrefetchEnabled());
+        assertEquals(parquetFileReader.getRowGroups().get(0).getRowCount(), rowGroupPrefetcher.next().getRowCount());
+    }
+
+    @Test
+    public void shouldNotPrefetchWhenTheLargestRowGroupDoesNotFitInTheBudget() {
+        long largestRowGroupBytes = parquetFileReader.getRowGroups().stream().mapToLong(BlockMetaData::getCompressedSize).max().getAsLong();
+
+        assertFalse(new RowGroupPrefetcher(parquetFileReader, largestRowGroupBytes - 1, prefetchExecutor).isPrefetchEnabled());
+        assertTrue(new RowGroupPrefetcher(parquetFileReader, largestRowGroupBytes, prefetchExecutor).isPrefetchEnabled());
+    }
+
+    @Test
+    public void shouldWaitForThePrefetchedRowGroupAndStopTheExecutorWhenClosed() throws IOException {
+        RowGroupPrefetcher rowGroupPrefetcher = new RowGroupPrefetcher(parquetFileReader, Long.MAX_VALUE, prefetchExecutor);
+
+        rowGroupPrefetcher.next();
+        rowGroupPrefetcher.close();
+
+        assertTrue(prefetchExecutor.isShutdown());
+    }
+}
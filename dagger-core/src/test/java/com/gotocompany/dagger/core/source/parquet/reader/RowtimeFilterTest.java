@@ -0,0 +1,110 @@
+package com.gotocompany.dagger.core.source.parquet.reader;
+
+import com.gotocompany.dagger.core.source.config.models.TimeRange;
+import com.gotocompany.dagger.core.source.config.models.TimeRangePool;
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators;
+import org.apache.parquet.schema.MessageType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BINARY;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT32;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT64;
+import static org.apache.parquet.schema.Types.buildMessage;
+import static org.junit.Assert.*;
+
+public class RowtimeFilterTest {
+
+    private TimeRangePool timeRangePool;
+
+    @Before
+    public void setup() {
+        timeRangePool = new TimeRangePool();
+        timeRangePool.add(new TimeRange(Instant.parse("2022-02-05T00:00:00Z"), Instant.parse("2022-02-05T10:59:59Z")));
+    }
+
+    @Test
+    public void shouldCreatePredicateOnInt64TimestampColumnInMillis() {
+        MessageType fileSchema = buildMessage()
+                .optional(BINARY).named("order_number")
+                .optional(INT64).named("event_timestamp")
+                .named("schema");
+
+        FilterPredicate predicate = new RowtimeFilter(timeRangePool, Duration.ZERO).toPredicate(fileSchema, "event_timestamp");
+
+        Operators.LongColumn column = FilterApi.longColumn("event_timestamp");
+        FilterPredicate expectedPredicate = FilterApi.and(FilterApi.gtEq(column, 1644019200000L), FilterApi.ltEq(column, 1644058799000L));
+        assertEquals(expectedPredicate, predicate);
+    }
+
+    @Test
+    public void shouldCreatePredicateOnSecondsOfTimestampGroupColumn() {
+        MessageType fileSchema = buildMessage()
+                .optionalGroup()
+                .optional(INT64).named("seconds")
+                .optional(INT32).named("nanos")
+                .named("event_timestamp")
+                .named("schema");
+
+        FilterPredicate predicate = new RowtimeFilter(timeRangePool, Duration.ZERO).toPredicate(fileSchema, "event_timestamp");
+
+        Operators.LongColumn column = FilterApi.longColumn("event_timestamp.seconds");
+        FilterPredicate expectedPredicate = FilterApi.and(FilterApi.gtEq(column, 1644019200L), FilterApi.ltEq(column, 1644058799L));
+        assertEquals(expectedPredicate, predicate);
+    }
+
+    @Test
+    public void shouldCombineMultipleTimeRangesWithOr() {
+        timeRangePool.add(new TimeRange(Instant.parse("2022-02-03T00:00:00Z"), Instant.parse("2022-02-03T20:59:59Z")));
+        MessageType fileSchema = buildMessage()
+                .optional(INT64).named("event_timestamp")
+                .named("schema");
+
+        FilterPredicate predicate = new RowtimeFilter(timeRangePool, Duration.ZERO).toPredicate(fileSchema, "event_timestamp");
+
+        Operators.LongColumn column = FilterApi.longColumn("event_timestamp");
+        FilterPredicate expectedPredicate = FilterApi.or(
+                FilterApi.and(FilterApi.gtEq(column, 1644019200000L), FilterApi.ltEq(column, 1644058799000L)),
+                FilterApi.and(FilterApi.gtEq(column, 1643846400000L), FilterApi.ltEq(column, 1643921999000L)));
+        assertEquals(expectedPredicate, predicate);
+    }
+
+    @Test
+    public void shouldNotCreatePredicateWhenTimestampColumnIsMissingOrNotSupported() {
+        MessageType fileSchema = buildMessage()
+                .optional(BINARY).named("event_timestamp")
+                .named("schema");
+        RowtimeFilter rowtimeFilter = new RowtimeFilter(timeRangePool, Duration.ZERO);
+
+        assertNull(rowtimeFilter.toPredicate(fileSchema, "event_timestamp"));
+        assertNull(rowtimeFilter.toPredicate(fileSchema, "booking_creation_time"));
+        assertNull(rowtimeFilter.toPredicate(fileSchema, null));
+    }
+
+    @Test
+    public void shouldNotCreatePredicateWhenThereAreNoTimeRanges() {
+        MessageType fileSchema = buildMessage()
+                .optional(INT64).named("event_timestamp")
+                .named("schema");
+
+        assertNull(new RowtimeFilter(new TimeRangePool(), Duration.ZERO).toPredicate(fileSchema, "event_timestamp"));
+    }
+
+    @Test
+    public void shouldWidenTheEndOfTheTimeRangesByThePathGranularity() {
+        MessageType fileSchema = buildMessage()
+                .optional(INT64).named("event_timestamp")
+                .named("schema");
+
+        FilterPredicate predicate = new RowtimeFilter(timeRangePool, Duration.ofHours(1)).toPredicate(fileSchema, "event_timestamp");
+
+        Operators.LongColumn column = FilterApi.longColumn("event_timestamp");
+        FilterPredicate expectedPredicate = FilterApi.and(FilterApi.gtEq(column, 1644019200000L), FilterApi.ltEq(column, 1644062399000L));
+        assertEquals(expectedPredicate, predicate);
+    }
+}
@@ -84,6 +84,31 @@ public class ChronologyOrderedSplitAssignerTest {
         }
     }
 
+    @Test
+    public void shouldReturnRowGroupSplitsOfAFileInOrderOfTheirOffsetsWithinTheHourOfTheFile() {
+        Path firstFile = new Path("gs://my-bucket/bid-log/dt=2019-10-12/hr=00/a6adgad");
+        Path secondFile = new Path("gs://my-bucket/bid-log/dt=2019-10-12/hr=00/b7gadha");
+        Path laterFile = new Path("gs://my-bucket/bid-log/dt=2019-10-12/hr=01/a6adgad");
+        FileSourceSplit firstSplit = new FileSourceSplit("1", firstFile, 4, 1024);
+        FileSourceSplit secondSplit = new FileSourceSplit("2", firstFile, 1028, 1024);
+        FileSourceSplit thirdSplit = new FileSourceSplit("3", secondFile, 4, 2048);
+        FileSourceSplit fourthSplit = new FileSourceSplit("4", laterFile, 4, 512);
+        FileSourceSplit fifthSplit = new FileSourceSplit("5", laterFile, 516, 512);
+        List<FileSourceSplit> inputSplits = Arrays.asList(fifthSplit, thirdSplit, secondSplit, fourthSplit, firstSplit);
+        FileSourceSplit[] expectedOrdering = new FileSourceSplit[]{firstSplit, secondSplit, thirdSplit, fourthSplit, fifthSplit};
+
+        ChronologyOrderedSplitAssigner splitAssigner = new ChronologyOrderedSplitAssigner.ChronologyOrderedSplitAssignerBuilder()
+                .addPathParser(new HourDatePathParser())
+                .addStatsDReporterSupplier(statsDReporterSupplierMock)
+                .build(inputSplits);
+
+        for (int i = 0; i < 5; i++) {
+            Optional<FileSourceSplit> split = splitAssigner.getNext(null);
+            assertTrue(split.isPresent());
+            assertEquals("AssertionError when testing for file split number " + (i + 1), expectedOrdering[i], split.get());
+        }
+    }
+
     @Test
     public void shouldReturnEmptyOptionalWhenNoMoreSplitsToReturn() {
         FileSourceSplit firstSplit = new FileSourceSplit("1", new Path("gs://my-bucket/bid-log/dt=2019-10-12/shs6s5sdg"), 0, 1024);